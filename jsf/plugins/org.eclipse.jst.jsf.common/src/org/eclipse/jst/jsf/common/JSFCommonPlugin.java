@@ -27,10 +27,12 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.common.EMFPlugin;
 import org.eclipse.emf.common.util.ResourceLocator;
+import org.eclipse.jst.jsf.common.internal.resource.JarContentIndex;
 import org.eclipse.jst.jsf.context.symbol.source.AbstractContextSymbolFactory;
 import org.eclipse.jst.jsf.context.symbol.source.ISymbolSourceProvider;
 import org.eclipse.jst.jsf.context.symbol.source.ISymbolSourceProviderFactory;
 import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
 
 /**
  * This is the central singleton for the My edit plugin.
@@ -321,6 +323,12 @@ public final class JSFCommonPlugin extends EMFPlugin {
 			//
 			plugin = this;
 		}
+
+		@Override
+		public void stop(final BundleContext context) throws Exception {
+			JarContentIndex.shutdown();
+			super.stop(context);
+		}
 	}
     
 	
@@ -15,6 +15,8 @@ package org.eclipse.jst.jsf.common.internal.resource;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EventObject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -48,6 +50,11 @@ public abstract class AbstractLifecycleListener<EVENTTYPE extends EventObject, L
     }
 
     private final CopyOnWriteArrayList<LISTENERTYPE> _listeners = new CopyOnWriteArrayList<LISTENERTYPE>();
+    // listeners that only want the events for one lifecycle object, keyed
+    // by that object, plus the reverse mapping so removeListener doesn't have
+    // to search every key
+    private final Map<Object, CopyOnWriteArrayList<LISTENERTYPE>> _objectListeners = new ConcurrentHashMap<Object, CopyOnWriteArrayList<LISTENERTYPE>>();
+    private final Map<LISTENERTYPE, Object> _listenerObjects = new ConcurrentHashMap<LISTENERTYPE, Object>();
     private final CopyOnWriteArrayList<LIFECYCLEOBJECT> _lifecycleObjects = new CopyOnWriteArrayList<LIFECYCLEOBJECT>();
     private final AtomicBoolean _isDisposed = new AtomicBoolean(false);
 
@@ -77,6 +84,53 @@ public abstract class AbstractLifecycleListener<EVENTTYPE extends EventObject, L
         _listeners.addIfAbsent(listener);
     }
 
+    /**
+     * Adds listener so that it only receives the events whose lifecycle
+     * object (see {@link #getEventObject(EventObject)}) equals object. This
+     * is much cheaper than registering with {@link #addListener(ILifecycleListener)}
+     * and filtering in the listener when many listeners share this lifecycle
+     * listener, since each event is only dispatched to the listeners for its
+     * object. A listener can be subscribed to only one object at a time;
+     * subscribing it again moves it to the new object.
+     * 
+     * Method is thread-safe and may block the caller
+     * 
+     * Throws {@link IllegalStateException} if isDisposed() == true Throws
+     * {@link NullPointerException} if listener or object == null
+     * 
+     * @param listener
+     * @param object
+     */
+    public void addListener(final LISTENERTYPE listener,
+            final LIFECYCLEOBJECT object)
+    {
+        if (isDisposed())
+        {
+            throw new IllegalStateException();
+        }
+        if (listener == null)
+        {
+            throw new NullPointerException("Cannot pass null listener"); //$NON-NLS-1$
+        }
+        if (object == null)
+        {
+            throw new NullPointerException(CANNOT_ADD_NULL_RESOURCE);
+        }
+        synchronized (_objectListeners)
+        {
+            removeObjectListener(listener);
+            CopyOnWriteArrayList<LISTENERTYPE> listeners = _objectListeners
+                    .get(object);
+            if (listeners == null)
+            {
+                listeners = new CopyOnWriteArrayList<LISTENERTYPE>();
+                _objectListeners.put(object, listeners);
+            }
+            listeners.add(listener);
+            _listenerObjects.put(listener, object);
+        }
+    }
+
     /**
      * Removes listener from the list of registered listeners
      * 
@@ -94,6 +148,31 @@ public abstract class AbstractLifecycleListener<EVENTTYPE extends EventObject, L
             throw new IllegalStateException();
         }
         _listeners.remove(listener);
+        if (listener != null)
+        {
+            synchronized (_objectListeners)
+            {
+                removeObjectListener(listener);
+            }
+        }
+    }
+
+    private void removeObjectListener(final LISTENERTYPE listener)
+    {
+        final Object object = _listenerObjects.remove(listener);
+        if (object != null)
+        {
+            final CopyOnWriteArrayList<LISTENERTYPE> listeners = _objectListeners
+                    .get(object);
+            if (listeners != null)
+            {
+                listeners.remove(listener);
+                if (listeners.isEmpty())
+                {
+                    _objectListeners.remove(object);
+                }
+            }
+        }
     }
 
     /**
@@ -113,12 +192,41 @@ public abstract class AbstractLifecycleListener<EVENTTYPE extends EventObject, L
             final EventResult result = listener.acceptEvent(event);
             disposeAfter |= result.getDisposeAfterEvent();
         }
+        final Object object = _objectListeners.isEmpty() ? null
+                : getEventObject(event);
+        if (object != null)
+        {
+            final CopyOnWriteArrayList<LISTENERTYPE> listeners = _objectListeners
+                    .get(object);
+            if (listeners != null)
+            {
+                for (final LISTENERTYPE listener : listeners)
+                {
+                    final EventResult result = listener.acceptEvent(event);
+                    disposeAfter |= result.getDisposeAfterEvent();
+                }
+            }
+        }
         if (disposeAfter)
         {
             dispose();
         }
     }
 
+    /**
+     * Sub-classes that support {@link #addListener(ILifecycleListener, Object)}
+     * must override this to say which lifecycle object an event is for.
+     * 
+     * @param event
+     * @return the lifecycle object that event is about, or null if it should
+     *         only go to the listeners that receive all events. Returns null
+     *         by default.
+     */
+    protected LIFECYCLEOBJECT getEventObject(final EVENTTYPE event)
+    {
+        return null;
+    }
+
     /**
      * @return true if the listener has been disposed
      */
@@ -142,6 +250,11 @@ public abstract class AbstractLifecycleListener<EVENTTYPE extends EventObject, L
                 // be triggered during the remainder of dispose
                 removeSystemChangeListener();
                 _lifecycleObjects.clear();
+                synchronized (_objectListeners)
+                {
+                    _objectListeners.clear();
+                    _listenerObjects.clear();
+                }
                 doDispose();
             }
         }
@@ -177,6 +290,7 @@ public abstract class AbstractLifecycleListener<EVENTTYPE extends EventObject, L
             if (!_lifecycleObjects.contains(object))
             {
                 _lifecycleObjects.add(object);
+                lifecycleObjectAdded(object);
             }
             // if the size of the array was 0
             // and is now greater, make sure the listener is added
@@ -202,7 +316,11 @@ public abstract class AbstractLifecycleListener<EVENTTYPE extends EventObject, L
             {
                 return;
             }
-            _lifecycleObjects.remove(res);
+            final int index = _lifecycleObjects.indexOf(res);
+            if (index >= 0)
+            {
+                lifecycleObjectRemoved(_lifecycleObjects.remove(index));
+            }
             // if there are no longer target resources,
             // remove the workspace listener
             if (_lifecycleObjects.size() == 0)
@@ -212,6 +330,28 @@ public abstract class AbstractLifecycleListener<EVENTTYPE extends EventObject, L
         }
     }
 
+    /**
+     * Called with the lifecycle object lock held after object starts being
+     * tracked. Does nothing by default.
+     * 
+     * @param object
+     */
+    protected void lifecycleObjectAdded(final LIFECYCLEOBJECT object)
+    {
+        // do nothing by default
+    }
+
+    /**
+     * Called with the lifecycle object lock held after object stops being
+     * tracked. Does nothing by default.
+     * 
+     * @param object
+     */
+    protected void lifecycleObjectRemoved(final LIFECYCLEOBJECT object)
+    {
+        // do nothing by default
+    }
+
     /**
      * @return an iterable of the lifecycle objects being tracked.
      */
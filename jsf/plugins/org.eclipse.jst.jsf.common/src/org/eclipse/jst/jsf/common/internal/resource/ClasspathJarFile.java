@@ -14,10 +14,11 @@ package org.eclipse.jst.jsf.common.internal.resource;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.jar.JarFile;
 
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jst.jsf.common.JSFCommonPlugin;
@@ -70,32 +71,55 @@ public class ClasspathJarFile
      */
     public JarFile getJarFile()
     {
-        JarFile jarFileFromCPE = null;
-        try
+        final File file = getFile();
+        if (file != null && file.exists())
         {
-            jarFileFromCPE = getJarFileFromCPE(_iPath, _project.getWorkspace());
-        } catch (final IOException e)
+            try
+            {
+                return new JarFile(file);
+            } catch (final IOException e)
+            {
+                JSFCommonPlugin.log(e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the names of the resource entries in the underlying jar, taken
+     * from the shared {@link JarContentIndex} so that the jar is only opened
+     * if it has changed since it was last scanned.  Empty if the jar doesn't
+     * exist or can't be read.
+     */
+    public List<String> getEntryNames()
+    {
+        final File file = getFile();
+        if (file != null)
         {
-            JSFCommonPlugin.log(e);
+            try
+            {
+                return JarContentIndex.getInstance().getEntryNames(_project, file, ""); //$NON-NLS-1$
+            } catch (final IOException e)
+            {
+                JSFCommonPlugin.log(e);
+            }
         }
-        return jarFileFromCPE;
+        return Collections.emptyList();
     }
-    
+
     /**
      * TODO: Merge into JSFAppConfigUtils.
      * 
-     * @param entry
-     * @param workspace 
-     * @return
+     * @return the file system location of the jar or null if the class path
+     * entry does not name a file
      */
-    private JarFile getJarFileFromCPE(final IPath entry, final IWorkspace workspace)
-            throws IOException
+    public File getFile()
     {
         IPath path = _iPath;
         if (path.getFileExtension() != null
                 && path.getFileExtension().length() > 0)
         {
-            final IWorkspaceRoot workspaceRoot = workspace.getRoot();
+            final IWorkspaceRoot workspaceRoot = _project.getWorkspace().getRoot();
             if (path.getDevice() == null
                     && workspaceRoot.getProject(path.segment(0))
                             .exists())
@@ -103,11 +127,9 @@ public class ClasspathJarFile
                 path = workspaceRoot.getFile(path)
                         .getLocation();
             }
-            final String libraryPathString = path.toString();
-            final File file = new File(libraryPathString);
-            if (file.exists())
+            if (path != null)
             {
-                return new JarFile(file);
+                return new File(path.toString());
             }
         }
         return null;
@@ -0,0 +1,599 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.common.internal.resource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.jst.jsf.common.JSFCommonPlugin;
+
+/**
+ * A shared index of the resource entries in jar files, so that the many
+ * classpath scanners (faces-config, facelet taglib and resource bundle
+ * locators) don't each open and enumerate every jar on the classpath.
+ *
+ * Each jar is scanned at most once for as long as its path, size and
+ * modification time stay the same. Only resource entries are indexed:
+ * directories and class files are skipped since no scanner looks for them.
+ * Digests of entry contents are computed on demand and kept with the jar's
+ * entries.
+ *
+ * Lookups made on behalf of a project record the project as an owner of the
+ * jar. When the last owner of a jar is closed or deleted the jar is dropped,
+ * so the index only holds the jars of the projects that are open. Jars
+ * looked up without an owner are dropped when any project is released.
+ *
+ * The index is saved in the state location of the plugin when the plugin
+ * stops and is reloaded on first use. Only the jars that were looked up
+ * since the index was loaded are saved.
+ *
+ */
+public final class JarContentIndex
+{
+    private static final String INDEX_FILE_NAME = "jarContentIndex.dat"; //$NON-NLS-1$
+    private static final String DIGEST_ALGORITHM = "SHA-1"; //$NON-NLS-1$
+    // "JARI"
+    private static final int MAGIC = 0x4A415249;
+    private static final short FORMAT_VERSION = 1;
+
+    private static JarContentIndex INSTANCE;
+    private static IResourceChangeListener PROJECT_LISTENER;
+
+    private final File _indexFile;
+    private final Map<String, JarContents> _jars = new ConcurrentHashMap<String, JarContents>();
+    private volatile boolean _dirty;
+
+    /**
+     * @return the shared index, loaded from the plugin state location the
+     *         first time it is requested
+     */
+    public static synchronized JarContentIndex getInstance()
+    {
+        if (INSTANCE == null)
+        {
+            File indexFile = null;
+            if (JSFCommonPlugin.getPlugin() != null)
+            {
+                indexFile = JSFCommonPlugin.getPlugin().getStateLocation()
+                        .append(INDEX_FILE_NAME).toFile();
+            }
+            final JarContentIndex index = new JarContentIndex(indexFile);
+            if (JSFCommonPlugin.getPlugin() != null)
+            {
+                PROJECT_LISTENER = new IResourceChangeListener()
+                {
+                    public void resourceChanged(final IResourceChangeEvent event)
+                    {
+                        if (event.getResource() instanceof IProject)
+                        {
+                            index.releaseProject((IProject) event.getResource());
+                        }
+                    }
+                };
+                ResourcesPlugin.getWorkspace().addResourceChangeListener(
+                        PROJECT_LISTENER,
+                        IResourceChangeEvent.PRE_CLOSE
+                                | IResourceChangeEvent.PRE_DELETE);
+            }
+            INSTANCE = index;
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Saves the shared index if it has been created. Called when the plugin
+     * stops.
+     */
+    public static synchronized void shutdown()
+    {
+        if (PROJECT_LISTENER != null)
+        {
+            ResourcesPlugin.getWorkspace().removeResourceChangeListener(
+                    PROJECT_LISTENER);
+            PROJECT_LISTENER = null;
+        }
+        if (INSTANCE != null)
+        {
+            INSTANCE.save();
+        }
+    }
+
+    /**
+     * Use {@link #getInstance()} rather than creating new indices; this is
+     * public for testing.
+     * 
+     * @param indexFile
+     *            the file that the index is loaded from and saved to, or
+     *            null if it should only be held in memory
+     */
+    public JarContentIndex(final File indexFile)
+    {
+        _indexFile = indexFile;
+        load();
+    }
+
+    /**
+     * @param jarFile
+     * @param entryName
+     * @return true if jarFile contains the resource entryName
+     * @throws IOException
+     *             if jarFile must be scanned and can't be read
+     */
+    public boolean hasEntry(final File jarFile, final String entryName)
+            throws IOException
+    {
+        return hasEntry(null, jarFile, entryName);
+    }
+
+    /**
+     * @param owner
+     *            the project on whose behalf the jar is looked up, or null
+     * @param jarFile
+     * @param entryName
+     * @return true if jarFile contains the resource entryName
+     * @throws IOException
+     *             if jarFile must be scanned and can't be read
+     */
+    public boolean hasEntry(final IProject owner, final File jarFile,
+            final String entryName) throws IOException
+    {
+        final JarContents contents = getContents(owner, jarFile);
+        return contents != null && contents.indexOf(entryName) >= 0;
+    }
+
+    /**
+     * @param jarFile
+     * @return the names of all resource entries in jarFile, sorted. Empty
+     *         if the jar does not exist.
+     * @throws IOException
+     *             if jarFile must be scanned and can't be read
+     */
+    public List<String> getEntryNames(final File jarFile) throws IOException
+    {
+        return getEntryNames(null, jarFile, ""); //$NON-NLS-1$
+    }
+
+    /**
+     * @param owner
+     *            the project on whose behalf the jar is looked up, or null
+     * @param jarFile
+     * @param prefix
+     * @return the names of the resource entries in jarFile that start with
+     *         prefix, sorted. Empty if the jar does not exist.
+     * @throws IOException
+     *             if jarFile must be scanned and can't be read
+     */
+    public List<String> getEntryNames(final IProject owner,
+            final File jarFile, final String prefix) throws IOException
+    {
+        final JarContents contents = getContents(owner, jarFile);
+        if (contents == null)
+        {
+            return Collections.emptyList();
+        }
+        return contents.entriesStartingWith(prefix);
+    }
+
+    /**
+     * @param jarFile
+     * @param pattern
+     * @return the names of the resource entries in jarFile that match
+     *         pattern, sorted
+     * @throws IOException
+     *             if jarFile must be scanned and can't be read
+     */
+    public List<String> findEntries(final File jarFile, final Pattern pattern)
+            throws IOException
+    {
+        final List<String> matches = new ArrayList<String>();
+        for (final String entryName : getEntryNames(jarFile))
+        {
+            if (pattern.matcher(entryName).matches())
+            {
+                matches.add(entryName);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @param owner
+     *            the project on whose behalf the jar is looked up, or null
+     * @param jarFile
+     * @param entryName
+     * @return a digest of the contents of entryName in jarFile or null if the
+     *         jar has no such resource
+     * @throws IOException
+     *             if the jar can't be read
+     */
+    public byte[] getEntryDigest(final IProject owner, final File jarFile,
+            final String entryName) throws IOException
+    {
+        final JarContents contents = getContents(owner, jarFile);
+        if (contents == null || contents.indexOf(entryName) < 0)
+        {
+            return null;
+        }
+
+        byte[] digest = contents._digests.get(entryName);
+        if (digest == null)
+        {
+            digest = computeDigest(jarFile, entryName);
+            if (digest != null)
+            {
+                contents._digests.put(entryName, digest);
+                _dirty = true;
+            }
+        }
+        return digest;
+    }
+
+    /**
+     * Drops all cached contents.
+     */
+    public void clear()
+    {
+        _jars.clear();
+        _dirty = true;
+    }
+
+    /**
+     * Drops the jars that are no longer used by any project once project is
+     * closed or deleted, along with the jars only looked up without an
+     * owner.
+     * 
+     * @param project
+     */
+    public void releaseProject(final IProject project)
+    {
+        final String owner = project.getName();
+        for (final Map.Entry<String, JarContents> entry : _jars.entrySet())
+        {
+            final Set<String> owners = entry.getValue()._owners;
+            owners.remove(owner);
+            if (owners.isEmpty())
+            {
+                _jars.remove(entry.getKey(), entry.getValue());
+                _dirty = true;
+            }
+        }
+    }
+
+    private JarContents getContents(final IProject owner, final File jarFile)
+            throws IOException
+    {
+        if (!jarFile.isFile())
+        {
+            return null;
+        }
+
+        final String key = jarFile.getAbsolutePath();
+        final long size = jarFile.length();
+        final long modified = jarFile.lastModified();
+        JarContents contents = _jars.get(key);
+
+        if (contents == null || !contents.isCurrent(size, modified))
+        {
+            final JarContents scanned = new JarContents(size, modified,
+                    scan(jarFile), new ConcurrentHashMap<String, byte[]>());
+            if (contents != null)
+            {
+                scanned._owners.addAll(contents._owners);
+            }
+            contents = scanned;
+            _jars.put(key, contents);
+            _dirty = true;
+        }
+        if (owner != null)
+        {
+            contents._owners.add(owner.getName());
+        }
+        if (!contents._used)
+        {
+            contents._used = true;
+            _dirty = true;
+        }
+        return contents;
+    }
+
+    private static String[] scan(final File file) throws IOException
+    {
+        final JarFile jarFile = new JarFile(file, false);
+        try
+        {
+            final List<String> names = new ArrayList<String>();
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements())
+            {
+                final String name = entries.nextElement().getName();
+                if (!name.endsWith("/") && !name.endsWith(".class")) //$NON-NLS-1$ //$NON-NLS-2$
+                {
+                    names.add(name);
+                }
+            }
+            final String[] sorted = names.toArray(new String[names.size()]);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+        finally
+        {
+            jarFile.close();
+        }
+    }
+
+    private static byte[] computeDigest(final File file, final String entryName)
+            throws IOException
+    {
+        final JarFile jarFile = new JarFile(file, false);
+        try
+        {
+            final JarEntry entry = jarFile.getJarEntry(entryName);
+            if (entry == null)
+            {
+                return null;
+            }
+            final MessageDigest digest = MessageDigest
+                    .getInstance(DIGEST_ALGORITHM);
+            final InputStream in = jarFile.getInputStream(entry);
+            try
+            {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1)
+                {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            finally
+            {
+                in.close();
+            }
+            return digest.digest();
+        }
+        catch (final NoSuchAlgorithmException e)
+        {
+            // every JRE is required to provide SHA-1
+            throw new IOException(e.getMessage());
+        }
+        finally
+        {
+            jarFile.close();
+        }
+    }
+
+    private synchronized void load()
+    {
+        if (_indexFile == null || !_indexFile.isFile())
+        {
+            return;
+        }
+
+        try
+        {
+            final DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(_indexFile)));
+            try
+            {
+                if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION)
+                {
+                    return;
+                }
+
+                final int numJars = in.readInt();
+                for (int i = 0; i < numJars; i++)
+                {
+                    final String path = in.readUTF();
+                    final long size = in.readLong();
+                    final long modified = in.readLong();
+                    final String[] entryNames = new String[in.readInt()];
+                    for (int j = 0; j < entryNames.length; j++)
+                    {
+                        entryNames[j] = in.readUTF();
+                    }
+                    final Map<String, byte[]> digests = new ConcurrentHashMap<String, byte[]>();
+                    final int numDigests = in.readInt();
+                    for (int j = 0; j < numDigests; j++)
+                    {
+                        final String entryName = entryNames[in.readInt()];
+                        final byte[] digest = new byte[in.readShort()];
+                        in.readFully(digest);
+                        digests.put(entryName, digest);
+                    }
+                    _jars.put(path, new JarContents(size, modified, entryNames,
+                            digests));
+                }
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+        catch (final EOFException e)
+        {
+            // truncated; the jars will simply be rescanned
+            _jars.clear();
+        }
+        catch (final IOException e)
+        {
+            _jars.clear();
+            JSFCommonPlugin.log(IStatus.WARNING,
+                    "Error loading jar content index", e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Writes the index to the plugin state location if it has changed since
+     * it was loaded or last saved. Jars that no longer exist, or that were
+     * loaded but not looked up again, are dropped.
+     */
+    public synchronized void save()
+    {
+        if (_indexFile == null || !_dirty)
+        {
+            return;
+        }
+        _dirty = false;
+
+        final File tempFile = new File(_indexFile.getAbsolutePath() + ".tmp"); //$NON-NLS-1$
+        try
+        {
+            final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)));
+            try
+            {
+                final Map<String, JarContents> jars = new HashMap<String, JarContents>();
+                for (final Map.Entry<String, JarContents> entry : _jars.entrySet())
+                {
+                    if (entry.getValue()._used
+                            && new File(entry.getKey()).isFile())
+                    {
+                        jars.put(entry.getKey(), entry.getValue());
+                    }
+                }
+
+                out.writeInt(MAGIC);
+                out.writeShort(FORMAT_VERSION);
+                out.writeInt(jars.size());
+                for (final Map.Entry<String, JarContents> entry : jars.entrySet())
+                {
+                    final JarContents contents = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(contents._size);
+                    out.writeLong(contents._modified);
+                    out.writeInt(contents._entryNames.length);
+                    for (final String entryName : contents._entryNames)
+                    {
+                        out.writeUTF(entryName);
+                    }
+                    final Map<String, byte[]> digests = new HashMap<String, byte[]>(contents._digests);
+                    out.writeInt(digests.size());
+                    for (final Map.Entry<String, byte[]> digest : digests.entrySet())
+                    {
+                        out.writeInt(contents.indexOf(digest.getKey()));
+                        out.writeShort(digest.getValue().length);
+                        out.write(digest.getValue());
+                    }
+                }
+            }
+            finally
+            {
+                out.close();
+            }
+
+            // replace the index in one step, so that a reader never finds
+            // it missing and a failed move leaves the old index in place
+            try
+            {
+                Files.move(tempFile.toPath(), _indexFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (final AtomicMoveNotSupportedException e)
+            {
+                // the temporary file is a sibling, so this only happens on
+                // file systems without atomic rename
+                Files.move(tempFile.toPath(), _indexFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (final IOException e)
+        {
+            JSFCommonPlugin.log(IStatus.WARNING,
+                    "Error saving jar content index", e); //$NON-NLS-1$
+        }
+        finally
+        {
+            tempFile.delete();
+        }
+    }
+
+    private static final class JarContents
+    {
+        private final long _size;
+        private final long _modified;
+        private final String[] _entryNames;
+        private final Map<String, byte[]> _digests;
+        // names of the projects that looked the jar up
+        private final Set<String> _owners = Collections
+                .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        private volatile boolean _used;
+
+        JarContents(final long size, final long modified,
+                final String[] entryNames, final Map<String, byte[]> digests)
+        {
+            _size = size;
+            _modified = modified;
+            _entryNames = entryNames;
+            _digests = digests;
+        }
+
+        boolean isCurrent(final long size, final long modified)
+        {
+            return _size == size && _modified == modified;
+        }
+
+        int indexOf(final String entryName)
+        {
+            return entryName == null ? -1 : Arrays.binarySearch(_entryNames, entryName);
+        }
+
+        List<String> entriesStartingWith(final String prefix)
+        {
+            // the names are sorted, so the matches are a contiguous range
+            // starting at prefix's insertion point
+            int start = Arrays.binarySearch(_entryNames, prefix);
+            if (start < 0)
+            {
+                start = -start - 1;
+            }
+            int end = start;
+            while (end < _entryNames.length && _entryNames[end].startsWith(prefix))
+            {
+                end++;
+            }
+            return Collections.unmodifiableList(Arrays.asList(_entryNames)
+                    .subList(start, end));
+        }
+    }
+}
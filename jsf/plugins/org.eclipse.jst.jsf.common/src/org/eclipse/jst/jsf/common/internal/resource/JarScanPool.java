@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.common.internal.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.eclipse.jst.jsf.common.JSFCommonPlugin;
+
+/**
+ * A bounded pool shared by the classpath scanners so that jars can be
+ * processed in parallel. Results are always returned in the order of the
+ * tasks, so callers merge them exactly as they would have merged the results
+ * of a sequential loop.
+ *
+ * The parallelism defaults to the number of processors, capped at 8 since the
+ * scans soon become bound by disk rather than CPU. It can be set with the
+ * system property "org.eclipse.jst.jsf.common.jarscan.parallelism"; a value of
+ * 1 runs every task on the calling thread.
+ */
+public final class JarScanPool
+{
+    private static final int MAX_DEFAULT_PARALLELISM = 8;
+    private static final int PARALLELISM = computeParallelism();
+    private static ForkJoinPool POOL;
+
+    private JarScanPool()
+    {
+        // no instantiation
+    }
+
+    /**
+     * Runs tasks, in parallel if there is more than one, and waits for all of
+     * them to finish. A task that throws has its exception logged and a null
+     * result.  A null result therefore always means the task itself failed:
+     * if the calling thread is interrupted, or a pooled task doesn't
+     * complete, the task is run again on the calling thread and the
+     * interrupt is restored before returning.
+     *
+     * @param tasks
+     * @return the results of tasks in the same order as tasks
+     */
+    public static <T> List<T> invokeAll(final List<? extends Callable<T>> tasks)
+    {
+        final List<T> results = new ArrayList<T>(tasks.size());
+
+        if (PARALLELISM <= 1 || tasks.size() <= 1)
+        {
+            for (final Callable<T> task : tasks)
+            {
+                results.add(call(task));
+            }
+            return results;
+        }
+
+        final List<Future<T>> futures = getPool().invokeAll(tasks);
+        // the tasks are all done here, so get() only fails on an interrupt;
+        // clear it while collecting so that no result is lost
+        boolean interrupted = Thread.interrupted();
+        try
+        {
+            for (int i = 0; i < futures.size(); i++)
+            {
+                final Future<T> future = futures.get(i);
+                try
+                {
+                    if (future.isDone())
+                    {
+                        results.add(future.get());
+                        continue;
+                    }
+                }
+                catch (final InterruptedException e)
+                {
+                    interrupted = true;
+                }
+                catch (final CancellationException e)
+                {
+                    // rerun below
+                }
+                catch (final ExecutionException e)
+                {
+                    JSFCommonPlugin.log(e.getCause(), "While scanning jar"); //$NON-NLS-1$
+                    results.add(null);
+                    continue;
+                }
+                results.add(call(tasks.get(i)));
+            }
+        }
+        finally
+        {
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return the maximum number of tasks run at once
+     */
+    public static int getParallelism()
+    {
+        return PARALLELISM;
+    }
+
+    private static int computeParallelism()
+    {
+        final String value = System
+                .getProperty("org.eclipse.jst.jsf.common.jarscan.parallelism"); //$NON-NLS-1$
+        if (value != null)
+        {
+            try
+            {
+                return Math.max(1, Integer.parseInt(value.trim()));
+            }
+            catch (final NumberFormatException e)
+            {
+                // fall through to the default
+            }
+        }
+        return Math.min(MAX_DEFAULT_PARALLELISM, Runtime.getRuntime()
+                .availableProcessors());
+    }
+
+    private static synchronized ForkJoinPool getPool()
+    {
+        if (POOL == null)
+        {
+            POOL = new ForkJoinPool(PARALLELISM);
+        }
+        return POOL;
+    }
+
+    private static <T> T call(final Callable<T> task)
+    {
+        try
+        {
+            return task.call();
+        }
+        catch (final Exception e)
+        {
+            JSFCommonPlugin.log(e, "While scanning jar"); //$NON-NLS-1$
+            return null;
+        }
+    }
+}
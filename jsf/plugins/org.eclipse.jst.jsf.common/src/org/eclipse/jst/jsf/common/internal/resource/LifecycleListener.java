@@ -12,7 +12,13 @@
  *******************************************************************************/
 package org.eclipse.jst.jsf.common.internal.resource;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IProject;
@@ -20,7 +26,11 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jst.jsf.common.JSFCommonPlugin;
 import org.eclipse.jst.jsf.common.internal.ITestTracker;
 import org.eclipse.jst.jsf.common.internal.ITestTracker.Event;
 import org.eclipse.jst.jsf.common.internal.resource.ResourceLifecycleEvent.EventType;
@@ -29,6 +39,12 @@ import org.eclipse.jst.jsf.common.internal.resource.ResourceLifecycleEvent.Reaso
 /**
  * Listens to resource changes and fires lifecycle events
  * 
+ * The tracked resources are kept in a tree keyed by path segment, so a change
+ * event is matched against them by walking the delta and the tree together
+ * rather than by looking up every tracked resource in the delta. Listeners
+ * added with {@link #addListener(ILifecycleListener, Object)} only receive
+ * the events for their resource.
+ * 
  * @author cbateman
  * 
  */
@@ -40,6 +56,8 @@ public class LifecycleListener extends
     private static long _seqId;
     private ITestTracker _testTracker; // ==
     final IWorkspace _workspace;
+    private final PathNode _trackedRoot = new PathNode();
+    private long _trackedCount;
 
     // null;
     // initialized
@@ -147,6 +165,72 @@ public class LifecycleListener extends
         addLifecycleObject(res);
     }
 
+    @Override
+    protected void lifecycleObjectAdded(final IResource res)
+    {
+        PathNode node = _trackedRoot;
+        final IPath path = res.getFullPath();
+        for (int i = 0; i < path.segmentCount(); i++)
+        {
+            PathNode child = node._children.get(path.segment(i));
+            if (child == null)
+            {
+                child = new PathNode();
+                node._children.put(path.segment(i), child);
+            }
+            node = child;
+        }
+        node._resources.add(new TrackedResource(res, _trackedCount++));
+    }
+
+    @Override
+    protected void lifecycleObjectRemoved(final IResource res)
+    {
+        removeTracked(_trackedRoot, res, res.getFullPath(), 0);
+    }
+
+    @Override
+    protected void doDispose()
+    {
+        // called with the lifecycle object lock held, like the add and
+        // remove callbacks that maintain the tree
+        _trackedRoot._children.clear();
+        _trackedRoot._resources.clear();
+    }
+
+    /**
+     * @return true if node no longer tracks anything and can be pruned
+     */
+    private static boolean removeTracked(final PathNode node,
+            final IResource res, final IPath path, final int segment)
+    {
+        if (segment == path.segmentCount())
+        {
+            for (final TrackedResource tracked : node._resources)
+            {
+                if (tracked._resource.equals(res))
+                {
+                    node._resources.remove(tracked);
+                }
+            }
+        }
+        else
+        {
+            final PathNode child = node._children.get(path.segment(segment));
+            if (child != null && removeTracked(child, res, path, segment + 1))
+            {
+                node._children.remove(path.segment(segment));
+            }
+        }
+        return node._resources.isEmpty() && node._children.isEmpty();
+    }
+
+    @Override
+    protected IResource getEventObject(final ResourceLifecycleEvent event)
+    {
+        return event.getAffectedResource();
+    }
+
     public void resourceChanged(final IResourceChangeEvent event)
     {
         final long seqId = _seqId++;
@@ -161,28 +245,23 @@ public class LifecycleListener extends
             case IResourceChangeEvent.PRE_CLOSE:
             {
                 final IProject proj = (IProject) event.getResource();
-                // must use iterator to ensure copy on write behaviour
-                for (final IResource res : getLifecycleObjects())
+                for (final IResource res : findTrackedIn(proj))
                 {
-                    if (proj == res || proj == res.getProject())
-                    {
-                        fireLifecycleEvent(new ResourceLifecycleEvent(this,
-                                res, EventType.RESOURCE_INACCESSIBLE,
-                                ReasonType.RESOURCE_PROJECT_CLOSED));
-                    }
+                    fireLifecycleEvent(new ResourceLifecycleEvent(this,
+                            res, EventType.RESOURCE_INACCESSIBLE,
+                            ReasonType.RESOURCE_PROJECT_CLOSED));
                 }
             }
             break;
             case IResourceChangeEvent.PRE_DELETE:
             {
                 final IProject proj = (IProject) event.getResource();
-                // must use iterator to ensure copy on write behaviour
-                for (final IResource res : getLifecycleObjects())
+                for (final IResource res : findTrackedIn(proj))
                 {
                     // if the resource being tracked is the resource being
                     // deleted,
                     // then fire a resource delete event
-                    if (proj == res)
+                    if (proj.equals(res))
                     {
                         fireLifecycleEvent(new ResourceLifecycleEvent(this,
                                 res, EventType.RESOURCE_INACCESSIBLE,
@@ -191,7 +270,7 @@ public class LifecycleListener extends
                     // if the resource being tracked is a resource in the
                     // project being
                     // deleted, then fire a project deleted event
-                    else if (proj == res.getProject())
+                    else
                     {
                         fireLifecycleEvent(new ResourceLifecycleEvent(this,
                                 res, EventType.RESOURCE_INACCESSIBLE,
@@ -202,18 +281,19 @@ public class LifecycleListener extends
             break;
             case IResourceChangeEvent.POST_CHANGE:
             {
-                for (final IResource res : getLifecycleObjects())
+                // only care about post change events to resources
+                // that we are tracking
+                final IResourceDelta delta = event.getDelta();
+                if (delta != null)
                 {
-                    IResourceDelta delta = event.getDelta();
-                    // only care about post change events to resources
-                    // that we are tracking
-                    if (delta != null)
+                    final List<TrackedDelta> matches = new ArrayList<TrackedDelta>();
+                    findTrackedDeltas(delta, matches);
+                    // fire in the order the resources were added, which is
+                    // the order we used to look them up in
+                    Collections.sort(matches, TRACKED_ORDER);
+                    for (final TrackedDelta match : matches)
                     {
-                        delta = delta.findMember(res.getFullPath());
-                        if (delta != null)
-                        {
-                            visit(delta);
-                        }
+                        visit(match._delta);
                     }
                 }
             }
@@ -229,6 +309,84 @@ public class LifecycleListener extends
         }
     }
 
+    /**
+     * @param project
+     * @return the tracked resources that are project or are in it, in the
+     *         order they were added
+     */
+    private List<IResource> findTrackedIn(final IProject project)
+    {
+        final PathNode node = findNode(project.getFullPath());
+        if (node == null)
+        {
+            return Collections.emptyList();
+        }
+        final List<TrackedResource> found = new ArrayList<TrackedResource>();
+        collectTracked(node, found);
+        Collections.sort(found, RESOURCE_ORDER);
+        final List<IResource> resources = new ArrayList<IResource>(found.size());
+        for (final TrackedResource tracked : found)
+        {
+            resources.add(tracked._resource);
+        }
+        return resources;
+    }
+
+    private static void collectTracked(final PathNode node,
+            final List<TrackedResource> found)
+    {
+        found.addAll(node._resources);
+        for (final PathNode child : node._children.values())
+        {
+            collectTracked(child, found);
+        }
+    }
+
+    /**
+     * Walks delta and the tracked resource tree together, only descending
+     * into the children of delta that lead to a tracked resource.
+     */
+    private void findTrackedDeltas(final IResourceDelta delta,
+            final List<TrackedDelta> matches)
+    {
+        try
+        {
+            // same members that findMember searches
+            delta.accept(new IResourceDeltaVisitor()
+            {
+                public boolean visit(final IResourceDelta visitDelta)
+                {
+                    final PathNode node = findNode(visitDelta.getFullPath());
+                    if (node == null)
+                    {
+                        return false;
+                    }
+                    for (final TrackedResource tracked : node._resources)
+                    {
+                        matches.add(new TrackedDelta(tracked, visitDelta));
+                    }
+                    return !node._children.isEmpty();
+                }
+            }, IContainer.INCLUDE_PHANTOMS
+                    | IContainer.INCLUDE_TEAM_PRIVATE_MEMBERS
+                    | IContainer.INCLUDE_HIDDEN);
+        }
+        catch (final CoreException e)
+        {
+            JSFCommonPlugin.log(e, "While dispatching resource changes"); //$NON-NLS-1$
+        }
+    }
+
+    private PathNode findNode(final IPath path)
+    {
+        PathNode node = _trackedRoot;
+        for (int i = 0; node != null && i < path.segmentCount(); i++)
+        {
+            node = node._children.get(path.segment(i));
+        }
+        return node;
+    }
+
     private void visit(final IResourceDelta delta)
     {
         assert (!isDisposed());
@@ -380,4 +538,57 @@ public class LifecycleListener extends
             }
         }
     }
+
+    private static final Comparator<TrackedResource> RESOURCE_ORDER = new Comparator<TrackedResource>()
+    {
+        public int compare(final TrackedResource o1, final TrackedResource o2)
+        {
+            return Long.compare(o1._order, o2._order);
+        }
+    };
+
+    private static final Comparator<TrackedDelta> TRACKED_ORDER = new Comparator<TrackedDelta>()
+    {
+        public int compare(final TrackedDelta o1, final TrackedDelta o2)
+        {
+            return RESOURCE_ORDER.compare(o1._tracked, o2._tracked);
+        }
+    };
+
+    /**
+     * A node in the tree of tracked resources. The children are keyed by path
+     * segment; the resources are those tracked at exactly this node's path
+     * (normally one, but a file and a folder may share a path). Nodes are
+     * only changed while holding the lifecycle object lock but are read
+     * without it while events are dispatched.
+     */
+    private static final class PathNode
+    {
+        private final Map<String, PathNode> _children = new ConcurrentHashMap<String, PathNode>();
+        private final List<TrackedResource> _resources = new CopyOnWriteArrayList<TrackedResource>();
+    }
+
+    private static final class TrackedResource
+    {
+        private final IResource _resource;
+        private final long _order;
+
+        TrackedResource(final IResource resource, final long order)
+        {
+            _resource = resource;
+            _order = order;
+        }
+    }
+
+    private static final class TrackedDelta
+    {
+        private final TrackedResource _tracked;
+        private final IResourceDelta _delta;
+
+        TrackedDelta(final TrackedResource tracked, final IResourceDelta delta)
+        {
+            _tracked = tracked;
+            _delta = delta;
+        }
+    }
 }
@@ -13,7 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jst.jsf.common.internal.types;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jst.jsf.common.util.JDTBeanIntrospector;
 import org.eclipse.jst.jsf.context.symbol.IBeanMethodSymbol;
 import org.eclipse.jst.jsf.context.symbol.IBeanPropertySymbol;
@@ -29,12 +34,17 @@ class TypeInfo {
      */
     public static String[] NO_NAMES = new String[0];
 
-    private IBeanMethodSymbol[] methods = null;
-    private IBeanPropertySymbol[] properties = null;
-    private IType[] supertypes = null;
-    private IType[] interfaceTypes = null;
-    private String[] missingSupertypeNames = null;
-    private JDTBeanIntrospector beanIntrospector = null;
+    // volatile: cached infos are read without locking by TypeInfoCache
+    private volatile IBeanMethodSymbol[] methods = null;
+    private volatile IBeanPropertySymbol[] properties = null;
+    private volatile IType[] supertypes = null;
+    private volatile IType[] interfaceTypes = null;
+    private volatile String[] missingSupertypeNames = null;
+    private volatile JDTBeanIntrospector beanIntrospector = null;
+    private volatile long lastAccess = 0;
+    // guarded by the dependency lock of the TypeInfoCache
+    private List<ITypeRoot> additionalTypeRoots = null;
+    private List<String> additionalTypenames = null;
     
     /**Creates an empty TypeInfo object
      */
@@ -119,4 +129,54 @@ class TypeInfo {
     public void setBeanIntrospector(JDTBeanIntrospector beanIntrospector) {
       this.beanIntrospector = beanIntrospector;
     }
+
+    /**Returns the time this info was last accessed, in System.nanoTime() units.
+     * @return the time of the last access
+     */
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**Records an access to this info.
+     * @param time - the access time, in System.nanoTime() units
+     */
+    public void setLastAccess(long time) {
+        this.lastAccess = time;
+    }
+
+    /**Returns the type roots, other than those of the type and its supertypes, the cached info
+     * depends on.
+     * @return the additional type roots. Never null.
+     */
+    public List<ITypeRoot> getAdditionalTypeRoots() {
+        return additionalTypeRoots != null ? additionalTypeRoots : Collections.<ITypeRoot>emptyList();
+    }
+
+    /**Adds a type root the cached info depends on.
+     * @param typeRoot - the type root
+     */
+    public void addAdditionalTypeRoot(ITypeRoot typeRoot) {
+        if (additionalTypeRoots == null) {
+            additionalTypeRoots = new ArrayList<ITypeRoot>(2);
+        }
+        additionalTypeRoots.add(typeRoot);
+    }
+
+    /**Returns the short names of types that could not be resolved, other than missing supertypes,
+     * the cached info depends on.
+     * @return the additional type names. Never null.
+     */
+    public List<String> getAdditionalTypenames() {
+        return additionalTypenames != null ? additionalTypenames : Collections.<String>emptyList();
+    }
+
+    /**Adds the short name of a type that could not be resolved that the cached info depends on.
+     * @param typename - the short type name
+     */
+    public void addAdditionalTypename(String typename) {
+        if (additionalTypenames == null) {
+            additionalTypenames = new ArrayList<String>(2);
+        }
+        additionalTypenames.add(typename);
+    }
 }
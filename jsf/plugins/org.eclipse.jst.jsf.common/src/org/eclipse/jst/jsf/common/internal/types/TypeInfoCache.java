@@ -14,6 +14,7 @@
 package org.eclipse.jst.jsf.common.internal.types;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -21,6 +22,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -44,11 +47,23 @@ import org.eclipse.jst.jsf.context.symbol.IBeanPropertySymbol;
 /**Provides a cache for java IType properties. It can cache bean property symbols, method symbols,
  * supertypes and implemented interfaces per IType. The cache listens to changes in the java model
  * and invalidates affected properties, but does not update them.
+ * <p>
+ * Reads are lock-free. The info for a type is created at most once at a time: creation is
+ * serialized per type on a set of striped locks, so concurrent lookups of different types
+ * don't wait on each other. The dependency tables used for invalidation are only touched when
+ * types are cached or uncached and are guarded by a single lock.
+ * <p>
+ * The cache can be bounded with the system property
+ * "org.eclipse.jst.jsf.common.typeInfoCache.maxSize" (or per instance with
+ * {@link #createNewInstance(int)}). When the bound is exceeded the least recently used
+ * tenth of the types is evicted. By default the cache is unbounded.
  * 
  * @author Matthias
  */
 public class TypeInfoCache implements IElementChangedListener {
     
+    private static final int NUM_CREATE_LOCKS = 32;
+    
     private static TypeInfoCache instance = null;
     
     /**Returns the TypeInfoCache instance.  This instance is considered
@@ -70,11 +85,40 @@ public class TypeInfoCache implements IElementChangedListener {
      */
     public static TypeInfoCache createNewInstance()
     {
-        final TypeInfoCache newCache = new TypeInfoCache();
+        return createNewInstance(getDefaultMaxSize());
+    }
+    
+    /**
+     * Create a new instance of the type cache that holds info for at most
+     * maxSize types.
+     * 
+     * @param maxSize - the maximum number of types cached or 0 for no bound
+     * @return a new instance of the type info cache.
+     */
+    public static TypeInfoCache createNewInstance(final int maxSize)
+    {
+        final TypeInfoCache newCache = new TypeInfoCache(maxSize);
         JavaCore.addElementChangedListener(newCache, ElementChangedEvent.POST_CHANGE);
         return newCache;
     }
     
+    private static int getDefaultMaxSize()
+    {
+        final String value = System.getProperty("org.eclipse.jst.jsf.common.typeInfoCache.maxSize"); //$NON-NLS-1$
+        if (value != null)
+        {
+            try
+            {
+                return Math.max(0, Integer.parseInt(value.trim()));
+            }
+            catch (final NumberFormatException e)
+            {
+                JSFCommonPlugin.log(IStatus.WARNING, "Invalid type info cache size: " + value, e); //$NON-NLS-1$
+            }
+        }
+        return 0;
+    }
+    
     /**
      * If cache is not the singleton instance acquired with {@link #getInstance()}
      * then the cache will be disposed and should not be used.  If cache is
@@ -89,35 +133,30 @@ public class TypeInfoCache implements IElementChangedListener {
                 && cache != instance)
         {
             JavaCore.removeElementChangedListener(cache);
-            
-            synchronized(cache)
-            {
-                if (cache.cachedInfo != null)
-                {
-                    cache.cachedInfo.clear();
-                }
-                
-                if (cache.cachedTypesByAffectingTypeRoot != null)
-                {
-                    cache.cachedTypesByAffectingTypeRoot.clear();
-                }
-                
-                if (cache.cachedTypesByMissingSupertypename != null)
-                {
-                    cache.cachedTypesByMissingSupertypename.clear();
-                }
-            }
+            cache.uncacheAllTypes();
         }
     }
     
+    private final int maxSize;
     private final Map<IType, TypeInfo> cachedInfo;
+    // guarded by dependencyLock
     private final Map<ITypeRoot, Set<IType>> cachedTypesByAffectingTypeRoot;
     private final Map<String, Set<IType>> cachedTypesByMissingSupertypename;
+    private final Object dependencyLock = new Object();
+    // bumped on every invalidation so that info computed concurrently with
+    // a change can be recognized as possibly stale
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final Object[] createLocks;
     
-    private TypeInfoCache() {
-        cachedInfo = new HashMap<IType, TypeInfo>();
+    private TypeInfoCache(final int maxSize) {
+        this.maxSize = maxSize;
+        cachedInfo = new ConcurrentHashMap<IType, TypeInfo>();
         cachedTypesByAffectingTypeRoot = new HashMap();
         cachedTypesByMissingSupertypename = new HashMap(10);
+        createLocks = new Object[NUM_CREATE_LOCKS];
+        for (int i = 0; i < createLocks.length; i++) {
+            createLocks[i] = new Object();
+        }
     }
 
     public void elementChanged(ElementChangedEvent event) {
@@ -136,9 +175,64 @@ public class TypeInfoCache implements IElementChangedListener {
         if (type != null)
         {
             info = cachedInfo.get(type);
+            if (info != null && maxSize > 0)
+            {
+                info.setLastAccess(System.nanoTime());
+            }
         }
         return info;
     }
+    
+    /**
+     * @return the number of types with cached info
+     */
+    public int size() {
+        return cachedInfo.size();
+    }
+    
+    /**Returns a count that is incremented whenever cached info is invalidated. Used with
+     * {@link #addDependencies(IType, ITypeRoot[], String[], long)} to tell whether info derived
+     * from the cached info may already be stale.
+     * @return the invalidation count
+     */
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+    
+    /**Makes the cached info of the given type also depend on the given type roots and on
+     * types with the given names appearing, in the same way as it depends on its supertypes
+     * and missing supertypes. Used for info cached with the type, like the bean introspector,
+     * that was derived from other types, like the types of the bean's properties.
+     * @param type - the type whose info is cached
+     * @param typeRoots - type roots a change of which must uncache the type's info
+     * @param typenames - names, qualified or not, of types that could not be resolved
+     * @param expectedInvalidationCount - the {@link #getInvalidationCount()} from before the
+     * derived info was computed
+     * @return true if the info of type is cached and nothing was invalidated since
+     * expectedInvalidationCount, so that the derived info may be kept as well
+     */
+    public boolean addDependencies(IType type, ITypeRoot[] typeRoots, String[] typenames,
+            long expectedInvalidationCount) {
+        if (type == null) {
+            return false;
+        }
+        synchronized (dependencyLock) {
+            final TypeInfo typeInfo = cachedInfo.get(type);
+            if (typeInfo == null || invalidationCount.get() != expectedInvalidationCount) {
+                return false;
+            }
+            for (int i = 0; i < typeRoots.length; i++) {
+                registerTypeForTypeRoot(type, typeRoots[i]);
+                typeInfo.addAdditionalTypeRoot(typeRoots[i]);
+            }
+            for (int i = 0; i < typenames.length; i++) {
+                final String shortName = shortTypename(typenames[i]);
+                registerTypeForMissingSupertype(type, shortName);
+                typeInfo.addAdditionalTypename(shortName);
+            }
+            return true;
+        }
+    }
 
     /**Returns the cached bean property symbols for a given type. Will return null if no
      * bean property symbols have been cached or the type/something it depends on has changed since
@@ -147,7 +241,7 @@ public class TypeInfoCache implements IElementChangedListener {
      * @return the bean property symbols for the given type. May be null.
      * @see TypeInfoCache#cachePropertySymbols(IType, IBeanPropertySymbol[])
      */
-    public synchronized IBeanPropertySymbol[] getCachedPropertySymbols(IType beanType) {
+    public IBeanPropertySymbol[] getCachedPropertySymbols(IType beanType) {
         IBeanPropertySymbol[] props = null;
         
         if (beanType != null)
@@ -168,7 +262,7 @@ public class TypeInfoCache implements IElementChangedListener {
      * @return the method symbols for the given type. May be null.
      * @see TypeInfoCache#cacheMethodSymbols(IType, IBeanMethodSymbol[])
      */
-    public synchronized IBeanMethodSymbol[] getCachedMethodSymbols(IType beanType) {
+    public IBeanMethodSymbol[] getCachedMethodSymbols(IType beanType) {
         IBeanMethodSymbol[]  methods = null;
         
         if (beanType != null)
@@ -208,7 +302,7 @@ public class TypeInfoCache implements IElementChangedListener {
      * @return the supertypes for the given type. May be null.
      * @see TypeInfoCache#cacheSupertypesFor(IType)
      */
-    public synchronized IType[] getCachedSupertypes(IType type) {
+    public IType[] getCachedSupertypes(IType type) {
         if (type != null)
         {
             TypeInfo typeInfo = getTypeInfo(type);
@@ -228,7 +322,7 @@ public class TypeInfoCache implements IElementChangedListener {
      * @return the interface types implemented by the given type. May be null.
      * @see TypeInfoCache#cacheInterfaceTypesFor(IType)
      */
-    public synchronized IType[] getCachedInterfaceTypes(IType type) 
+    public IType[] getCachedInterfaceTypes(IType type) 
     {
         IType[] types = null;
         
@@ -248,7 +342,7 @@ public class TypeInfoCache implements IElementChangedListener {
      * @param beanType - the type
      * @param methods - the method symbols to cache
      */
-    public synchronized void cacheMethodSymbols(IType beanType, IBeanMethodSymbol[] methods) {
+    public void cacheMethodSymbols(IType beanType, IBeanMethodSymbol[] methods) {
         if (beanType != null)
         {
             TypeInfo typeInfo = getOrCreateTypeInfo(beanType);
@@ -262,7 +356,7 @@ public class TypeInfoCache implements IElementChangedListener {
      * @param beanType - the type
      * @param properties - the property symbols to cache
      */
-    public synchronized void cachePropertySymbols(IType beanType, IBeanPropertySymbol[] properties) {
+    public void cachePropertySymbols(IType beanType, IBeanPropertySymbol[] properties) {
         if (beanType != null)
         {
             TypeInfo typeInfo = getOrCreateTypeInfo(beanType);
@@ -293,7 +387,7 @@ public class TypeInfoCache implements IElementChangedListener {
      * @param type - the type to cache supertypes for
      * @return the supertypes of the given type.
      */
-    public synchronized IType[] cacheSupertypesFor(IType type) 
+    public IType[] cacheSupertypesFor(IType type) 
     {
         IType[] types = null;
         
@@ -314,7 +408,7 @@ public class TypeInfoCache implements IElementChangedListener {
      * @param type - the type to cache interface types for
      * @return the interface types implemented by the given type.
      */
-    public synchronized IType[] cacheInterfaceTypesFor(IType type) 
+    public IType[] cacheInterfaceTypesFor(IType type) 
     {
         IType[] types = null;
         
@@ -337,41 +431,86 @@ public class TypeInfoCache implements IElementChangedListener {
     protected TypeInfo getOrCreateTypeInfo(IType type) {
         TypeInfo typeInfo = getTypeInfo(type);
         if (typeInfo == null) {
-            try {
-                final ITypeHierarchy  hierarchy = 
-                    type.newSupertypeHierarchy(new NullProgressMonitor());
-                final IType[] supertypes = hierarchy.getAllSuperclasses(type);
-                final IType[] interfaceTypes = hierarchy.getAllInterfaces();
-                final IType[] rootClasses = hierarchy.getRootClasses();
-                List missingSupertypesList = null;
-                for (int i = 0; i < rootClasses.length; i++) {
-                    String superclassName = rootClasses[i].getSuperclassName();
-                    if (superclassName != null) {
-                        if (missingSupertypesList == null) {
-                            missingSupertypesList = new ArrayList(1);
-                        }
-                        superclassName = shortTypename(superclassName);
-                        missingSupertypesList.add(superclassName);
+            synchronized (createLocks[(type.hashCode() & 0x7fffffff) % createLocks.length]) {
+                typeInfo = getTypeInfo(type);
+                if (typeInfo == null) {
+                    typeInfo = createTypeInfo(type);
+                }
+            }
+        }
+        return typeInfo;
+    }
+    
+    private TypeInfo createTypeInfo(IType type) {
+        TypeInfo typeInfo = null;
+        final long invalidationsBefore = invalidationCount.get();
+        try {
+            final ITypeHierarchy  hierarchy = 
+                type.newSupertypeHierarchy(new NullProgressMonitor());
+            final IType[] supertypes = hierarchy.getAllSuperclasses(type);
+            final IType[] interfaceTypes = hierarchy.getAllInterfaces();
+            final IType[] rootClasses = hierarchy.getRootClasses();
+            List missingSupertypesList = null;
+            for (int i = 0; i < rootClasses.length; i++) {
+                String superclassName = rootClasses[i].getSuperclassName();
+                if (superclassName != null) {
+                    if (missingSupertypesList == null) {
+                        missingSupertypesList = new ArrayList(1);
                     }
+                    superclassName = shortTypename(superclassName);
+                    missingSupertypesList.add(superclassName);
                 }
-                String[] missingSupertypes = null;
-                if (missingSupertypesList != null) {
-                    missingSupertypes = (String[]) missingSupertypesList.toArray(new String[missingSupertypesList.size()]);
-                } else {
-                    missingSupertypes = TypeInfo.NO_NAMES;
+            }
+            String[] missingSupertypes = null;
+            if (missingSupertypesList != null) {
+                missingSupertypes = (String[]) missingSupertypesList.toArray(new String[missingSupertypesList.size()]);
+            } else {
+                missingSupertypes = TypeInfo.NO_NAMES;
+            }
+            typeInfo = new TypeInfo();
+            typeInfo.setSupertypes(supertypes);
+            typeInfo.setInterfaceTypes(interfaceTypes);
+            typeInfo.setMissingSupertypeNames(missingSupertypes);
+            typeInfo.setLastAccess(System.nanoTime());
+            synchronized (dependencyLock) {
+                // if something changed while the hierarchy was computed, the
+                // info may be stale: hand it out once but don't keep it
+                if (invalidationCount.get() == invalidationsBefore) {
+                    cachedInfo.put(type, typeInfo);
+                    registerCachedType(type, typeInfo);
+                    if (maxSize > 0 && cachedInfo.size() > maxSize) {
+                        evictLeastRecentlyUsed();
+                    }
                 }
-                typeInfo = new TypeInfo();
-                typeInfo.setSupertypes(supertypes);
-                typeInfo.setInterfaceTypes(interfaceTypes);
-                typeInfo.setMissingSupertypeNames(missingSupertypes);
-                cachedInfo.put(type, typeInfo);
-                registerCachedType(type, typeInfo);
-            } catch (JavaModelException e) {
-                JSFCommonPlugin.log(e);
             }
+        } catch (JavaModelException e) {
+            JSFCommonPlugin.log(e);
         }
         return typeInfo;
     }
+    
+    /**Removes the least recently used tenth of the cached types. Must be called
+     * holding dependencyLock.
+     */
+    private void evictLeastRecentlyUsed() {
+        final Map.Entry<IType, TypeInfo>[] entries = cachedInfo.entrySet().toArray(new Map.Entry[0]);
+        final long[] accessTimes = new long[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            accessTimes[i] = entries[i].getValue().getLastAccess();
+        }
+        final int numToEvict = Math.max(1, entries.length - (maxSize - maxSize / 10));
+        final long[] sortedTimes = accessTimes.clone();
+        Arrays.sort(sortedTimes);
+        final long cutoff = sortedTimes[Math.min(numToEvict, sortedTimes.length) - 1];
+        int evicted = 0;
+        for (int i = 0; i < entries.length && evicted < numToEvict; i++) {
+            if (accessTimes[i] <= cutoff
+                    && cachedInfo.remove(entries[i].getKey(), entries[i].getValue())) {
+                unregisterCachedType(entries[i].getKey(), entries[i].getValue());
+                evicted++;
+            }
+        }
+    }
 
     /**Returns the typename fragment after the last "." (which in most cases is identical to the
      * unqualified typename).
@@ -391,7 +530,7 @@ public class TypeInfoCache implements IElementChangedListener {
     /**
      * Registers the given type for all ITypeRoot's it depends on, so that it can be uncached if
      * one of this ITypeRoot's has changed. The type must be unregistered when it should not be watched
-     * anymore.
+     * anymore. Must be called holding the dependency lock.
      * @param type - the type
      * @param typeInfo - TypeInfo of the given type
      * @see TypeInfoCache#unregisterCachedType(IType, TypeInfo)
@@ -428,7 +567,8 @@ public class TypeInfoCache implements IElementChangedListener {
         dependentTypes.add(type);
     }
 
-    /**Unregisters the given type for all ITypeRoot's it depended on.
+    /**Unregisters the given type for all ITypeRoot's it depended on. Must be called holding
+     * the dependency lock.
      * @param type - the type
      * @param typeInfo - TypeInfo of the given type
      */
@@ -444,6 +584,12 @@ public class TypeInfoCache implements IElementChangedListener {
                 unregisterTypeForMissingSupertype(type, missingSupertypeNames[i]);
             }
         }
+        for (ITypeRoot typeRoot : typeInfo.getAdditionalTypeRoots()) {
+            unregisterTypeForTypeRoot(type, typeRoot);
+        }
+        for (String typename : typeInfo.getAdditionalTypenames()) {
+            unregisterTypeForMissingSupertype(type, typename);
+        }
     }
 
     private void unregisterTypeForTypeRoot(IType type, ITypeRoot typeRoot) {
@@ -468,23 +614,31 @@ public class TypeInfoCache implements IElementChangedListener {
     
     /**This will remove all cached info for all types.
      */
-    protected synchronized void uncacheAllTypes() {
-        cachedInfo.clear();
-        cachedTypesByAffectingTypeRoot.clear();
-        cachedTypesByMissingSupertypename.clear();
+    protected void uncacheAllTypes() {
+        synchronized (dependencyLock) {
+            invalidationCount.incrementAndGet();
+            cachedInfo.clear();
+            cachedTypesByAffectingTypeRoot.clear();
+            cachedTypesByMissingSupertypename.clear();
+        }
     }
     
     /**Removes all cached info for all types that are subtypes of a type of the given ITypeRoot. 
      * @param typeRoot
      */
-    protected synchronized void uncacheAffectedTypes(ITypeRoot typeRoot) {
-        Collection affectedTypes = cachedTypesByAffectingTypeRoot.get(typeRoot);
-        if (affectedTypes != null && !affectedTypes.isEmpty()) {
-            List affectedTypesCopy = new ArrayList(affectedTypes);
-            for (Iterator it = affectedTypesCopy.iterator(); it.hasNext(); ) {
-                IType cachedType = (IType) it.next();
-                TypeInfo typeInfo = cachedInfo.remove(cachedType);
-                unregisterCachedType(cachedType, typeInfo);
+    protected void uncacheAffectedTypes(ITypeRoot typeRoot) {
+        synchronized (dependencyLock) {
+            invalidationCount.incrementAndGet();
+            Collection affectedTypes = cachedTypesByAffectingTypeRoot.get(typeRoot);
+            if (affectedTypes != null && !affectedTypes.isEmpty()) {
+                List affectedTypesCopy = new ArrayList(affectedTypes);
+                for (Iterator it = affectedTypesCopy.iterator(); it.hasNext(); ) {
+                    IType cachedType = (IType) it.next();
+                    TypeInfo typeInfo = cachedInfo.remove(cachedType);
+                    if (typeInfo != null) {
+                        unregisterCachedType(cachedType, typeInfo);
+                    }
+                }
             }
         }
     }
@@ -493,14 +647,19 @@ public class TypeInfoCache implements IElementChangedListener {
      * that has a name similar to the given name. 
      * @param supertypename - the missing supertype name. May be qualified or not
      */
-    protected synchronized void uncacheTypesWithMissingSupertype(String supertypename) {
-        Collection affectedTypes = cachedTypesByMissingSupertypename.get(shortTypename(supertypename));
-        if (affectedTypes != null && !affectedTypes.isEmpty()) {
-            List affectedTypesCopy = new ArrayList(affectedTypes);
-            for (Iterator it = affectedTypesCopy.iterator(); it.hasNext(); ) {
-                IType cachedType = (IType) it.next();
-                TypeInfo typeInfo = cachedInfo.remove(cachedType);
-                unregisterCachedType(cachedType, typeInfo);
+    protected void uncacheTypesWithMissingSupertype(String supertypename) {
+        synchronized (dependencyLock) {
+            invalidationCount.incrementAndGet();
+            Collection affectedTypes = cachedTypesByMissingSupertypename.get(shortTypename(supertypename));
+            if (affectedTypes != null && !affectedTypes.isEmpty()) {
+                List affectedTypesCopy = new ArrayList(affectedTypes);
+                for (Iterator it = affectedTypesCopy.iterator(); it.hasNext(); ) {
+                    IType cachedType = (IType) it.next();
+                    TypeInfo typeInfo = cachedInfo.remove(cachedType);
+                    if (typeInfo != null) {
+                        unregisterCachedType(cachedType, typeInfo);
+                    }
+                }
             }
         }
     }
@@ -13,6 +13,8 @@
  ********************************************************************************/
 package org.eclipse.jst.jsf.common.metadata.internal;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.eclipse.jst.jsf.common.metadata.Model;
 
 /**
@@ -21,11 +23,13 @@ import org.eclipse.jst.jsf.common.metadata.Model;
  */
 public class MetaDataModel {
 
-	private Object root;
+	private static final AtomicLong MODIFICATION_COUNT = new AtomicLong();
+
+	private volatile Object root;
 	private IMetaDataModelContext modelContext;	
 	private ModelKeyDescriptor modelKeyDescriptor;
 	private IDomainLoadingStrategy strategy;
-	private boolean refresh;
+	private volatile boolean refresh;
 
 
 	
@@ -39,6 +43,16 @@ public class MetaDataModel {
 		this.strategy = strategy;
 	}
 
+	/**
+	 * Callers that hold on to entities or traits across queries can compare this count
+	 * to tell that what they hold may be stale.
+	 * 
+	 * @return a count that changes whenever any model is marked stale, reloaded or cleaned up.
+	 */
+	public static long getModificationCount(){
+		return MODIFICATION_COUNT.get();
+	}
+
 	/**
 	 * @return the root of the model.  
 	 */
@@ -93,6 +107,7 @@ public class MetaDataModel {
 	public synchronized void load(){
 		StandardModelFactory.debug("> Begin Loading: "+modelContext.toString(), StandardModelFactory.DEBUG_MD_LOAD); //$NON-NLS-1$
 		strategy.load(this);
+		index();
 		StandardModelFactory.debug("> End Loading: "+modelContext.toString(),StandardModelFactory.DEBUG_MD_LOAD); //$NON-NLS-1$
 	}
 	
@@ -101,9 +116,20 @@ public class MetaDataModel {
 	 * @throws ModelNotSetException
 	 */
 	public void reload()throws ModelNotSetException{
+		MODIFICATION_COUNT.incrementAndGet();
 		setRoot(null);
 		refresh = false;
 		strategy.reload();
+		index();
+	}
+
+	/**
+	 * Indexes the loaded model so that exact entity and trait lookups need not walk it
+	 * @see MetaDataModelIndex
+	 */
+	private void index() {
+		if (!isEmpty())
+			MetaDataModelIndex.attach((Model)root);
 	}
 
 	/**
@@ -118,12 +144,14 @@ public class MetaDataModel {
 	 */
 	public void setNeedsRefresh() {		
 		refresh = true;
+		MODIFICATION_COUNT.incrementAndGet();
 	}
 	
 	/**
 	 * Cleans up the model releasing references.
 	 */
 	public void cleanup(){
+		MODIFICATION_COUNT.incrementAndGet();
 		if (strategy != null)
 			strategy.cleanup();
 		strategy = null;
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.common.metadata.internal;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.StringTokenizer;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jst.jsf.common.metadata.Entity;
+import org.eclipse.jst.jsf.common.metadata.Model;
+import org.eclipse.jst.jsf.common.metadata.Trait;
+
+/**
+ * Inverted index of a fully loaded {@link Model}.
+ * <p>
+ * Entities are keyed by their case-folded, "/"-delimited path from the model ("TAG" or "TAG/ATTRIBUTE"),
+ * and traits by their id within each entity.   When several entities fold to the same path, the first in
+ * document order wins, which is the entity the simple entity query visitor would have returned.
+ * <p>
+ * The index is built by {@link MetaDataModel} once loading has completed and is attached to the model root
+ * as an adapter.   The model must not be changed afterwards; a reload always produces a new root.
+ */
+public final class MetaDataModelIndex extends AdapterImpl {
+
+	private static final String LEVEL_DELIMITER = "/"; //$NON-NLS-1$
+
+	private final Map<String, Entity> _entities = new HashMap<String, Entity>();
+	private final Map<Entity, Map<String, Trait>> _traits = new IdentityHashMap<Entity, Map<String, Trait>>();
+
+	private MetaDataModelIndex(){
+		// use attach
+	}
+
+	/**
+	 * Builds the index for model and attaches it, replacing any previous index.
+	 * @param model
+	 */
+	public static void attach(final Model model){
+		final MetaDataModelIndex index = new MetaDataModelIndex();
+		index.indexTraits(model);
+		for (final Entity child : model.getChildEntities()){
+			index.indexEntity(child, null);
+		}
+
+		final MetaDataModelIndex oldIndex = getIndex(model);
+		if (oldIndex != null)
+			model.eAdapters().remove(oldIndex);
+		model.eAdapters().add(index);
+	}
+
+	/**
+	 * @param model
+	 * @return the index attached to model or null if model has not been indexed
+	 */
+	public static MetaDataModelIndex getIndex(final Model model){
+		if (model == null)
+			return null;
+		return (MetaDataModelIndex)EcoreUtil.getExistingAdapter(model, MetaDataModelIndex.class);
+	}
+
+	@Override
+	public boolean isAdapterForType(final Object type) {
+		return type == MetaDataModelIndex.class;
+	}
+
+	/**
+	 * @param entityKey - query key relative to the model which may be compound ("A/B")
+	 * @return the first entity matching entityKey, ignoring case, or null
+	 */
+	public Entity getEntity(final String entityKey){
+		return _entities.get(normalizeKey(entityKey));
+	}
+
+	/**
+	 * @param entity
+	 * @return true if entity's traits are indexed
+	 */
+	public boolean isIndexed(final Entity entity){
+		return _traits.containsKey(entity);
+	}
+
+	/**
+	 * @param entity
+	 * @param traitKey
+	 * @return the first trait of entity with the id traitKey, or null
+	 */
+	public Trait getTrait(final Entity entity, final String traitKey){
+		final Map<String, Trait> traits = _traits.get(entity);
+		return traits != null ? traits.get(traitKey) : null;
+	}
+
+	private void indexEntity(final Entity entity, final String parentPath){
+		final String id = entity.getId();
+		// the query visitor cannot reach these either
+		if (id == null || id.indexOf(LEVEL_DELIMITER) != -1)
+			return;
+
+		final String path = parentPath == null ? id.toUpperCase() : parentPath + LEVEL_DELIMITER + id.toUpperCase();
+		if (!_entities.containsKey(path))
+			_entities.put(path, entity);
+
+		indexTraits(entity);
+		for (final Entity child : entity.getChildEntities()){
+			indexEntity(child, path);
+		}
+	}
+
+	private void indexTraits(final Entity entity){
+		Map<String, Trait> traits = null;
+		for (final Trait trait : entity.getTraits()){
+			if (trait.getId() == null)
+				continue;
+			if (traits == null)
+				traits = new HashMap<String, Trait>(4);
+			if (!traits.containsKey(trait.getId()))
+				traits.put(trait.getId(), trait);
+		}
+		_traits.put(entity, traits);
+	}
+
+	/**
+	 * Mirrors the tokenizing done by the simple entity query visitor
+	 */
+	private static String normalizeKey(final String key){
+		if (key == null || key.trim().equals("") || key.trim().equals(LEVEL_DELIMITER)) //$NON-NLS-1$
+			return ""; //$NON-NLS-1$
+
+		final StringTokenizer st = new StringTokenizer(key, LEVEL_DELIMITER);
+		final StringBuffer buf = new StringBuffer(key.length());
+		while (st.hasMoreTokens()){
+			if (buf.length() > 0)
+				buf.append(LEVEL_DELIMITER);
+			buf.append(st.nextToken().toUpperCase());
+		}
+		return buf.toString();
+	}
+}
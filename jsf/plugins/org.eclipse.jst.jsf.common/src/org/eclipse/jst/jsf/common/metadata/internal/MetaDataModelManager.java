@@ -16,10 +16,16 @@ package org.eclipse.jst.jsf.common.metadata.internal;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IStatus;
@@ -32,14 +38,22 @@ import org.eclipse.jst.jsf.common.metadata.Model;
  *
  * Manager is responsible for loading and caching MetaDataModels.  Models are keyed by URI.
  * 
+ * Models that are loaded and not stale are returned without locking.  Models for different
+ * keys load in parallel, while concurrent requests for the same key share one load.  Reloading
+ * a stale model excludes all other loads and reloads, in all managers.
+ * 
  * The manager listens for project closing resource events so that the resources can be freed up.
  */
 public final class MetaDataModelManager extends AbstractMetaDataModelManager {
 
 	private static IMetaDataModelManager SHARED_INSTANCE;
 	
-	// used to lock all instance calls for getModel
-	private static final Lock  GLOBAL_INSTANCE_LOCK = new ReentrantLock();
+	// loads hold the read lock and reloads the write lock, in all instances
+	private static final ReentrantReadWriteLock  GLOBAL_INSTANCE_LOCK = new ReentrantReadWriteLock();
+	// odd while a reload is in progress; lock-free reads retry on the locked path if it moved
+	private static final AtomicLong RELOAD_SEQUENCE = new AtomicLong();
+	private static final int   MAX_TRIES = 6;
+	private static final long  TRY_TIMEOUT_MS = 5000;
 	private final ModelMap models; 
 	
 	
@@ -64,77 +78,214 @@ public final class MetaDataModelManager extends AbstractMetaDataModelManager {
     public Model getModel(
             final IMetaDataModelContext modelContext) 
     {
-        boolean gotLock = false;
-        try
+        final IMetaDataModelContext context = Aliases.get(modelContext);
+        final String key = ModelMap.calculateKey(context);
+
+        // fast path: a loaded, fresh model
+        final long sequence = RELOAD_SEQUENCE.get();
+        if ((sequence & 1) == 0)
         {
-            final int maxTries = 6;
-            int numTries = 0;
-            final Job currentJob = Job.getJobManager().currentJob();
-            while (numTries < maxTries &&
-                    !(gotLock = GLOBAL_INSTANCE_LOCK.tryLock(5000, TimeUnit.MILLISECONDS)))
+            final MetaDataModel model = models.get(key);
+            if (model != null && !model.needsRefresh())
             {
-                numTries++;
-                if (currentJob != null)
+                final Model root = getRoot(model);
+                if (RELOAD_SEQUENCE.get() == sequence)
                 {
-                    currentJob.yieldRule(null);
+                    return root;
                 }
             }
+        }
 
-            if (!gotLock)
+        StandardModelFactory.debug(">START getModel: " + context, StandardModelFactory.DEBUG_MD_GET); //$NON-NLS-1$
+
+        MetaDataModel model = models.get(key);
+        if (model == null) {
+            // long in = System.currentTimeMillis();
+            model = loadOnce(context, key);
+            //System.out.println("Time to load "+modelContext.getURI()+": "+
+            // String.valueOf(System.currentTimeMillis() - in));
+        } else if (model.needsRefresh()) {
+            model = refresh(model, context);
+        }
+        
+//        if (model != null && model.getRoot() != null)
+//            ((Model) model.getRoot())
+//                    .setCurrentModelContext(modelContext);
+
+        StandardModelFactory.debug(">END getModel: " + context, StandardModelFactory.DEBUG_MD_GET); //$NON-NLS-1$
+        return getRoot(model);
+    }
+
+    private static Model getRoot(final MetaDataModel model)
+    {
+        final Object root = model != null ? model.getRoot() : null;
+        return root instanceof Model ? (Model) root : null;
+    }
+
+    /**
+     * Loads the model for key, or waits for the load already started by
+     * another thread.
+     */
+    private MetaDataModel loadOnce(final IMetaDataModelContext context,
+            final String key)
+    {
+        if (GLOBAL_INSTANCE_LOCK.isWriteLockedByCurrentThread())
+        {
+            // nested in a reload on this thread: a load started by another
+            // thread is blocked on the lock we hold, so load it ourselves
+            final MetaDataModel model = models.get(key);
+            return model != null ? model : loadMetadata(context);
+        }
+
+        final FutureTask<MetaDataModel> task = new FutureTask<MetaDataModel>(
+                new Callable<MetaDataModel>()
+                {
+                    public MetaDataModel call() throws Exception
+                    {
+                        final Lock lock = GLOBAL_INSTANCE_LOCK.readLock();
+                        if (!acquire(lock))
+                        {
+                            return null;
+                        }
+                        try
+                        {
+                            // loaded since we looked
+                            final MetaDataModel model = models.get(key);
+                            return model != null ? model : loadMetadata(context);
+                        }
+                        finally
+                        {
+                            lock.unlock();
+                        }
+                    }
+                });
+        FutureTask<MetaDataModel> load = models.putLoad(key, task);
+        if (load == null)
+        {
+            load = task;
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                models.removeLoad(key, task);
+            }
+        }
+        return await(load);
+    }
+
+    /**
+     * Reloads a stale model, excluding all other loads and reloads.
+     */
+    private MetaDataModel refresh(final MetaDataModel model,
+            final IMetaDataModelContext context)
+    {
+        if (GLOBAL_INSTANCE_LOCK.getReadHoldCount() > 0)
+        {
+            // nested in a load on this thread; the write lock can't be had
+            return model;
+        }
+
+        final Lock lock = GLOBAL_INSTANCE_LOCK.writeLock();
+        if (!acquire(lock))
+        {
+            return null;
+        }
+        try
+        {
+            if (!model.needsRefresh())
+            {
+                // reloaded by another thread while we waited
+                return models.get(ModelMap.calculateKey(context));
+            }
+            RELOAD_SEQUENCE.incrementAndGet();
+            try {
+                model.reload();
+                return model;
+            } catch (ModelNotSetException e) {
+                // simply load it - should not get here
+                return loadMetadata(context);
+            }
+            finally
             {
-                return null;
+                RELOAD_SEQUENCE.incrementAndGet();
             }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
 
-            final IMetaDataModelContext context = Aliases.get(modelContext);
-
-            StandardModelFactory.debug(">START getModel: " + context, StandardModelFactory.DEBUG_MD_GET); //$NON-NLS-1$
-
-            MetaDataModel model = models.get(context);
-            if (model == null) {
-                // long in = System.currentTimeMillis();
-                model = loadMetadata(context);
-                //System.out.println("Time to load "+modelContext.getURI()+": "+
-                // String.valueOf(System.currentTimeMillis() - in));
-            } else if (model.needsRefresh()) {
-                try {
-                    model.reload();
-                } catch (ModelNotSetException e) {
-                    // simply load it - should not get here
-                    model = loadMetadata(context);
+    /**
+     * Tries to acquire lock for up to 30s, yielding the current job's rule
+     * between attempts so that a job holding a rule that the lock holder
+     * needs can't deadlock us.
+     * 
+     * @return true if lock was acquired
+     */
+    private static boolean acquire(final Lock lock)
+    {
+        try
+        {
+            final Job currentJob = Job.getJobManager().currentJob();
+            for (int numTries = 0; numTries < MAX_TRIES; numTries++)
+            {
+                if (lock.tryLock(TRY_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+                {
+                    return true;
+                }
+                if (currentJob != null)
+                {
+                    currentJob.yieldRule(null);
                 }
             }
-            
-//            if (model != null && model.getRoot() != null)
-//                ((Model) model.getRoot())
-//                        .setCurrentModelContext(modelContext);
-
-            StandardModelFactory.debug(">END getModel: " + context, StandardModelFactory.DEBUG_MD_GET); //$NON-NLS-1$
-            if (model != null && !model.isEmpty()){			
-    			return (Model)model.getRoot();
-    		}
-    		return null;
         }
         catch (final InterruptedException e)
         {
-            return null;
+            Thread.currentThread().interrupt();
         }
-        finally
+        return false;
+    }
+
+    /**
+     * Waits for load on the same terms as {@link #acquire(Lock)}.
+     * 
+     * @return the loaded model or null if the load failed or timed out
+     */
+    private static MetaDataModel await(final FutureTask<MetaDataModel> load)
+    {
+        try
         {
-            if (gotLock)
+            final Job currentJob = Job.getJobManager().currentJob();
+            for (int numTries = 0; numTries < MAX_TRIES; numTries++)
             {
-                GLOBAL_INSTANCE_LOCK.unlock();
+                try
+                {
+                    return load.get(TRY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+                catch (final TimeoutException e)
+                {
+                    if (currentJob != null)
+                    {
+                        currentJob.yieldRule(null);
+                    }
+                }
             }
         }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (final ExecutionException e)
+        {
+            JSFCommonPlugin.log(e.getCause(), "Error loading metadata model"); //$NON-NLS-1$
+        }
+        return null;
     }
 
 	private MetaDataModel loadMetadata(final IMetaDataModelContext context) {
-//        if (!Thread.holdsLock(GLOBAL_INSTANCE_LOCK.)) {
-//            JSFCommonPlugin
-//                    .log(IStatus.ERROR,
-//                            "Internal Error: loadMetadata must not be called if class lock not held"); //$NON-NLS-1$
-//            return null;
-//        }
-
         final IDomainLoadingStrategy strategy = DomainLoadingStrategyRegistry
                 .getInstance().getLoadingStrategy(
                         context.getDomainId());
@@ -174,15 +325,18 @@ public final class MetaDataModelManager extends AbstractMetaDataModelManager {
 
     /**
      * Map of models keyed by DOMAIN_ID:MODEL_ID from the context.   Project is not part of key.
+     * Also holds the loads in progress by the same key.
      * 
      */
     private static class ModelMap 
     {
         final Map<String, MetaDataModel> map;
+        final ConcurrentHashMap<String, FutureTask<MetaDataModel>> loads;
         private final AtomicBoolean _isDisposed = new AtomicBoolean(false);
 
         ModelMap() {
-            map = new HashMap<String, MetaDataModel>();
+            map = new ConcurrentHashMap<String, MetaDataModel>();
+            loads = new ConcurrentHashMap<String, FutureTask<MetaDataModel>>();
         }
 
         /**
@@ -191,52 +345,57 @@ public final class MetaDataModelManager extends AbstractMetaDataModelManager {
          */
         public void put(final MetaDataModel model) {
             assert !_isDisposed.get();
-            final String key = calculateKey(model);
-            synchronized (this) {
-                map.put(key, model);
-            }
+            map.put(calculateKey(model), model);
         }
 
         /**
-         * @param context
-         * @return MetaDataModel for this context. May return null.
+         * @param key
+         * @return MetaDataModel for this key. May return null.
          */
-        public MetaDataModel get(final IMetaDataModelContext context) {
-            assert !_isDisposed.get();
+        public MetaDataModel get(final String key) {
+            return map.get(key);
+        }
 
-            final String key = calculateKey(context);
+        /**
+         * @param key
+         * @param load
+         * @return the load already in progress for key, else null after
+         *         registering load as in progress
+         */
+        public FutureTask<MetaDataModel> putLoad(final String key, final FutureTask<MetaDataModel> load) {
+            return loads.putIfAbsent(key, load);
+        }
 
-            synchronized (this) 
-            {
-                return map.get(key);
-            }
+        /**
+         * @param key
+         * @param load
+         */
+        public void removeLoad(final String key, final FutureTask<MetaDataModel> load) {
+            loads.remove(key, load);
         }
 
         public void dispose() {
             if (_isDisposed.compareAndSet(false, true)) {
-                synchronized(this)
+                for (final Iterator<Map.Entry<String, MetaDataModel>> it = map.entrySet().iterator(); it.hasNext();) 
                 {
-                    for (final Iterator<Map.Entry<String, MetaDataModel>> it = map.entrySet().iterator(); it.hasNext();) 
-                    {
-                        // System.out.println("kill mmModel: "+model.toString());
-                        final Map.Entry<String, MetaDataModel> entry = it.next();
-                        final MetaDataModel model = entry.getValue();
+                    // System.out.println("kill mmModel: "+model.toString());
+                    final Map.Entry<String, MetaDataModel> entry = it.next();
+                    final MetaDataModel model = entry.getValue();
 
-                        if (model != null)
-                        {
-                            model.cleanup();
-                        }
-                        it.remove();
+                    if (model != null)
+                    {
+                        model.cleanup();
                     }
+                    it.remove();
                 }
             }
         }
 
-        private String calculateKey(final MetaDataModel model) {        	
+        private static String calculateKey(final MetaDataModel model) {        	
             return calculateKey(model.getModelContext());
         }
 
-        private String calculateKey(final IMetaDataModelContext context) {
+        static String calculateKey(final IMetaDataModelContext context) {
         	final StringBuffer buf = new StringBuffer(context.getDomainId()).append(":").append(context.getModelIdentifier()); //$NON-NLS-1$; 
             return buf.toString();
         }
@@ -13,7 +13,13 @@
  ********************************************************************************/
 package org.eclipse.jst.jsf.common.metadata.internal;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.emf.ecore.util.EcoreUtil.Copier;
@@ -23,41 +29,43 @@ import org.eclipse.jst.jsf.common.metadata.EntityGroup;
 import org.eclipse.jst.jsf.common.metadata.IncludeEntityGroup;
 import org.eclipse.jst.jsf.common.metadata.Model;
 import org.eclipse.jst.jsf.common.metadata.Trait;
-import org.eclipse.jst.jsf.common.metadata.query.MetaDataException;
-import org.eclipse.jst.jsf.common.metadata.query.internal.HierarchicalSearchControl;
 import org.eclipse.jst.jsf.common.metadata.query.internal.IMetaDataQuery;
 import org.eclipse.jst.jsf.common.metadata.query.internal.MetaDataQueryFactory;
-import org.eclipse.jst.jsf.common.metadata.query.internal.SearchControl;
-import org.eclipse.jst.jsf.common.metadata.query.internal.SimpleEntityQueryVisitorImpl;
-import org.eclipse.jst.jsf.common.metadata.query.internal.SimpleResultSet;
-import org.eclipse.jst.jsf.common.metadata.query.internal.SimpleTraitQueryVisitorImpl;
 /**
  * Implements {@link IMetaDataModelMergeAssistant}
  * 
  * Responsible for merging source models into one.  The first model in has subsequent 
  * entities and traits added to it.   
+ * <p>
+ * Existing entities and traits are located through id-keyed indexes of each merged entity's 
+ * children and traits, which answer as the simple entity and trait query visitors would: entity 
+ * ids match ignoring case, and the first match in document order wins.   The indexes are built 
+ * on first use of an entity and catch up with entities and traits appended since, whether 
+ * appended by this assistant or directly by a translator.   The merged model only grows 
+ * while it is being merged.
  * 
- * TODO - make locating of existing entities and traits in the merged model more efficient
  * TODO - refactor out Taglibdomain-only aspects of include-group processing 
  *
  */
 public class MetaDataModelMergeAssistantImpl implements
 		IMetaDataModelMergeAssistant {
 	
+	private static final String LEVEL_DELIMITER = "/"; //$NON-NLS-1$
+	
 	private MetaDataModel mergedModel;
-	private SimpleEntityQueryVisitorImpl entityVisitor;
-	private SimpleTraitQueryVisitorImpl traitVisitor;
 	private IMetaDataSourceModelProvider provider;
 	
+	private final Map<Entity, EntityIndex> indexes = new IdentityHashMap<Entity, EntityIndex>();
+	private final Map<String, EntityGroup> entityGroups = new HashMap<String, EntityGroup>();
+	private int indexedEntityGroups;
+	private Object indexedRoot;
+	
 	/**
-	 * Constructor.   Queries with search control limited to first found.
+	 * Constructor.
 	 * @param model
 	 */
 	public MetaDataModelMergeAssistantImpl(final MetaDataModel model) {
 		this.mergedModel = model;
-		entityVisitor = new SimpleEntityQueryVisitorImpl(new HierarchicalSearchControl(1, 
-			HierarchicalSearchControl.SCOPE_ALL_LEVELS));
-		traitVisitor = new SimpleTraitQueryVisitorImpl(new SearchControl(1));
 	}
 
 	/* (non-Javadoc)
@@ -84,7 +92,7 @@ public class MetaDataModelMergeAssistantImpl implements
 	 */
 	public void addEntityGroup(final EntityGroup entityGroup) {
 		final Model model = (Model)getMergedModel().getRoot();
-		if (!isExistingEntityGroup(model, entityGroup)){
+		if (getEntityGroup(model, entityGroup.getId()) == null){
 			model.getEntityGroups().add(copyEntityGroup(entityGroup));
 		}
 	}
@@ -110,16 +118,9 @@ public class MetaDataModelMergeAssistantImpl implements
 	}
 
 	public Entity getMergedEntity(final Entity queryRoot, final String entityKey){		
-		Entity ret = null;
-		SimpleResultSet rs = (SimpleResultSet)entityVisitor.findEntities(queryRoot, entityKey);
-		try {
-			if (! rs.getResults().isEmpty()) 
-				ret = (Entity)rs.getResults().get(0);				
-			rs.close();
-		} catch (MetaDataException e) {
-			JSFCommonPlugin.log(IStatus.ERROR, "Error in getMergedEntity()", e); //$NON-NLS-1$
-		}
-		return ret;
+		if (queryRoot == null)
+			return null;
+		return findEntity(queryRoot, tokenize(entityKey), 0);
 	}
 	private void addIncludeGroupsAsNecessary(final Entity mmEntity, final Entity entity) {
 		for (final Iterator it=entity.getIncludeGroups().iterator();it.hasNext();){
@@ -163,20 +164,37 @@ public class MetaDataModelMergeAssistantImpl implements
 		return mmEntity;
 	}
 	
-	private boolean isExistingEntityGroup(final Model model, final EntityGroup entityGroup) {
-		boolean found = false;
-		for(final Iterator it=model.getEntityGroups().iterator();it.hasNext();){
-			if (entityGroup.getId().equals(((EntityGroup)it.next()).getId()))
-				return true;			
+	/**
+	 * @param model
+	 * @param groupId
+	 * @return the first entity group of the merged model with groupId, as {@link Model#findIncludeGroup(String)}
+	 */
+	private EntityGroup getEntityGroup(final Model model, final String groupId) {
+		checkRoot();
+		final List<EntityGroup> groups = model.getEntityGroups();
+		if (groups.size() < indexedEntityGroups){
+			entityGroups.clear();
+			indexedEntityGroups = 0;
+		}
+		for (int i=indexedEntityGroups, size=groups.size();i<size;i++){
+			final EntityGroup group = groups.get(i);
+			if (group.getId() != null && !entityGroups.containsKey(group.getId()))
+				entityGroups.put(group.getId(), group);
 		}
-		return found;
+		indexedEntityGroups = groups.size();
+		return entityGroups.get(groupId);
 	}
 
 	private Entity getExistingChildEntity(final Entity parent, final Entity entity) {
-		for(final Iterator it=parent.getChildEntities().iterator();it.hasNext();){
-			final Entity foundEntity = (Entity)it.next();
-			if (entity.getId().equals(foundEntity.getId()))
-				return foundEntity;			
+		if (entity.getId() == null)
+			return null;
+		final List<Entity> children = getIndex(parent).getChildren(entity.getId().toUpperCase());
+		if (children != null){
+			for (int i=0, size=children.size();i<size;i++){
+				final Entity foundEntity = children.get(i);
+				if (entity.getId().equals(foundEntity.getId()))
+					return foundEntity;
+			}
 		}
 		return null;
 	}
@@ -255,17 +273,45 @@ public class MetaDataModelMergeAssistantImpl implements
 		if (entity instanceof Model)
 			return (Entity)mergedModel.getRoot();
 		
-		Entity ret = null;
-		final String entityKey = getIdRelativeToRoot(entity);
-		final SimpleResultSet rs = (SimpleResultSet)entityVisitor.findEntities((Entity)mergedModel.getRoot(), entityKey);
-		try {
-			if (! rs.getResults().isEmpty()) 
-				ret = (Entity)rs.getResults().get(0);				
-			rs.close();
-		} catch (MetaDataException e) {
-			JSFCommonPlugin.log(IStatus.ERROR, "Error in getMergedEntity()", e); //$NON-NLS-1$
+		final Entity root = (Entity)mergedModel.getRoot();
+		if (root == null)
+			return null;
+		return findEntity(root, tokenize(getIdRelativeToRoot(entity)), 0);
+	}
+	
+	/*
+	 * Depth first, as the simple entity query visitor: the first child matching the key at this level 
+	 * that has a match for the rest of the key.
+	 */
+	private Entity findEntity(final Entity parent, final String[] levels, final int level) {
+		final List<Entity> children = getIndex(parent).getChildren(levels[level]);
+		if (children == null)
+			return null;
+		
+		for (int i=0, size=children.size();i<size;i++){
+			final Entity child = children.get(i);
+			if (level == levels.length - 1)
+				return child;
+			final Entity found = findEntity(child, levels, level + 1);
+			if (found != null)
+				return found;
 		}
-		return ret;
+		return null;
+	}
+	
+	/*
+	 * Mirrors the tokenizing done by the simple entity query visitor
+	 */
+	private static String[] tokenize(final String entityKey) {
+		if (entityKey == null || entityKey.trim().equals("") || entityKey.trim().equals(LEVEL_DELIMITER)) //$NON-NLS-1$
+			return new String[] {""}; //$NON-NLS-1$
+		
+		final StringTokenizer st = new StringTokenizer(entityKey, LEVEL_DELIMITER);
+		final String[] levels = new String[st.countTokens()];
+		for (int i=0;i<levels.length;i++){
+			levels[i] = st.nextToken().toUpperCase();
+		}
+		return levels;
 	}
 	
 	private String getIdRelativeToRoot(final Entity entity) {
@@ -289,30 +335,24 @@ public class MetaDataModelMergeAssistantImpl implements
 	 * @return merged Trait
 	 */
 	public Trait getMergedTrait(final Entity entity, final Trait trait){
-		final SimpleResultSet rs = (SimpleResultSet)traitVisitor.findTraits(entity, trait.getId());
-		Trait ret = null;
-		try {
-			if (! rs.getResults().isEmpty()) 
-				ret = (Trait)rs.getResults().get(0);				
-			rs.close();
-		} catch (MetaDataException e) {
-			JSFCommonPlugin.log(IStatus.ERROR, "Error in getMergedTrait()", e); //$NON-NLS-1$
-		}
-		return ret;
+		if (trait.getId() == null)
+			return null;
+		return getIndex(entity).getTrait(trait.getId());
 	}
 
 	private void processIncludeGroups(final Model root) {
-		addEntityGroupReferencesRecursively(root);
+		final Map<String, Model> externalModels = new HashMap<String, Model>();
+		addEntityGroupReferencesRecursively(root, externalModels);
 	}
 
-	private void addEntityGroupReferencesRecursively(final Entity entity) {
-		doIncludes(entity);
+	private void addEntityGroupReferencesRecursively(final Entity entity, final Map<String, Model> externalModels) {
+		doIncludes(entity, externalModels);
 		for (int i=0, size=entity.getChildEntities().size();i<size;i++){
-			addEntityGroupReferencesRecursively((Entity)entity.getChildEntities().get(i));
+			addEntityGroupReferencesRecursively((Entity)entity.getChildEntities().get(i), externalModels);
 		}		
 	}
 
-	private void doIncludes(final Entity entity){
+	private void doIncludes(final Entity entity, final Map<String, Model> externalModels){
 		for (int j=0, groupsSize=entity.getIncludeGroups().size();j<groupsSize; j++){				
 			final IncludeEntityGroup include = (IncludeEntityGroup)entity.getIncludeGroups().get(j);				
 			if (include.getId() != null){
@@ -321,30 +361,39 @@ public class MetaDataModelMergeAssistantImpl implements
 						(include.getModelUri()
 							.equals(getMergedModel()
 								.getModelContext().getModelIdentifier())) ){
-					final EntityGroup eg = ((Model)getMergedModel().getRoot()).findIncludeGroup(include.getId());
+					final EntityGroup eg = getEntityGroup((Model)getMergedModel().getRoot(), include.getId());
 					addIncludeRefs(entity, eg);
 				} else //external model include
-					addIncludeRefs(entity, include);
+					addIncludeRefs(entity, include, externalModels);
 			}
 		}
 	}
 	/*
 	 * Adds traits and child entities from an external entity group to the passed entity
+	 * Each external model is looked up once per merge.
 	 * @param entity
 	 * @param include
+	 * @param externalModels - models already looked up, by uri
 	 */
-	private void addIncludeRefs(final Entity entity, final IncludeEntityGroup include) {
+	private void addIncludeRefs(final Entity entity, final IncludeEntityGroup include, final Map<String, Model> externalModels) {
 		final IMetaDataModelContext modelContext = getMergedModel().getModelContext();
-		final IMetaDataQuery query = MetaDataQueryFactory.getInstance().createQuery(modelContext);
-		final Model externalModel = query.getQueryHelper().getModel(include.getModelUri());
+		final Model externalModel;
+		if (externalModels.containsKey(include.getModelUri())){
+			externalModel = externalModels.get(include.getModelUri());
+		}
+		else {
+			final IMetaDataQuery query = MetaDataQueryFactory.getInstance().createQuery(modelContext);
+			externalModel = query.getQueryHelper().getModel(include.getModelUri());
+			externalModels.put(include.getModelUri(), externalModel);
+			if (externalModel == null){
+				JSFCommonPlugin.log(IStatus.ERROR, "Unable to load external metadata model refs for "+modelContext.getModelIdentifier() //$NON-NLS-1$
+						+ " into "+ include.getModelUri()); //$NON-NLS-1$
+			}
+		}
 		if (externalModel != null){
 			final EntityGroup entityGroup = externalModel.findIncludeGroup(include.getId());		
 			addIncludeRefs(entity, entityGroup);
 		}
-		else {
-			JSFCommonPlugin.log(IStatus.ERROR, "Unable to load external metadata model refs for "+modelContext.getModelIdentifier() //$NON-NLS-1$
-					+ " into "+ include.getModelUri()); //$NON-NLS-1$
-		}
 	}
 
 	/*
@@ -357,8 +406,9 @@ public class MetaDataModelMergeAssistantImpl implements
 		if (entityGroup == null)
 			return;
 	
+		//entity is already in the merged model, so there is no need to locate it again
 		for (int i=0, size=entityGroup.getTraits().size();i<size;i++){
-			addTrait(entity, (Trait)entityGroup.getTraits().get(i));
+			addTraitAsNecessary(entity, (Trait)entityGroup.getTraits().get(i));
 		}
 		
 		for (int i=0, size=entityGroup.getChildEntities().size();i<size;i++){
@@ -397,4 +447,80 @@ public class MetaDataModelMergeAssistantImpl implements
 		return mergedEntity;
 	}
 
+	private EntityIndex getIndex(final Entity entity) {
+		checkRoot();
+		EntityIndex index = indexes.get(entity);
+		if (index == null){
+			index = new EntityIndex();
+			indexes.put(entity, index);
+		}
+		index.update(entity);
+		return index;
+	}
+	
+	/*
+	 * Translators may replace the root of the merged model; drop the indexes of the old one
+	 */
+	private void checkRoot() {
+		final Object root = mergedModel.getRoot();
+		if (root != indexedRoot){
+			indexes.clear();
+			entityGroups.clear();
+			indexedEntityGroups = 0;
+			indexedRoot = root;
+		}
+	}
+
+	/**
+	 * Index of the child entities, by upper case id, and of the traits, by id, of one entity.
+	 * Only the children and traits appended since the last update are indexed by {@link #update(Entity)}.
+	 */
+	private static final class EntityIndex {
+		private final Map<String, List<Entity>> children = new HashMap<String, List<Entity>>();
+		private final Map<String, Trait> traits = new HashMap<String, Trait>();
+		private int indexedChildren;
+		private int indexedTraits;
+		
+		void update(final Entity entity) {
+			final List<Entity> childEntities = entity.getChildEntities();
+			if (childEntities.size() < indexedChildren){
+				children.clear();
+				indexedChildren = 0;
+			}
+			for (int i=indexedChildren, size=childEntities.size();i<size;i++){
+				final Entity child = childEntities.get(i);
+				// the query visitor cannot match these
+				if (child.getId() == null)
+					continue;
+				final String key = child.getId().toUpperCase();
+				List<Entity> entities = children.get(key);
+				if (entities == null){
+					entities = new ArrayList<Entity>(1);
+					children.put(key, entities);
+				}
+				entities.add(child);
+			}
+			indexedChildren = childEntities.size();
+			
+			final List<Trait> entityTraits = entity.getTraits();
+			if (entityTraits.size() < indexedTraits){
+				traits.clear();
+				indexedTraits = 0;
+			}
+			for (int i=indexedTraits, size=entityTraits.size();i<size;i++){
+				final Trait trait = entityTraits.get(i);
+				if (trait.getId() != null && !traits.containsKey(trait.getId()))
+					traits.put(trait.getId(), trait);
+			}
+			indexedTraits = entityTraits.size();
+		}
+		
+		List<Entity> getChildren(final String upperCaseId) {
+			return children.get(upperCaseId);
+		}
+		
+		Trait getTrait(final String id) {
+			return traits.get(id);
+		}
+	}
 }
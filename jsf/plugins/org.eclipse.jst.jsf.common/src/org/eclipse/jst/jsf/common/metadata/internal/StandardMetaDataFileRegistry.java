@@ -172,9 +172,17 @@ static class StandardMetaDataFilesProvider implements IMetaDataSourceModelProvid
 		if (model != null)
 			return model;
 		
+		final StandardMetaDataSnapshots snapshots = StandardMetaDataSnapshots.getInstance();
 		InputStream inputStream = null;
 		try {
 			URI uri = getMDFileURI();
+			if (uri != null){
+				model = snapshots.load(info, this, uri);
+				if (model != null){
+					((Model)model).setSourceModelProvider(this);
+					return model;
+				}
+			}
 			inputStream = getInputStream();
 			if (inputStream != null && uri != null){
 				EList contents = StandardModelFactory.getInstance().loadStandardFileResource(inputStream, this, uri);
@@ -183,6 +191,9 @@ static class StandardMetaDataFilesProvider implements IMetaDataSourceModelProvid
 						contents.get(0) instanceof Model){				
 					model = contents.get(0);
 					((Model)model).setSourceModelProvider(this);
+					//only snapshot clean loads; errors may be for packages that are installed later
+					if (((Model)model).eResource().getErrors().isEmpty())
+						snapshots.save(info, (Model)model);
 				}
 			}
 		} catch (FileNotFoundException e){
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.common.metadata.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jst.jsf.common.JSFCommonPlugin;
+import org.eclipse.jst.jsf.common.metadata.Entity;
+import org.eclipse.jst.jsf.common.metadata.Model;
+import org.eclipse.jst.jsf.common.metadata.Trait;
+import org.osgi.framework.Bundle;
+
+/**
+ * Binary snapshots of the models parsed from standard metadata files, kept in the state location
+ * of the plugin so that the XML of plugin-contributed files is parsed once rather than once per session.
+ * <p>
+ * A snapshot is keyed by the contributing bundle's id, version and modification stamp and by the
+ * location of the file, and is ignored and replaced when any of them changes.   Only files found relative
+ * to their plugin are snapshot; files supplied by a custom {@link StandardMetaDataSourceFileLocator}
+ * may change at any time.   Snapshots are read into memory in one go.
+ * <p>
+ * Snapshots can be turned off with the system property "org.eclipse.jst.jsf.common.metadata.snapshots=false".
+ */
+public final class StandardMetaDataSnapshots {
+	private static final String SNAPSHOT_DIR = "metadataSnapshots"; //$NON-NLS-1$
+	private static final String SNAPSHOT_EXTENSION = ".bin"; //$NON-NLS-1$
+	// "JSFM"
+	private static final int MAGIC = 0x4A53464D;
+	private static final short FORMAT_VERSION = 1;
+
+	private static StandardMetaDataSnapshots INSTANCE;
+
+	private final File snapshotDir;
+
+	/**
+	 * @return the shared snapshots, kept in the plugin state location
+	 */
+	public static synchronized StandardMetaDataSnapshots getInstance() {
+		if (INSTANCE == null) {
+			File dir = null;
+			if (JSFCommonPlugin.getPlugin() != null
+					&& !"false".equalsIgnoreCase(System.getProperty("org.eclipse.jst.jsf.common.metadata.snapshots"))) { //$NON-NLS-1$ //$NON-NLS-2$
+				dir = JSFCommonPlugin.getPlugin().getStateLocation().append(SNAPSHOT_DIR).toFile();
+			}
+			INSTANCE = new StandardMetaDataSnapshots(dir);
+		}
+		return INSTANCE;
+	}
+
+	/**
+	 * Use {@link #getInstance()} rather than creating new instances; this is public for testing.
+	 *
+	 * @param snapshotDir - directory the snapshots are kept in, or null to keep none
+	 */
+	public StandardMetaDataSnapshots(final File snapshotDir) {
+		this.snapshotDir = snapshotDir;
+	}
+
+	/**
+	 * @param info
+	 * @param provider - provider to set on the traits of the model
+	 * @param uri - uri of the metadata file
+	 * @return the model from the snapshot of the file, or null if there is no current snapshot
+	 */
+	public Model load(final IStandardMetaDataSourceInfo info, final IMetaDataSourceModelProvider provider, final URI uri) {
+		final String key = getKey(info);
+		if (key == null)
+			return null;
+
+		final File file = getSnapshotFile(info);
+		if (!file.isFile())
+			return null;
+
+		try {
+			// read into the heap rather than mapping the file, which would keep it from
+			// being deleted or replaced on some platforms until the mapping is collected
+			final DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+			if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+				StandardModelFactory.debug(">>> Stale meta-data snapshot for "+info, StandardModelFactory.DEBUG_MD_LOAD); //$NON-NLS-1$
+				return null;
+			}
+
+			final Resource resource = new BinaryResourceImpl(uri);
+			final List<Resource> resources = StandardModelFactory.getInstance().getResourceSet().getResources();
+			resources.add(resource);
+			boolean loaded = false;
+			try {
+				resource.load(in, null);
+				loaded = !resource.getContents().isEmpty() && resource.getContents().get(0) instanceof Model;
+			} finally {
+				if (!loaded)
+					resources.remove(resource);
+			}
+			if (!loaded)
+				return null;
+
+			StandardModelFactory.debug(">>> Loaded meta-data snapshot for "+info, StandardModelFactory.DEBUG_MD_LOAD); //$NON-NLS-1$
+			final Model model = (Model)resource.getContents().get(0);
+			setSourceModelProvider(model, model, provider);
+			return model;
+		} catch (final IOException e) {
+			discard(info, e);
+		} catch (final RuntimeException e) {
+			// eg. a trait value's package is no longer registered
+			discard(info, e);
+		}
+		return null;
+	}
+
+	/**
+	 * Writes a snapshot of model, parsed from the file described by info.
+	 * Does nothing if the file cannot be snapshot.
+	 *
+	 * @param info
+	 * @param model
+	 */
+	public void save(final IStandardMetaDataSourceInfo info, final Model model) {
+		final String key = getKey(info);
+		if (key == null)
+			return;
+
+		final File file = getSnapshotFile(info);
+		final File tempFile = new File(file.getAbsolutePath() + ".tmp"); //$NON-NLS-1$
+		try {
+			file.getParentFile().mkdirs();
+			// copy so that model stays in its own resource
+			final Resource resource = new BinaryResourceImpl(model.eResource() != null ? model.eResource().getURI() : null);
+			resource.getContents().add(EcoreUtil.copy(model));
+
+			final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(MAGIC);
+				out.writeShort(FORMAT_VERSION);
+				out.writeUTF(key);
+				resource.save(out, null);
+			} finally {
+				out.close();
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			StandardModelFactory.debug(">>> Saved meta-data snapshot for "+info, StandardModelFactory.DEBUG_MD_LOAD); //$NON-NLS-1$
+		} catch (final IOException e) {
+			tempFile.delete();
+			JSFCommonPlugin.log(IStatus.WARNING, "Unable to save meta-data snapshot for "+info, e); //$NON-NLS-1$
+		} catch (final RuntimeException e) {
+			tempFile.delete();
+			JSFCommonPlugin.log(IStatus.WARNING, "Unable to save meta-data snapshot for "+info, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @param info
+	 * @return the file the snapshot of info is kept in
+	 */
+	File getSnapshotFile(final IStandardMetaDataSourceInfo info) {
+		final String name = (info.getBundleId() + "_" + info.getLocation()).replaceAll("[^A-Za-z0-9._-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return new File(snapshotDir, name + SNAPSHOT_EXTENSION);
+	}
+
+	/*
+	 * @return what the snapshot of info must have been saved for, or null if info cannot be snapshot
+	 */
+	private String getKey(final IStandardMetaDataSourceInfo info) {
+		if (snapshotDir == null || info.getLocatorClassname() != null)
+			return null;
+
+		final Bundle bundle = Platform.getBundle(info.getBundleId());
+		if (bundle == null)
+			return null;
+
+		final StringBuffer key = new StringBuffer(info.getBundleId());
+		key.append('\n').append(bundle.getVersion());
+		key.append('\n').append(bundle.getLastModified());
+		key.append('\n').append(info.getLocation());
+
+		// the bundle may be a project being developed, where files change without the bundle being updated
+		final URL url = FileLocator.find(bundle, Path.fromOSString(info.getLocation()), null);
+		if (url == null)
+			return null;
+		try {
+			final URL resolved = FileLocator.resolve(url);
+			if ("file".equals(resolved.getProtocol())) { //$NON-NLS-1$
+				final File file = new File(resolved.getPath());
+				key.append('\n').append(file.lastModified()).append('\n').append(file.length());
+			}
+		} catch (final IOException e) {
+			return null;
+		}
+		return key.toString();
+	}
+
+	private void discard(final IStandardMetaDataSourceInfo info, final Exception e) {
+		StandardModelFactory.debug(">>> Unable to load meta-data snapshot for "+info+": "+e, StandardModelFactory.DEBUG_MD_LOAD); //$NON-NLS-1$ //$NON-NLS-2$
+		getSnapshotFile(info).delete();
+	}
+
+	/*
+	 * As MetadataResourceImpl does for models loaded from XML
+	 */
+	private static void setSourceModelProvider(final Model root, final Entity entity, final IMetaDataSourceModelProvider provider) {
+		for (final Trait trait : entity.getTraits()) {
+			trait.setSourceModelProvider(provider);
+		}
+		for (final Entity child : entity.getChildEntities()) {
+			setSourceModelProvider(root, child, provider);
+		}
+		if (entity == root) {
+			for (final Entity group : root.getEntityGroups()) {
+				setSourceModelProvider(root, group, provider);
+			}
+		}
+	}
+}
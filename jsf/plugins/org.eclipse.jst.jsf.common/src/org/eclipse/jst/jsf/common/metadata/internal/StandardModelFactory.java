@@ -104,6 +104,13 @@ public class StandardModelFactory {
 	private StandardModelFactory() {		
 		super();
 	}
+
+	/**
+	 * @return the resource set all standard metadata files are loaded into
+	 */
+	ResourceSet getResourceSet() {
+		return resourceSet;
+	}
 	
 //	/**
 //	 * Factory method that probably belongs somewhere else!
@@ -22,6 +22,7 @@ import org.eclipse.jst.jsf.common.metadata.Trait;
 import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataDomainContext;
 import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataModelContext;
 import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataModelManager;
+import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModelIndex;
 import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModelContext;
 import org.eclipse.jst.jsf.common.metadata.query.IEntityQueryVisitor;
 import org.eclipse.jst.jsf.common.metadata.query.IResultSet;
@@ -62,8 +63,13 @@ public class MetaDataQueryHelper implements IMetaDataQueryHelper{
 	}
 
 	public Entity getEntity(final String modelId, final String entityKey) {
+		final Model model = getModel(modelId);
+		final MetaDataModelIndex index = MetaDataModelIndex.getIndex(model);
+		if (index != null)
+			return index.getEntity(entityKey);
+
 		final IEntityQueryVisitor visitor = new SimpleEntityQueryVisitorImpl(new HierarchicalSearchControl(1, HierarchicalSearchControl.SCOPE_ALL_LEVELS));
-		final IResultSet<Entity> rs = getEntities(modelId,entityKey,  visitor);
+		final IResultSet<Entity> rs = getEntities(model, entityKey,  visitor);
 		return getFirstFromResultSet(rs);
 	}
 
@@ -74,6 +80,10 @@ public class MetaDataQueryHelper implements IMetaDataQueryHelper{
 	}
 
 	public Trait getTrait(final Entity entity, final String traitKey){
+		final MetaDataModelIndex index = entity != null ? MetaDataModelIndex.getIndex(entity.getModel()) : null;
+		if (index != null && index.isIndexed(entity))
+			return index.getTrait(entity, traitKey);
+
 		final ITraitQueryVisitor visitor = new SimpleTraitQueryVisitorImpl();	
 		final IResultSet<Trait> rs = getTraits(entity, traitKey, visitor);
 		return getFirstFromResultSet(rs);
@@ -85,6 +95,12 @@ public class MetaDataQueryHelper implements IMetaDataQueryHelper{
 	}
 
 	public Entity getEntity(final Entity initialEntityContext, final String entityKey) {
+		if (initialEntityContext instanceof Model) {
+			final MetaDataModelIndex index = MetaDataModelIndex.getIndex((Model)initialEntityContext);
+			if (index != null)
+				return index.getEntity(entityKey);
+		}
+
 		final IEntityQueryVisitor visitor = new SimpleEntityQueryVisitorImpl(new HierarchicalSearchControl(1, HierarchicalSearchControl.SCOPE_ALL_LEVELS));
 		final IResultSet<Entity> rs = getEntities(initialEntityContext, entityKey, visitor);
 		return getFirstFromResultSet(rs);	
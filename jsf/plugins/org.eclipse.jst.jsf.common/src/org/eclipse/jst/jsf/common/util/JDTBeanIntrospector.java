@@ -17,14 +17,18 @@ package org.eclipse.jst.jsf.common.util;
 import java.beans.Introspector;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jst.jsf.common.JSFCommonPlugin;
@@ -39,6 +43,11 @@ import org.eclipse.jst.jsf.common.internal.types.TypeInfoCache;
  * error handling of bean instantiation out of context) way
  * to determine a bean's properties at design time.
  * 
+ * Introspectors are cached per type in the {@link TypeInfoCache}. The property
+ * and method models are computed once per introspector and are dropped with it
+ * when the type, one of its supertypes or one of the types in its property or
+ * method signatures changes.
+ * 
  * This class may not be sub-classed by clients.
  * 
  * @author cbateman
@@ -51,11 +60,15 @@ public class JDTBeanIntrospector
   private final static String SET_PREFIX = "set"; //$NON-NLS-1$
   private final static String IS_PREFIX = "is"; //$NON-NLS-1$
   private final static IMethod[] EMTPY_METHODS = new IMethod[0];
+  private final static ITypeRoot[] EMPTY_TYPE_ROOTS = new ITypeRoot[0];
+  private final static String[] EMPTY_TYPE_NAMES = new String[0];
 
   private final IType type;
   private final JDTTypeResolver typeResolver;
-  private IMethod[] methods;
+  private volatile IMethod[] methods;
   private final IType[] superTypes;
+  private volatile Map<String, JDTBeanProperty> properties;
+  private volatile JDTBeanMethod[] beanMethods;
 
   /**
    * @param type
@@ -99,6 +112,66 @@ public class JDTBeanIntrospector
    *         values being JDTBeanProperty objects representing the properties.
    */
   public Map<String, JDTBeanProperty> getProperties()
+  {
+    return new HashMap<String, JDTBeanProperty>(properties());
+  }
+
+  /**
+   * @param propertyName
+   * @return the property called propertyName or null if there is none
+   */
+  public JDTBeanProperty getProperty(String propertyName)
+  {
+    return properties().get(propertyName);
+  }
+
+  private Map<String, JDTBeanProperty> properties()
+  {
+    Map<String, JDTBeanProperty> props = properties;
+    if (props == null)
+    {
+      final TypeInfoCache cache = TypeInfoCache.getInstance();
+      final long invalidationCount = cache.getInvalidationCount();
+      props = Collections.unmodifiableMap(calculateProperties());
+      // property types are resolved relative to other types: only keep
+      // the model if it will be dropped when they change
+      if (registerPropertyTypeDependencies(cache, props, invalidationCount))
+      {
+        properties = props;
+      }
+    }
+    return props;
+  }
+
+  private boolean registerPropertyTypeDependencies(TypeInfoCache cache,
+          Map<String, JDTBeanProperty> props, long invalidationCount)
+  {
+    final LinkedHashSet<ITypeRoot> typeRoots = new LinkedHashSet<ITypeRoot>();
+    final LinkedHashSet<String> unresolvedTypeNames = new LinkedHashSet<String>();
+    for (JDTBeanProperty property : props.values())
+    {
+      final IType propertyType = property.getType();
+      if (propertyType != null)
+      {
+        if (propertyType.getTypeRoot() != null)
+        {
+          typeRoots.add(propertyType.getTypeRoot());
+        }
+      }
+      else if (property.getTypeSignature() != null)
+      {
+        final String elementType = Signature.getElementType(property.getTypeSignature());
+        if (Signature.getTypeSignatureKind(elementType) == Signature.CLASS_TYPE_SIGNATURE)
+        {
+          unresolvedTypeNames.add(Signature.getSignatureSimpleName(elementType));
+        }
+      }
+    }
+    return cache.addDependencies(type, typeRoots.toArray(EMPTY_TYPE_ROOTS),
+            unresolvedTypeNames.toArray(EMPTY_TYPE_NAMES), invalidationCount);
+  }
+
+  private Map<String, JDTBeanProperty> calculateProperties()
   {
     final Map<String, JDTBeanPropertyWorkingCopy> propertiesWorkingCopy = new HashMap<String, JDTBeanPropertyWorkingCopy>();
     final IMethod[] mthds = methods();
@@ -116,16 +189,16 @@ public class JDTBeanIntrospector
       }
     }
 
-    final Map<String, JDTBeanProperty> properties = new HashMap<String, JDTBeanProperty>();
+    final Map<String, JDTBeanProperty> props = new HashMap<String, JDTBeanProperty>();
 
     for (Entry<String, JDTBeanPropertyWorkingCopy> entry : propertiesWorkingCopy.entrySet())
     {
       final String key = entry.getKey();
       JDTBeanPropertyWorkingCopy wcopy = entry.getValue();
-      properties.put(key, wcopy.toValueObject());
+      props.put(key, wcopy.toValueObject());
     }
 
-    return properties;
+    return props;
   }
 
   private void processPropertyMethod(IMethod method, Map<String, JDTBeanPropertyWorkingCopy> properties)
@@ -197,18 +270,71 @@ public class JDTBeanIntrospector
    */
   public JDTBeanMethod[] getMethods()
   {
-    List<JDTBeanMethod> beanMethods = new ArrayList<JDTBeanMethod>();
-    for (IMethod method : methods())
+    JDTBeanMethod[] mthds = beanMethods;
+    if (mthds == null)
     {
-      JDTBeanMethod beanMethod = toBeanMethod(method);
-      if (beanMethod != null)
+      final TypeInfoCache cache = TypeInfoCache.getInstance();
+      final long invalidationCount = cache.getInvalidationCount();
+      List<JDTBeanMethod> methodList = new ArrayList<JDTBeanMethod>();
+      for (IMethod method : methods())
+      {
+        JDTBeanMethod beanMethod = toBeanMethod(method);
+        if (beanMethod != null)
+        {
+          methodList.add(beanMethod);
+        }
+      }
+      mthds = methodList.toArray(new JDTBeanMethod[methodList.size()]);
+      // method signatures are resolved relative to other types: only keep
+      // them if they will be dropped when those types change
+      if (registerMethodTypeDependencies(cache, mthds, invalidationCount))
       {
-        beanMethods.add(beanMethod);
+        beanMethods = mthds;
       }
     }
-    return beanMethods.toArray(new JDTBeanMethod[beanMethods.size()]);
+    return mthds.clone();
   }
   
+  private boolean registerMethodTypeDependencies(TypeInfoCache cache,
+          JDTBeanMethod[] mthds, long invalidationCount)
+  {
+    final LinkedHashSet<ITypeRoot> typeRoots = new LinkedHashSet<ITypeRoot>();
+    final LinkedHashSet<String> unresolvedTypeNames = new LinkedHashSet<String>();
+    for (JDTBeanMethod method : mthds)
+    {
+      final String signature = method.getResolvedSignatureErased();
+      for (String parameterType : Signature.getParameterTypes(signature))
+      {
+        addTypeDependency(parameterType, typeRoots, unresolvedTypeNames);
+      }
+      addTypeDependency(Signature.getReturnType(signature), typeRoots, unresolvedTypeNames);
+    }
+    return cache.addDependencies(type, typeRoots.toArray(EMPTY_TYPE_ROOTS),
+            unresolvedTypeNames.toArray(EMPTY_TYPE_NAMES), invalidationCount);
+  }
+
+  private void addTypeDependency(String typeSignature, Set<ITypeRoot> typeRoots,
+          Set<String> unresolvedTypeNames)
+  {
+    final String elementType = Signature.getElementType(typeSignature);
+    if (Signature.getTypeSignatureKind(elementType) != Signature.CLASS_TYPE_SIGNATURE)
+    {
+      return;
+    }
+    final IType resolvedType = TypeUtil.resolveType(type, elementType);
+    if (resolvedType != null)
+    {
+      if (resolvedType.getTypeRoot() != null)
+      {
+        typeRoots.add(resolvedType.getTypeRoot());
+      }
+    }
+    else
+    {
+      unresolvedTypeNames.add(Signature.getSignatureSimpleName(elementType));
+    }
+  }
+
   private JDTBeanMethod toBeanMethod(IMethod method)
   {
     try
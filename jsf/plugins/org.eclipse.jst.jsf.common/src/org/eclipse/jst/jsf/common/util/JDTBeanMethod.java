@@ -29,12 +29,19 @@ public class JDTBeanMethod
   private final IMethod method;
   private final String resolvedMethodSignatureErased;
   private final String resolvedMethodSignatureUnerased;
+  // read once since bean methods are kept by the cached introspector
+  private final int flags;
+  private final boolean constructor;
 
-  JDTBeanMethod(IMethod method, String resolvedMethodSignatureErased, String resolvedMethodSignatureUnerased)
+  JDTBeanMethod(IMethod method, String resolvedMethodSignatureErased, String resolvedMethodSignatureUnerased) throws JavaModelException
   {
     this.method = method;
     this.resolvedMethodSignatureErased = resolvedMethodSignatureErased;
-    this.resolvedMethodSignatureUnerased = resolvedMethodSignatureUnerased;
+    // most methods have no type parameters: share the signature string
+    this.resolvedMethodSignatureUnerased = resolvedMethodSignatureErased.equals(resolvedMethodSignatureUnerased)
+            ? resolvedMethodSignatureErased : resolvedMethodSignatureUnerased;
+    this.flags = method.getFlags();
+    this.constructor = method.isConstructor();
   }
   
   /**
@@ -67,7 +74,7 @@ public class JDTBeanMethod
    */
   public boolean isConstructor() throws JavaModelException
   {
-    return method.isConstructor();
+    return constructor;
   }
 
   /**
@@ -76,7 +83,7 @@ public class JDTBeanMethod
    */
   public int getFlags() throws JavaModelException
   {
-    return method.getFlags();
+    return flags;
   }
 
   /**
@@ -14,9 +14,9 @@
 package org.eclipse.jst.jsf.common.util;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
@@ -31,7 +31,8 @@ import org.eclipse.jst.jsf.common.internal.types.TypeConstants;
  */
 public class JDTTypeResolver
 {
-  private final Map<String, IType> resolvedTypes = new HashMap<String, IType>();
+  // shared by the threads using the cached bean introspector
+  private final Map<String, IType> resolvedTypes = new ConcurrentHashMap<String, IType>();
   private final IType type;
   private final IType[] superTypes;
 
@@ -273,7 +274,10 @@ public class JDTTypeResolver
       return resolved;
     }
     resolved = resolveTypeNameRelative(typeName);
-    resolvedTypes.put(typeName, resolved);
+    if (resolved != null)
+    {
+      resolvedTypes.put(typeName, resolved);
+    }
     return resolved;
   }
 
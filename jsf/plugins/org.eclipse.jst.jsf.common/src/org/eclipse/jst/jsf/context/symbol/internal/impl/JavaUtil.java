@@ -96,6 +96,6 @@ public class JavaUtil {
      */
     public static JDTBeanProperty findCorrespondingJDTProperty(final IBeanPropertySymbol propertySymbol) {
         final JDTBeanIntrospector introspector = JDTBeanIntrospector.forType(propertySymbol.getOwner().getType());
-        return introspector.getProperties().get(propertySymbol.getName());
+        return introspector.getProperty(propertySymbol.getName());
     }
 }
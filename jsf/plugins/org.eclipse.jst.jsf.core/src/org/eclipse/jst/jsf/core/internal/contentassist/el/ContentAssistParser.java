@@ -17,6 +17,7 @@ package org.eclipse.jst.jsf.core.internal.contentassist.el;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jst.jsf.context.structureddocument.IStructuredDocumentContext;
 import org.eclipse.jst.jsf.context.symbol.ISymbol;
+import org.eclipse.jst.jsf.validation.internal.el.ELExpressionCache;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ASTAddExpression;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ASTAndExpression;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ASTChoiceExpression;
@@ -31,7 +32,6 @@ import org.eclipse.jst.jsp.core.internal.java.jspel.ASTUnaryExpression;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ASTValue;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ASTValuePrefix;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ASTValueSuffix;
-import org.eclipse.jst.jsp.core.internal.java.jspel.JSPELParser;
 import org.eclipse.jst.jsp.core.internal.java.jspel.JSPELParserConstants;
 import org.eclipse.jst.jsp.core.internal.java.jspel.JSPELParserVisitor;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ParseException;
@@ -95,12 +95,10 @@ public final class ContentAssistParser
 
 	private static PrefixVisitor getVisitorForPosition(final int relativePosition,
 			final String elText) {
-		final java.io.StringReader reader = new java.io.StringReader(elText);
-        final JSPELParser  parser = new JSPELParser(reader);
-        
         try
         {
-            final ASTExpression expr = parser.Expression();
+            // the expression is usually unchanged between completion requests
+            final ASTExpression expr = ELExpressionCache.getInstance().parse(elText);
             final PrefixVisitor visitor = new PrefixVisitor(relativePosition, elText);
             expr.jjtAccept(visitor, null);
             return visitor;
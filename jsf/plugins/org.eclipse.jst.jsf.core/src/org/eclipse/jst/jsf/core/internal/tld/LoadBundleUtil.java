@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jst.jsf.core.internal.tld;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -33,6 +35,7 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jst.jsf.common.internal.resource.JarContentIndex;
 
 /**
  * @author mengbo
@@ -166,6 +169,9 @@ public class LoadBundleUtil {
 		IPackageFragmentRoot[] packageFragmentRoots = javaProject
 				.findPackageFragmentRoots(entry);
 		for (int j = 0; j < packageFragmentRoots.length; j++) {
+			if (!mayContainBundle(packageFragmentRoots[j], baseName)) {
+				continue;
+			}
 			String packageName = getPackageName(baseName);
 			Object[] resources = null;
 			if (packageName.length() == 0) {
@@ -193,6 +199,46 @@ public class LoadBundleUtil {
 		return null;
 	}
 
+	/**
+	 * Asks the shared jar index whether an archive root has the bundle before
+	 * asking JDT for the root's non-java resources, which opens the jar.
+	 * 
+	 * @return false only if root is a jar that is known not to contain the bundle
+	 */
+	private static boolean mayContainBundle(IPackageFragmentRoot root, String baseName) {
+		if (!root.isArchive()) {
+			return true;
+		}
+		File file = null;
+		if (root.isExternal()) {
+			file = root.getPath().toFile();
+		} else if (root.getResource() != null && root.getResource().getLocation() != null) {
+			file = root.getResource().getLocation().toFile();
+		}
+		if (file == null) {
+			return true;
+		}
+
+		// the package must match exactly, only the file name is compared
+		// ignoring case, so just the entries in the package's folder are checked
+		String packageName = getPackageName(baseName);
+		String folder = packageName.length() == 0 ? "" : packageName.replace('.', '/') + '/'; //$NON-NLS-1$
+		String fileName = getFileName(baseName);
+		IProject project = root.getJavaProject() != null ? root.getJavaProject().getProject() : null;
+		try {
+			for (String name : JarContentIndex.getInstance().getEntryNames(project, file, folder)) {
+				String entryFileName = name.substring(folder.length());
+				if (entryFileName.indexOf('/') == -1 && entryFileName.equalsIgnoreCase(fileName)) {
+					return true;
+				}
+			}
+			return false;
+		} catch (IOException e) {
+			// let JDT have a go
+			return true;
+		}
+	}
+
 	private static String getPackageName(String baseName) {
 		int index = baseName.lastIndexOf('.');
 		if (index == -1) {
@@ -24,7 +24,6 @@ import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
-import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jst.jsf.common.internal.componentcore.AbstractVirtualComponentQuery.DefaultVirtualComponentQuery;
 import org.eclipse.wst.common.componentcore.resources.IVirtualFolder;
@@ -40,6 +39,7 @@ public class AnnotationJSFAppConfigLocator extends AbstractJSFAppConfigLocater {
 
     private final IElementChangedListener listener = new ElementChangeListener();
     
+    private volatile AnnotationJSFAppConfigProvider provider = null;
     private IPath webInfLibPath = null;
     private IPath webInfClassesPath = null;
 
@@ -56,7 +56,9 @@ public class AnnotationJSFAppConfigLocator extends AbstractJSFAppConfigLocater {
                         webInfClassesPath = webContentPath.append("WEB-INF/classes"); //$NON-NLS-1$
                         
                         addProvider();
-                        JavaCore.addElementChangedListener(listener);
+                        // only saved changes: reconciling an editor's working copy must not
+                        // patch the shared model with unsaved content
+                        JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
                     }
                 }
             }
@@ -65,7 +67,8 @@ public class AnnotationJSFAppConfigLocator extends AbstractJSFAppConfigLocater {
 
     private void addProvider() {
         Set newConfigProviders = new LinkedHashSet();
-        newConfigProviders.add(new AnnotationJSFAppConfigProvider());
+        provider = new AnnotationJSFAppConfigProvider();
+        newConfigProviders.add(provider);
         updateConfigProviders(newConfigProviders);
     }
 
@@ -77,8 +80,15 @@ public class AnnotationJSFAppConfigLocator extends AbstractJSFAppConfigLocater {
     private class ElementChangeListener implements IElementChangedListener {
 
         public void elementChanged(ElementChangedEvent event) {
-            if (isRelevantChange(event.getDelta(), getJSFAppConfigManager().getProject())) {
+            Set<ICompilationUnit> changedUnits = new LinkedHashSet<ICompilationUnit>();
+            if (collectChanges(event.getDelta(), getJSFAppConfigManager().getProject(), changedUnits)) {
                 addProvider();
+            } else if (!changedUnits.isEmpty()) {
+                // only the changed classes need to be scanned again
+                AnnotationJSFAppConfigProvider currentProvider = provider;
+                if (currentProvider != null) {
+                    currentProvider.updateCompilationUnits(changedUnits);
+                }
             }
         }
 
@@ -99,8 +109,24 @@ public class AnnotationJSFAppConfigLocator extends AbstractJSFAppConfigLocater {
          * that jar must be scanned.[P1_end-annotation-discovery]
          */
 
-        private final boolean isRelevantChange(IJavaElementDelta delta, IProject project) {
+        /*
+         * Returns true if the delta needs all classes to be scanned again.  Compilation units that only need
+         * themselves scanned again are added to changedUnits.
+         */
+        private final boolean collectChanges(IJavaElementDelta delta, IProject project, Set<ICompilationUnit> changedUnits) {
             int deltaFlags = delta.getFlags();
+            IJavaElement changedElement = delta.getElement();
+            /*
+             * A compilation unit that is added, removed or has changed content only affects the configuration
+             * contributed by its own classes.
+             */
+            if (changedElement instanceof ICompilationUnit) {
+                if (delta.getKind() != IJavaElementDelta.CHANGED
+                        || (deltaFlags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0) {
+                    changedUnits.add((ICompilationUnit) changedElement);
+                }
+                return false;
+            }
             /*
              * F_CONTENT means the content of an element changed.  If the element is a class in web-inf/classes this is relevant
              * F_ADDED_TO_CLASSPATH, F_ARCHIVE_CONTENT_CHANGED, F_REMOVED_FROM_CLASSPATH all indicate archive changes which are relevant 
@@ -109,19 +135,7 @@ public class AnnotationJSFAppConfigLocator extends AbstractJSFAppConfigLocater {
              */
             if ((deltaFlags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | 
                                 IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_REORDER | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0) {
-                IJavaElement changedElement = delta.getElement();
                 switch (changedElement.getElementType()) {
-                    case IJavaElement.COMPILATION_UNIT:
-                        if (changedElement instanceof ICompilationUnit) {
-                            return true;
-                        }
-                        IType type = (IType)changedElement;
-                        IPath classFilePath = type.getPath();
-                        if (classFilePath != null) {
-                            if (project.getFullPath().append(webInfClassesPath).isPrefixOf(classFilePath)) {
-                                return true;
-                            }
-                        }
                     case IJavaElement.PACKAGE_FRAGMENT_ROOT:
                         IPackageFragmentRoot root = (IPackageFragmentRoot)changedElement;
                         if (root.isArchive() && !root.isExternal()) {
@@ -143,7 +157,7 @@ public class AnnotationJSFAppConfigLocator extends AbstractJSFAppConfigLocater {
             IJavaElementDelta[] childDeltas = delta.getAffectedChildren();
             if (childDeltas != null) {
                 for (IJavaElementDelta childDelta : childDeltas) {
-                    if (isRelevantChange(childDelta, project)) {
+                    if (collectChanges(childDelta, project, changedUnits)) {
                         return true;
                     }
                 }
@@ -14,14 +14,23 @@
 package org.eclipse.jst.jsf.core.jsfappconfig;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
@@ -32,6 +41,7 @@ import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigFactory;
 import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigType;
+import org.eclipse.jst.jsf.facesconfig.emf.RenderKitType;
 
 /**
  * Provides a configuration model specified as JSF 2.x annotations.
@@ -68,6 +78,18 @@ public class AnnotationJSFAppConfigProvider extends AbstractJSFAppConfigProvider
      */
     private FacesConfigType facesConfig = null;
 
+    /**
+     * The objects in {@link #facesConfig} keyed by the compilation unit or
+     * class file whose annotations they came from, so that the contributions
+     * of a single unit can be replaced when it changes.
+     */
+    private final Map<String, List<EObject>> contributionsByUnit = new HashMap<String, List<EObject>>();
+
+    /**
+     * Handle identifiers of the package fragment roots that were scanned.
+     */
+    private final Set<String> scannedRoots = new HashSet<String>();
+
     @Override
     public synchronized FacesConfigType getFacesConfigModel() {
         if (facesConfig == null) {
@@ -86,13 +108,70 @@ public class AnnotationJSFAppConfigProvider extends AbstractJSFAppConfigProvider
     }
 
     @Override
-    public void releaseFacesConfigModel() {
+    public synchronized void releaseFacesConfigModel() {
         jsfAppConfigLocater.getJSFAppConfigManager().removeFacesConfigChangeAdapter(facesConfig);
         facesConfig = null;
+        contributionsByUnit.clear();
+        scannedRoots.clear();
+    }
+
+    /**
+     * Rescans only units and patches the configuration they contribute into
+     * the model, so that listeners see the individual additions and removals
+     * rather than a new model. Units outside the scanned package fragment
+     * roots are ignored; changes to the roots themselves arrive as classpath
+     * changes, which need a full rescan. Nothing is done if the model hasn't
+     * been loaded yet since it will be built from scratch when requested.
+     * The locator only calls this for POST_CHANGE deltas, so the model is
+     * patched with saved content and never with an editor's working copy.
+     * 
+     * @param units
+     *            compilation units that have been changed, added or removed
+     */
+    synchronized void updateCompilationUnits(final Collection<ICompilationUnit> units) {
+        if (facesConfig == null) {
+            return;
+        }
+        for (final ICompilationUnit unit : units) {
+            final IJavaElement root = unit.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+            if (root == null || !scannedRoots.contains(root.getHandleIdentifier())) {
+                continue;
+            }
+
+            removeContributions(AnnotationSearchRequestor.getUnitKey(unit));
+            final ICompilationUnit primary = unit.getPrimary();
+            if (primary.exists()) {
+                final AnnotationSearchRequestor requestor = new AnnotationSearchRequestor(facesConfig, contributionsByUnit);
+                try {
+                    for (final IType type : primary.getAllTypes()) {
+                        requestor.processType(type);
+                    }
+                } catch (CoreException ce) {
+                    JSFCorePlugin.log(IStatus.ERROR, ce.getLocalizedMessage(), ce);
+                }
+            }
+        }
+    }
+
+    private void removeContributions(final String unitKey) {
+        final List<EObject> contributions = contributionsByUnit.remove(unitKey);
+        if (contributions == null) {
+            return;
+        }
+        for (final EObject contribution : contributions) {
+            final EObject container = contribution.eContainer();
+            EcoreUtil.remove(contribution);
+            // render kits are only created to hold annotated renderers
+            if (container instanceof RenderKitType && ((RenderKitType) container).getRenderer().isEmpty()) {
+                EcoreUtil.remove(container);
+            }
+        }
     }
 
     private void discoverFacesConfig() throws CoreException {
         facesConfig = FacesConfigFactory.eINSTANCE.createFacesConfigType();
+        contributionsByUnit.clear();
+        scannedRoots.clear();
         IJavaProject jProject = JavaCore.create(this.jsfAppConfigLocater.getJSFAppConfigManager().getProject());
         IPackageFragmentRoot[] roots = jProject.getAllPackageFragmentRoots();
         List<IPackageFragmentRoot> scannableRoots = new ArrayList<IPackageFragmentRoot>();
@@ -101,6 +180,7 @@ public class AnnotationJSFAppConfigProvider extends AbstractJSFAppConfigProvider
                 AnnotationPackageFragmentRoot facesRoot = new AnnotationPackageFragmentRoot(root);
                 if (facesRoot.canContainAnnotatedComponents()) {
                     scannableRoots.add(root);
+                    scannedRoots.add(root.getHandleIdentifier());
                 }
             }
         }
@@ -127,7 +207,7 @@ public class AnnotationJSFAppConfigProvider extends AbstractJSFAppConfigProvider
             IJavaSearchScope scope = SearchEngine.createJavaSearchScope(scannableRoots.toArray(new IJavaElement[scannableRoots
                     .size()]), IJavaSearchScope.SOURCES | IJavaSearchScope.APPLICATION_LIBRARIES);
 
-            SearchRequestor requestor = new AnnotationSearchRequestor(facesConfig);
+            SearchRequestor requestor = new AnnotationSearchRequestor(facesConfig, contributionsByUnit);
             engine.search(pattern, participants, scope, requestor, new NullProgressMonitor());
         }
     }
@@ -32,13 +32,20 @@ import static org.eclipse.jst.jsf.core.jsfappconfig.AnnotationJSFAppConfigProvid
 import static org.eclipse.jst.jsf.core.jsfappconfig.AnnotationJSFAppConfigProvider.SESSION_SCOPED_ANNOTATION_CLASS;
 import static org.eclipse.jst.jsf.core.jsfappconfig.AnnotationJSFAppConfigProvider.VIEW_SCOPED_ANNOTATION_CLASS;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
@@ -84,6 +91,8 @@ import org.eclipse.jst.jsf.facesconfig.emf.ValidatorType;
 public class AnnotationSearchRequestor extends SearchRequestor
 {
     private final FacesConfigType facesConfig;
+    private final Map<String, List<EObject>> contributionsByUnit;
+    private String currentUnitKey;
     
     private static final Set<String> ANNOATION_CANDIDATES = ofAnnotation(
             MANAGED_BEAN_ANNOTATION_CLASS, 
@@ -120,8 +129,51 @@ public class AnnotationSearchRequestor extends SearchRequestor
     }
 
     AnnotationSearchRequestor(final FacesConfigType facesConfig)
+    {
+        this(facesConfig, null);
+    }
+
+    /**
+     * @param facesConfig
+     * @param contributionsByUnit
+     *            if not null, each object added to facesConfig is recorded in
+     *            here under the key of the compilation unit or class file
+     *            (see {@link #getUnitKey(IJavaElement)}) whose annotation it
+     *            came from.
+     */
+    AnnotationSearchRequestor(final FacesConfigType facesConfig, final Map<String, List<EObject>> contributionsByUnit)
     {
         this.facesConfig = facesConfig;
+        this.contributionsByUnit = contributionsByUnit;
+    }
+
+    /**
+     * @param unit
+     *            a compilation unit or class file
+     * @return a key that identifies unit, the same for a compilation unit and
+     *         its working copies, or null if unit is neither
+     */
+    static String getUnitKey(IJavaElement unit)
+    {
+        if (unit instanceof ICompilationUnit)
+        {
+            return ((ICompilationUnit) unit).getPrimary().getHandleIdentifier();
+        }
+        if (unit instanceof IClassFile)
+        {
+            return unit.getHandleIdentifier();
+        }
+        return null;
+    }
+
+    private static String getUnitKey(IType type)
+    {
+        IJavaElement unit = type.getCompilationUnit();
+        if (unit == null)
+        {
+            unit = type.getClassFile();
+        }
+        return getUnitKey(unit);
     }
 
     @Override
@@ -137,16 +189,49 @@ public class AnnotationSearchRequestor extends SearchRequestor
         {
             return;
         }
-        IType type = (IType) element;
-        JDTBeanIntrospector beanIntrospector = JDTBeanIntrospector.forType(type);
+        processType((IType) element);
+    }
+
+    /**
+     * Adds the configuration declared by the annotations on type.
+     * 
+     * @param type
+     * @throws CoreException
+     */
+    void processType(IType type) throws CoreException
+    {
         IAnnotation[] annotations = type.getAnnotations();
-        if (annotations == null)
+        if (annotations == null || annotations.length == 0)
         {
             return;
         }
-        for (IAnnotation annotation : annotations)
+        JDTBeanIntrospector beanIntrospector = JDTBeanIntrospector.forType(type);
+        currentUnitKey = contributionsByUnit != null ? getUnitKey(type) : null;
+        try
         {
-            processAnnotation(type, beanIntrospector, annotation);
+            for (IAnnotation annotation : annotations)
+            {
+                processAnnotation(type, beanIntrospector, annotation);
+            }
+        }
+        finally
+        {
+            currentUnitKey = null;
+        }
+    }
+
+    private void addContribution(EList list, EObject contribution)
+    {
+        list.add(contribution);
+        if (currentUnitKey != null)
+        {
+            List<EObject> contributions = contributionsByUnit.get(currentUnitKey);
+            if (contributions == null)
+            {
+                contributions = new ArrayList<EObject>();
+                contributionsByUnit.put(currentUnitKey, contributions);
+            }
+            contributions.add(contribution);
         }
     }
 
@@ -239,7 +324,7 @@ public class AnnotationSearchRequestor extends SearchRequestor
             ReferencedBeanClassType beanClass = FacesConfigFactory.eINSTANCE.createReferencedBeanClassType();
             beanClass.setTextContent(beanClassName);
             bean.setReferencedBeanClass(beanClass);
-            facesConfig.getReferencedBean().add(bean);
+            addContribution(facesConfig.getReferencedBean(), bean);
         }
     }
 
@@ -289,7 +374,7 @@ public class AnnotationSearchRequestor extends SearchRequestor
             bean.setManagedBeanScope(beanScope);
             bean.setEager(isBeanEager.booleanValue());
             JSFAppConfigUtils.setManagedBeanSource(bean, JSFAppConfigUtils.MANAGEDBEAN_SOURCE_JSF_ANNOTATION);
-            facesConfig.getManagedBean().add(bean);
+            addContribution(facesConfig.getManagedBean(), bean);
         }
     }
 
@@ -397,7 +482,7 @@ public class AnnotationSearchRequestor extends SearchRequestor
             // isDefaultBoolean = Boolean.FALSE;
             // }
 
-            facesConfig.getValidator().add(validator);
+            addContribution(facesConfig.getValidator(), validator);
         }
     }
 
@@ -469,7 +554,7 @@ public class AnnotationSearchRequestor extends SearchRequestor
                     renderKit.setRenderKitId(renderKitID);
                     renderKits.add(renderKit);
                 }
-                renderKit.getRenderer().add(renderer);
+                addContribution(renderKit.getRenderer(), renderer);
             }
         }
     }
@@ -516,7 +601,7 @@ public class AnnotationSearchRequestor extends SearchRequestor
             ConverterForClassType converterForClass = FacesConfigFactory.eINSTANCE.createConverterForClassType();
             converterForClass.setTextContent(converterForClassString);
             converter.setConverterForClass(converterForClass);
-            facesConfig.getConverter().add(converter);
+            addContribution(facesConfig.getConverter(), converter);
         }
     }
 
@@ -546,7 +631,7 @@ public class AnnotationSearchRequestor extends SearchRequestor
             componentTypeType.setTextContent(componentTypeString);
             component.setComponentType(componentTypeType);
 
-            facesConfig.getComponent().add(component);
+            addContribution(facesConfig.getComponent(), component);
         }
     }
 
@@ -593,7 +678,7 @@ public class AnnotationSearchRequestor extends SearchRequestor
             bean.setManagedBeanScope(beanScope);
             bean.setEager(false);
             JSFAppConfigUtils.setManagedBeanSource(bean, JSFAppConfigUtils.MANAGEDBEAN_SOURCE_CDI_ANNOTATION);
-            facesConfig.getManagedBean().add(bean);
+            addContribution(facesConfig.getManagedBean(), bean);
         }
     }
 
@@ -712,7 +797,7 @@ public class AnnotationSearchRequestor extends SearchRequestor
             bean.setManagedBeanScope(beanScope);
             bean.setEager(false);
             JSFAppConfigUtils.setManagedBeanSource(bean, JSFAppConfigUtils.MANAGEDBEAN_SOURCE_CDI_ANNOTATION);
-            facesConfig.getManagedBean().add(bean);
+            addContribution(facesConfig.getManagedBean(), bean);
         }
     }
 
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.jst.jsf.core.jsfappconfig;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -88,20 +89,35 @@ public class JSFAppConfigManager
 		return super.getFacesConfigModels();
 	}
 
+	// the aggregate lists of AbstractJSFAppConfigManager are shared and
+	// unmodifiable; this public API has always returned lists that callers
+	// own, so hand out copies
 	public List getManagedBeans() {
-		return super.getManagedBeans();
+		return new ArrayList(super.getManagedBeans());
+	}
+
+	public List getPropertyResolvers() {
+		return new ArrayList(super.getPropertyResolvers());
 	}
 
 	public List getValidators() {
-		return super.getValidators();
+		return new ArrayList(super.getValidators());
+	}
+
+	public List getVariableResolvers() {
+		return new ArrayList(super.getVariableResolvers());
+	}
+
+	public List getELResolvers() {
+		return new ArrayList(super.getELResolvers());
 	}
 
 	public List getConverters() {
-		return super.getConverters();
+		return new ArrayList(super.getConverters());
 	}
 
 	public List getNavigationRules() {
-		return super.getNavigationRules();
+		return new ArrayList(super.getNavigationRules());
 	}
 
 	public List getNavigationRulesForPage(final IFile pageFile) {
@@ -109,35 +125,39 @@ public class JSFAppConfigManager
 	}
 
 	public List getApplications() {
-		return super.getApplications();
+		return new ArrayList(super.getApplications());
 	}
 
 	public List getFactories() {
-		return super.getFactories();
+		return new ArrayList(super.getFactories());
 	}
 
 	public List getComponents() {
-		return super.getComponents();
+		return new ArrayList(super.getComponents());
 	}
 
 	public List getReferencedBeans() {
-		return super.getReferencedBeans();
+		return new ArrayList(super.getReferencedBeans());
 	}
 
 	public List getRenderKits() {
-		return super.getRenderKits();
+		return new ArrayList(super.getRenderKits());
 	}
 
 	public List getLifecycles() {
-		return super.getLifecycles();
+		return new ArrayList(super.getLifecycles());
 	}
 
 	public List getResourceBundles() {
-		return super.getResourceBundles();
+		return new ArrayList(super.getResourceBundles());
 	}
-	
+
+	public List getBehaviors() {
+		return new ArrayList(super.getBehaviors());
+	}
+
 	public List getFacesConfigExtensions() {
-		return super.getFacesConfigExtensions();
+		return new ArrayList(super.getFacesConfigExtensions());
 	}
 
 	private static class JSFAppConfigManagerFactory 
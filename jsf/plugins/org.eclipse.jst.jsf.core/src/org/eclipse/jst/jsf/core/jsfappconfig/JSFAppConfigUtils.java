@@ -22,8 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.Callable;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -51,6 +50,8 @@ import org.eclipse.jst.j2ee.web.componentcore.util.WebArtifactEdit;
 import org.eclipse.jst.j2ee.webapplication.ContextParam;
 import org.eclipse.jst.j2ee.webapplication.WebApp;
 import org.eclipse.jst.jsf.common.internal.componentcore.AbstractVirtualComponentQuery.DefaultVirtualComponentQuery;
+import org.eclipse.jst.jsf.common.internal.resource.JarContentIndex;
+import org.eclipse.jst.jsf.common.internal.resource.JarScanPool;
 import org.eclipse.jst.jsf.core.IJSFCoreConstants;
 import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.core.internal.Messages;
@@ -341,6 +342,7 @@ public class JSFAppConfigUtils {
 				IClasspathEntry[] classpathEntries = javaProject.getResolvedClasspath(true);
 				if (classpathEntries != null && classpathEntries.length > 0) {
 					IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+					List<Callable<String>> jarChecks = new ArrayList<Callable<String>>(classpathEntries.length);
 					for (int i = 0; i < classpathEntries.length; i++) {
 						IClasspathEntry classpathEntry = classpathEntries[i];
 						if (classpathEntry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
@@ -349,41 +351,57 @@ public class JSFAppConfigUtils {
 								if (libraryPath.getDevice() == null && workspaceRoot.getProject(libraryPath.segment(0)).exists()) {
 									libraryPath = workspaceRoot.getFile(libraryPath).getLocation();
 								}
-								String libraryPathString = libraryPath.toString();
-								JarFile jarFile = null;
-								try {
-									//check existence first [222249]
-									File file = new File(libraryPathString);
-									if (file.exists()) {
-										jarFile = new JarFile(file, false);
-										if (jarFile != null) {
-											JarEntry jarEntry = jarFile.getJarEntry(FACES_CONFIG_IN_JAR_PATH);
-											if (jarEntry != null) {
-												JARsList.add(libraryPathString);
-											}
-										}
-									}
-								} catch (FileNotFoundException fnfex) {
-									//should not get here, but eat error since this could only occur in under strange circumstances [222249]
-								} catch(IOException ioe) {
-									JSFCorePlugin.log(
-											IStatus.ERROR,
-											NLS.bind(Messages.JSFAppConfigUtils_ErrorOpeningJarFile, libraryPathString),
-											ioe);
-								} finally {
-									if (jarFile != null) {
-										jarFile.close();
-									}
-								}
+								jarChecks.add(new ConfigFileJARCheck(project, libraryPath.toString()));
 							}
 						}
 					}
+					//the jars are checked in parallel, but the list keeps classpath order
+					for (String libraryPathString : JarScanPool.invokeAll(jarChecks)) {
+						if (libraryPathString != null) {
+							JARsList.add(libraryPathString);
+						}
+					}
 				}
 			}
 		}
 		return JARsList;
 	}
 
+	/**
+	 * Checks a single classpath jar for a META-INF/faces-config.xml entry.
+	 * Returns the jar's path if it has one, else null.
+	 */
+	private static final class ConfigFileJARCheck implements Callable<String> {
+		private final IProject project;
+		private final String libraryPathString;
+
+		ConfigFileJARCheck(IProject project, String libraryPathString) {
+			this.project = project;
+			this.libraryPathString = libraryPathString;
+		}
+
+		public String call() {
+			try {
+				//check existence first [222249]
+				File file = new File(libraryPathString);
+				if (file.exists()) {
+					//the shared index only opens the jar if it changed since it was last scanned
+					if (JarContentIndex.getInstance().hasEntry(project, file, FACES_CONFIG_IN_JAR_PATH)) {
+						return libraryPathString;
+					}
+				}
+			} catch (FileNotFoundException fnfex) {
+				//should not get here, but eat error since this could only occur in under strange circumstances [222249]
+			} catch(IOException ioe) {
+				JSFCorePlugin.log(
+						IStatus.ERROR,
+						NLS.bind(Messages.JSFAppConfigUtils_ErrorOpeningJarFile, libraryPathString),
+						ioe);
+			}
+			return null;
+		}
+	}
+
 	//Bug 306451 - [JSF2.0] Support for Implicit navigation
 	/**
 	 * Get all files that are possible destinations for implicit navigation (JSF 2.x or greater).
@@ -13,12 +13,16 @@
 package org.eclipse.jst.jsf.core.jsfappconfig.internal;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -26,7 +30,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.emf.common.notify.Notification;
-import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.jst.jsf.common.internal.managedobject.AbstractManagedObject;
@@ -45,7 +48,6 @@ import org.eclipse.jst.jsf.facesconfig.emf.ELResolverType;
 import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigExtensionType;
 import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigType;
 import org.eclipse.jst.jsf.facesconfig.emf.FactoryType;
-import org.eclipse.jst.jsf.facesconfig.emf.FromViewIdType;
 import org.eclipse.jst.jsf.facesconfig.emf.LifecycleType;
 import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanType;
 import org.eclipse.jst.jsf.facesconfig.emf.NavigationRuleType;
@@ -63,6 +65,12 @@ import org.eclipse.jst.jsf.facesconfig.emf.VariableResolverType;
  * JSFAppConfigManager provides an entry point to an entire JSF application
  * configuration, which is defined in one or more application configuration
  * resource files.
+ * <p>
+ * The merged lists are kept as unmodifiable aggregate views that are
+ * rebuilt on first access after a provider is added or removed or any
+ * faces-config model changes, rather than being collected on every call.
+ * Navigation rules are indexed by from-view-id for
+ * {@link #getNavigationRulesForPage(IFile)}.
  */
 public abstract class AbstractJSFAppConfigManager 
 	extends 	AbstractManagedObject 
@@ -90,11 +98,31 @@ public abstract class AbstractJSFAppConfigManager
 	 */
 	protected Map<Class, IFacesConfigChangeListener> facesConfigChangeListeners;
 
+	/**
+	 * Map of application configuration model EMF classes to the
+	 * {@link IFacesConfigChangeListener} instances added with
+	 * {@link #addSharedFacesConfigChangeListener(Class, IFacesConfigChangeListener)}.
+	 */
+	private final Map<Class, List<IFacesConfigChangeListener>> sharedFacesConfigChangeListeners =
+		new ConcurrentHashMap<Class, List<IFacesConfigChangeListener>>();
+
 	/**
 	 * Single {@link FacesConfigChangeAdapter} instance.
 	 */
 	protected FacesConfigChangeAdapter facesConfigChangeAdapter;
 
+	/**
+	 * Incremented whenever the providers or any of their faces-config models
+	 * change.
+	 */
+	private final AtomicLong configGeneration = new AtomicLong();
+
+	/**
+	 * Aggregate views of all faces-config models; only current while its
+	 * generation matches configGeneration.
+	 */
+	private volatile ConfigSnapshot configSnapshot;
+
 	/**
 	 * Constructor
 	 * @param project
@@ -201,6 +229,7 @@ public abstract class AbstractJSFAppConfigManager
 	}
 
 	public void notifyJSFAppConfigProvidersChangeListeners(final IJSFAppConfigProvider configProvider, final int eventType) {
+		invalidateConfigSnapshot();
 		final JSFAppConfigProvidersChangeEvent event = new JSFAppConfigProvidersChangeEvent(configProvider, eventType);
 		for (final IJSFAppConfigProvidersChangeListener listener : configProvidersChangeListeners) {
 			SafeRunner.run(new ISafeRunnable() {
@@ -231,25 +260,62 @@ public abstract class AbstractJSFAppConfigManager
 		return facesConfigChangeListeners.remove(emfClass);
 	}
 
+	public boolean addSharedFacesConfigChangeListener(Class emfClass, IFacesConfigChangeListener listener) {
+		// see addFacesConfigChangeListener
+		getFacesConfigModels();
+		synchronized (sharedFacesConfigChangeListeners) {
+			List<IFacesConfigChangeListener> listeners = sharedFacesConfigChangeListeners.get(emfClass);
+			if (listeners == null) {
+				listeners = new CopyOnWriteArrayList<IFacesConfigChangeListener>();
+				sharedFacesConfigChangeListeners.put(emfClass, listeners);
+			}
+			return ((CopyOnWriteArrayList<IFacesConfigChangeListener>)listeners).addIfAbsent(listener);
+		}
+	}
+
+	public boolean removeSharedFacesConfigChangeListener(Class emfClass, IFacesConfigChangeListener listener) {
+		synchronized (sharedFacesConfigChangeListeners) {
+			final List<IFacesConfigChangeListener> listeners = sharedFacesConfigChangeListeners.get(emfClass);
+			if (listeners == null || !listeners.remove(listener)) {
+				return false;
+			}
+			if (listeners.isEmpty()) {
+				sharedFacesConfigChangeListeners.remove(emfClass);
+			}
+			return true;
+		}
+	}
+
 	public void notifyFacesConfigChangeListeners(final Notification notification) {
 		final Object emfFeature = notification.getFeature();
 		if (emfFeature instanceof EStructuralFeature) {
 			final Class emfClass = ((EStructuralFeature)emfFeature).getEType().getInstanceClass();
 			final IFacesConfigChangeListener listener = facesConfigChangeListeners.get(emfClass);
 			if (listener != null) {
-				SafeRunner.run(new ISafeRunnable() {
+				notifyFacesConfigChangeListener(listener, notification);
+			}
+			final List<IFacesConfigChangeListener> sharedListeners = sharedFacesConfigChangeListeners.get(emfClass);
+			if (sharedListeners != null) {
+				for (final IFacesConfigChangeListener sharedListener : sharedListeners) {
+					notifyFacesConfigChangeListener(sharedListener, notification);
+				}
+			}
+		}
+	}
 
-					public void handleException(Throwable exception) {
-						JSFCorePlugin.log("Problem while loading listeners", exception); //$NON-NLS-1$
-					}
+	private void notifyFacesConfigChangeListener(final IFacesConfigChangeListener listener,
+			final Notification notification) {
+		SafeRunner.run(new ISafeRunnable() {
 
-					public void run() throws Exception {
-						listener.notifyChanged(notification);
-					}
-					
-				});
+			public void handleException(Throwable exception) {
+				JSFCorePlugin.log("Problem while loading listeners", exception); //$NON-NLS-1$
 			}
-		}
+
+			public void run() throws Exception {
+				listener.notifyChanged(notification);
+			}
+			
+		});
 	}
 
 	/**
@@ -310,7 +376,8 @@ public abstract class AbstractJSFAppConfigManager
      *  <li>invoking the stopLocating() method on all configLocaters</li>
      *  <li>clearing the configLocaters collection</li>
      *  <li>clearing the configProvidersChangeListeners collection</li>
-     *  <li>clearing the facesConfigChangeListeners collection</li>
+     *  <li>clearing the faces-config change listener collections</li>
+     *  <li>dropping the aggregate faces-config views</li>
      * </ul>
      */
     @Override
@@ -321,6 +388,9 @@ public abstract class AbstractJSFAppConfigManager
         configLocaters.clear();
         configProvidersChangeListeners.clear();
         facesConfigChangeListeners.clear();
+        sharedFacesConfigChangeListeners.clear();
+        configSnapshot = null;
+        invalidateConfigSnapshot();
     }
 
     @Override
@@ -335,248 +405,144 @@ public abstract class AbstractJSFAppConfigManager
 //-------------------------------------------------------------------------------------------------//	
 
 	public List<ManagedBeanType> getManagedBeans() {
-		final List<ManagedBeanType> allManagedBeans = new ArrayList<ManagedBeanType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {		
-			final EList managedBeans = facesConfig.getManagedBean();
-			allManagedBeans.addAll(managedBeans);
-		}
-		return allManagedBeans;
-    }
+		return getConfigSnapshot().managedBeans;
+	}
 
-    public final List<String> getPropertyResolvers()
-    {
-        final List<String> allPropertyResolvers = new ArrayList<String>();
-        final List<ApplicationType> applications = getApplications();
-        for (final ApplicationType  application : applications) 
-        {
-            for (final Iterator it = application.getPropertyResolver().iterator(); it.hasNext();)
-            {
-                final PropertyResolverType propRes = (PropertyResolverType) it.next();
-                String propClass = propRes.getTextContent();
-                if (propClass != null)
-                {
-                    propClass = propClass.trim();
-                    if (!"".equals(propClass)) //$NON-NLS-1$
-                    {
-                        allPropertyResolvers.add(propClass);
-                    }
-                }
-            }
-        }
-        return allPropertyResolvers;
+	public List<String> getPropertyResolvers() {
+		return getConfigSnapshot().propertyResolvers;
 	}
 
 	public List<ValidatorType> getValidators() {
-		final List<ValidatorType> allValidators = new ArrayList<ValidatorType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {	
-			final EList validators = facesConfig.getValidator();
-			allValidators.addAll(validators);
-		}
-		return allValidators;
-	}
-
-	public final List<String> getVariableResolvers()
-    {
-        final List<String> allVariableResolvers = new ArrayList<String>();
-        final List<ApplicationType> applications = getApplications();      
-        for ( final ApplicationType  application : applications)
-        {           
-            for (final Iterator it = application.getVariableResolver().iterator(); it.hasNext();)
-            {
-                final VariableResolverType varRes = (VariableResolverType) it.next();
-                String varClass = varRes.getTextContent();
-                if (varClass != null)
-                {
-                    varClass = varClass.trim();
-                    if (!"".equals(varClass)) //$NON-NLS-1$
-                    {
-                        allVariableResolvers.add(varClass);
-                    }
-                }
-            }
-        }
-        return allVariableResolvers;
-    }
+		return getConfigSnapshot().validators;
+	}
 
-	public final List<String> getELResolvers()
-    {
-        final List<String> allELResolvers = new ArrayList<String>();
-        final List<ApplicationType> applications = getApplications();      
-        for (final ApplicationType  application : applications)
-        {           
-            for (final Iterator it = application.getELResolver().iterator(); it.hasNext();)
-            {
-                final ELResolverType varRes = (ELResolverType) it.next();
-                String varClass = varRes.getTextContent();
-                if (varClass != null)
-                {
-                    varClass = varClass.trim();
-                    if (!"".equals(varClass)) //$NON-NLS-1$
-                    {
-                        allELResolvers.add(varClass);
-                    }
-                }
-            }
-        }
-        return allELResolvers;
-    }
+	public List<String> getVariableResolvers() {
+		return getConfigSnapshot().variableResolvers;
+	}
+
+	public List<String> getELResolvers() {
+		return getConfigSnapshot().elResolvers;
+	}
 
 	public List<ConverterType> getConverters() {
-		final List<ConverterType> allConverters = new ArrayList<ConverterType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-			final EList converters = facesConfig.getConverter();
-			allConverters.addAll(converters);
-		}
-		return allConverters;
+		return getConfigSnapshot().converters;
 	}
 
 	public List<NavigationRuleType> getNavigationRules() {
-		final List<NavigationRuleType> allNavigationRules = new ArrayList<NavigationRuleType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-			final EList navigationRules = facesConfig.getNavigationRule();
-			allNavigationRules.addAll(navigationRules);
-		}
-		return allNavigationRules;
+		return getConfigSnapshot().navigationRules;
 	}
 
 	public List<NavigationRuleType> getNavigationRulesForPage(final IFile pageFile) {
-		final List<NavigationRuleType> navigationRulesForPage = new ArrayList<NavigationRuleType>();
 		final IPath pageFilePath = JSFAppConfigUtils.getWebContentFolderRelativePath(pageFile);
-		if (pageFilePath != null) {
-			String pageFileString = pageFilePath.toString();
-			if (!pageFileString.startsWith("/")) { //$NON-NLS-1$
-				pageFileString = "/" + pageFileString; //$NON-NLS-1$
-			}
-			final List<NavigationRuleType> navigationRules = getNavigationRules();
-			for (final NavigationRuleType navigationRule : navigationRules) {				
-				FromViewIdType fromViewIdType = navigationRule.getFromViewId();
-				if (fromViewIdType != null) {
-					final String fromViewId = fromViewIdType.getTextContent();
-					if (fromViewId != null && fromViewId.length() > 0) {
-						if (!fromViewId.equals("*")) { //$NON-NLS-1$
-							if (fromViewId.equals(pageFileString)) {
-								//exact match
-								navigationRulesForPage.add(navigationRule);
-							} else if (fromViewId.endsWith("*")) { //$NON-NLS-1$
-								final String prefixFromViewId = fromViewId.substring(0, fromViewId.length() - 1);
-								if (pageFileString.startsWith(prefixFromViewId)) {
-									//prefix match
-									navigationRulesForPage.add(navigationRule);
-								}
-							}
-						} else {
-							//from-view-id == "*" - matches all pages
-							navigationRulesForPage.add(navigationRule);
-						}
-					}
-				} else {
-					//no from-view-id element - matches all pages
-					navigationRulesForPage.add(navigationRule);
-				}
-			}
+		if (pageFilePath == null) {
+			return new ArrayList<NavigationRuleType>();
 		}
-		return navigationRulesForPage;
+		String pageFileString = pageFilePath.toString();
+		if (!pageFileString.startsWith("/")) { //$NON-NLS-1$
+			pageFileString = "/" + pageFileString; //$NON-NLS-1$
+		}
+		return getConfigSnapshot().getNavigationRuleIndex().getRulesForViewId(pageFileString);
 	}
 
 	public List<ApplicationType> getApplications() {
-		final List<ApplicationType> allApplications = new ArrayList<ApplicationType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-			final EList applications = facesConfig.getApplication();
-			allApplications.addAll(applications);
-		}
-		return allApplications;
+		return getConfigSnapshot().applications;
 	}
 
 	public List<FactoryType> getFactories() {
-		final List<FactoryType> allFactories = new ArrayList<FactoryType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-			final EList factories = facesConfig.getFactory();
-			allFactories.addAll(factories);
-		}
-		return allFactories;
+		return getConfigSnapshot().factories;
 	}
 
 	public List<ComponentType> getComponents() {
-		final List<ComponentType> allComponents = new ArrayList<ComponentType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-			final EList components = facesConfig.getComponent();
-			allComponents.addAll(components);
-		}
-		return allComponents;
+		return getConfigSnapshot().components;
 	}
 
 	public List<ReferencedBeanType> getReferencedBeans() {
-		final List<ReferencedBeanType> allReferencedBeans = new ArrayList<ReferencedBeanType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {	
-			final EList referencedBeans = facesConfig.getReferencedBean();
-			allReferencedBeans.addAll(referencedBeans);
-		}
-		return allReferencedBeans;
+		return getConfigSnapshot().referencedBeans;
 	}
 
 	public List<RenderKitType> getRenderKits() {
-		final List<RenderKitType>  allRenderKits = new ArrayList<RenderKitType> ();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-			final EList renderKits = facesConfig.getRenderKit();
-			allRenderKits.addAll(renderKits);
-		}
-		return allRenderKits;
+		return getConfigSnapshot().renderKits;
 	}
 
 	public List<LifecycleType> getLifecycles() {
-		final List<LifecycleType> allLifecycles = new ArrayList<LifecycleType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-			final EList lifecycles = facesConfig.getLifecycle();
-			allLifecycles.addAll(lifecycles);
-		}
-		return allLifecycles;
-	}
-
-    public List<ResourceBundleType> getResourceBundles()
-    {
-        final List<ResourceBundleType> allResourceBundles = new ArrayList<ResourceBundleType>();
-        for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-            for (final Iterator applicationIt = facesConfig.getApplication().iterator(); applicationIt.hasNext();)
-            {
-                final ApplicationType appType = (ApplicationType) applicationIt.next();
-                allResourceBundles.addAll(appType.getResourceBundle());
-            }
-        }
-        return allResourceBundles;
-    }
-    
-    public List<BehaviorType> getBehaviors()
-    {
-		final List<BehaviorType> allBehaviors = new ArrayList<BehaviorType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {
-			final EList behaviors = facesConfig.getBehavior();
-			allBehaviors.addAll(behaviors);
+		return getConfigSnapshot().lifecycles;
+	}
+
+	public List<ResourceBundleType> getResourceBundles() {
+		return getConfigSnapshot().resourceBundles;
+	}
+
+	public List<BehaviorType> getBehaviors() {
+		return getConfigSnapshot().behaviors;
+	}
+
+	public List<FacesConfigExtensionType> getFacesConfigExtensions() {
+		return getConfigSnapshot().facesConfigExtensions;
+	}
+
+	/**
+	 * Returns the current aggregate of all faces-config models, building a
+	 * new one if the last one has been invalidated since it was built.
+	 * <p>
+	 * No lock is held while building since the models may need to be loaded
+	 * first; concurrent callers may then each build their own.
+	 * 
+	 * @return the current {@link ConfigSnapshot}
+	 */
+	private ConfigSnapshot getConfigSnapshot() {
+		final ConfigSnapshot snapshot = configSnapshot;
+		final long generation = configGeneration.get();
+		if (snapshot != null && snapshot.generation == generation) {
+			return snapshot;
 		}
-		return allBehaviors;
-    }
-    
-    public List<FacesConfigExtensionType> getFacesConfigExtensions()
-    {
-		final List<FacesConfigExtensionType> allFCExts = new ArrayList<FacesConfigExtensionType>();
-		for (final FacesConfigType facesConfig : getFacesConfigModels()) {	
-			final EList fcExts = facesConfig.getFacesConfigExtension();
-			allFCExts.addAll(fcExts);
+
+		/*
+		 * Loading models adds change adapters and so invalidates the new
+		 * snapshot straight away; it is still correct for this caller and is
+		 * rebuilt once on the next call.
+		 */
+		final List<FacesConfigType> facesConfigModels = getFacesConfigModels();
+		for (final FacesConfigType facesConfig : facesConfigModels) {
+			attachFacesConfigChangeAdapter(facesConfig);
 		}
-		return allFCExts;
-    }
+		final ConfigSnapshot newSnapshot = new ConfigSnapshot(generation, facesConfigModels);
+		configSnapshot = newSnapshot;
+		return newSnapshot;
+	}
+
+	/**
+	 * Invalidates the aggregate faces-config views so that they are rebuilt
+	 * on next access.
+	 */
+	protected void invalidateConfigSnapshot() {
+		configGeneration.incrementAndGet();
+	}
 
 	public void addFacesConfigChangeAdapter(final FacesConfigType facesConfig) {
 		if (facesConfig != null) {
-			if (facesConfigChangeAdapter == null) {
-				facesConfigChangeAdapter = new FacesConfigChangeAdapter();
-			}
-			facesConfig.eAdapters().add(facesConfigChangeAdapter);
+			attachFacesConfigChangeAdapter(facesConfig);
+			invalidateConfigSnapshot();
 		}
 	}
 
 	public void removeFacesConfigChangeAdapter(final FacesConfigType facesConfig) {
 		if (facesConfig != null && facesConfigChangeAdapter != null) {
 			facesConfig.eAdapters().remove(facesConfigChangeAdapter);
+			invalidateConfigSnapshot();
+		}
+	}
+
+	/**
+	 * Adds the {@link FacesConfigChangeAdapter} to facesConfig unless it is
+	 * already there. The aggregate views rely on it to see changes, so it is
+	 * also added to models whose provider did not add it.
+	 */
+	private synchronized void attachFacesConfigChangeAdapter(final FacesConfigType facesConfig) {
+		if (facesConfigChangeAdapter == null) {
+			facesConfigChangeAdapter = new FacesConfigChangeAdapter();
+		}
+		if (!facesConfig.eAdapters().contains(facesConfigChangeAdapter)) {
+			facesConfig.eAdapters().add(facesConfigChangeAdapter);
 		}
 	}
 
@@ -595,10 +561,122 @@ public abstract class AbstractJSFAppConfigManager
 		 */
 		public void notifyChanged(final Notification notification) {
 			super.notifyChanged(notification);
+			if (!notification.isTouch()
+					|| (notification.getEventType() == Notification.REMOVING_ADAPTER
+							&& notification.getOldValue() == this
+							&& notification.getNotifier() instanceof FacesConfigType)) {
+				// the views must be current before the listeners query them
+				invalidateConfigSnapshot();
+			}
 			notifyFacesConfigChangeListeners(notification);
 		}
 	}
 
+	/**
+	 * Immutable aggregate of the lists of all faces-config models, as of the
+	 * configuration generation it was built for. The navigation rule index
+	 * is only built when first needed.
+	 */
+	private static final class ConfigSnapshot {
+		final long generation;
+		final List<ManagedBeanType> managedBeans;
+		final List<ValidatorType> validators;
+		final List<ConverterType> converters;
+		final List<NavigationRuleType> navigationRules;
+		final List<ApplicationType> applications;
+		final List<FactoryType> factories;
+		final List<ComponentType> components;
+		final List<ReferencedBeanType> referencedBeans;
+		final List<RenderKitType> renderKits;
+		final List<LifecycleType> lifecycles;
+		final List<ResourceBundleType> resourceBundles;
+		final List<BehaviorType> behaviors;
+		final List<FacesConfigExtensionType> facesConfigExtensions;
+		final List<String> propertyResolvers;
+		final List<String> variableResolvers;
+		final List<String> elResolvers;
+		private volatile NavigationRuleIndex navigationRuleIndex;
+
+		ConfigSnapshot(final long generation, final List<FacesConfigType> facesConfigModels) {
+			this.generation = generation;
+			final List<ManagedBeanType> allManagedBeans = new ArrayList<ManagedBeanType>();
+			final List<ValidatorType> allValidators = new ArrayList<ValidatorType>();
+			final List<ConverterType> allConverters = new ArrayList<ConverterType>();
+			final List<NavigationRuleType> allNavigationRules = new ArrayList<NavigationRuleType>();
+			final List<ApplicationType> allApplications = new ArrayList<ApplicationType>();
+			final List<FactoryType> allFactories = new ArrayList<FactoryType>();
+			final List<ComponentType> allComponents = new ArrayList<ComponentType>();
+			final List<ReferencedBeanType> allReferencedBeans = new ArrayList<ReferencedBeanType>();
+			final List<RenderKitType> allRenderKits = new ArrayList<RenderKitType>();
+			final List<LifecycleType> allLifecycles = new ArrayList<LifecycleType>();
+			final List<BehaviorType> allBehaviors = new ArrayList<BehaviorType>();
+			final List<FacesConfigExtensionType> allFCExts = new ArrayList<FacesConfigExtensionType>();
+			for (final FacesConfigType facesConfig : facesConfigModels) {
+				allManagedBeans.addAll(facesConfig.getManagedBean());
+				allValidators.addAll(facesConfig.getValidator());
+				allConverters.addAll(facesConfig.getConverter());
+				allNavigationRules.addAll(facesConfig.getNavigationRule());
+				allApplications.addAll(facesConfig.getApplication());
+				allFactories.addAll(facesConfig.getFactory());
+				allComponents.addAll(facesConfig.getComponent());
+				allReferencedBeans.addAll(facesConfig.getReferencedBean());
+				allRenderKits.addAll(facesConfig.getRenderKit());
+				allLifecycles.addAll(facesConfig.getLifecycle());
+				allBehaviors.addAll(facesConfig.getBehavior());
+				allFCExts.addAll(facesConfig.getFacesConfigExtension());
+			}
+
+			final List<ResourceBundleType> allResourceBundles = new ArrayList<ResourceBundleType>();
+			final List<String> allPropertyResolvers = new ArrayList<String>();
+			final List<String> allVariableResolvers = new ArrayList<String>();
+			final List<String> allELResolvers = new ArrayList<String>();
+			for (final ApplicationType application : allApplications) {
+				allResourceBundles.addAll(application.getResourceBundle());
+				for (final Iterator it = application.getPropertyResolver().iterator(); it.hasNext();) {
+					addClassName(allPropertyResolvers, ((PropertyResolverType) it.next()).getTextContent());
+				}
+				for (final Iterator it = application.getVariableResolver().iterator(); it.hasNext();) {
+					addClassName(allVariableResolvers, ((VariableResolverType) it.next()).getTextContent());
+				}
+				for (final Iterator it = application.getELResolver().iterator(); it.hasNext();) {
+					addClassName(allELResolvers, ((ELResolverType) it.next()).getTextContent());
+				}
+			}
 
+			managedBeans = Collections.unmodifiableList(allManagedBeans);
+			validators = Collections.unmodifiableList(allValidators);
+			converters = Collections.unmodifiableList(allConverters);
+			navigationRules = Collections.unmodifiableList(allNavigationRules);
+			applications = Collections.unmodifiableList(allApplications);
+			factories = Collections.unmodifiableList(allFactories);
+			components = Collections.unmodifiableList(allComponents);
+			referencedBeans = Collections.unmodifiableList(allReferencedBeans);
+			renderKits = Collections.unmodifiableList(allRenderKits);
+			lifecycles = Collections.unmodifiableList(allLifecycles);
+			resourceBundles = Collections.unmodifiableList(allResourceBundles);
+			behaviors = Collections.unmodifiableList(allBehaviors);
+			facesConfigExtensions = Collections.unmodifiableList(allFCExts);
+			propertyResolvers = Collections.unmodifiableList(allPropertyResolvers);
+			variableResolvers = Collections.unmodifiableList(allVariableResolvers);
+			elResolvers = Collections.unmodifiableList(allELResolvers);
+		}
 
+		NavigationRuleIndex getNavigationRuleIndex() {
+			NavigationRuleIndex index = navigationRuleIndex;
+			if (index == null) {
+				index = new NavigationRuleIndex(navigationRules);
+				navigationRuleIndex = index;
+			}
+			return index;
+		}
+
+		private static void addClassName(final List<String> classNames, final String className) {
+			if (className != null) {
+				final String trimmed = className.trim();
+				if (!"".equals(trimmed)) { //$NON-NLS-1$
+					classNames.add(trimmed);
+				}
+			}
+		}
+	}
 }
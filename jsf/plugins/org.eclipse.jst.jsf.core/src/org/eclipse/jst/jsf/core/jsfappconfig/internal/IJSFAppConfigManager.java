@@ -40,6 +40,9 @@ import org.eclipse.jst.jsf.facesconfig.emf.ValidatorType;
  * Mostly represents a web applications JSF configuration.
  * <p>
  * This is a merged view of all the faces-config elements.
+ * <p>
+ * Lists of faces-config elements returned by the getters (except
+ * getNavigationRulesForPage) are shared and may not be modified.
  *
  * @noimplement - must extend {@link AbstractJSFAppConfigManager}
  */
@@ -104,6 +107,31 @@ public interface IJSFAppConfigManager extends IManagedObject{
 	 */
 	public Object removeFacesConfigChangeListener(Class emfClass);
 
+	/**
+	 * Adds an instance of {@link IFacesConfigChangeListener} that is notified
+	 * along with any other listeners for the same EMF class. Unlike
+	 * {@link #addFacesConfigChangeListener(Class, IFacesConfigChangeListener)},
+	 * it neither replaces nor is replaced by another listener.
+	 * 
+	 * @param emfClass EMF class in which the listener is interested.
+	 * @param listener {@link IFacesConfigChangeListener} instance.
+	 * @return true if the listener was added, false if it was already added
+	 * for emfClass.
+	 */
+	public boolean addSharedFacesConfigChangeListener(Class emfClass,
+			IFacesConfigChangeListener listener);
+
+	/**
+	 * Removes an instance of {@link IFacesConfigChangeListener} added with
+	 * {@link #addSharedFacesConfigChangeListener(Class, IFacesConfigChangeListener)}.
+	 * 
+	 * @param emfClass EMF class in which the listener was interested.
+	 * @param listener {@link IFacesConfigChangeListener} instance.
+	 * @return true if the listener was removed.
+	 */
+	public boolean removeSharedFacesConfigChangeListener(Class emfClass,
+			IFacesConfigChangeListener listener);
+
 	/**
 	 * Notifies {@link IFacesConfigChangeListener} instances of model changes
 	 * in which they registered interest.
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.jsfappconfig.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jst.jsf.facesconfig.emf.FromViewIdType;
+import org.eclipse.jst.jsf.facesconfig.emf.NavigationRuleType;
+
+/**
+ * Index of navigation rules by from-view-id, matching a view id the same way
+ * as a JSF implementation's default NavigationHandler:
+ * <ul>
+ * 	<li>rules with no from-view-id or a from-view-id of "*" match all views,</li>
+ * 	<li>rules whose from-view-id ends with "*" match all views starting with
+ * 	the rest of the from-view-id,</li>
+ * 	<li>all other rules match their from-view-id exactly.</li>
+ * </ul>
+ * Prefixes are kept in a character trie so that a lookup only costs the
+ * length of the view id. Matching rules are returned in the order they were
+ * indexed.
+ * <p>
+ * The index is built once from a snapshot of the rules; the from-view-id
+ * values are read at that time.
+ */
+final class NavigationRuleIndex {
+
+	private final List<NavigationRuleType> rules;
+	private final Map<String, List<Integer>> exactMatches = new HashMap<String, List<Integer>>();
+	private final PrefixNode prefixMatches = new PrefixNode();
+	private final List<Integer> allMatches = new ArrayList<Integer>();
+
+	/**
+	 * @param rules the navigation rules, in declaration order
+	 */
+	NavigationRuleIndex(final List<NavigationRuleType> rules) {
+		this.rules = rules;
+		for (int i = 0; i < rules.size(); i++) {
+			index(rules.get(i).getFromViewId(), Integer.valueOf(i));
+		}
+	}
+
+	private void index(final FromViewIdType fromViewIdType, final Integer ordinal) {
+		if (fromViewIdType == null) {
+			//no from-view-id element - matches all pages
+			allMatches.add(ordinal);
+			return;
+		}
+		final String fromViewId = fromViewIdType.getTextContent();
+		if (fromViewId == null || fromViewId.length() == 0) {
+			return;
+		}
+		if (fromViewId.equals("*")) { //$NON-NLS-1$
+			allMatches.add(ordinal);
+		} else if (fromViewId.endsWith("*")) { //$NON-NLS-1$
+			PrefixNode node = prefixMatches;
+			for (int i = 0; i < fromViewId.length() - 1; i++) {
+				node = node.getOrCreateChild(fromViewId.charAt(i));
+			}
+			node.ordinals.add(ordinal);
+		} else {
+			List<Integer> ordinals = exactMatches.get(fromViewId);
+			if (ordinals == null) {
+				ordinals = new ArrayList<Integer>(1);
+				exactMatches.put(fromViewId, ordinals);
+			}
+			ordinals.add(ordinal);
+		}
+	}
+
+	/**
+	 * @param viewId a web content folder-relative view id starting with "/"
+	 * @return a new list of the rules matching viewId, in declaration order
+	 */
+	List<NavigationRuleType> getRulesForViewId(final String viewId) {
+		final List<Integer> matches = new ArrayList<Integer>(allMatches);
+		final List<Integer> exact = exactMatches.get(viewId);
+		if (exact != null) {
+			matches.addAll(exact);
+		}
+		PrefixNode node = prefixMatches;
+		for (int i = 0; node != null; i++) {
+			matches.addAll(node.ordinals);
+			node = i < viewId.length() ? node.getChild(viewId.charAt(i)) : null;
+		}
+
+		final int[] ordinals = new int[matches.size()];
+		for (int i = 0; i < ordinals.length; i++) {
+			ordinals[i] = matches.get(i).intValue();
+		}
+		Arrays.sort(ordinals);
+		final List<NavigationRuleType> rulesForViewId = new ArrayList<NavigationRuleType>(ordinals.length);
+		for (final int ordinal : ordinals) {
+			rulesForViewId.add(rules.get(ordinal));
+		}
+		return rulesForViewId;
+	}
+
+	private static final class PrefixNode {
+		private final List<Integer> ordinals = new ArrayList<Integer>(1);
+		private Map<Character, PrefixNode> children;
+
+		PrefixNode getChild(final char c) {
+			return children != null ? children.get(Character.valueOf(c)) : null;
+		}
+
+		PrefixNode getOrCreateChild(final char c) {
+			if (children == null) {
+				children = new HashMap<Character, PrefixNode>(4);
+			}
+			PrefixNode child = children.get(Character.valueOf(c));
+			if (child == null) {
+				child = new PrefixNode();
+				children.put(Character.valueOf(c), child);
+			}
+			return child;
+		}
+	}
+}
@@ -89,19 +89,17 @@ public final class DTFacesContext
             {
                 public EventResult acceptEvent(ResourceLifecycleEvent event)
                 {
-                    if (res.equals(event.getAffectedResource()))
+                    // only called for res
+                    if (event.getEventType() == EventType.RESOURCE_INACCESSIBLE)
                     {
-                        if (event.getEventType() == EventType.RESOURCE_INACCESSIBLE)
-                        {
-                            _lifecycleListener.removeResource(res);
-                        }
+                        _lifecycleListener.removeResource(res);
                     }
                     return EventResult.getDefaultEventResult();
                 }
             };
 
             _lifecycleListener.addResource(res);
-            _lifecycleListener.addListener(_listener);
+            _lifecycleListener.addListener(_listener, res);
         }
     }
 
@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+
+package org.eclipse.jst.jsf.designtime.internal.jsp;
+
+import java.lang.ref.WeakReference;
+
+import org.eclipse.wst.sse.core.internal.provisional.events.IStructuredDocumentListener;
+import org.eclipse.wst.sse.core.internal.provisional.events.NewDocumentEvent;
+import org.eclipse.wst.sse.core.internal.provisional.events.NoChangeEvent;
+import org.eclipse.wst.sse.core.internal.provisional.events.RegionChangedEvent;
+import org.eclipse.wst.sse.core.internal.provisional.events.RegionsReplacedEvent;
+import org.eclipse.wst.sse.core.internal.provisional.events.StructuredDocumentEvent;
+import org.eclipse.wst.sse.core.internal.provisional.events.StructuredDocumentRegionsReplacedEvent;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocumentRegion;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocumentRegionList;
+import org.eclipse.wst.xml.core.internal.regions.DOMRegionContext;
+
+/**
+ * Accumulates the span of a structured document that has been edited since
+ * the last time the span was taken.  Used by JSPModelProcessor so that a
+ * refresh only has to revisit the elements touched by an edit.
+ *
+ * When SSE reports that it replaced tag regions beyond the edited text the
+ * DOM nodes for those tags, and possibly their re-parented children, are
+ * re-created outside the span, so the tracker asks for a full refresh.
+ *
+ * The document is only weakly referenced so that a tracker left behind on
+ * a released model does not keep the model alive.
+ */
+final class DocumentChangeTracker implements IStructuredDocumentListener
+{
+    /**
+     * A span of document offsets that must be reprocessed.  Offsets are
+     * relative to the document contents at the time the span was taken.
+     */
+    static final class DirtySpan
+    {
+        private final int _start;
+        private final int _end;
+
+        private DirtySpan(final int start, final int end)
+        {
+            _start = start;
+            _end = end;
+        }
+
+        /**
+         * @return the first dirty offset
+         */
+        int getStart()
+        {
+            return _start;
+        }
+
+        /**
+         * @return the last dirty offset (inclusive)
+         */
+        int getEnd()
+        {
+            return _end;
+        }
+    }
+
+    private final WeakReference<IStructuredDocument> _document;
+    // -1 when there are no pending edits
+    private int _dirtyStart = -1;
+    private int _dirtyEnd = -1;
+    private boolean _requiresFullRefresh;
+    private boolean _disposed;
+
+    /**
+     * Starts tracking changes to document.
+     *
+     * @param document
+     */
+    DocumentChangeTracker(final IStructuredDocument document)
+    {
+        _document = new WeakReference<IStructuredDocument>(document);
+        document.addDocumentChangedListener(this);
+    }
+
+    /**
+     * @param document
+     * @return true if this tracker is listening to document
+     */
+    boolean isTracking(final IStructuredDocument document)
+    {
+        return document != null && _document.get() == document;
+    }
+
+    /**
+     * @return true if the document has changed since the last call to
+     *         {@link #takeDirtySpan()} or {@link #reset()}
+     */
+    synchronized boolean hasChanges()
+    {
+        return _requiresFullRefresh || _dirtyStart != -1;
+    }
+
+    /**
+     * Returns the accumulated span and clears it.
+     *
+     * @return the span edited since the last call, an empty span (start >
+     *         end) if nothing changed, or null if the whole document was
+     *         replaced and must be reprocessed
+     */
+    synchronized DirtySpan takeDirtySpan()
+    {
+        try
+        {
+            if (_requiresFullRefresh)
+            {
+                return null;
+            }
+            return new DirtySpan(_dirtyStart == -1 ? 0 : _dirtyStart, _dirtyEnd);
+        }
+        finally
+        {
+            clear();
+        }
+    }
+
+    /**
+     * Discards any accumulated changes.
+     */
+    synchronized void reset()
+    {
+        clear();
+    }
+
+    /**
+     * Stops listening to the document.
+     */
+    void dispose()
+    {
+        final IStructuredDocument document = _document.get();
+
+        synchronized (this)
+        {
+            if (_disposed)
+            {
+                return;
+            }
+            _disposed = true;
+        }
+
+        if (document != null)
+        {
+            document.removeDocumentChangedListener(this);
+        }
+        _document.clear();
+    }
+
+    public void newModel(final NewDocumentEvent structuredDocumentEvent)
+    {
+        synchronized (this)
+        {
+            _requiresFullRefresh = true;
+        }
+    }
+
+    public void noChange(final NoChangeEvent structuredDocumentEvent)
+    {
+        // nothing to do
+    }
+
+    public void nodesReplaced(final StructuredDocumentRegionsReplacedEvent structuredDocumentEvent)
+    {
+        if (replacesTagsOutsideEdit(structuredDocumentEvent))
+        {
+            synchronized (this)
+            {
+                _requiresFullRefresh = true;
+            }
+            return;
+        }
+        documentChanged(structuredDocumentEvent);
+    }
+
+    public void regionChanged(final RegionChangedEvent structuredDocumentEvent)
+    {
+        documentChanged(structuredDocumentEvent);
+    }
+
+    public void regionsReplaced(final RegionsReplacedEvent structuredDocumentEvent)
+    {
+        documentChanged(structuredDocumentEvent);
+    }
+
+    private synchronized void documentChanged(final StructuredDocumentEvent event)
+    {
+        final int offset = event.getOffset();
+        final int replacedEnd = offset + event.getLength();
+        final String text = event.getText();
+        final int insertedEnd = offset + (text != null ? text.length() : 0);
+
+        if (_dirtyStart == -1)
+        {
+            _dirtyStart = offset;
+            _dirtyEnd = insertedEnd;
+            return;
+        }
+
+        // move the existing span into the coordinates of the new contents
+        // and then grow it to include the replaced text
+        final int delta = insertedEnd - replacedEnd;
+        _dirtyStart = Math.min(shift(_dirtyStart, offset, replacedEnd, delta), offset);
+        _dirtyEnd = Math.max(shift(_dirtyEnd, offset, replacedEnd, delta), insertedEnd);
+    }
+
+    /**
+     * @param event
+     * @return true if event replaced a tag region that is not completely
+     *         contained in the edited text
+     */
+    private static boolean replacesTagsOutsideEdit(
+            final StructuredDocumentRegionsReplacedEvent event)
+    {
+        final int offset = event.getOffset();
+        final String text = event.getText();
+        // old regions are in the coordinates of the previous contents,
+        // new regions in the coordinates of the current ones
+        return hasTagOutside(event.getOldStructuredDocumentRegions(), offset,
+                offset + event.getLength())
+                || hasTagOutside(event.getNewStructuredDocumentRegions(), offset,
+                        offset + (text != null ? text.length() : 0));
+    }
+
+    private static boolean hasTagOutside(
+            final IStructuredDocumentRegionList regions, final int start,
+            final int end)
+    {
+        if (regions == null)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < regions.getLength(); i++)
+        {
+            final IStructuredDocumentRegion region = regions.item(i);
+            // replaced text content never changes the element structure
+            if (region == null
+                    || DOMRegionContext.XML_CONTENT.equals(region.getType()))
+            {
+                continue;
+            }
+            if (region.getStartOffset() < start || region.getEndOffset() > end)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int shift(final int position, final int offset,
+            final int replacedEnd, final int delta)
+    {
+        if (position >= replacedEnd)
+        {
+            return position + delta;
+        }
+        else if (position > offset)
+        {
+            // the position was inside the replaced text
+            return offset;
+        }
+        return position;
+    }
+
+    private void clear()
+    {
+        _dirtyStart = -1;
+        _dirtyEnd = -1;
+        _requiresFullRefresh = false;
+    }
+}
@@ -17,9 +17,15 @@ package org.eclipse.jst.jsf.designtime.internal.jsp;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.core.resources.IFile;
@@ -62,12 +68,18 @@ import org.eclipse.jst.jsf.context.symbol.source.ISymbolConstants;
 import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.designtime.DesignTimeApplicationManager;
 import org.eclipse.jst.jsf.designtime.context.DTFacesContext;
+import org.eclipse.jst.jsf.designtime.internal.jsp.DocumentChangeTracker.DirtySpan;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.wst.sse.core.StructuredModelManager;
 import org.eclipse.wst.sse.core.internal.provisional.IModelManager;
 import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
+import org.eclipse.wst.sse.core.internal.provisional.IndexedRegion;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocumentRegion;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMModel;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -117,9 +129,21 @@ public class JSPModelProcessor
      */
     private final static boolean                         DISABLE_WKSPACE_CHANGE_REFRESH = System
                                                                                                 .getProperty("org.eclipse.jst.jsf.jspmodelprocessor.disable.wkspace.change.refresh") != null; //$NON-NLS-1$
-    private final static Map<IFile, JSPModelProcessor>  RESOURCE_MAP =
-        new HashMap<IFile, JSPModelProcessor>();
-    private final static java.util.concurrent.locks.Lock CRITICAL_SECTION =
+
+    /**
+     * An init-time setting that turns off incremental refresh, so that every
+     * refresh walks the whole document as it did before edits were tracked.
+     */
+    private final static boolean                         DISABLE_INCREMENTAL_REFRESH = System
+                                                                                                .getProperty("org.eclipse.jst.jsf.jspmodelprocessor.disable.incremental.refresh") != null; //$NON-NLS-1$
+    private final static String                          TAGLIB_DIRECTIVE = "jsp:directive.taglib"; //$NON-NLS-1$
+    private final static String                          XMLNS = "xmlns"; //$NON-NLS-1$
+    // processors are looked up without locking; LIFECYCLE_LOCK is only taken
+    // to create or dispose a processor, since those also change the shared
+    // lifecycle listener.
+    private final static ConcurrentMap<IFile, JSPModelProcessor>  RESOURCE_MAP =
+        new ConcurrentHashMap<IFile, JSPModelProcessor>();
+    private final static java.util.concurrent.locks.Lock LIFECYCLE_LOCK =
         new  ReentrantLock();
     private static LifecycleListener  LIFECYCLE_LISTENER;
 
@@ -132,15 +156,23 @@ public class JSPModelProcessor
      */
     public static JSPModelProcessor get(final IFile file) throws CoreException
     {
-        CRITICAL_SECTION.lock();
-        try
+        if (!file.isAccessible())
         {
-            if (!file.isAccessible())
-            {
-                throw new CoreException(new Status(IStatus.ERROR, JSFCorePlugin.PLUGIN_ID, "File must be accessible")); //$NON-NLS-1$
-            }
+            throw new CoreException(new Status(IStatus.ERROR, JSFCorePlugin.PLUGIN_ID, "File must be accessible")); //$NON-NLS-1$
+        }
+
+        JSPModelProcessor processor = RESOURCE_MAP.get(file);
 
-            JSPModelProcessor processor = RESOURCE_MAP.get(file);
+        if (processor != null)
+        {
+            return processor;
+        }
+
+        LIFECYCLE_LOCK.lock();
+        try
+        {
+            // check again now that we have the lock
+            processor = RESOURCE_MAP.get(file);
 
             if (processor == null)
             {
@@ -161,7 +193,7 @@ public class JSPModelProcessor
         }
         finally
         {
-            CRITICAL_SECTION.unlock();
+            LIFECYCLE_LOCK.unlock();
         }
     }
 
@@ -171,15 +203,13 @@ public class JSPModelProcessor
      */
     private static void dispose(final IFile file)
     {
-        CRITICAL_SECTION.lock();
+        LIFECYCLE_LOCK.lock();
         try
         {
-            final JSPModelProcessor processor = RESOURCE_MAP.get(file);
+            final JSPModelProcessor processor = RESOURCE_MAP.remove(file);
 
             if (processor != null)
             {
-                RESOURCE_MAP.remove(file);
-
                 if (!processor.isDisposed())
                 {
                     processor.dispose();
@@ -188,7 +218,7 @@ public class JSPModelProcessor
 
             }
 
-            if (RESOURCE_MAP.isEmpty())
+            if (RESOURCE_MAP.isEmpty() && LIFECYCLE_LISTENER != null)
             {
                 // if we no longer have any resources being tracked,
                 // then dispose the lifecycle listener
@@ -198,7 +228,7 @@ public class JSPModelProcessor
         }
         finally
         {
-            CRITICAL_SECTION.unlock();
+            LIFECYCLE_LOCK.unlock();
         }
     }
 
@@ -213,6 +243,17 @@ public class JSPModelProcessor
     private Map<Object, ISymbol>    _viewMap;
     private Map<Object, ISymbol>    _flashMap;
 
+    // the symbols contributed by each element in the last refresh.  The
+    // scope maps are rebuilt from this so that an incremental refresh only
+    // has to reprocess the elements touched by an edit
+    private final Map<Node, List<SymbolContribution>> _contributions =
+        new HashMap<Node, List<SymbolContribution>>();
+    // the taglib directives and xmlns declaring elements found by the last
+    // full walk.  Touching any of these forces another full walk
+    private final List<Node>        _taglibDeclarations = new ArrayList<Node>();
+    // tracks edits to the document last processed; null until the first refresh
+    private DocumentChangeTracker   _changeTracker;
+
     // used to avoid infinite recursion in refresh.  Must never be null
     private final CountingMutex     _lastModificationStampMonitor = new CountingMutex();
 
@@ -229,14 +270,9 @@ public class JSPModelProcessor
         {
             public EventResult acceptEvent(final ResourceLifecycleEvent event)
             {
+                // only receives events for _file; see addListener below
                 final EventResult result = EventResult.getDefaultEventResult();
 
-                // not interested
-                if (!_file.equals(event.getAffectedResource()))
-                {
-                    return result;
-                }
-
                 if (event.getEventType() == EventType.RESOURCE_INACCESSIBLE)
                 {
                     dispose(_file);
@@ -256,7 +292,9 @@ public class JSPModelProcessor
             }
         };
 
-        lifecycleListener.addListener(_resListener);
+        // the listener is shared by every open page, so subscribe for just
+        // this file rather than filtering every page's events
+        lifecycleListener.addListener(_resListener, _file);
     }
 
     private IDOMModel getModelForFile(final IFile file)
@@ -291,6 +329,17 @@ public class JSPModelProcessor
             _resListener = null;
             _lifecycleListener = null;
 
+            synchronized (_lastModificationStampMonitor)
+            {
+                if (_changeTracker != null)
+                {
+                    _changeTracker.dispose();
+                    _changeTracker = null;
+                }
+                _contributions.clear();
+                _taglibDeclarations.clear();
+            }
+
             if (_requestMap != null)
             {
                 _requestMap.clear();
@@ -315,6 +364,18 @@ public class JSPModelProcessor
                 _noneMap = null;
             }
 
+            if (_viewMap != null)
+            {
+                _viewMap.clear();
+                _viewMap = null;
+            }
+
+            if (_flashMap != null)
+            {
+                _flashMap.clear();
+                _flashMap = null;
+            }
+
             // mark as disposed
             _isDisposed = true;
         }
@@ -332,13 +393,21 @@ public class JSPModelProcessor
     /**
      * If isModelDirty() returns true, then it means that a call
      * to refresh(false) will trigger a reprocess of the underlying document.
+     * This is the case if the file has changed on disk or if the document
+     * last processed has been edited since.
      *
      * @return true if the underlying JSP model is considered to be dirty
      */
     public boolean isModelDirty()
     {
         final long currentModificationStamp = _file.getModificationStamp();
-        return _lastModificationStampMonitor.hasChanged(currentModificationStamp);
+        if (_lastModificationStampMonitor.hasChanged(currentModificationStamp))
+        {
+            return true;
+        }
+
+        final DocumentChangeTracker changeTracker = _changeTracker;
+        return changeTracker != null && changeTracker.hasChanges();
     }
 
 
@@ -393,7 +462,10 @@ public class JSPModelProcessor
             }
         };
         refreshJob.setSystem(true);
-        refreshJob.setRule(ResourcesPlugin.getWorkspace().getRoot());
+        // only lock the file we are processing so that refreshes of other
+        // files (and builds that don't touch this one) can run concurrently.
+        // This is the same rule used by runOnCurrentThread.
+        refreshJob.setRule(_file);
         if (runAfter != null)
         {
             refreshJob.addJobChangeListener(new JobChangeAdapter()
@@ -446,7 +518,7 @@ public class JSPModelProcessor
                         model = getModelForFile(_file);
                         if (model != null)
                         {
-                            refreshInternal(model);
+                            refreshInternal(model, _forceRefresh);
                         }
                         _lastModificationStampMonitor.setModificationStamp(_file.getModificationStamp());
                     }
@@ -473,27 +545,210 @@ public class JSPModelProcessor
 
 
 
-    private void refreshInternal(final IDOMModel model)
+    private void refreshInternal(final IDOMModel model, final boolean forceRefresh)
     {
+        final IStructuredDocument structuredDocument = model.getStructuredDocument();
         final IStructuredDocumentContext context =
-            IStructuredDocumentContextFactory.INSTANCE.getContext(model.getStructuredDocument(), -1);
+            IStructuredDocumentContextFactory.INSTANCE.getContext(structuredDocument, -1);
         final ITaglibContextResolver taglibResolver =
             IStructuredDocumentContextResolverFactory.INSTANCE.getTaglibContextResolver(context);
         final IDOMDocument document = model.getDocument();
-        getApplicationMap().clear();
-        getRequestMap().clear();
-        getSessionMap().clear();
 
         if (taglibResolver == null) {
             // unusual, but protect against possible NPE
             JSFCorePlugin.log(IStatus.ERROR, "Program Error: taglib resolver is null."); //$NON-NLS-1$
+            clearContributions();
             return;
         }
 
+        if (!forceRefresh && !DISABLE_INCREMENTAL_REFRESH
+                && _changeTracker != null
+                && _changeTracker.isTracking(structuredDocument))
+        {
+            final DirtySpan dirtySpan = _changeTracker.takeDirtySpan();
+
+            if (dirtySpan != null
+                    && refreshIncremental(model, dirtySpan, taglibResolver))
+            {
+                return;
+            }
+        }
+
+        // start tracking before the walk so that edits made while we are
+        // walking are picked up by the next refresh
+        if (_changeTracker != null && _changeTracker.isTracking(structuredDocument))
+        {
+            _changeTracker.reset();
+        }
+        else
+        {
+            if (_changeTracker != null)
+            {
+                _changeTracker.dispose();
+            }
+            _changeTracker = new DocumentChangeTracker(structuredDocument);
+        }
+
+        _contributions.clear();
+        _taglibDeclarations.clear();
         //long curTime = System.currentTimeMillis();
         recurseChildNodes(model, document.getChildNodes(), taglibResolver);
         //long netTime = System.currentTimeMillis() - curTime;
         //System.out.println("Net time to recurse document: "+netTime);
+        rebuildScopeMaps();
+    }
+
+    /**
+     * Reprocesses only the elements whose start tags intersect dirtySpan,
+     * plus any previously contributing elements that have since been removed.
+     *
+     * @return false if the edit may have changed how tags resolve and a full
+     *         walk is needed instead
+     */
+    private boolean refreshIncremental(final IDOMModel model,
+            final DirtySpan dirtySpan, final ITaglibContextResolver taglibResolver)
+    {
+        for (final Node node : _taglibDeclarations)
+        {
+            if (!isAttached(node)
+                    || startTagIntersects(node, dirtySpan.getStart(), dirtySpan.getEnd()))
+            {
+                return false;
+            }
+        }
+
+        final Set<Node> affected = new LinkedHashSet<Node>();
+
+        for (final Node node : _contributions.keySet())
+        {
+            if (!isAttached(node)
+                    || startTagIntersects(node, dirtySpan.getStart(), dirtySpan.getEnd()))
+            {
+                affected.add(node);
+            }
+        }
+
+        if (dirtySpan.getStart() <= dirtySpan.getEnd())
+        {
+            IndexedRegion region = model.getIndexedRegion(dirtySpan.getStart());
+
+            if (region == null && dirtySpan.getStart() > 0)
+            {
+                // an edit at the very end of the document
+                region = model.getIndexedRegion(dirtySpan.getStart() - 1);
+            }
+
+            if (!(region instanceof Node))
+            {
+                return false;
+            }
+
+            for (Node node = (Node) region; node != null; node = nextInDocumentOrder(node))
+            {
+                if (node instanceof IDOMNode
+                        && ((IDOMNode) node).getStartOffset() > dirtySpan.getEnd())
+                {
+                    break;
+                }
+
+                if (startTagIntersects(node, dirtySpan.getStart(), dirtySpan.getEnd()))
+                {
+                    if (changesTaglibs(node))
+                    {
+                        return false;
+                    }
+                    affected.add(node);
+                }
+            }
+        }
+
+        for (final Node node : affected)
+        {
+            _contributions.remove(node);
+
+            if (isAttached(node))
+            {
+                processAttributes(model, node, taglibResolver);
+            }
+        }
+
+        rebuildScopeMaps();
+        return true;
+    }
+
+    private static boolean isAttached(final Node node)
+    {
+        Node curNode = node;
+
+        while (curNode != null)
+        {
+            if (curNode.getNodeType() == Node.DOCUMENT_NODE)
+            {
+                return true;
+            }
+            curNode = curNode.getParentNode();
+        }
+        return false;
+    }
+
+    private static boolean startTagIntersects(final Node node, final int start, final int end)
+    {
+        if (!(node instanceof IDOMNode))
+        {
+            return false;
+        }
+
+        final IDOMNode domNode = (IDOMNode) node;
+        final IStructuredDocumentRegion startTag = domNode.getStartStructuredDocumentRegion();
+        final int nodeStart = startTag != null ? startTag.getStartOffset() : domNode.getStartOffset();
+        final int nodeEnd = startTag != null ? startTag.getEndOffset() : domNode.getEndOffset();
+        return nodeStart <= end && nodeEnd >= start;
+    }
+
+    /**
+     * @return true if node declares tag libraries, in which case editing it
+     *         may change the resolution of tags anywhere in the document
+     */
+    private static boolean changesTaglibs(final Node node)
+    {
+        if (TAGLIB_DIRECTIVE.equals(node.getNodeName()))
+        {
+            return true;
+        }
+
+        final NamedNodeMap attributes = node.getAttributes();
+
+        if (attributes != null)
+        {
+            for (int i = 0; i < attributes.getLength(); i++)
+            {
+                if (attributes.item(i).getNodeName().startsWith(XMLNS))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Node nextInDocumentOrder(final Node node)
+    {
+        if (node.getFirstChild() != null)
+        {
+            return node.getFirstChild();
+        }
+
+        Node curNode = node;
+
+        while (curNode != null)
+        {
+            if (curNode.getNextSibling() != null)
+            {
+                return curNode.getNextSibling();
+            }
+            curNode = curNode.getParentNode();
+        }
+        return null;
     }
 
     private void recurseChildNodes(final IDOMModel model,
@@ -504,6 +759,11 @@ public class JSPModelProcessor
         {
             final Node child = nodes.item(i);
 
+            if (changesTaglibs(child))
+            {
+                _taglibDeclarations.add(child);
+            }
+
             // process attributes at this node before recursing
             processAttributes(model, child, taglibResolver);
             recurseChildNodes(model, child.getChildNodes(), taglibResolver);
@@ -523,13 +783,13 @@ public class JSPModelProcessor
             {
                 final Node attribute = node.getAttributes().item(i);
 
-                processSymbolContrib(model, uri, elementName, attribute);
+                processSymbolContrib(model, node, uri, elementName, attribute);
                 processSetsLocale(uri, elementName, attribute);
             }
         }
     }
 
-    private void processSymbolContrib(final IDOMModel model, final String uri, final String elementName, final Node attribute)
+    private void processSymbolContrib(final IDOMModel model, final Node element, final String uri, final String elementName, final Node attribute)
     {
         final SymbolContribAggregator  aggregator =
             SymbolContribAggregator.
@@ -564,7 +824,7 @@ public class JSPModelProcessor
 
                     if (symbol != null)
                     {
-                        updateMap(symbol, aggregator.getScope());
+                        addContribution(element, symbol, aggregator.getScope());
                     }
                 }
             }
@@ -574,7 +834,7 @@ public class JSPModelProcessor
                     SymbolFactory.eINSTANCE.createIComponentSymbol();
                 componentSymbol.setName(symbolName);
 
-                updateMap(componentSymbol, aggregator.getScope());
+                addContribution(element, componentSymbol, aggregator.getScope());
             }
         }
     }
@@ -618,6 +878,64 @@ public class JSPModelProcessor
         return Collections.EMPTY_MAP;
     }
 
+    private void addContribution(final Node element, final ISymbol symbol, final String scopeName)
+    {
+        List<SymbolContribution> contributions = _contributions.get(element);
+
+        if (contributions == null)
+        {
+            contributions = new ArrayList<SymbolContribution>(2);
+            _contributions.put(element, contributions);
+        }
+        contributions.add(new SymbolContribution(symbol, scopeName));
+    }
+
+    private void clearContributions()
+    {
+        _contributions.clear();
+        rebuildScopeMaps();
+    }
+
+    /**
+     * Repopulates the scope maps from the recorded contributions.  Elements
+     * are applied in document order so that, as with a full walk, the last
+     * declaration of a name wins.
+     */
+    private void rebuildScopeMaps()
+    {
+        getApplicationMap().clear();
+        getRequestMap().clear();
+        getSessionMap().clear();
+        getNoneMap().clear();
+        getViewMap().clear();
+        getFlashMap().clear();
+
+        final List<Node> elements = new ArrayList<Node>(_contributions.keySet());
+        Collections.sort(elements, DOCUMENT_ORDER);
+
+        for (final Node element : elements)
+        {
+            for (final Iterator<SymbolContribution> it = _contributions.get(element).iterator(); it.hasNext();)
+            {
+                final SymbolContribution contribution = it.next();
+                updateMap(contribution.getSymbol(), contribution.getScope());
+            }
+        }
+    }
+
+    private final static Comparator<Node> DOCUMENT_ORDER = new Comparator<Node>()
+    {
+        public int compare(final Node node1, final Node node2)
+        {
+            return Integer.compare(startOffset(node1), startOffset(node2));
+        }
+
+        private int startOffset(final Node node)
+        {
+            return node instanceof IDOMNode ? ((IDOMNode) node).getStartOffset() : 0;
+        }
+    };
+
     private void updateMap(final ISymbol symbol, final String  scopeName)
     {
         final Map<Object, ISymbol> map = getMapForScopeInternal(scopeName);
@@ -861,6 +1179,31 @@ public class JSPModelProcessor
         }
     }
 
+    /**
+     * A symbol contributed to a scope by an element
+     */
+    private final static class SymbolContribution
+    {
+        private final ISymbol _symbol;
+        private final String  _scope;
+
+        SymbolContribution(final ISymbol symbol, final String scope)
+        {
+            _symbol = symbol;
+            _scope = scope;
+        }
+
+        public ISymbol getSymbol()
+        {
+            return _symbol;
+        }
+
+        public String getScope()
+        {
+            return _scope;
+        }
+    }
+
     private final static class CountingMutex extends Object
     {
         private long                    _lastModificationStamp = -1;
@@ -81,6 +81,16 @@ public class WorkspaceJSFResourceLocator extends AbstractJSFResourceLocator
         super.start(initialContext);
     }
 
+    @Override
+    public void stop()
+    {
+        if (_workspaceResourceManager != null)
+        {
+            _workspaceResourceManager.dispose();
+        }
+        super.stop();
+    }
+
     @Override
     protected List<IJSFResourceFragment> doLocate(final IProject project)
     {
@@ -16,13 +16,18 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
@@ -31,10 +36,6 @@ import org.eclipse.jst.jsf.common.internal.finder.AbstractMatcher.AlwaysMatcher;
 import org.eclipse.jst.jsf.common.internal.finder.VisitorMatcher;
 import org.eclipse.jst.jsf.common.internal.finder.acceptor.FileMatchingAcceptor;
 import org.eclipse.jst.jsf.common.internal.resource.ContentTypeResolver;
-import org.eclipse.jst.jsf.common.internal.resource.ResourceLifecycleEvent;
-import org.eclipse.jst.jsf.common.internal.resource.ResourceLifecycleEvent.ReasonType;
-import org.eclipse.jst.jsf.common.internal.resource.ResourceManager;
-import org.eclipse.jst.jsf.common.internal.resource.ResourceTracker;
 import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.designtime.internal.resources.JSFResourceChangeListener.JSFResourceChangedEvent;
 import org.eclipse.jst.jsf.designtime.internal.resources.JSFResourceChangeListener.JSFResourceChangedEvent.CHANGE_TYPE;
@@ -44,16 +45,28 @@ import org.eclipse.wst.common.componentcore.resources.IVirtualFolder;
 /**
  * Resource Manager that tracks JSF resources in a workspace.
  * 
+ * The fragments found under the resources folder are kept in a table keyed by
+ * their path relative to that folder. A single workspace listener walks only
+ * the part of each delta under the resources folder and fires
+ * {@link JSFResourceChangedEvent}s for the fragments it changes, so the cost
+ * of a change does not grow with the number of resources tracked.
+ * 
  * @author cbateman
  * 
  */
-public class WorkspaceResourceManager extends ResourceManager<IResource>
+public class WorkspaceResourceManager implements IResourceChangeListener
 {
     private final AbstractVirtualComponentQuery _vcQuery;
     private final IProject _project;
     private final AbstractJSFResourceLocator _locator;
     private final ContentTypeResolver _contentTypeResolver;
     private final ResourceIdentifierFactory _factory;
+    /**
+     * Fragments keyed by path relative to the resources folder, which is
+     * itself keyed by "". A container's descendants sort directly after it.
+     */
+    private final TreeMap<String, IWorkspaceJSFResourceFragment> _fragments;
+    private IPath _rootPath;
 
     /**
      * @param project
@@ -66,53 +79,74 @@ public class WorkspaceResourceManager extends ResourceManager<IResource>
             final AbstractJSFResourceLocator locator,
             final ContentTypeResolver contentTypeResolver)
     {
-        super(project.getWorkspace());
         _project = project;
         _vcQuery = vcQuery;
         _locator = locator;
         _contentTypeResolver = contentTypeResolver;
         _factory = new ResourceIdentifierFactory();
+        _fragments = new TreeMap<String, IWorkspaceJSFResourceFragment>();
     }
 
-    @Override
-    protected JSFResourceTracker createNewInstance(final IResource resource)
-    {
-        final boolean isJSFResource = !getRootResourceFolder().getParent()
-                .equals(resource);
-        return new JSFResourceTracker(resource, isJSFResource);
-    }
-
-    @Override
+    /**
+     * Initialize the table of JSF resources from the workspace and start
+     * listening for changes to them.
+     */
     public void initResources()
     {
         final IFolder folder = getRootResourceFolder();
         if (folder != null)
         {
-            try
-            {
-                track(folder.getParent());
-                track(folder);
-            } catch (final Exception e1)
-            {
-                JSFCorePlugin
-                        .log(e1,
-                                "While trying to locate JSF resources in the workspace"); //$NON-NLS-1$
-            }
-            if (folder.isAccessible())
+            synchronized (this)
             {
-                trackAllInFolder(folder);
+                _rootPath = folder.getFullPath();
+                try
+                {
+                    add(folder, ""); //$NON-NLS-1$
+                } catch (final InvalidIdentifierException e1)
+                {
+                    JSFCorePlugin
+                            .log(e1,
+                                    "While trying to locate JSF resources in the workspace"); //$NON-NLS-1$
+                }
+                if (folder.isAccessible())
+                {
+                    addAllInFolder(folder, null);
+                }
             }
+            _project.getWorkspace().addResourceChangeListener(
+                    this,
+                    IResourceChangeEvent.POST_CHANGE
+                            | IResourceChangeEvent.PRE_CLOSE
+                            | IResourceChangeEvent.PRE_DELETE);
+        }
+    }
+
+    /**
+     * Stop listening for changes and forget the JSF resources.
+     */
+    public void dispose()
+    {
+        _project.getWorkspace().removeResourceChangeListener(this);
+        synchronized (this)
+        {
+            _fragments.clear();
         }
     }
 
-    private List<IWorkspaceJSFResourceFragment> trackAllInFolder(
-            final IContainer folder)
+    /**
+     * Adds all resources under folder to the table.
+     * 
+     * @param folder
+     * @param events
+     *            if not null, an ADDED event is added for each new fragment
+     */
+    private void addAllInFolder(final IContainer folder,
+            final List<JSFResourceChangedEvent> events)
     {
         final VisitorMatcher<IContainer, IResource, String> matcher = new VisitorMatcher<IContainer, IResource, String>(
                 "", "", //$NON-NLS-1$ //$NON-NLS-2$
                 new FileMatchingAcceptor(),
                 Collections.singletonList(new AlwaysMatcher()));
-        final List<IWorkspaceJSFResourceFragment> newFragments = new ArrayList<IWorkspaceJSFResourceFragment>();
         try
         {
             final Collection<? extends IResource> foundResources = matcher
@@ -121,7 +155,13 @@ public class WorkspaceResourceManager extends ResourceManager<IResource>
             {
                 try
                 {
-                    newFragments.add(track(res));
+                    final IWorkspaceJSFResourceFragment jsfRes = add(res,
+                            getKey(res));
+                    if (events != null)
+                    {
+                        events.add(new JSFResourceChangedEvent(_locator, null,
+                                jsfRes, CHANGE_TYPE.ADDED));
+                    }
                 } catch (final InvalidIdentifierException e)
                 {
                 	// Bug 377405: this call can get expensive for a project with many things on the Facelet classpath
@@ -129,292 +169,222 @@ public class WorkspaceResourceManager extends ResourceManager<IResource>
 //                    JSFCorePlugin.log(IStatus.INFO,
 //                        "Ignoring invalid JSF resource: "+res); //$NON-NLS-1$
                 }
-                catch (final ManagedObjectException e)
-                {
-                    JSFCorePlugin.log(e,
-                        "Problem adding managed object for resource: "+res); //$NON-NLS-1$
-                }
             }
         } catch (final Exception e)
         {
             JSFCorePlugin.log(e,
                     "While trying to locate JSF resources in the workspace"); //$NON-NLS-1$
         }
-        return newFragments;
     }
 
-    private IWorkspaceJSFResourceFragment track(final IResource res)
-            throws ManagedObjectException, InvalidIdentifierException
+    private IWorkspaceJSFResourceFragment add(final IResource res,
+            final String key) throws InvalidIdentifierException
     {
-        final IPath fullPath = res.getFullPath().makeRelativeTo(
-                getRootResourceFolder().getFullPath());
-        // cause the resource to get tracked
-        final JSFResourceTracker tracker = (JSFResourceTracker) getInstance(res);
         IWorkspaceJSFResourceFragment jsfRes = null;
         if (res.getType() == IResource.FILE)
         {
-        	try
-        	{
-	            jsfRes = new WorkspaceJSFResource(
-	                    _factory.createLibraryResource(fullPath.toString()), res,
-	                    _contentTypeResolver);
-        	}
-        	catch (InvalidIdentifierException e)
-        	{
-        		// ensure that the tracker gets released before we throw the exception.
-        		unmanageResource(res);
-        		tracker.dispose();
-        		throw e;
-        	}
+            jsfRes = new WorkspaceJSFResource(
+                    _factory.createLibraryResource(key), res,
+                    _contentTypeResolver);
         } else
         {
             jsfRes = new WorkspaceJSFResourceContainer(
-                    _factory.createLibraryFragment(fullPath.toString()),
-                    (IContainer) res);
+                    _factory.createLibraryFragment(key), (IContainer) res);
         }
-        tracker.setJsfResource(jsfRes);
-        addLifecycleEventListener(tracker);
+        _fragments.put(key, jsfRes);
         return jsfRes;
     }
 
     /**
-     * @return the root folder for resources in the workspace.
+     * Removes the fragment for key and, if it is a container, all of its
+     * descendants from the table.
      */
-    public IFolder getRootResourceFolder()
+    private void removeAll(final String key,
+            final List<JSFResourceChangedEvent> events)
     {
-        final IVirtualFolder webContentFolder = _vcQuery
-                .getWebContentFolder(_project);
-        if (webContentFolder != null
-                && webContentFolder.getUnderlyingFolder().isAccessible())
+        final IWorkspaceJSFResourceFragment removed = _fragments.remove(key);
+        if (removed != null)
         {
-            return webContentFolder.getUnderlyingFolder().getFolder(
-                    new Path("resources")); //$NON-NLS-1$
+            events.add(new JSFResourceChangedEvent(_locator, removed, null,
+                    CHANGE_TYPE.REMOVED));
         }
-        return null;
+        // '0' is the character after '/'
+        final SortedMap<String, IWorkspaceJSFResourceFragment> descendants = key
+                .length() == 0 ? _fragments : _fragments.subMap(key + '/',
+                key + '0');
+        for (final IWorkspaceJSFResourceFragment descendant : descendants
+                .values())
+        {
+            events.add(new JSFResourceChangedEvent(_locator, descendant, null,
+                    CHANGE_TYPE.REMOVED));
+        }
+        descendants.clear();
     }
 
-    @Override
-    public List<IResource> getResources()
+    private String getKey(final IResource res)
     {
-        return new ArrayList(getManagedResources());
+        return res.getFullPath().makeRelativeTo(_rootPath).toString();
     }
 
-    /**
-     * @return the jsf resource currently known. List is a copy but the
-     *         contained JSFResource references are not.
-     */
-    public List<IJSFResourceFragment> getJSFResources()
+    private static String getParentKey(final String key)
     {
-        final List<IJSFResourceFragment> jsfResources = new ArrayList<IJSFResourceFragment>();
-        final Map<IResource, ManagedResourceObject<ResourceTracker<IResource>>> jsfResourceTrackers = getPerResourceObjects();
-        for (final Map.Entry<IResource, ManagedResourceObject<ResourceTracker<IResource>>> entry : jsfResourceTrackers
-                .entrySet())
-        {
-            final JSFResourceTracker jsfResourceTracker = (JSFResourceTracker) entry
-                    .getValue().getManagedObject();
-            if (jsfResourceTracker.isJSFResource())
-            {
-                jsfResources.add(jsfResourceTracker.getJsfResource());
-            }
-        }
-        return jsfResources;
+        final int lastSlash = key.lastIndexOf('/');
+        return lastSlash < 0 ? "" : key.substring(0, lastSlash); //$NON-NLS-1$
     }
 
-    private class JSFResourceTracker extends ResourceTracker<IResource>
+    public void resourceChanged(final IResourceChangeEvent event)
     {
-        private IWorkspaceJSFResourceFragment _jsfResource;
-        private final boolean _isJSFResource;
-
-        /**
-         * @param resource
-         * @param isJSFResource
-         *            if false, indicates that the resource being tracked is
-         *            related to JSF resources but not an actual JSF resource
-         *            (i.e. web root).
-         */
-        public JSFResourceTracker(final IResource resource,
-                final boolean isJSFResource)
+        final List<JSFResourceChangedEvent> events = new ArrayList<JSFResourceChangedEvent>();
+        switch (event.getType())
         {
-            super(resource);
-            _isJSFResource = isJSFResource;
-        }
-
-        public boolean isJSFResource()
-        {
-            return _isJSFResource;
-        }
-
-        @Override
-        protected void fireResourceInAccessible(
-                final IResource affectedResource, final ReasonType reasonType)
-        {
-            if (reasonType == ReasonType.RESOURCE_DELETED_FROM_CONTAINER
-                    || reasonType == ReasonType.RESOURCE_MOVED_CONTAINER)
+            case IResourceChangeEvent.PRE_CLOSE:
+            case IResourceChangeEvent.PRE_DELETE:
             {
-                try
+                // the resources are no longer accessible, but they haven't
+                // been removed from their container
+                if (_project.equals(event.getResource()))
                 {
-                    final List<JSFResourceTracker> trackers = getTrackers(affectedResource);
-                    for (final JSFResourceTracker tracker : trackers)
+                    synchronized (this)
                     {
-                        final IWorkspaceJSFResourceFragment jsfResource = tracker
-                                .getJsfResource();
-                        removeLifecycleEventListener(tracker);
-                        _locator.fireChangeEvent(new JSFResourceChangedEvent(
-                                _locator, jsfResource, null,
-                                CHANGE_TYPE.REMOVED));
+                        _fragments.clear();
                     }
-                } catch (final ManagedObjectException e)
-                {
-                    JSFCorePlugin.log(e,
-                            "Processing an inaccessible resource event"); //$NON-NLS-1$
                 }
             }
-        }
-
-        private List<JSFResourceTracker> getTrackers(final IResource res)
-                throws ManagedObjectException
-        {
-            final JSFResourceTracker tracker = (JSFResourceTracker) getInstance(res);
-            final List<JSFResourceTracker> allChildren = new ArrayList<JSFResourceTracker>();
-            allChildren.add(tracker);
-            if (res instanceof IContainer)
+            break;
+            case IResourceChangeEvent.POST_CHANGE:
             {
-                final IPath parentPath = res.getFullPath();
-                for (final Entry<IResource, ManagedResourceObject<ResourceTracker<IResource>>> trackerEntry : getPerResourceObjects()
-                        .entrySet())
+                final IResourceDelta delta = event.getDelta();
+                synchronized (this)
                 {
-                    final IPath trackerPath = trackerEntry.getKey()
-                            .getFullPath();
-                    if (parentPath.isPrefixOf(trackerPath)
-                            && !parentPath.equals(trackerPath))
+                    final IResourceDelta rootDelta = delta == null
+                            || _rootPath == null ? null : delta
+                            .findMember(_rootPath);
+                    if (rootDelta != null)
                     {
-                        allChildren.add((JSFResourceTracker) trackerEntry
-                                .getValue().getManagedObject());
+                        try
+                        {
+                            rootDelta.accept(new JSFResourceDeltaVisitor(
+                                    events));
+                        } catch (final CoreException e)
+                        {
+                            JSFCorePlugin.log(e,
+                                    "While processing changes to JSF resources"); //$NON-NLS-1$
+                        }
                     }
                 }
             }
-            return allChildren;
+            break;
+            default:
+                // do nothing
         }
 
-        @Override
-        protected void fireResourceChanged(final IResource affectedResource,
-                final ReasonType reasonType)
+        // fire outside the lock; listeners may call back to getJSFResources
+        for (final JSFResourceChangedEvent changeEvent : events)
         {
-            _locator.fireChangeEvent(new JSFResourceChangedEvent(_locator,
-                    _jsfResource, _jsfResource, CHANGE_TYPE.CHANGED));
+            _locator.fireChangeEvent(changeEvent);
         }
+    }
 
-        @Override
-        protected void fireResourceAdded(final IResource affectedResource,
-                final ReasonType reasonType)
+    /**
+     * @return the root folder for resources in the workspace.
+     */
+    public IFolder getRootResourceFolder()
+    {
+        final IVirtualFolder webContentFolder = _vcQuery
+                .getWebContentFolder(_project);
+        if (webContentFolder != null
+                && webContentFolder.getUnderlyingFolder().isAccessible())
         {
-            if (reasonType == ReasonType.RESOURCE_ADDED_TO_CONTAINER
-                    || reasonType == ReasonType.RESOURCE_MOVED_CONTAINER)
-            {
-                final IContainer parent = affectedResource.getParent();
-                if (parent != null && parent.isAccessible())
-                {
-                    try
-                    {
-                        final IWorkspaceJSFResourceFragment newJsfRes = track(affectedResource);
-                        fireNewJSFResourceEvent(newJsfRes);
-                        if (reasonType == ReasonType.RESOURCE_MOVED_CONTAINER
-                                && affectedResource instanceof IContainer)
-                        {
-                            final List<IWorkspaceJSFResourceFragment> newFragments = trackAllInFolder((IContainer) affectedResource);
-                            for (final IWorkspaceJSFResourceFragment frag : newFragments)
-                            {
-                                fireNewJSFResourceEvent(frag);
-                            }
-                        }
-                    } catch (final ManagedObjectException e)
-                    {
-                        JSFCorePlugin
-                                .log(e,
-                                        "While adding new resource " + affectedResource); //$NON-NLS-1$
-                    } catch (final InvalidIdentifierException e)
-                    {
-                        JSFCorePlugin
-                                .log(IStatus.INFO,
-                                        "While adding new resource " + affectedResource); //$NON-NLS-1$
-                    }
-                }
-            }
+            return webContentFolder.getUnderlyingFolder().getFolder(
+                    new Path("resources")); //$NON-NLS-1$
         }
+        return null;
+    }
+
+    /**
+     * @return the jsf resource currently known. List is a copy but the
+     *         contained JSFResource references are not.
+     */
+    public synchronized List<IJSFResourceFragment> getJSFResources()
+    {
+        return new ArrayList<IJSFResourceFragment>(_fragments.values());
+    }
 
-        private void fireNewJSFResourceEvent(
-                final IWorkspaceJSFResourceFragment newJsfRes)
+    /**
+     * Updates the table for the changes to the resources folder and the
+     * resources under it. Must be called holding the manager's lock.
+     */
+    private class JSFResourceDeltaVisitor implements IResourceDeltaVisitor
+    {
+        private final List<JSFResourceChangedEvent> _events;
+
+        JSFResourceDeltaVisitor(final List<JSFResourceChangedEvent> events)
         {
-            final JSFResourceChangedEvent event = new JSFResourceChangedEvent(
-                    _locator, null, newJsfRes, CHANGE_TYPE.ADDED);
-            _locator.fireChangeEvent(event);
+            _events = events;
         }
 
-        @Override
-        protected boolean isInteresting(final ResourceLifecycleEvent event)
+        public boolean visit(final IResourceDelta delta)
         {
-            boolean isInteresting = false;
-            final ReasonType reasonType = event.getReasonType();
-            switch (event.getEventType())
+            final IResource res = delta.getResource();
+            final String key = getKey(res);
+            switch (delta.getKind())
             {
-                case RESOURCE_ADDED:
+                case IResourceDelta.ADDED:
+                    return handleAdd(delta, res, key);
+                case IResourceDelta.REMOVED:
                 {
-                    final IResource resource = getResource();
-                    isInteresting = (reasonType == ReasonType.RESOURCE_ADDED_TO_CONTAINER || reasonType == ReasonType.RESOURCE_MOVED_CONTAINER)
-                            && event.getAffectedResource().getParent()
-                                    .equals(resource);
-                    // ignore if my resource is web content and this is trying
-                    // to add something other than resources folder
-                    if (resource.equals(_vcQuery.getWebContentFolder(_project)
-                            .getUnderlyingFolder()))
-                    {
-                        isInteresting &= event.getAffectedResource().equals(
-                                getRootResourceFolder());
-                    }
+                    removeAll(key, _events);
+                    return false;
                 }
-                break;
-                case RESOURCE_INACCESSIBLE:
+                case IResourceDelta.CHANGED:
                 {
-                    final IResource resource = getResource();
-                    // if the resource made inaccessible was deleted or moved
-                    // from its container
-                    // and it's parent is me, then it is interesting.
-                    isInteresting = (reasonType == ReasonType.RESOURCE_DELETED_FROM_CONTAINER || reasonType == ReasonType.RESOURCE_MOVED_CONTAINER)
-                            && event.getAffectedResource().getParent()
-                                    .equals(resource);
-                    // ignore if my resource is web content and this is trying
-                    // to add something other than resources folder
-                    if (resource.equals(_vcQuery.getWebContentFolder(_project)
-                            .getUnderlyingFolder()))
+                    // the contents of the file have changed
+                    if (res.getType() == IResource.FILE
+                            && (delta.getFlags() & IResourceDelta.CONTENT) != 0)
                     {
-                        isInteresting &= event.getAffectedResource().equals(
-                                getRootResourceFolder());
+                        final IWorkspaceJSFResourceFragment jsfRes = _fragments
+                                .get(key);
+                        if (jsfRes != null)
+                        {
+                            _events.add(new JSFResourceChangedEvent(_locator,
+                                    jsfRes, jsfRes, CHANGE_TYPE.CHANGED));
+                        }
                     }
-//                    isInteresting &= (_isJSFResource || (resource.getType() == IResource.FOLDER && "resources".equals(resource.getName()))); //$NON-NLS-1$
-                    // or if the resource being delted or moved is the root
-                    // folder and that is my resource.
-                    // isInteresting |= (reasonType ==
-                    // ReasonType.RESOURCE_DELETED || reasonType ==
-                    // ReasonType.RESOURCE_MOVED_CONTAINER)
-                    // && (resource.equals(event.getAffectedResource()) &&
-                    // resource.equals(getRootResourceFolder()));
+                    return true;
                 }
-                break;
                 default:
-                    isInteresting = super.isInteresting(event);
+                    return true;
             }
-            return isInteresting;
         }
 
-        public final IWorkspaceJSFResourceFragment getJsfResource()
+        private boolean handleAdd(final IResourceDelta delta,
+                final IResource res, final String key)
         {
-            return _jsfResource;
-        }
-
-        public final void setJsfResource(
-                final IWorkspaceJSFResourceFragment jsfResource)
-        {
-            _jsfResource = jsfResource;
+            // only added to a container that is itself a fragment
+            if (key.length() > 0
+                    && !_fragments.containsKey(getParentKey(key)))
+            {
+                return false;
+            }
+            try
+            {
+                final IWorkspaceJSFResourceFragment jsfRes = add(res, key);
+                _events.add(new JSFResourceChangedEvent(_locator, null,
+                        jsfRes, CHANGE_TYPE.ADDED));
+            } catch (final InvalidIdentifierException e)
+            {
+                JSFCorePlugin.log(IStatus.INFO,
+                        "While adding new resource " + res); //$NON-NLS-1$
+                return false;
+            }
+            // a moved container brings its contents with it
+            if ((delta.getFlags() & IResourceDelta.MOVED_FROM) != 0
+                    && res instanceof IContainer)
+            {
+                addAllInFolder((IContainer) res, _events);
+                return false;
+            }
+            return true;
         }
     }
 }
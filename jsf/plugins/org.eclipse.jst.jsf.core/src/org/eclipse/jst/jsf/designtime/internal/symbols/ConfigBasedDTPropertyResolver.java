@@ -126,7 +126,7 @@ public class ConfigBasedDTPropertyResolver extends DefaultDTPropertyResolver
     {
         final IJSFAppConfigManager manager = JSFAppConfigManagerFactory
                 .getJSFAppConfigManagerInstance(project);
-        final List<String> propertyResolvers = manager.getPropertyResolvers();
+        final List<String> propertyResolvers = new ArrayList<String>(manager.getPropertyResolvers());
         final List<String> elResolvers = manager.getELResolvers();
         propertyResolvers.addAll(elResolvers);
         final List<AbstractDTPropertyResolver> resolvers = new ArrayList<AbstractDTPropertyResolver>();
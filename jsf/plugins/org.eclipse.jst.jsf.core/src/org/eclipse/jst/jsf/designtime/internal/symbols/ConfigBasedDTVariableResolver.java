@@ -118,7 +118,7 @@ public class ConfigBasedDTVariableResolver extends DefaultDTVariableResolver
         //final long  curTime = System.nanoTime();
         final IJSFAppConfigManager manager = JSFAppConfigManagerFactory
                 .getJSFAppConfigManagerInstance(project);
-        final List<String> variableResolvers = manager.getVariableResolvers();
+        final List<String> variableResolvers = new ArrayList<String>(manager.getVariableResolvers());
         final List<String> elResolvers = manager.getELResolvers();
         variableResolvers.addAll(elResolvers);
         final List<AbstractDTVariableResolver> resolvers = new ArrayList<AbstractDTVariableResolver>();
@@ -0,0 +1,630 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.designtime.internal.view.model.jsp.analyzer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.util.ByteCodeVisitorAdapter;
+import org.eclipse.jdt.core.util.ClassFormatException;
+import org.eclipse.jdt.core.util.IClassFileReader;
+import org.eclipse.jdt.core.util.ICodeAttribute;
+import org.eclipse.jdt.core.util.IConstantPoolConstant;
+import org.eclipse.jdt.core.util.IConstantPoolEntry;
+import org.eclipse.jdt.core.util.IFieldInfo;
+import org.eclipse.jdt.core.util.IMethodInfo;
+import org.eclipse.jdt.core.util.IModifierConstants;
+import org.eclipse.jst.jsf.core.internal.JSFCoreTraceOptions;
+
+/**
+ * Derives component, converter and validator identifiers for JSP tag classes
+ * by reading their byte code through the JDT model, rather than loading them
+ * into a proxy VM.  Only simple, constant patterns are recognized; null is
+ * returned whenever the answer can't be determined statically so that the
+ * caller can fall back to introspection.
+ */
+public final class StaticTagAnalyzer
+{
+    private static final String STRING_DESCRIPTOR = "Ljava/lang/String;"; //$NON-NLS-1$
+    private static final String GET_COMPONENT_TYPE = "getComponentType"; //$NON-NLS-1$
+    private static final String GET_COMPONENT_TYPE_DESCRIPTOR = "()" + STRING_DESCRIPTOR; //$NON-NLS-1$
+    private static final String SET_ID_DESCRIPTOR = "(" + STRING_DESCRIPTOR + ")V"; //$NON-NLS-1$ //$NON-NLS-2$
+    private static final String CREATE_BY_ID_DESCRIPTOR_PREFIX = "(" + STRING_DESCRIPTOR + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+    // EL tags wrap their id in a value expression before storing it
+    private static final String CREATE_VALUE_EXPRESSION = "createValueExpression"; //$NON-NLS-1$
+    // the JSF base tag classes don't know the ids of their sub-classes
+    private static final String JSF_WEBAPP_PACKAGE = "javax.faces.webapp."; //$NON-NLS-1$
+    private static final String JAVA_LANG_OBJECT = "java.lang.Object"; //$NON-NLS-1$
+    private static final int MAX_HIERARCHY_DEPTH = 16;
+    private static final int READER_FLAGS = IClassFileReader.FIELD_INFOS
+            | IClassFileReader.METHOD_INFOS | IClassFileReader.METHOD_BODIES
+            | IClassFileReader.SUPER_INTERFACES | IClassFileReader.CONSTANT_POOL;
+
+    private static final IdPattern CONVERTER_PATTERN = new IdPattern(
+            "CONVERTER_ID", "setConverterId", "createConverter", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            "converterId", "_converterId", "CONVERTER_ID_EXPR"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    private static final IdPattern VALIDATOR_PATTERN = new IdPattern(
+            "VALIDATOR_ID", "setValidatorId", "createValidator", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            "validatorId", "_validatorId", "VALIDATOR_ID_EXPR"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private StaticTagAnalyzer()
+    {
+        // no instantiation
+    }
+
+    /**
+     * @param type
+     * @return the constant returned by type's getComponentType() or null
+     *         if it does not simply return a constant
+     */
+    public static String findComponentType(final IType type)
+    {
+        IType curType = type;
+
+        for (int depth = 0; curType != null && depth < MAX_HIERARCHY_DEPTH; depth++)
+        {
+            if (isStopType(curType))
+            {
+                return null;
+            }
+
+            final IClassFileReader reader = getReader(curType);
+
+            if (reader == null)
+            {
+                return null;
+            }
+
+            final IMethodInfo method = findMethod(reader, GET_COMPONENT_TYPE,
+                    GET_COMPONENT_TYPE_DESCRIPTOR);
+
+            if (method != null)
+            {
+                if ((method.getAccessFlags() & IModifierConstants.ACC_ABSTRACT) != 0)
+                {
+                    return null;
+                }
+                return findReturnedConstant(curType, method);
+            }
+
+            curType = findSuperclass(curType, reader);
+        }
+        return null;
+    }
+
+    /**
+     * @param type
+     * @return the converter id that type registers or null if it can't be
+     *         determined
+     */
+    public static String findConverterType(final IType type)
+    {
+        return findId(type, CONVERTER_PATTERN);
+    }
+
+    /**
+     * @param type
+     * @return the validator id that type registers or null if it can't be
+     *         determined
+     */
+    public static String findValidatorType(final IType type)
+    {
+        return findId(type, VALIDATOR_PATTERN);
+    }
+
+    private static String findId(final IType type, final IdPattern pattern)
+    {
+        String constantField = null;
+        IType curType = type;
+
+        for (int depth = 0; curType != null && depth < MAX_HIERARCHY_DEPTH; depth++)
+        {
+            if (isStopType(curType))
+            {
+                break;
+            }
+
+            final IClassFileReader reader = getReader(curType);
+
+            if (reader == null)
+            {
+                break;
+            }
+
+            // an id passed to the base tag wins; it is what the tag would
+            // register at runtime
+            final String id = findIdPassedToSink(curType, reader, pattern);
+
+            if (id != null)
+            {
+                return id;
+            }
+
+            if (constantField == null)
+            {
+                constantField = findStringConstantField(reader, pattern._idField);
+            }
+
+            curType = findSuperclass(curType, reader);
+        }
+        return constantField;
+    }
+
+    private static String findIdPassedToSink(final IType type,
+            final IClassFileReader reader, final IdPattern pattern)
+    {
+        final IMethodInfo[] methods = reader.getMethodInfos();
+
+        for (int i = 0; i < methods.length; i++)
+        {
+            final ICodeAttribute code = methods[i].getCodeAttribute();
+
+            if (code == null)
+            {
+                continue;
+            }
+
+            final IdSinkVisitor visitor = new IdSinkVisitor(type, pattern);
+
+            try
+            {
+                code.traverse(visitor);
+            }
+            catch (final ClassFormatException e)
+            {
+                logTrace("StaticTagAnalyzer.findIdPassedToSink", e); //$NON-NLS-1$
+                return null;
+            }
+
+            if (visitor._id != null)
+            {
+                return visitor._id;
+            }
+        }
+        return null;
+    }
+
+    private static String findReturnedConstant(final IType type, final IMethodInfo method)
+    {
+        final ICodeAttribute code = method.getCodeAttribute();
+
+        if (code == null)
+        {
+            return null;
+        }
+
+        final ReturnedConstantVisitor visitor = new ReturnedConstantVisitor(type);
+
+        try
+        {
+            code.traverse(visitor);
+        }
+        catch (final ClassFormatException e)
+        {
+            logTrace("StaticTagAnalyzer.findReturnedConstant", e); //$NON-NLS-1$
+            return null;
+        }
+
+        return visitor._isConstant ? visitor._returned : null;
+    }
+
+    private static String findStringConstantField(final IClassFileReader reader, final String name)
+    {
+        final IFieldInfo[] fields = reader.getFieldInfos();
+
+        for (int i = 0; i < fields.length; i++)
+        {
+            final IFieldInfo field = fields[i];
+
+            if (name.equals(new String(field.getName()))
+                    && STRING_DESCRIPTOR.equals(new String(field.getDescriptor()))
+                    && field.hasConstantValueAttribute())
+            {
+                return field.getConstantValueAttribute().getConstantValue().getStringValue();
+            }
+        }
+        return null;
+    }
+
+    private static IMethodInfo findMethod(final IClassFileReader reader,
+            final String name, final String descriptor)
+    {
+        final IMethodInfo[] methods = reader.getMethodInfos();
+
+        for (int i = 0; i < methods.length; i++)
+        {
+            if (name.equals(new String(methods[i].getName()))
+                    && descriptor.equals(new String(methods[i].getDescriptor())))
+            {
+                return methods[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the value of a static final String field or null if it isn't
+     *         a compile-time constant
+     */
+    private static String resolveStringField(final IType context, final IConstantPoolEntry fieldRef)
+    {
+        if (!STRING_DESCRIPTOR.equals(new String(fieldRef.getFieldDescriptor())))
+        {
+            return null;
+        }
+
+        try
+        {
+            final IType owner = context.getJavaProject().findType(toTypeName(fieldRef.getClassName()));
+
+            if (owner == null)
+            {
+                return null;
+            }
+
+            final IField field = owner.getField(new String(fieldRef.getFieldName()));
+
+            if (!field.exists())
+            {
+                return null;
+            }
+
+            final Object constant = field.getConstant();
+
+            if (constant instanceof String)
+            {
+                String value = (String) constant;
+                // source fields report the literal, including its quotes
+                if (!owner.isBinary() && value.length() >= 2
+                        && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"')
+                {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value;
+            }
+        }
+        catch (final JavaModelException e)
+        {
+            logTrace("StaticTagAnalyzer.resolveStringField", e); //$NON-NLS-1$
+        }
+        return null;
+    }
+
+    private static IType findSuperclass(final IType type, final IClassFileReader reader)
+    {
+        final char[] superName = reader.getSuperclassName();
+
+        if (superName == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return type.getJavaProject().findType(toTypeName(superName));
+        }
+        catch (final JavaModelException e)
+        {
+            logTrace("StaticTagAnalyzer.findSuperclass", e); //$NON-NLS-1$
+        }
+        return null;
+    }
+
+    private static boolean isStopType(final IType type)
+    {
+        final String name = type.getFullyQualifiedName();
+        return JAVA_LANG_OBJECT.equals(name) || name.startsWith(JSF_WEBAPP_PACKAGE);
+    }
+
+    /**
+     * @return a reader for the class file of type, or null if it has not
+     *         been compiled yet
+     */
+    private static IClassFileReader getReader(final IType type)
+    {
+        if (type.isBinary())
+        {
+            return ToolFactory.createDefaultClassFileReader(type.getClassFile(), READER_FLAGS);
+        }
+
+        // source types are read from the output folder of their source
+        // folder
+        try
+        {
+            final IJavaProject javaProject = type.getJavaProject();
+            final IPackageFragmentRoot root = (IPackageFragmentRoot) type
+                    .getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+            final IClasspathEntry entry = root != null ? root.getRawClasspathEntry() : null;
+            IPath outputLocation = entry != null ? entry.getOutputLocation() : null;
+
+            if (outputLocation == null)
+            {
+                outputLocation = javaProject.getOutputLocation();
+            }
+
+            final IFile classFile = ResourcesPlugin.getWorkspace().getRoot().getFile(
+                    outputLocation.append(type.getFullyQualifiedName('$').replace('.', '/'))
+                            .addFileExtension("class")); //$NON-NLS-1$
+
+            if (classFile.exists() && classFile.getLocation() != null)
+            {
+                return ToolFactory.createDefaultClassFileReader(
+                        classFile.getLocation().toOSString(), READER_FLAGS);
+            }
+        }
+        catch (final JavaModelException e)
+        {
+            logTrace("StaticTagAnalyzer.getReader", e); //$NON-NLS-1$
+        }
+        return null;
+    }
+
+    private static String toTypeName(final char[] internalName)
+    {
+        return new String(internalName).replace('/', '.').replace('$', '.');
+    }
+
+    private static void logTrace(final String location, final Exception e)
+    {
+        if (JSFCoreTraceOptions.TRACE_JSPTAGINTROSPECTOR)
+        {
+            JSFCoreTraceOptions.log(location, e);
+        }
+    }
+
+    /**
+     * The names used by converter or validator tags to pass their id to the
+     * JSF base tags.
+     */
+    private static final class IdPattern
+    {
+        private final String      _idField;
+        private final String      _setter;
+        private final String      _factoryMethod;
+        private final Set<String> _fields;
+
+        IdPattern(final String idField, final String setter,
+                final String factoryMethod, final String... fields)
+        {
+            _idField = idField;
+            _setter = setter;
+            _factoryMethod = factoryMethod;
+            _fields = new HashSet<String>(Arrays.asList(fields));
+        }
+    }
+
+    /**
+     * Records the String constant loaded by the instruction immediately
+     * before each areturn.  The method is constant only if every return
+     * returns the same constant.
+     */
+    private static final class ReturnedConstantVisitor extends ByteCodeVisitorAdapter
+    {
+        private final IType _type;
+        private String      _loaded;
+        private int         _nextPc = -1;
+        private String      _returned;
+        private boolean     _isConstant;
+        private boolean     _hasNonConstantReturn;
+
+        ReturnedConstantVisitor(final IType type)
+        {
+            _type = type;
+        }
+
+        @Override
+        public void _ldc(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            loaded(pc + 2, stringValue(constantPoolEntry));
+        }
+
+        @Override
+        public void _ldc_w(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            loaded(pc + 3, stringValue(constantPoolEntry));
+        }
+
+        @Override
+        public void _getstatic(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            loaded(pc + 3, resolveStringField(_type, constantPoolEntry));
+        }
+
+        @Override
+        public void _areturn(final int pc)
+        {
+            if (_hasNonConstantReturn)
+            {
+                return;
+            }
+
+            if (_loaded != null && pc == _nextPc
+                    && (_returned == null || _returned.equals(_loaded)))
+            {
+                _returned = _loaded;
+                _isConstant = true;
+            }
+            else
+            {
+                _hasNonConstantReturn = true;
+                _isConstant = false;
+            }
+        }
+
+        private void loaded(final int nextPc, final String value)
+        {
+            _loaded = value;
+            _nextPc = nextPc;
+        }
+    }
+
+    /**
+     * Looks for a String constant that flows into an id setter, a
+     * create-by-id method or an id field.  The ldc or getstatic of the
+     * String must be the instruction immediately before the sink.  The only
+     * exception is wrapping the String in a value expression: a class
+     * constant load followed by createValueExpression may come in between.
+     * Any other instruction in between breaks the chain because the sink's
+     * pc no longer matches the pc expected after the load.
+     */
+    private static final class IdSinkVisitor extends ByteCodeVisitorAdapter
+    {
+        private final IType     _type;
+        private final IdPattern _pattern;
+        private String          _lastString;
+        private int             _nextPc = -1;
+        private boolean         _hasTypeArgument;
+        private String          _id;
+
+        IdSinkVisitor(final IType type, final IdPattern pattern)
+        {
+            _type = type;
+            _pattern = pattern;
+        }
+
+        @Override
+        public void _ldc(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            loaded(pc, pc + 2, constantPoolEntry);
+        }
+
+        @Override
+        public void _ldc_w(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            loaded(pc, pc + 3, constantPoolEntry);
+        }
+
+        @Override
+        public void _getstatic(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            loaded(pc + 3, resolveStringField(_type, constantPoolEntry));
+        }
+
+        @Override
+        public void _invokevirtual(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            invoked(pc, pc + 3, constantPoolEntry);
+        }
+
+        @Override
+        public void _invokespecial(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            invoked(pc, pc + 3, constantPoolEntry);
+        }
+
+        @Override
+        public void _invokeinterface(final int pc, final int index, final byte nargs,
+                final IConstantPoolEntry constantPoolEntry)
+        {
+            invoked(pc, pc + 5, constantPoolEntry);
+        }
+
+        @Override
+        public void _putfield(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            stored(pc, constantPoolEntry);
+        }
+
+        @Override
+        public void _putstatic(final int pc, final int index, final IConstantPoolEntry constantPoolEntry)
+        {
+            stored(pc, constantPoolEntry);
+        }
+
+        private void loaded(final int pc, final int nextPc, final IConstantPoolEntry constant)
+        {
+            // the expected type passed to createValueExpression
+            if (constant != null && constant.getKind() == IConstantPoolConstant.CONSTANT_Class
+                    && isPending(pc) && !_hasTypeArgument)
+            {
+                _hasTypeArgument = true;
+                _nextPc = nextPc;
+                return;
+            }
+            loaded(nextPc, stringValue(constant));
+        }
+
+        private void loaded(final int nextPc, final String value)
+        {
+            _lastString = value;
+            _nextPc = nextPc;
+            _hasTypeArgument = false;
+        }
+
+        private boolean isPending(final int pc)
+        {
+            return _lastString != null && pc == _nextPc;
+        }
+
+        private void invoked(final int pc, final int nextPc, final IConstantPoolEntry methodRef)
+        {
+            if (_id != null || !isPending(pc))
+            {
+                return;
+            }
+
+            final String name = new String(methodRef.getMethodName());
+            final String descriptor = new String(methodRef.getMethodDescriptor());
+
+            if (_hasTypeArgument)
+            {
+                // the only call allowed to consume the type argument
+                if (CREATE_VALUE_EXPRESSION.equals(name))
+                {
+                    _nextPc = nextPc;
+                    return;
+                }
+            }
+            else if ((_pattern._setter.equals(name) && SET_ID_DESCRIPTOR.equals(descriptor))
+                    || (_pattern._factoryMethod.equals(name)
+                            && descriptor.startsWith(CREATE_BY_ID_DESCRIPTOR_PREFIX)))
+            {
+                _id = _lastString;
+                return;
+            }
+            _lastString = null;
+        }
+
+        private void stored(final int pc, final IConstantPoolEntry fieldRef)
+        {
+            if (_id == null && isPending(pc)
+                    && _pattern._fields.contains(new String(fieldRef.getFieldName())))
+            {
+                _id = _lastString;
+            }
+            _lastString = null;
+        }
+    }
+
+    private static String stringValue(final IConstantPoolEntry entry)
+    {
+        if (entry != null && entry.getKind() == IConstantPoolConstant.CONSTANT_String)
+        {
+            return entry.getStringValue();
+        }
+        return null;
+    }
+}
@@ -95,6 +95,12 @@ public final class TagAnalyzer
 
     private final static Set<String> ALL_HANDLER_TAGS;
 
+    // when set, component, converter and validator ids are first derived
+    // from the tag class's byte code and the proxy VM is only started for
+    // tags that can't be resolved that way
+    private static volatile boolean  USE_STATIC_ANALYSIS = System
+            .getProperty("org.eclipse.jst.jsf.designtime.taganalyzer.disable.static.analysis") == null; //$NON-NLS-1$
+
     static
     {
         // components
@@ -130,6 +136,18 @@ public final class TagAnalyzer
         // ALL_HANDLER_TAGS.addAll(ACTIONLISTENER_TAG_HANDLER);
     }
 
+    /**
+     * Enables or disables static analysis of tag classes.  When disabled,
+     * all tags are introspected in a proxy VM.  Intended for testing and
+     * benchmarking.
+     * 
+     * @param useStaticAnalysis
+     */
+    public static void setUseStaticAnalysis(final boolean useStaticAnalysis)
+    {
+        USE_STATIC_ANALYSIS = useStaticAnalysis;
+    }
+
     /**
      * Tries to determine the component type of the component that corresponds
      * to the JSP tag defined by tldDecl.
@@ -143,6 +161,18 @@ public final class TagAnalyzer
     {
         final String className = tldDecl.getTagclass();
 
+        if (USE_STATIC_ANALYSIS)
+        {
+            final IType type = findTagType(className, project);
+            final String componentType = type != null ? StaticTagAnalyzer
+                    .findComponentType(type) : null;
+
+            if (componentType != null)
+            {
+                return componentType;
+            }
+        }
+
         final IConfigurationContributor[] contributor = new IConfigurationContributor[]
         { new ServletBeanProxyContributor(project) };
 
@@ -205,11 +235,23 @@ public final class TagAnalyzer
         // based on the doStartTag method. They also don't provide a standard
         // interface for acquiring the id so instead we make some guess on
         // the internal field name.
+        final String className = tldDecl.getTagclass();
+
+        if (USE_STATIC_ANALYSIS)
+        {
+            final IType type = findTagType(className, project);
+            final String converterId = type != null ? StaticTagAnalyzer
+                    .findConverterType(type) : null;
+
+            if (converterId != null)
+            {
+                return converterId;
+            }
+        }
+
         ProxyFactoryRegistry registry = null;
         try
         {
-            final String className = tldDecl.getTagclass();
-    
             final IConfigurationContributor[] contributor = new IConfigurationContributor[]
             { new ServletBeanProxyContributor(project) };
             registry = getProxyFactoryRegistry(
@@ -381,6 +423,18 @@ public final class TagAnalyzer
         // the internal field name.
         final String className = tldDecl.getTagclass();
 
+        if (USE_STATIC_ANALYSIS)
+        {
+            final IType type = findTagType(className, project);
+            final String validatorId = type != null ? StaticTagAnalyzer
+                    .findValidatorType(type) : null;
+
+            if (validatorId != null)
+            {
+                return validatorId;
+            }
+        }
+
         final IConfigurationContributor[] contributor = new IConfigurationContributor[]
         { new ServletBeanProxyContributor(project) };
 
@@ -452,6 +506,27 @@ public final class TagAnalyzer
 
     }
 
+    private static IType findTagType(final String className, final IProject project)
+    {
+        if (className == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return JavaCore.create(project).findType(className);
+        }
+        catch (final JavaModelException jme)
+        {
+            if (JSFCoreTraceOptions.TRACE_JSPTAGINTROSPECTOR)
+            {
+                JSFCoreTraceOptions.log("TagAnalyzer.findTagType", jme); //$NON-NLS-1$
+            }
+        }
+        return null;
+    }
+
     private static IBeanProxy getFieldInParents(
             final BeanProxyWrapper classTypeWrapper,
             final IBeanTypeProxy typeProxy, final String fieldName)
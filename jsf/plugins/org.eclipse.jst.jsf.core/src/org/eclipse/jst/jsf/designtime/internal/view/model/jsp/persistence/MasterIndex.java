@@ -13,21 +13,13 @@
 package org.eclipse.jst.jsf.designtime.internal.view.model.jsp.persistence;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.core.internal.JSFCoreTraceOptions;
 import org.osgi.framework.Version;
 
@@ -35,24 +27,24 @@ import org.osgi.framework.Version;
  * The definitive index of what projects are indexed for JSP tag registry
  * persistence.
  * 
+ * The index file itself only records the repository version.  Each project's
+ * tags are kept in their own segment file, named after the project, so
+ * adding or saving a project never rewrites the index or other projects.
+ * See {@link TagRepositoryFormat} for the file layouts.
+ * 
  * @author cbateman
  * 
  */
-class MasterIndex implements Serializable
+class MasterIndex
 {
     public final static SerializableVersion CURRENT_VERSION  = new SerializableVersion(
-                                                                     1, 0, 0);
+                                                                     2, 0, 0);
 
-    /**
-     * 
-     */
-    private static final long               serialVersionUID = -2725662604972649316L;
-
-    private final transient String          _repositoryPath;
-    private final transient File            _storageFile;
+    private final String                    _repositoryPath;
+    private final File                      _storageFile;
 
     private IndexHeader                     _header;
-    private List<ProjectIndex>              _projectIndices;
+    private Map<String, ProjectIndex>       _projectIndices;
 
     public MasterIndex(final File storageFile, final String repositoryPath)
     {
@@ -70,78 +62,68 @@ class MasterIndex implements Serializable
         }
 
         _header = new IndexHeader(version);
-        _projectIndices = new ArrayList<ProjectIndex>();
+        _projectIndices = new HashMap<String, ProjectIndex>();
 
         save(_storageFile);
     }
 
     public synchronized void save(final File file) throws IOException
     {
-        FileOutputStream out = null;
-
-        try
+        if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
         {
-            if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
-            {
-                JSFCoreTraceOptions.log("Trying to save master index file: " //$NON-NLS-1$
-                        + file.getAbsolutePath());
-            }
+            JSFCoreTraceOptions.log("Trying to save master index file: " //$NON-NLS-1$
+                    + file.getAbsolutePath());
+        }
 
-            out = new FileOutputStream(file);
-            final ObjectOutputStream objStream = new ObjectOutputStream(out);
-            objStream.writeObject(this);
+        TagRepositoryFormat.writeHeader(file, _header._version.toString());
 
-            if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
-            {
-                JSFCoreTraceOptions
-                        .log("Master index file written successfully: " //$NON-NLS-1$
-                                + file.getAbsolutePath());
-            }
-        }
-        finally
+        if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
         {
-            if (out != null)
-            {
-                out.close();
-            }
+            JSFCoreTraceOptions
+                    .log("Master index file written successfully: " //$NON-NLS-1$
+                            + file.getAbsolutePath());
         }
     }
 
-    public synchronized void load(final SerializableVersion expectedVersion)
-            throws IOException, ClassNotFoundException
+    /**
+     * @param expectedVersion
+     * @return false if the index file was written in another format or for
+     *         another version, in which case the caller must discard the
+     *         repository and call create.
+     * @throws IOException
+     */
+    public synchronized boolean load(final SerializableVersion expectedVersion)
+            throws IOException
     {
-        FileInputStream in = null;
-
-        try
+        if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
         {
-            if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
-            {
-                JSFCoreTraceOptions.log("Trying to load master index file: " //$NON-NLS-1$
-                        + _storageFile.getAbsolutePath());
-            }
+            JSFCoreTraceOptions.log("Trying to load master index file: " //$NON-NLS-1$
+                    + _storageFile.getAbsolutePath());
+        }
 
-            in = new FileInputStream(_storageFile);
-            final ObjectInputStream objStream = new ObjectInputStream(in);
-            MasterIndex index = (MasterIndex) objStream.readObject();
-            _header = index._header;
-            _projectIndices = index._projectIndices;
+        final String version = TagRepositoryFormat.readHeader(_storageFile);
 
+        if (version == null
+                || !expectedVersion.getVersion().equals(new Version(version)))
+        {
             if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
             {
-                JSFCoreTraceOptions
-                        .log("Loaded master index file successfully:" //$NON-NLS-1$
-                                + _storageFile.getAbsolutePath());
-                JSFCoreTraceOptions.log("Initial contents: "); //$NON-NLS-1$
-                System.out.println(index.toString());
+                JSFCoreTraceOptions.log("Master index is incompatible, found version: " //$NON-NLS-1$
+                        + version);
             }
+            return false;
         }
-        finally
+
+        _header = new IndexHeader(new SerializableVersion(version));
+        _projectIndices = new HashMap<String, ProjectIndex>();
+
+        if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
         {
-            if (in != null)
-            {
-                in.close();
-            }
+            JSFCoreTraceOptions
+                    .log("Loaded master index file successfully:" //$NON-NLS-1$
+                            + _storageFile.getAbsolutePath());
         }
+        return true;
     }
 
     public synchronized String toString()
@@ -150,7 +132,7 @@ class MasterIndex implements Serializable
 
         buffer.append(String.format("Header: %s\n\n", _header.toString())); //$NON-NLS-1$
 
-        for (final ProjectIndex projIndex : _projectIndices)
+        for (final ProjectIndex projIndex : _projectIndices.values())
         {
             buffer.append(String.format("\t%s\n", projIndex.toString())); //$NON-NLS-1$
         }
@@ -160,114 +142,56 @@ class MasterIndex implements Serializable
 
     public synchronized ProjectIndex getProjectIndex(final IProject project)
     {
-        ProjectIndex index = findIndex(project);
+        ProjectIndex index = _projectIndices.get(project.getName());
 
         if (index != null)
         {
             return index;
         }
 
-        // otherwise, create.
+        // otherwise, create.  The segment file name is derived from the
+        // project name, so there is nothing to record in the index itself
         index = new ProjectIndex(0, project.getName(), _repositoryPath);
         index.create();
-        _projectIndices.add(index);
-        try
-        {
-            save(_storageFile);
-        }
-        catch (IOException ioe)
-        {
-            JSFCorePlugin.log(ioe,
-                    "Failed to save master index.  Project Index for " //$NON-NLS-1$
-                            + project.toString() + " may not be saved"); //$NON-NLS-1$
-        }
+        _projectIndices.put(project.getName(), index);
         return index;
     }
 
     public synchronized void removeProjectIndex(final IProject project) throws IOException
     {
-        final ProjectIndex index = findIndex(project);
-        if (index != null)
+        ProjectIndex index = _projectIndices.remove(project.getName());
+
+        if (index == null)
         {
-            _projectIndices.remove(index);
-            if (!index.remove())
-            {
-                throw new IOException("Failed to remove index file"); //$NON-NLS-1$
-            }
+            // the project may have a segment from a previous session
+            index = new ProjectIndex(0, project.getName(), _repositoryPath);
+            index.create();
         }
-    }
 
-    private ProjectIndex findIndex(final IProject project)
-    {
-        // check if the project already exists
-        for (final ProjectIndex index : _projectIndices)
+        if (!index.remove())
         {
-            if (index.getProjectName().equals(project.getName()))
-            {
-                return index;
-            }
+            throw new IOException("Failed to remove index file"); //$NON-NLS-1$
         }
-        return null;
-    }
-
-    private void writeObject(final java.io.ObjectOutputStream out)
-            throws IOException
-    {
-        out.writeObject(_header);
-        out.writeObject(_projectIndices);
-    }
-
-    private void readObject(final java.io.ObjectInputStream in)
-            throws IOException, ClassNotFoundException
-    {
-        _header = (IndexHeader) in.readObject();
-        _projectIndices = (List<ProjectIndex>) in.readObject();
     }
 
-    private class IndexHeader implements Serializable
+    private static class IndexHeader
     {
-        /**
-         * serializable
-         */
-        private static final long         serialVersionUID = 40851054201507727L;
-
         private final SerializableVersion _version;
-//        private long                      _lastModifiedStamp;
 
         public IndexHeader(final SerializableVersion version)
         {
             _version = version;
-//            _lastModifiedStamp = 0;
         }
 
-//        protected final Version getVersion()
-//        {
-//            return _version.getVersion();
-//        }
-//
-//        protected final synchronized long modified()
-//        {
-//            return _lastModifiedStamp++;
-//        }
-//
-//        protected final synchronized long getLastModifiedStamp()
-//        {
-//            return _lastModifiedStamp;
-//        }
-
         public String toString()
         {
             return "Version: " + _version.toString(); //$NON-NLS-1$
         }
     }
 
-    static class SerializableVersion implements Serializable
+    static class SerializableVersion
     {
-        private Version           _version;
-        /**
-         * 
-         */
-        private static final long serialVersionUID = 5973410328814890568L;
+        private final Version     _version;
 
         public SerializableVersion(final int major, final int minor,
                 final int micro)
@@ -289,27 +213,10 @@ class MasterIndex implements Serializable
         {
             return _version.toString();
         }
-
-        private void writeObject(ObjectOutputStream out) throws IOException
-        {
-            out.writeObject(_version.toString());
-        }
-
-        private void readObject(ObjectInputStream in) throws IOException,
-                ClassNotFoundException
-        {
-            final String versionString = (String) in.readObject();
-            _version = new Version(versionString);
-        }
     }
 
-    static class ProjectIndex implements Serializable
+    static class ProjectIndex
     {
-        /**
-         * 
-         */
-        private static final long serialVersionUID = 2864798175910805380L;
-
         private final String      _projectName;
         private final String      _relativePath;
         private final long        _lastModStampOnProject;
@@ -329,66 +236,44 @@ class MasterIndex implements Serializable
             _relativePath = relativePath;
         }
 
-        public boolean remove()
+        /**
+         * @return true if the segment file no longer exists
+         */
+        public synchronized boolean remove()
         {
-            return _file.delete();
+            return !_file.exists() || _file.delete();
         }
 
         public synchronized void create()
         {
-            final long uniqueCode = Math
-                    .round((Math.random() * Integer.MAX_VALUE));
-            final String fileName = String.format("Project_%s_%x.idx", //$NON-NLS-1$
-                    _projectName, Long.valueOf(uniqueCode));
+            // project names may contain characters that aren't valid in file
+            // names, so only keep the safe ones and use the hash to keep
+            // the names distinct
+            final String safeName = _projectName.replaceAll("[^A-Za-z0-9_.-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+            final String fileName = String.format("Project_%s_%x.seg", //$NON-NLS-1$
+                    safeName, Integer.valueOf(_projectName.hashCode()));
             _file = new File(new Path(_relativePath).append(fileName)
                     .toOSString());
         }
 
         public synchronized Map<String, SerializableTLDNamespace> getNamespaces()
-                throws IOException, ClassNotFoundException
+                throws IOException
         {
-            FileInputStream in = null;
-
             try
             {
-                in = new FileInputStream(_file);
-                final ObjectInputStream objStream = new ObjectInputStream(in);
-                final Map<String, SerializableTLDNamespace> namespaces = (Map<String, SerializableTLDNamespace>) objStream
-                        .readObject();
-                return namespaces;
+                return TagRepositoryFormat.readSegment(_file);
             }
             catch (FileNotFoundException nfe)
             {
                 return new HashMap<String, SerializableTLDNamespace>();
             }
-            finally
-            {
-                if (in != null)
-                {
-                    in.close();
-                }
-            }
         }
 
         public synchronized void save(
                 final Map<String, SerializableTLDNamespace> namespaces)
                 throws IOException
         {
-            FileOutputStream out = null;
-
-            try
-            {
-                out = new FileOutputStream(_file);
-                final ObjectOutputStream objStream = new ObjectOutputStream(out);
-                objStream.writeObject(namespaces);
-            }
-            finally
-            {
-                if (out != null)
-                {
-                    out.close();
-                }
-            }
+            TagRepositoryFormat.writeSegment(_file, namespaces);
         }
 
         public String toString()
@@ -398,34 +283,6 @@ class MasterIndex implements Serializable
                     + _lastModStampOnProject + ", saveFile=" + _file; //$NON-NLS-1$
         }
 
-        // public synchronized void save()
-        // {
-        // if (_file != null)
-        // {
-        // doSave();
-        // }
-        // throw new NullPointerException("_file is null");
-        // }
-        //
-        // private void doSave() throws IOException
-        // {
-        // FileOutputStream out = null;
-        //            
-        // try
-        // {
-        // out = new FileOutputStream(_file);
-        // final ObjectOutputStream objStream = new ObjectOutputStream(out);
-        // objStream.writeObject(this);
-        // }
-        // finally
-        // {
-        // if (out != null)
-        // {
-        // out.close();
-        // }
-        // }
-        // }
-
         protected final String getProjectName()
         {
             return _projectName;
@@ -12,13 +12,17 @@
  *******************************************************************************/
 package org.eclipse.jst.jsf.designtime.internal.view.model.jsp.persistence;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jst.jsf.common.runtime.internal.view.model.common.ITagElement;
 import org.eclipse.jst.jsf.common.runtime.internal.view.model.common.Namespace;
+import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.TLDNamespace;
 import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.TLDNamespace.TLDNamespaceData;
 
@@ -41,6 +45,21 @@ public class SerializableTLDNamespace extends Namespace
                 namespace.getCurrentElements(), namespace.getNSUri());
     }
 
+    /**
+     * A namespace read from the tag repository.  Its elements are only
+     * deserialized from payload when first needed.
+     * 
+     * @param displayName
+     * @param uri
+     * @param tagNames
+     * @param payload
+     */
+    /* package */SerializableTLDNamespace(final String displayName,
+            final String uri, final List<String> tagNames, final byte[] payload)
+    {
+        _data = new SerializedNamespaceData(displayName, uri, tagNames, payload);
+    }
+
     /**
      * 
      */
@@ -85,7 +104,24 @@ public class SerializableTLDNamespace extends Namespace
 
     /* package */void put(final String name, final ITagElement tagElement)
     {
-        _data._tags.put(name, tagElement);
+        _data.getAllViewElements().put(name, tagElement);
+    }
+
+    /**
+     * @return the names of the tags in this namespace, without loading them
+     */
+    /* package */List<String> getTagNames()
+    {
+        return _data.getTagNames();
+    }
+
+    /**
+     * @return the serialized elements as read from the repository or null if
+     *         they have since been loaded (and so may have changed)
+     */
+    /* package */byte[] getUnloadedPayload()
+    {
+        return _data.getUnloadedPayload();
     }
 
     private static class SerializedNamespaceData extends TLDNamespaceData
@@ -96,7 +132,10 @@ public class SerializableTLDNamespace extends Namespace
         private static final long              serialVersionUID = -6723194339788215607L;
         private final String                   _displayName;
         private final String                   _uri;
-        private final Map<String, ITagElement> _tags;
+        // null until the payload is loaded
+        private Map<String, ITagElement>       _tags;
+        private transient List<String>         _tagNames;
+        private transient byte[]               _payload;
 
         /**
          * @param displayName
@@ -116,6 +155,55 @@ public class SerializableTLDNamespace extends Namespace
             _uri = uri;
         }
 
+        private SerializedNamespaceData(final String displayName,
+                final String uri, final List<String> tagNames,
+                final byte[] payload)
+        {
+            super();
+            _displayName = displayName;
+            _uri = uri;
+            _tagNames = tagNames;
+            _payload = payload;
+        }
+
+        private synchronized List<String> getTagNames()
+        {
+            if (_tags == null)
+            {
+                return Collections.unmodifiableList(_tagNames);
+            }
+            return new ArrayList<String>(_tags.keySet());
+        }
+
+        private synchronized byte[] getUnloadedPayload()
+        {
+            return _tags == null ? _payload : null;
+        }
+
+        private synchronized Map<String, ITagElement> getTags()
+        {
+            if (_tags == null)
+            {
+                try
+                {
+                    _tags = TagRepositoryFormat.readTags(_payload, _tagNames);
+                }
+                catch (final IOException e)
+                {
+                    JSFCorePlugin.log(e, "Failed to load persisted tags for: " + _uri); //$NON-NLS-1$
+                    _tags = new HashMap<String, ITagElement>();
+                }
+                catch (final ClassNotFoundException e)
+                {
+                    JSFCorePlugin.log(e, "Failed to load persisted tags for: " + _uri); //$NON-NLS-1$
+                    _tags = new HashMap<String, ITagElement>();
+                }
+                _payload = null;
+                _tagNames = null;
+            }
+            return _tags;
+        }
+
         @Override
         public String getDisplayName()
         {
@@ -123,15 +211,15 @@ public class SerializableTLDNamespace extends Namespace
         }
 
         @Override
-        public int getNumTags()
+        public synchronized int getNumTags()
         {
-            return _tags.size();
+            return _tags == null ? _tagNames.size() : _tags.size();
         }
 
         @Override
         public ITagElement getViewElement(String name)
         {
-            return _tags.get(name);
+            return getTags().get(name);
         }
 
         @Override
@@ -143,7 +231,7 @@ public class SerializableTLDNamespace extends Namespace
         @Override
         public Map<String, ITagElement> getAllViewElements()
         {
-            return _tags;
+            return getTags();
         }
 
         @Override
@@ -155,7 +243,7 @@ public class SerializableTLDNamespace extends Namespace
         @Override
         public Map<String, ITagElement> getCurrentElements()
         {
-            return _tags;
+            return getTags();
         }
     }
 }
@@ -21,12 +21,12 @@ import java.util.Map;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jst.jsf.common.runtime.internal.view.model.common.ITagElement;
 import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.core.internal.JSFCoreTraceOptions;
 import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.persistence.MasterIndex.ProjectIndex;
-import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.persistence.MasterIndex.SerializableVersion;
 
 class TagRepository
 {
@@ -134,7 +134,7 @@ class TagRepository
                     JSFCoreTraceOptions.log("Creating master index file for " //$NON-NLS-1$
                             + _project.toString());
                 }
-                index.create(new SerializableVersion(1, 0, 0));
+                index.create(MasterIndex.CURRENT_VERSION);
             }
             else
             {
@@ -143,7 +143,14 @@ class TagRepository
                     JSFCoreTraceOptions.log("Loading master index file for " //$NON-NLS-1$
                             + _project.toString());
                 }
-                index.load(new SerializableVersion(1, 0, 0));
+
+                if (!index.load(MasterIndex.CURRENT_VERSION))
+                {
+                    // written by an older version; the cached data is
+                    // only an optimization so start again
+                    clearRepo(repoDir);
+                    index.create(MasterIndex.CURRENT_VERSION);
+                }
             }
 
             GLOBAL_MASTER_INDEX = index;
@@ -151,6 +158,29 @@ class TagRepository
         }
     }
 
+    private static void clearRepo(final File repoDir)
+    {
+        if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
+        {
+            JSFCoreTraceOptions.log("Clearing incompatible repo directory: " //$NON-NLS-1$
+                    + repoDir.getAbsolutePath());
+        }
+
+        final File[] files = repoDir.listFiles();
+
+        if (files != null)
+        {
+            for (final File file : files)
+            {
+                if (file.isFile() && !file.delete())
+                {
+                    JSFCorePlugin.log(IStatus.WARNING, "Could not delete old tag repository file: " //$NON-NLS-1$
+                            + file.getAbsolutePath());
+                }
+            }
+        }
+    }
+
     private static void createNewRepo(final File repoDir) throws IOException
     {
         if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.designtime.internal.view.model.jsp.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jst.jsf.common.runtime.internal.view.model.common.ITagElement;
+import org.eclipse.jst.jsf.core.internal.JSFCoreTraceOptions;
+
+/**
+ * Reads and writes the binary files of the JSP tag repository.
+ *
+ * <p>The master index file is a header only:</p>
+ * <pre>
+ *   int    MAGIC
+ *   short  FORMAT_VERSION
+ *   UTF    repository version
+ * </pre>
+ *
+ * <p>Each project has its own segment file so that saving one project never
+ * rewrites another:</p>
+ * <pre>
+ *   int    MAGIC
+ *   short  FORMAT_VERSION
+ *   int    string count, followed by that many UTF strings
+ *   int    namespace count, followed by that many namespace records:
+ *            int  uri string index
+ *            int  display name string index (-1 for null)
+ *            int  tag count, followed by that many tag name string indices
+ *            int  payload length, followed by the payload bytes
+ * </pre>
+ *
+ * The payload of a namespace holds its serialized tag elements, in the same
+ * order as its tag names.  Payloads are only deserialized when a namespace
+ * is first asked for its elements, so that loading a project only pays for
+ * the tag libraries that are actually used.
+ *
+ * Files are replaced atomically, so a reader sees either the old or the new
+ * contents.  A truncated or corrupt segment is reported as an IOException.
+ */
+public final class TagRepositoryFormat
+{
+    /**
+     * Identifies the repository files ("JSPT")
+     */
+    static final int   MAGIC          = 0x4A535054;
+    /**
+     * Incremented whenever the layout described above changes
+     */
+    static final short FORMAT_VERSION = 2;
+
+    private TagRepositoryFormat()
+    {
+        // no instantiation
+    }
+
+    /**
+     * @param file
+     * @param version
+     * @throws IOException
+     */
+    public static void writeHeader(final File file, final String version)
+            throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeUTF(version);
+        out.flush();
+        replace(file, bytes.toByteArray());
+    }
+
+    /**
+     * @param file
+     * @return the repository version in file or null if file is not in this
+     *         format (for example, if it was written by an older release)
+     * @throws IOException
+     */
+    public static String readHeader(final File file) throws IOException
+    {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file)));
+
+        try
+        {
+            if (!readPreamble(in))
+            {
+                return null;
+            }
+            return in.readUTF();
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    /**
+     * @param file
+     * @return the namespaces in the segment file, keyed by uri.  The
+     *         namespaces' elements are not deserialized until needed. Returns
+     *         an empty map if the file is not in this format.
+     * @throws IOException
+     */
+    public static Map<String, SerializableTLDNamespace> readSegment(final File file)
+            throws IOException
+    {
+        final Map<String, SerializableTLDNamespace> namespaces = new HashMap<String, SerializableTLDNamespace>();
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file)));
+
+        try
+        {
+            if (!readPreamble(in))
+            {
+                if (JSFCoreTraceOptions.TRACE_JSPTAGPERSISTENCE)
+                {
+                    JSFCoreTraceOptions.log("Ignoring segment in old format: " //$NON-NLS-1$
+                            + file.getAbsolutePath());
+                }
+                return namespaces;
+            }
+
+            final String[] strings = new String[readCount(in, file)];
+            for (int i = 0; i < strings.length; i++)
+            {
+                strings[i] = in.readUTF();
+            }
+
+            final int numNamespaces = readCount(in, file);
+            for (int i = 0; i < numNamespaces; i++)
+            {
+                final String uri = strings[readIndex(in, strings)];
+                final int displayNameIndex = in.readInt();
+                final String displayName = displayNameIndex >= 0 ? strings[checkIndex(
+                        displayNameIndex, strings)]
+                        : null;
+                final List<String> tagNames = new ArrayList<String>();
+                final int numTags = readCount(in, file);
+                for (int j = 0; j < numTags; j++)
+                {
+                    tagNames.add(strings[readIndex(in, strings)]);
+                }
+                final byte[] payload = new byte[readCount(in, file)];
+                in.readFully(payload);
+
+                namespaces.put(uri, new SerializableTLDNamespace(displayName,
+                        uri, tagNames, payload));
+            }
+            return namespaces;
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    /**
+     * @param file
+     * @param namespaces
+     * @throws IOException
+     */
+    public static void writeSegment(final File file,
+            final Map<String, SerializableTLDNamespace> namespaces)
+            throws IOException
+    {
+        final StringTable strings = new StringTable();
+        final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        final DataOutputStream records = new DataOutputStream(recordBytes);
+
+        records.writeInt(namespaces.size());
+        for (final Map.Entry<String, SerializableTLDNamespace> nsEntry : namespaces
+                .entrySet())
+        {
+            final SerializableTLDNamespace ns = nsEntry.getValue();
+            final List<String> tagNames = ns.getTagNames();
+
+            records.writeInt(strings.indexOf(nsEntry.getKey()));
+            records.writeInt(ns.getDisplayName() != null ? strings.indexOf(ns
+                    .getDisplayName()) : -1);
+            records.writeInt(tagNames.size());
+            for (final String tagName : tagNames)
+            {
+                records.writeInt(strings.indexOf(tagName));
+            }
+
+            // namespaces that were never opened are written back unchanged
+            byte[] payload = ns.getUnloadedPayload();
+            if (payload == null)
+            {
+                payload = writeTags(ns, tagNames);
+            }
+            records.writeInt(payload.length);
+            records.write(payload);
+        }
+        records.flush();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                recordBytes.size() + 1024);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        strings.write(out);
+        recordBytes.writeTo(out);
+        out.flush();
+        replace(file, bytes.toByteArray());
+    }
+
+    /**
+     * @param payload
+     * @param tagNames
+     * @return the tag elements in payload keyed by tagNames
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    static Map<String, ITagElement> readTags(final byte[] payload,
+            final List<String> tagNames) throws IOException,
+            ClassNotFoundException
+    {
+        final ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(payload));
+
+        try
+        {
+            final Map<String, ITagElement> tags = new HashMap<String, ITagElement>();
+            for (final String tagName : tagNames)
+            {
+                tags.put(tagName, (ITagElement) in.readObject());
+            }
+            return tags;
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    private static byte[] writeTags(final SerializableTLDNamespace ns,
+            final List<String> tagNames) throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+
+        for (final String tagName : tagNames)
+        {
+            out.writeObject(ns.getViewElement(tagName));
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static boolean readPreamble(final DataInputStream in)
+            throws IOException
+    {
+        try
+        {
+            return in.readInt() == MAGIC && in.readShort() == FORMAT_VERSION;
+        }
+        catch (final EOFException e)
+        {
+            // empty or truncated file
+            return false;
+        }
+    }
+
+    /**
+     * @return the next count in in.  Each counted item takes at least one
+     *         byte, so a count larger than the file means it is corrupt.
+     */
+    private static int readCount(final DataInputStream in, final File file)
+            throws IOException
+    {
+        final int count = in.readInt();
+
+        if (count < 0 || count > file.length())
+        {
+            throw new IOException("Corrupt segment, invalid count " + count //$NON-NLS-1$
+                    + ": " + file.getAbsolutePath()); //$NON-NLS-1$
+        }
+        return count;
+    }
+
+    private static int readIndex(final DataInputStream in, final String[] strings)
+            throws IOException
+    {
+        return checkIndex(in.readInt(), strings);
+    }
+
+    private static int checkIndex(final int index, final String[] strings)
+            throws IOException
+    {
+        if (index < 0 || index >= strings.length)
+        {
+            throw new IOException("Corrupt segment, string index out of range: " //$NON-NLS-1$
+                    + index);
+        }
+        return index;
+    }
+
+    /**
+     * Writes contents to a temporary file first and then moves it over file
+     * in one step, so that a failed write never leaves a truncated file or no
+     * file at all behind.
+     */
+    private static void replace(final File file, final byte[] contents)
+            throws IOException
+    {
+        final File tempFile = new File(file.getAbsolutePath() + ".tmp"); //$NON-NLS-1$
+
+        try
+        {
+            Files.write(tempFile.toPath(), contents);
+            try
+            {
+                Files.move(tempFile.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (final AtomicMoveNotSupportedException e)
+            {
+                // the temporary file is a sibling, so this only happens on
+                // file systems without atomic rename
+                Files.move(tempFile.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    /**
+     * Assigns each distinct string an index in order of first use.
+     */
+    private static final class StringTable
+    {
+        private final Map<String, Integer> _indices = new LinkedHashMap<String, Integer>();
+
+        int indexOf(final String value)
+        {
+            Integer index = _indices.get(value);
+
+            if (index == null)
+            {
+                index = Integer.valueOf(_indices.size());
+                _indices.put(value, index);
+            }
+            return index.intValue();
+        }
+
+        void write(final DataOutputStream out) throws IOException
+        {
+            out.writeInt(_indices.size());
+            for (final String value : _indices.keySet())
+            {
+                out.writeUTF(value);
+            }
+        }
+    }
+}
@@ -31,6 +31,10 @@ import org.eclipse.jst.jsf.context.symbol.SymbolFactory;
  * no attempt to ensure that cached data is in sync with changes to symbols
  * such addition, modification or removal of Java class underlying beans.
  * 
+ * The default delegate shares property and method resolution on Java typed
+ * symbols across all documents of a project, so a new caching resolver
+ * doesn't start cold for those.
+ * 
  * NOTE: this resolver is experimental and should NOT be considered API
  * 
  * Clients should not use this resolver directly.  Access it through the factory instead
@@ -51,11 +55,13 @@ public final class CachingSymbolContextResolver extends AbstractSymbolContextRes
 
     private final Map<ISymbol, Map<Object, ISymbol>>    _propertiesByOwner =
         new HashMap<ISymbol, Map<Object,ISymbol>>();
-    private ISymbol[]                   _allProperties;
+    private final Map<ISymbol, ISymbol[]>   _allPropertiesByOwner =
+        new HashMap<ISymbol, ISymbol[]>();
 
     private final Map<IObjectSymbol, Map<Object, IMethodSymbol>> _methodsByOwner =
         new HashMap<IObjectSymbol, Map<Object,IMethodSymbol>>();
-    private ISymbol[]             _allMethods;
+    private final Map<IObjectSymbol, ISymbol[]> _allMethodsByOwner =
+        new HashMap<IObjectSymbol, ISymbol[]>();
     
     /**
      * @param context
@@ -130,21 +136,25 @@ public final class CachingSymbolContextResolver extends AbstractSymbolContextRes
     @Override
     public ISymbol[] getMethods(final IObjectSymbol base)
     {
-        if (_allMethods == null)
+        ISymbol[] methods = _allMethodsByOwner.get(base);
+        if (methods == null)
         {
-            _allMethods = _delegate.getMethods(base);
+            methods = _delegate.getMethods(base);
+            _allMethodsByOwner.put(base, methods);
         }
-        return _allMethods;
+        return methods;
     }
 
     @Override
     public ISymbol[] getProperties(final ISymbol symbol)
     {
-        if (_allProperties == null)
+        ISymbol[] properties = _allPropertiesByOwner.get(symbol);
+        if (properties == null)
         {
-            _allProperties = _delegate.getProperties(symbol);
+            properties = _delegate.getProperties(symbol);
+            _allPropertiesByOwner.put(symbol, properties);
         }
-        return _allProperties;
+        return properties;
     }
 
     @Override
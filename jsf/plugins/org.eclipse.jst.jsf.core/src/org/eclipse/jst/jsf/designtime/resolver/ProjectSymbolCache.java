@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.designtime.resolver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jst.jsf.context.symbol.IBoundedTypeDescriptor;
+import org.eclipse.jst.jsf.context.symbol.IJavaTypeDescriptor2;
+import org.eclipse.jst.jsf.context.symbol.IMethodSymbol;
+import org.eclipse.jst.jsf.context.symbol.IObjectSymbol;
+import org.eclipse.jst.jsf.context.symbol.ISymbol;
+import org.eclipse.jst.jsf.context.symbol.ITypeDescriptor;
+import org.eclipse.jst.jsf.context.symbol.SymbolFactory;
+import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
+import org.eclipse.jst.jsf.designtime.el.AbstractDTMethodResolver;
+import org.eclipse.jst.jsf.designtime.el.AbstractDTPropertyResolver;
+import org.eclipse.jst.jsf.designtime.el.DefaultDTMethodResolver;
+import org.eclipse.jst.jsf.designtime.el.DefaultDTPropertyResolver;
+import org.eclipse.jst.jsf.designtime.internal.symbols.ConfigBasedDTPropertyResolver;
+
+/**
+ * Caches, per project, the properties and methods resolved on symbols whose
+ * type is a plain Java type, keyed by the owner's type signature and the
+ * property or method name. The same bean types are dereferenced on almost
+ * every page of an application, so this lets all pages, validation and
+ * content assist share one resolution instead of each document context
+ * starting cold.
+ *
+ * Only resolution that depends on nothing but the owner's type is cached:
+ * owners with map, list or unbounded type descriptors and projects using
+ * property or method resolvers other than the default ones (including
+ * decorative resolvers contributed for faces-config el-resolvers) always go
+ * to the resolver. The owner's symbol class is part of the key since it
+ * decides how the owner coerces to maps and lists.
+ *
+ * Symbols are mutable EMF objects, so the cache keeps its own instances and
+ * every caller gets a copy that it may change without affecting other
+ * documents or threads.
+ *
+ * Everything is dropped on any Java element change. Faces-config changes
+ * are not listened to since they can't change what is cached: the
+ * faces-config only reaches property resolution through the property and
+ * el-resolvers it declares, which are only consulted when decorative
+ * resolvers are contributed, and then the cache is bypassed. A changed bean
+ * class is a new owner type, so it gets its own entry.
+ *
+ * Instances are thread-safe.
+ */
+/*package*/ final class ProjectSymbolCache
+{
+    private static final QualifiedName SESSION_PROPERTY_KEY = new QualifiedName(
+            JSFCorePlugin.PLUGIN_ID, "ProjectSymbolCache"); //$NON-NLS-1$
+    private static final Object        GET_INSTANCE_LOCK    = new Object();
+    private static final AtomicLong    JAVA_CHANGE_COUNT    = new AtomicLong();
+    private static IElementChangedListener JAVA_LISTENER;
+
+    private static final ISymbol       PROPERTY_NOT_FOUND   = SymbolFactory.eINSTANCE
+            .createIPropertySymbol();
+    private static final IMethodSymbol METHOD_NOT_FOUND     = SymbolFactory.eINSTANCE
+            .createIMethodSymbol();
+
+    private final ConcurrentHashMap<String, OwnerEntry> _owners = new ConcurrentHashMap<String, OwnerEntry>();
+    private long                                        _javaChangeCount;
+
+    /**
+     * @param project
+     * @return the symbol cache for project. Never null, though the cache is
+     *         not kept if project is not accessible.
+     */
+    static ProjectSymbolCache getInstance(final IProject project)
+    {
+        synchronized (GET_INSTANCE_LOCK)
+        {
+            installJavaListener();
+            try
+            {
+                ProjectSymbolCache cache = (ProjectSymbolCache) project
+                        .getSessionProperty(SESSION_PROPERTY_KEY);
+                if (cache == null)
+                {
+                    cache = new ProjectSymbolCache();
+                    project.setSessionProperty(SESSION_PROPERTY_KEY, cache);
+                }
+                return cache;
+            }
+            catch (final CoreException e)
+            {
+                // project is closed or gone; nothing worth caching
+                return new ProjectSymbolCache();
+            }
+        }
+    }
+
+    private static void installJavaListener()
+    {
+        if (JAVA_LISTENER == null)
+        {
+            JAVA_LISTENER = new IElementChangedListener()
+            {
+                public void elementChanged(final ElementChangedEvent event)
+                {
+                    JAVA_CHANGE_COUNT.incrementAndGet();
+                }
+            };
+            JavaCore.addElementChangedListener(JAVA_LISTENER,
+                    ElementChangedEvent.POST_CHANGE);
+        }
+    }
+
+    private ProjectSymbolCache()
+    {
+        _javaChangeCount = JAVA_CHANGE_COUNT.get();
+    }
+
+    /**
+     * @param resolver
+     * @param symbol
+     * @param propertyName
+     * @return resolver.getProperty(symbol, propertyName), cached if possible
+     */
+    ISymbol getProperty(final AbstractDTPropertyResolver resolver,
+            final ISymbol symbol, final Object propertyName)
+    {
+        final OwnerEntry entry = isCacheable(resolver) && propertyName != null ? getOwnerEntry(symbol)
+                : null;
+        if (entry == null)
+        {
+            return resolver.getProperty(symbol, propertyName);
+        }
+
+        ISymbol property = entry._properties.get(propertyName);
+        if (property == null)
+        {
+            property = resolver.getProperty(symbol, propertyName);
+            entry._properties.put(propertyName, property != null ? property
+                    : PROPERTY_NOT_FOUND);
+        }
+        return property == PROPERTY_NOT_FOUND ? null : copy(property);
+    }
+
+    /**
+     * @param resolver
+     * @param symbol
+     * @return resolver.getAllProperties(symbol), cached if possible
+     */
+    ISymbol[] getProperties(final AbstractDTPropertyResolver resolver,
+            final ISymbol symbol)
+    {
+        final OwnerEntry entry = isCacheable(resolver) ? getOwnerEntry(symbol)
+                : null;
+        if (entry == null)
+        {
+            return resolver.getAllProperties(symbol);
+        }
+
+        ISymbol[] properties = entry._allProperties;
+        if (properties == null)
+        {
+            properties = resolver.getAllProperties(symbol);
+            entry._allProperties = properties;
+        }
+        return copy(properties);
+    }
+
+    /**
+     * @param resolver
+     * @param base
+     * @param methodName
+     * @return resolver.getMethod(base, methodName), cached if possible
+     */
+    IMethodSymbol getMethod(final AbstractDTMethodResolver resolver,
+            final IObjectSymbol base, final Object methodName)
+    {
+        final OwnerEntry entry = isCacheable(resolver) && methodName != null ? getOwnerEntry(base)
+                : null;
+        if (entry == null)
+        {
+            return resolver.getMethod(base, methodName);
+        }
+
+        IMethodSymbol method = entry._methods.get(methodName);
+        if (method == null)
+        {
+            method = resolver.getMethod(base, methodName);
+            entry._methods.put(methodName, method != null ? method
+                    : METHOD_NOT_FOUND);
+        }
+        return method == METHOD_NOT_FOUND ? null : copy(method);
+    }
+
+    /**
+     * @param resolver
+     * @param base
+     * @return resolver.getMethods(base), cached if possible
+     */
+    ISymbol[] getMethods(final AbstractDTMethodResolver resolver,
+            final IObjectSymbol base)
+    {
+        final OwnerEntry entry = isCacheable(resolver) ? getOwnerEntry(base)
+                : null;
+        if (entry == null)
+        {
+            return resolver.getMethods(base);
+        }
+
+        ISymbol[] methods = entry._allMethods;
+        if (methods == null)
+        {
+            methods = resolver.getMethods(base);
+            entry._allMethods = methods;
+        }
+        return copy(methods);
+    }
+
+    /**
+     * @return the number of owner types cached
+     */
+    int size()
+    {
+        checkCurrent();
+        return _owners.size();
+    }
+
+    private OwnerEntry getOwnerEntry(final ISymbol symbol)
+    {
+        final String key = getOwnerKey(symbol);
+        if (key == null)
+        {
+            return null;
+        }
+
+        checkCurrent();
+        OwnerEntry entry = _owners.get(key);
+        if (entry == null)
+        {
+            entry = new OwnerEntry();
+            final OwnerEntry existing = _owners.putIfAbsent(key, entry);
+            if (existing != null)
+            {
+                entry = existing;
+            }
+        }
+        return entry;
+    }
+
+    private synchronized void checkCurrent()
+    {
+        final long javaChangeCount = JAVA_CHANGE_COUNT.get();
+        if (javaChangeCount != _javaChangeCount)
+        {
+            _owners.clear();
+            _javaChangeCount = javaChangeCount;
+        }
+    }
+
+    private static <T extends ISymbol> T copy(final T symbol)
+    {
+        return symbol != null ? EcoreUtil.copy(symbol) : null;
+    }
+
+    private static ISymbol[] copy(final ISymbol[] symbols)
+    {
+        final ISymbol[] copies = new ISymbol[symbols.length];
+        for (int i = 0; i < symbols.length; i++)
+        {
+            copies[i] = copy(symbols[i]);
+        }
+        return copies;
+    }
+
+    private static String getOwnerKey(final ISymbol symbol)
+    {
+        if (symbol instanceof IObjectSymbol)
+        {
+            final ITypeDescriptor typeDesc = ((IObjectSymbol) symbol)
+                    .getTypeDescriptor();
+            if (typeDesc instanceof IJavaTypeDescriptor2
+                    && !(typeDesc instanceof IBoundedTypeDescriptor)
+                    && ((IJavaTypeDescriptor2) typeDesc).getType() != null)
+            {
+                final StringBuilder key = new StringBuilder(symbol.getClass()
+                        .getName());
+                key.append('|').append(typeDesc.getTypeSignature());
+                for (final Object typeParam : typeDesc
+                        .getTypeParameterSignatures())
+                {
+                    key.append('|').append(typeParam);
+                }
+                return key.toString();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCacheable(final AbstractDTPropertyResolver resolver)
+    {
+        if (resolver.getClass() == DefaultDTPropertyResolver.class)
+        {
+            return true;
+        }
+        return resolver.getClass() == ConfigBasedDTPropertyResolver.class
+                && !JSFCorePlugin.hasDecorativePropertyResolvers();
+    }
+
+    private static boolean isCacheable(final AbstractDTMethodResolver resolver)
+    {
+        return resolver.getClass() == DefaultDTMethodResolver.class;
+    }
+
+    private static final class OwnerEntry
+    {
+        private final Map<Object, ISymbol>       _properties = new ConcurrentHashMap<Object, ISymbol>();
+        private final Map<Object, IMethodSymbol> _methods    = new ConcurrentHashMap<Object, IMethodSymbol>();
+        private volatile ISymbol[]               _allProperties;
+        private volatile ISymbol[]               _allMethods;
+    }
+}
@@ -28,6 +28,10 @@ import org.eclipse.jst.jsf.designtime.context.DTFacesContext;
 
 /**
  * A symbol context resolver
+ * 
+ * Property and method resolution on Java typed symbols is shared by all
+ * documents of a project through the ProjectSymbolCache.
+ * 
  * Clients may NOT sub-class.
  * 
  * @author cbateman
@@ -102,7 +106,8 @@ import org.eclipse.jst.jsf.designtime.context.DTFacesContext;
             
             if (manager != null)
             {
-                return manager.getPropertyResolver().getProperty(symbol, propertyName);
+                return ProjectSymbolCache.getInstance(file.getProject())
+                        .getProperty(manager.getPropertyResolver(), symbol, propertyName);
             }
         }
         
@@ -120,7 +125,8 @@ import org.eclipse.jst.jsf.designtime.context.DTFacesContext;
             
             if (manager != null)
             {
-                return manager.getPropertyResolver().getAllProperties(symbol);
+                return ProjectSymbolCache.getInstance(file.getProject())
+                        .getProperties(manager.getPropertyResolver(), symbol);
             }
         }
         return ISymbol.EMPTY_SYMBOL_ARRAY;
@@ -137,7 +143,8 @@ import org.eclipse.jst.jsf.designtime.context.DTFacesContext;
              
             if (manager != null)
             {
-                return manager.getMethodResolver().getMethod(base, methodName);
+                return ProjectSymbolCache.getInstance(file.getProject())
+                        .getMethod(manager.getMethodResolver(), base, methodName);
             }
         }
         
@@ -155,7 +162,8 @@ import org.eclipse.jst.jsf.designtime.context.DTFacesContext;
             
             if (manager != null)
             {
-                return manager.getMethodResolver().getMethods(base);
+                return ProjectSymbolCache.getInstance(file.getProject())
+                        .getMethods(manager.getMethodResolver(), base);
             }
         }
         
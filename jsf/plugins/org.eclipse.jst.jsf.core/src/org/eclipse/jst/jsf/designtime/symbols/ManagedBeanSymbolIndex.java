@@ -0,0 +1,653 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+
+package org.eclipse.jst.jsf.designtime.symbols;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jst.jsf.common.internal.managedobject.AbstractManagedObject;
+import org.eclipse.jst.jsf.common.internal.managedobject.ObjectManager.ManagedObjectException;
+import org.eclipse.jst.jsf.common.internal.resource.ResourceSingletonObjectManager;
+import org.eclipse.jst.jsf.context.symbol.ERuntimeSource;
+import org.eclipse.jst.jsf.context.symbol.IBeanInstanceSymbol;
+import org.eclipse.jst.jsf.context.symbol.IJavaTypeDescriptor2;
+import org.eclipse.jst.jsf.context.symbol.ISymbol;
+import org.eclipse.jst.jsf.context.symbol.SymbolFactory;
+import org.eclipse.jst.jsf.context.symbol.source.ISymbolConstants;
+import org.eclipse.jst.jsf.core.IJSFCoreConstants;
+import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
+import org.eclipse.jst.jsf.core.jsfappconfig.IFacesConfigChangeListener;
+import org.eclipse.jst.jsf.core.jsfappconfig.IJSFAppConfigProvidersChangeListener;
+import org.eclipse.jst.jsf.core.jsfappconfig.JSFAppConfigProvidersChangeEvent;
+import org.eclipse.jst.jsf.core.jsfappconfig.JSFAppConfigUtils;
+import org.eclipse.jst.jsf.core.jsfappconfig.internal.IJSFAppConfigManager;
+import org.eclipse.jst.jsf.core.jsfappconfig.internal.JSFAppConfigManagerFactory;
+import org.eclipse.jst.jsf.facesconfig.emf.DescriptionType;
+import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigPackage;
+import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigType;
+import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanClassType;
+import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanNameType;
+import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanScopeType;
+import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanType;
+
+/**
+ * A per-project index of the managed bean symbols declared in the project's
+ * application configuration.
+ *
+ * The index is built once from {@link IJSFAppConfigManager#getManagedBeans()}
+ * and is then patched bean-by-bean as faces-config change notifications
+ * arrive.  A change in the set of config providers causes a full rebuild on
+ * the next query.  The index registers as a shared listener so that it
+ * doesn't displace other listeners for the same faces-config classes.
+ *
+ * Bean symbols, and in particular their Java type descriptors, are only
+ * created when a query first returns them.  Since symbols are mutable, the
+ * index keeps its own and every query returns copies.
+ */
+/*package*/ final class ManagedBeanSymbolIndex extends AbstractManagedObject
+        implements IFacesConfigChangeListener, IJSFAppConfigProvidersChangeListener
+{
+    /**
+     * The faces-config model classes whose notifications can change a bean
+     * symbol.  String is included since text content edits on the name,
+     * class, scope and description elements are reported against it.
+     */
+    private static final Class[] LISTENED_CLASSES = new Class[]
+    {
+        ManagedBeanType.class,
+        ManagedBeanNameType.class,
+        ManagedBeanClassType.class,
+        ManagedBeanScopeType.class,
+        DescriptionType.class,
+        String.class
+    };
+
+    private static IndexManager  INDEX_MANAGER;
+
+    /**
+     * @param project
+     * @return the bean symbol index for project or null if one couldn't
+     * be created.
+     */
+    static ManagedBeanSymbolIndex getInstance(final IProject project)
+    {
+        try
+        {
+            return getIndexManager().getInstance(project);
+        }
+        catch (final ManagedObjectException e)
+        {
+            JSFCorePlugin.log(e, "Cannot create managed bean symbol index for "+project.getName()); //$NON-NLS-1$
+        }
+        return null;
+    }
+
+    private static synchronized IndexManager getIndexManager()
+    {
+        if (INDEX_MANAGER == null)
+        {
+            INDEX_MANAGER = new IndexManager();
+        }
+        return INDEX_MANAGER;
+    }
+
+    private final IProject                          _project;
+    // entries in declaration order, keyed by the bean they were built from
+    private final Map<ManagedBeanType, BeanEntry>   _entriesByBean;
+    // all entries for a bean name in declaration order; sorted by name so
+    // that prefix queries only visit matching names
+    private final TreeMap<String, List<BeanEntry>>  _entriesByName;
+    private IJSFAppConfigManager                    _configManager;
+    private boolean                                 _isStale;
+    private long                                    _generation;
+
+    private ManagedBeanSymbolIndex(final IProject project)
+    {
+        _project = project;
+        _entriesByBean = new LinkedHashMap<ManagedBeanType, BeanEntry>();
+        _entriesByName = new TreeMap<String, List<BeanEntry>>();
+        _isStale = true;
+    }
+
+    /**
+     * @param symbolScopeMask
+     * @return all bean symbols at scopes matching symbolScopeMask
+     */
+    ISymbol[] getSymbols(final int symbolScopeMask)
+    {
+        final boolean allowCustomScopes = refresh(symbolScopeMask);
+        final List<BeanEntry> entries = new ArrayList<BeanEntry>();
+
+        synchronized(this)
+        {
+            for (final BeanEntry entry : _entriesByBean.values())
+            {
+                if (entry.isInScope(symbolScopeMask, allowCustomScopes))
+                {
+                    entries.add(entry);
+                }
+            }
+        }
+        return getSymbols(entries);
+    }
+
+    /**
+     * @param name
+     * @param symbolScopeMask
+     * @return the first declared bean symbol called name at a scope matching
+     * symbolScopeMask or null if there is none
+     */
+    ISymbol getSymbol(final String name, final int symbolScopeMask)
+    {
+        final boolean allowCustomScopes = refresh(symbolScopeMask);
+        BeanEntry found = null;
+
+        synchronized(this)
+        {
+            final List<BeanEntry> entries = _entriesByName.get(name);
+            if (entries != null)
+            {
+                for (final BeanEntry entry : entries)
+                {
+                    if (entry.isInScope(symbolScopeMask, allowCustomScopes))
+                    {
+                        found = entry;
+                        break;
+                    }
+                }
+            }
+        }
+        return found != null ? getSymbol(found) : null;
+    }
+
+    /**
+     * @param prefix
+     * @param symbolScopeMask
+     * @return all bean symbols whose names start with prefix at scopes
+     * matching symbolScopeMask
+     */
+    ISymbol[] getSymbols(final String prefix, final int symbolScopeMask)
+    {
+        final boolean allowCustomScopes = refresh(symbolScopeMask);
+        final List<BeanEntry> entries = new ArrayList<BeanEntry>();
+
+        synchronized(this)
+        {
+            for (final Map.Entry<String, List<BeanEntry>> mapEntry :
+                     _entriesByName.tailMap(prefix, true).entrySet())
+            {
+                if (!mapEntry.getKey().startsWith(prefix))
+                {
+                    break;
+                }
+
+                for (final BeanEntry entry : mapEntry.getValue())
+                {
+                    if (entry.isInScope(symbolScopeMask, allowCustomScopes))
+                    {
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+        return getSymbols(entries);
+    }
+
+    private ISymbol[] getSymbols(final List<BeanEntry> entries)
+    {
+        final ISymbol[] symbols = new ISymbol[entries.size()];
+        for (int i = 0; i < symbols.length; i++)
+        {
+            symbols[i] = getSymbol(entries.get(i));
+        }
+        return symbols;
+    }
+
+    /**
+     * Makes sure the index is listening to the current config manager and
+     * rebuilds it if it is stale.
+     *
+     * @param symbolScopeMask
+     * @return true if beans with custom scopes match symbolScopeMask
+     */
+    private boolean refresh(final int symbolScopeMask)
+    {
+        assertNotDisposed();
+
+        final IJSFAppConfigManager configManager =
+            JSFAppConfigManagerFactory.getJSFAppConfigManagerInstance(_project);
+        updateConfigManager(configManager);
+
+        final long generation;
+        synchronized(this)
+        {
+            generation = _generation;
+            if (!_isStale)
+            {
+                return allowCustomScopes(symbolScopeMask);
+            }
+        }
+
+        // query the config manager outside our lock since it may need to
+        // load models
+        final List<ManagedBeanType> managedBeans = configManager != null ?
+                configManager.getManagedBeans() : new ArrayList<ManagedBeanType>();
+
+        synchronized(this)
+        {
+            _entriesByBean.clear();
+            _entriesByName.clear();
+
+            for (final ManagedBeanType bean : managedBeans)
+            {
+                addBean(bean);
+            }
+            // if something changed while we were rebuilding, we will
+            // pick it up on the next query
+            _isStale = generation != _generation;
+        }
+        return allowCustomScopes(symbolScopeMask);
+    }
+
+    private boolean allowCustomScopes(final int symbolScopeMask)
+    {
+        // allow for custom scopes (any value) in JSF 2.x if mask is "ISymbolConstants.SYMBOL_SCOPE_ALL"
+        return symbolScopeMask == ISymbolConstants.SYMBOL_SCOPE_ALL
+            && JSFAppConfigUtils.isValidJSFProject(_project, IJSFCoreConstants.FACET_VERSION_2_0);
+    }
+
+    private void updateConfigManager(final IJSFAppConfigManager configManager)
+    {
+        final IJSFAppConfigManager oldConfigManager;
+        synchronized(this)
+        {
+            oldConfigManager = _configManager;
+            if (oldConfigManager == configManager)
+            {
+                return;
+            }
+            _configManager = configManager;
+            invalidate();
+        }
+
+        removeListeners(oldConfigManager);
+        addListeners(configManager);
+    }
+
+    private void addListeners(final IJSFAppConfigManager configManager)
+    {
+        if (configManager != null)
+        {
+            configManager.addJSFAppConfigProvidersChangeListener(this);
+            for (final Class emfClass : LISTENED_CLASSES)
+            {
+                configManager.addSharedFacesConfigChangeListener(emfClass, this);
+            }
+        }
+    }
+
+    private void removeListeners(final IJSFAppConfigManager configManager)
+    {
+        if (configManager != null)
+        {
+            configManager.removeJSFAppConfigProvidersChangeListener(this);
+            for (final Class emfClass : LISTENED_CLASSES)
+            {
+                configManager.removeSharedFacesConfigChangeListener(emfClass, this);
+            }
+        }
+    }
+
+    private synchronized void invalidate()
+    {
+        _isStale = true;
+        _generation++;
+    }
+
+    public void changedJSFAppConfigProviders(final JSFAppConfigProvidersChangeEvent event)
+    {
+        invalidate();
+    }
+
+    public synchronized void notifyChanged(final Notification notification)
+    {
+        if (notification.isTouch())
+        {
+            return;
+        }
+
+        // a full rebuild is already pending
+        if (_isStale)
+        {
+            _generation++;
+            return;
+        }
+
+        final Object notifier = notification.getNotifier();
+
+        if (notifier instanceof FacesConfigType)
+        {
+            if (notification.getFeature() ==
+                    FacesConfigPackage.eINSTANCE.getFacesConfigType_ManagedBean())
+            {
+                removeBeans(notification.getOldValue());
+                addBeans(notification.getNewValue());
+            }
+        }
+        else if (notifier instanceof EObject)
+        {
+            final ManagedBeanType bean = findEnclosingBean((EObject) notifier);
+            if (bean != null && _entriesByBean.containsKey(bean))
+            {
+                // re-index in place of the old entry
+                removeBean(bean);
+                addBean(bean);
+            }
+        }
+    }
+
+    private static ManagedBeanType findEnclosingBean(final EObject eObject)
+    {
+        EObject curObject = eObject;
+        while (curObject != null && !(curObject instanceof FacesConfigType))
+        {
+            if (curObject instanceof ManagedBeanType)
+            {
+                return (ManagedBeanType) curObject;
+            }
+            curObject = curObject.eContainer();
+        }
+        return null;
+    }
+
+    private void addBeans(final Object value)
+    {
+        if (value instanceof ManagedBeanType)
+        {
+            addBean((ManagedBeanType) value);
+        }
+        else if (value instanceof Collection)
+        {
+            for (final Iterator it = ((Collection) value).iterator(); it.hasNext();)
+            {
+                addBeans(it.next());
+            }
+        }
+    }
+
+    private void removeBeans(final Object value)
+    {
+        if (value instanceof ManagedBeanType)
+        {
+            removeBean((ManagedBeanType) value);
+        }
+        else if (value instanceof Collection)
+        {
+            for (final Iterator it = ((Collection) value).iterator(); it.hasNext();)
+            {
+                removeBeans(it.next());
+            }
+        }
+    }
+
+    private void addBean(final ManagedBeanType bean)
+    {
+        final String name = bean.getManagedBeanName() != null ?
+                bean.getManagedBeanName().getTextContent() : null;
+
+        // a bean with no name can't be referenced as a symbol
+        if (name == null)
+        {
+            return;
+        }
+
+        final int scopeMask = bean.getManagedBeanScope() != null ?
+            ISymbolConstants.getMaskForString(bean.getManagedBeanScope().getTextContent()) : -1;
+        final BeanEntry entry = new BeanEntry(bean, name, scopeMask);
+        _entriesByBean.put(bean, entry);
+
+        List<BeanEntry> entries = _entriesByName.get(name);
+        if (entries == null)
+        {
+            entries = new ArrayList<BeanEntry>(1);
+            _entriesByName.put(name, entries);
+        }
+        entries.add(entry);
+    }
+
+    private void removeBean(final ManagedBeanType bean)
+    {
+        final BeanEntry entry = _entriesByBean.remove(bean);
+        if (entry != null)
+        {
+            final List<BeanEntry> entries = _entriesByName.get(entry._name);
+            if (entries != null)
+            {
+                entries.remove(entry);
+                if (entries.isEmpty())
+                {
+                    _entriesByName.remove(entry._name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Must not be called holding the index lock, since resolving the type
+     * may search the project's classpath.
+     *
+     * @param entry
+     * @return a copy of the symbol for entry, creating it or resolving its
+     * type if they aren't already.
+     */
+    private ISymbol getSymbol(final BeanEntry entry)
+    {
+        final IBeanInstanceSymbol symbol;
+        final String typeName;
+        synchronized(this)
+        {
+            if (entry._symbol == null)
+            {
+                final IBeanInstanceSymbol newSymbol = SymbolFactory.eINSTANCE.createIBeanInstanceSymbol();
+                newSymbol.setName(entry._name);
+                final String detailedDescription = createAdditionalProposalInfo(entry._bean);
+                if (detailedDescription.length() > 0)
+                {
+                    newSymbol.setDetailedDescription(detailedDescription);
+                }
+                newSymbol.setRuntimeSource(ERuntimeSource.MANAGED_BEAN_SYMBOL_LITERAL);
+                entry._symbol = newSymbol;
+            }
+            symbol = entry._symbol;
+
+            // re-resolve the type if we never found it or it has since gone away
+            final IJavaTypeDescriptor2 typeDesc = symbol.getJavaTypeDescriptor();
+            if (typeDesc != null && typeDesc.getType() != null && typeDesc.getType().exists())
+            {
+                return EcoreUtil.copy(symbol);
+            }
+            typeName = entry._bean.getManagedBeanClass() != null?
+                entry._bean.getManagedBeanClass().getTextContent() : ""; //$NON-NLS-1$
+        }
+
+        final IType type = resolveType(typeName);
+        synchronized(this)
+        {
+            // don't bother setting a type descriptor if we
+            // can't find a type
+            if (type != null)
+            {
+                final IJavaTypeDescriptor2 javaTypeDescriptor =
+                    SymbolFactory.eINSTANCE.createIJavaTypeDescriptor2();
+                javaTypeDescriptor.setType(type);
+                symbol.setJavaTypeDescriptor(javaTypeDescriptor);
+            }
+            return EcoreUtil.copy(symbol);
+        }
+    }
+
+    private IType resolveType(final String typeName)
+    {
+        try
+        {
+            final IJavaProject javaProject = JavaCore.create(_project);
+            return javaProject.findType(typeName);
+        }
+        catch (final JavaModelException t)
+        {
+            // do nothing; skip type info for this bean
+            return null;
+        }
+    }
+
+    private static String createAdditionalProposalInfo(final ManagedBeanType beanType)
+    {
+        final String beanName = beanType.getManagedBeanName() != null ?
+                                    beanType.getManagedBeanName().getTextContent() : null;
+
+        final StringBuffer additionalInfo = new StringBuffer();
+        if (beanName != null)
+        {
+            additionalInfo.append("<p><b>"+Messages.getString("DefaultBeanSymbolSourceProvider.AdditionalInformation.Name")); //$NON-NLS-1$ //$NON-NLS-2$
+            additionalInfo.append(" </b>"); //$NON-NLS-1$
+            additionalInfo.append(beanName);
+            additionalInfo.append("</p>"); //$NON-NLS-1$
+        }
+
+        final String beanClass = beanType.getManagedBeanClass() != null ?
+                beanType.getManagedBeanClass().getTextContent() : null;
+        if (beanClass != null)
+        {
+            additionalInfo.append("<p><b>"+Messages.getString("DefaultBeanSymbolSourceProvider.AdditionalInformation.Type")); //$NON-NLS-1$ //$NON-NLS-2$
+            additionalInfo.append(" </b>"); //$NON-NLS-1$
+            additionalInfo.append(beanClass);
+            additionalInfo.append("</p>"); //$NON-NLS-1$
+        }
+
+        final String beanScope = beanType.getManagedBeanScope() != null ?
+                beanType.getManagedBeanScope().getTextContent() : null;
+        if (beanScope != null)
+        {
+            additionalInfo.append("<p><b>"+Messages.getString("DefaultBeanSymbolSourceProvider.AdditionalInformation.Scope")); //$NON-NLS-1$ //$NON-NLS-2$
+            additionalInfo.append(" </b>"); //$NON-NLS-1$
+            additionalInfo.append(beanScope);
+            additionalInfo.append("</p>"); //$NON-NLS-1$
+        }
+        final StringBuffer descBuffer = new StringBuffer();
+
+        for (final Iterator it = beanType.getDescription().iterator(); it.hasNext();)
+        {
+            final DescriptionType descType = (DescriptionType) it.next();
+            final String appendString = descType.getTextContent();
+            if (appendString != null)
+            {
+                descBuffer.append(appendString);
+            }
+        }
+
+        if (descBuffer.length() > 0)
+        {
+            additionalInfo.append("<p><b>"); //$NON-NLS-1$
+            additionalInfo.append(Messages.getString("DefaultBeanSymbolSourceProvider.AdditionalInformation.Description")); //$NON-NLS-1$
+            additionalInfo.append(" </b>"); //$NON-NLS-1$
+            additionalInfo.append(descBuffer);
+            additionalInfo.append("</p>"); //$NON-NLS-1$
+        }
+
+        return additionalInfo.toString();
+    }
+
+    @Override
+    public void dispose()
+    {
+        final IJSFAppConfigManager configManager;
+        synchronized(this)
+        {
+            configManager = _configManager;
+            _configManager = null;
+            _entriesByBean.clear();
+            _entriesByName.clear();
+        }
+        removeListeners(configManager);
+        super.dispose();
+    }
+
+    @Override
+    public void destroy()
+    {
+        // nothing persisted
+        dispose();
+    }
+
+    @Override
+    public void checkpoint()
+    {
+        // nothing persisted
+    }
+
+    private static final class BeanEntry
+    {
+        private final ManagedBeanType       _bean;
+        private final String                _name;
+        private final int                   _scopeMask;
+        // lazily created on first query
+        private IBeanInstanceSymbol         _symbol;
+
+        BeanEntry(final ManagedBeanType bean, final String name, final int scopeMask)
+        {
+            _bean = bean;
+            _name = name;
+            _scopeMask = scopeMask;
+        }
+
+        boolean isInScope(final int symbolScopeMask, final boolean allowCustomScopes)
+        {
+            if (_scopeMask != -1 && (symbolScopeMask & _scopeMask) != 0)
+            {
+                return true;
+            }
+            return allowCustomScopes;
+        }
+    }
+
+    private static final class IndexManager extends
+            ResourceSingletonObjectManager<ManagedBeanSymbolIndex, IProject>
+    {
+        IndexManager()
+        {
+            super(ResourcesPlugin.getWorkspace());
+        }
+
+        @Override
+        protected ManagedBeanSymbolIndex createNewInstance(final IProject project)
+        {
+            return new ManagedBeanSymbolIndex(project);
+        }
+    }
+}
@@ -58,7 +58,7 @@ public final class MetaDataEnabledProcessingFactory {
 	/**
 	 * @return singleton instance
 	 */
-	public static MetaDataEnabledProcessingFactory getInstance() {
+	public static synchronized MetaDataEnabledProcessingFactory getInstance() {
 		if (INSTANCE == null) {
 			INSTANCE = new MetaDataEnabledProcessingFactory();
 		}
@@ -30,7 +30,7 @@ public class AttributeValueRuntimeTypeFactory extends AbstractMetaDataEnabledTyp
 	 * @return the single instance... TODO: why is this allocated here if it is
      * declared in super?
 	 */
-	public static AttributeValueRuntimeTypeFactory getInstance(){
+	public static synchronized AttributeValueRuntimeTypeFactory getInstance(){
 		if (INSTANCE == null){
 			INSTANCE = new AttributeValueRuntimeTypeFactory();	
 		}
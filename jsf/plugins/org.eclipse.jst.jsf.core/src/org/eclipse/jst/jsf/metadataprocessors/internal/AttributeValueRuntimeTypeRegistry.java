@@ -30,7 +30,7 @@ public class AttributeValueRuntimeTypeRegistry extends AbstractMetaDataEnabledTy
 	/**
 	 * @return singleton instance
 	 */
-	public static AttributeValueRuntimeTypeRegistry getInstance(){
+	public static synchronized AttributeValueRuntimeTypeRegistry getInstance(){
 		if (INSTANCE == null){
 			INSTANCE = new AttributeValueRuntimeTypeRegistry();	
 		}
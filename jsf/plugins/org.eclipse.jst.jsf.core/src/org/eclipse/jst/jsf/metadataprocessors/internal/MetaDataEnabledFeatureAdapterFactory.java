@@ -14,8 +14,8 @@
 
 package org.eclipse.jst.jsf.metadataprocessors.internal;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -38,7 +38,7 @@ public final class MetaDataEnabledFeatureAdapterFactory {
 	/**
 	 * @return singleton instance
 	 */
-	public static MetaDataEnabledFeatureAdapterFactory getInstance(){
+	public static synchronized MetaDataEnabledFeatureAdapterFactory getInstance(){
 		if (INSTANCE == null){
 			INSTANCE = new MetaDataEnabledFeatureAdapterFactory();	
 		}
@@ -47,7 +47,7 @@ public final class MetaDataEnabledFeatureAdapterFactory {
 	
 	private MetaDataEnabledFeatureAdapterFactory(){
 		super();
-		typesCache = new HashMap<String, Class>();
+		typesCache = new ConcurrentHashMap<String, Class>();
 	}
 	
 
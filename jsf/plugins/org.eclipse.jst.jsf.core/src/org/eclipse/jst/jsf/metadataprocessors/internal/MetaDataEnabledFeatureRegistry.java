@@ -123,7 +123,7 @@ public class MetaDataEnabledFeatureRegistry{
 	 * 
 	 * TODO: make more efficient... no need to keep calculating features for subtypes. 
 	 */
-	public List<IMetaDataEnabledFeatureExtension> getFeatures(String typeId) {
+	public synchronized List<IMetaDataEnabledFeatureExtension> getFeatures(String typeId) {
 		
 		if (!featuresMap.containsKey(typeId))
 			featuresMap.put(typeId,new ArrayList());
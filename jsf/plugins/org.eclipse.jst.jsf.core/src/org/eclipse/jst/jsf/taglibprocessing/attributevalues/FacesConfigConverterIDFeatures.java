@@ -47,7 +47,7 @@ public class FacesConfigConverterIDFeatures extends FacesConfigIdentifierFeature
 	 */
 	protected List getElements(JSFAppConfigManager mgr) {
 		if (mgr != null)
-			return mgr.getConverters();
+			return new ArrayList(mgr.getConverters());
 		return new ArrayList(0);
 	}
 
@@ -52,7 +52,7 @@ public class FacesConfigValidatorIDFeatures extends FacesConfigIdentifierFeature
 	 */
 	protected List getElements(JSFAppConfigManager mgr) {
 		if (mgr != null)
-			return mgr.getValidators();
+			return new ArrayList(mgr.getValidators());
 		return new ArrayList(0);
 	}
 
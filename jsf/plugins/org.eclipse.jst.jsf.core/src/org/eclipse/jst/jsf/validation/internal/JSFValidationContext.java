@@ -73,7 +73,6 @@ public final class JSFValidationContext
      */
     public final boolean shouldValidateEL()
     {
-        _prefs.load();
         if (_isIncremental)
         {
             return _prefs.getElPrefs().isEnableIncrementalValidation();
@@ -27,4 +27,13 @@ public class JSFValidatorFactory
     {
         return new XMLViewDefnValidator();
     }
+
+    /**
+     * @return a default validator for XML-defined views that can also
+     *         validate a batch of views at once.
+     */
+    public static XMLViewDefnValidator createDefaultXMLBatchValidator()
+    {
+        return new XMLViewDefnValidator();
+    }
 }
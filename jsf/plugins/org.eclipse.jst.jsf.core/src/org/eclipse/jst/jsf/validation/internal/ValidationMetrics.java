@@ -0,0 +1,410 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.validation.internal;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Collects timing histograms for the view validation pipeline, by strategy,
+ * by tag and by phase, so that the tags and expressions that dominate
+ * validation time can be found.
+ *
+ * Collection is off by default and costs one volatile read per measurement
+ * while off. It is turned on by the trace option
+ * "org.eclipse.jst.jsf.core/validation/metrics", by the system property
+ * "org.eclipse.jst.jsf.core.validation.metrics" or by
+ * {@link #setEnabled(boolean)}. With the trace option
+ * "org.eclipse.jst.jsf.core/validation/metrics/dump" the histograms are also
+ * dumped to System.out each time a validation run finishes.
+ *
+ * Measurements use the pattern:
+ *
+ * <pre>
+ * final long start = metrics.start();
+ * ...
+ * metrics.record(Category.PHASE, ValidationMetrics.PHASE_PARSE, start);
+ * </pre>
+ *
+ * Instances are thread-safe.
+ */
+public final class ValidationMetrics
+{
+    /**
+     * What a histogram is keyed by
+     */
+    public enum Category
+    {
+        /**
+         * keyed by validating strategy id
+         */
+        STRATEGY,
+        /**
+         * keyed by tag, as "uri:name"
+         */
+        TAG,
+        /**
+         * keyed by one of the PHASE_* constants
+         */
+        PHASE
+    }
+
+    /**
+     * Parsing EL expressions
+     */
+    public static final String PHASE_PARSE        = "parse"; //$NON-NLS-1$
+    /**
+     * Semantic validation of EL expressions: resolving variables, members
+     * and operators
+     */
+    public static final String PHASE_RESOLVE      = "resolve"; //$NON-NLS-1$
+    /**
+     * Comparing the type of EL expressions to the type expected by the
+     * attribute
+     */
+    public static final String PHASE_TYPE_COMPARE = "type-compare"; //$NON-NLS-1$
+    /**
+     * Looking up the meta-data feature processors of attributes
+     */
+    public static final String PHASE_METADATA     = "metadata"; //$NON-NLS-1$
+
+    private static final ValidationMetrics INSTANCE = new ValidationMetrics();
+
+    private final Map<Category, ConcurrentHashMap<String, Recorder>> _recorders;
+    private final boolean                  _dump;
+    private volatile boolean               _enabled;
+
+    /**
+     * @return the single instance
+     */
+    public static ValidationMetrics getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private ValidationMetrics()
+    {
+        _recorders = new EnumMap<Category, ConcurrentHashMap<String, Recorder>>(
+                Category.class);
+        for (final Category category : Category.values())
+        {
+            _recorders.put(category, new ConcurrentHashMap<String, Recorder>());
+        }
+        _dump = isTrue(Platform
+                .getDebugOption("org.eclipse.jst.jsf.core/validation/metrics/dump")); //$NON-NLS-1$
+        _enabled = _dump
+                || isTrue(Platform
+                        .getDebugOption("org.eclipse.jst.jsf.core/validation/metrics")) //$NON-NLS-1$
+                || isTrue(System
+                        .getProperty("org.eclipse.jst.jsf.core.validation.metrics")); //$NON-NLS-1$
+    }
+
+    private static boolean isTrue(final String value)
+    {
+        return value != null && value.trim().equalsIgnoreCase("true"); //$NON-NLS-1$
+    }
+
+    /**
+     * @return true if measurements are being recorded
+     */
+    public boolean isEnabled()
+    {
+        return _enabled;
+    }
+
+    /**
+     * Turns recording on or off. Histograms recorded so far are kept.
+     *
+     * @param enabled
+     */
+    public void setEnabled(final boolean enabled)
+    {
+        _enabled = enabled;
+    }
+
+    /**
+     * @return the start time to pass to {@link #record(Category, String, long)}
+     *         or -1 if recording is off
+     */
+    public long start()
+    {
+        return _enabled ? System.nanoTime() : -1;
+    }
+
+    /**
+     * Records the time elapsed since start under key. Does nothing if start
+     * is negative, that is if recording was off when the measurement
+     * started, or if key is null.
+     *
+     * @param category
+     * @param key
+     * @param start
+     *            the value {@link #start()} returned
+     */
+    public void record(final Category category, final String key,
+            final long start)
+    {
+        if (start < 0 || key == null)
+        {
+            return;
+        }
+        final long elapsed = System.nanoTime() - start;
+        final ConcurrentHashMap<String, Recorder> recorders = _recorders
+                .get(category);
+        Recorder recorder = recorders.get(key);
+        if (recorder == null)
+        {
+            recorder = new Recorder();
+            final Recorder existing = recorders.putIfAbsent(key, recorder);
+            if (existing != null)
+            {
+                recorder = existing;
+            }
+        }
+        recorder.record(elapsed < 0 ? 0 : elapsed);
+    }
+
+    /**
+     * @param uri
+     * @param tagName
+     * @return the {@link Category#TAG} key for the tag
+     */
+    public static String getTagKey(final String uri, final String tagName)
+    {
+        return uri + ':' + tagName;
+    }
+
+    /**
+     * @param category
+     * @return a snapshot of the histograms in category, sorted by decreasing
+     *         total time
+     */
+    public List<Histogram> getHistograms(final Category category)
+    {
+        final List<Histogram> histograms = new ArrayList<Histogram>();
+        for (final Map.Entry<String, Recorder> entry : _recorders.get(category)
+                .entrySet())
+        {
+            histograms.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        Collections.sort(histograms, new Comparator<Histogram>()
+        {
+            public int compare(final Histogram o1, final Histogram o2)
+            {
+                return Long.compare(o2.getTotalNanos(), o1.getTotalNanos());
+            }
+        });
+        return histograms;
+    }
+
+    /**
+     * Drops all histograms.
+     */
+    public void reset()
+    {
+        for (final Map<String, Recorder> recorders : _recorders.values())
+        {
+            recorders.clear();
+        }
+    }
+
+    /**
+     * Prints all histograms to out, one table per category, slowest first.
+     * Times are in microseconds.
+     *
+     * @param out
+     */
+    public void dump(final PrintStream out)
+    {
+        for (final Category category : Category.values())
+        {
+            final List<Histogram> histograms = getHistograms(category);
+            if (histograms.isEmpty())
+            {
+                continue;
+            }
+            out.println(String.format("JSF validation metrics by %s:", //$NON-NLS-1$
+                    category.name().toLowerCase()));
+            out.println(String.format("%10s %12s %10s %10s %10s %10s  %s", //$NON-NLS-1$
+                    "count", "total", "mean", "p50", "p90", "max", "key")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+            for (final Histogram histogram : histograms)
+            {
+                out.println(String.format("%10d %12d %10d %10d %10d %10d  %s", //$NON-NLS-1$
+                        Long.valueOf(histogram.getCount()),
+                        Long.valueOf(histogram.getTotalNanos() / 1000),
+                        Long.valueOf(histogram.getMeanNanos() / 1000),
+                        Long.valueOf(histogram.getPercentileNanos(50) / 1000),
+                        Long.valueOf(histogram.getPercentileNanos(90) / 1000),
+                        Long.valueOf(histogram.getMaxNanos() / 1000),
+                        histogram.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Dumps the histograms to System.out if the dump trace option is set.
+     * Called by the validators when a validation run finishes.
+     */
+    public void traceDump()
+    {
+        if (_dump)
+        {
+            dump(System.out);
+        }
+    }
+
+    /**
+     * Lock-free histogram with one bucket per power of two nanoseconds.
+     */
+    private static final class Recorder
+    {
+        private final AtomicLong      _count   = new AtomicLong();
+        private final AtomicLong      _total   = new AtomicLong();
+        private final AtomicLong      _max     = new AtomicLong();
+        private final AtomicLongArray _buckets = new AtomicLongArray(
+                Histogram.NUM_BUCKETS);
+
+        void record(final long nanos)
+        {
+            _count.incrementAndGet();
+            _total.addAndGet(nanos);
+            _buckets.incrementAndGet(Histogram.getBucket(nanos));
+            long max = _max.get();
+            while (nanos > max && !_max.compareAndSet(max, nanos))
+            {
+                max = _max.get();
+            }
+        }
+
+        Histogram snapshot(final String key)
+        {
+            final long[] buckets = new long[Histogram.NUM_BUCKETS];
+            for (int i = 0; i < buckets.length; i++)
+            {
+                buckets[i] = _buckets.get(i);
+            }
+            return new Histogram(key, _count.get(), _total.get(), _max.get(),
+                    buckets);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the times recorded under one key.
+     */
+    public static final class Histogram
+    {
+        private static final int NUM_BUCKETS = 64;
+
+        private final String     _key;
+        private final long       _count;
+        private final long       _totalNanos;
+        private final long       _maxNanos;
+        private final long[]     _buckets;
+
+        private Histogram(final String key, final long count,
+                final long totalNanos, final long maxNanos,
+                final long[] buckets)
+        {
+            _key = key;
+            _count = count;
+            _totalNanos = totalNanos;
+            _maxNanos = maxNanos;
+            _buckets = buckets;
+        }
+
+        // bucket i holds times in [2^(i-1), 2^i)
+        private static int getBucket(final long nanos)
+        {
+            return Math.min(NUM_BUCKETS - 1,
+                    64 - Long.numberOfLeadingZeros(nanos));
+        }
+
+        /**
+         * @return the key the times were recorded under
+         */
+        public String getKey()
+        {
+            return _key;
+        }
+
+        /**
+         * @return the number of times recorded
+         */
+        public long getCount()
+        {
+            return _count;
+        }
+
+        /**
+         * @return the sum of the times recorded
+         */
+        public long getTotalNanos()
+        {
+            return _totalNanos;
+        }
+
+        /**
+         * @return the longest time recorded
+         */
+        public long getMaxNanos()
+        {
+            return _maxNanos;
+        }
+
+        /**
+         * @return the mean time recorded, 0 if none were
+         */
+        public long getMeanNanos()
+        {
+            return _count > 0 ? _totalNanos / _count : 0;
+        }
+
+        /**
+         * @param percentile
+         *            between 0 and 100
+         * @return an upper bound, within a factor of two, of the time that
+         *         percentile of the recorded times do not exceed
+         */
+        public long getPercentileNanos(final int percentile)
+        {
+            long total = 0;
+            for (final long bucketCount : _buckets)
+            {
+                total += bucketCount;
+            }
+            final long threshold = (total * percentile + 99) / 100;
+            long seen = 0;
+            for (int i = 0; i < _buckets.length; i++)
+            {
+                seen += _buckets[i];
+                if (seen >= threshold && seen > 0)
+                {
+                    return Math.min(_maxNanos, i == 0 ? 0
+                            : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1));
+                }
+            }
+            return _maxNanos;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.validation.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.jst.jsf.common.dom.AttributeIdentifier;
+import org.eclipse.jst.jsf.common.metadata.Entity;
+import org.eclipse.jst.jsf.common.metadata.Trait;
+import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModel;
+import org.eclipse.jst.jsf.common.metadata.internal.TraitValueHelper;
+import org.eclipse.jst.jsf.common.metadata.query.internal.MetaDataQueryContextFactory;
+import org.eclipse.jst.jsf.common.metadata.query.internal.MetaDataQueryFactory;
+import org.eclipse.jst.jsf.common.metadata.query.internal.taglib.ITaglibDomainMetaDataQuery;
+import org.eclipse.jst.jsf.context.structureddocument.IStructuredDocumentContext;
+import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
+import org.eclipse.jst.jsf.metadataprocessors.IMetaDataEnabledFeature;
+import org.eclipse.jst.jsf.metadataprocessors.ITypeDescriptor;
+import org.eclipse.jst.jsf.metadataprocessors.MetaDataContext;
+import org.eclipse.jst.jsf.metadataprocessors.MetaDataEnabledProcessingFactory;
+import org.eclipse.jst.jsf.metadataprocessors.internal.AbstractMetaDataEnabledType;
+import org.eclipse.jst.jsf.metadataprocessors.internal.AttributeValueRuntimeTypeFactory;
+import org.eclipse.jst.jsf.metadataprocessors.internal.AttributeValueRuntimeTypeRegistry;
+
+/**
+ * Caches, per project, the meta-data that attribute validation resolves for
+ * each (namespace uri, tag name, attribute name): the attribute entity, its
+ * runtime type trait and the runtime type. Validating a page then only pays
+ * for the meta-data queries of attributes that no page has used before.
+ *
+ * The feature processors themselves (IValidValues, IValidELValues, ...) hold
+ * per document state and validation messages so a fresh set is still created
+ * each time, but from the cached resolution. Which feature types have no
+ * processors at all for an attribute is remembered so that they are skipped
+ * outright.
+ *
+ * Plans are dropped whenever any meta-data model changes or the JSF
+ * preferences change. This class also holds the ValidationPreferences shared
+ * by build validation, which are reloaded on preference change.
+ *
+ * Instances are thread-safe.
+ */
+public final class ValidationPlanCache
+{
+    private static final QualifiedName SESSION_PROPERTY_KEY = new QualifiedName(
+            JSFCorePlugin.PLUGIN_ID, "ValidationPlanCache"); //$NON-NLS-1$
+    private static final Object        GET_INSTANCE_LOCK    = new Object();
+    private static final AtomicLong    PREFERENCES_COUNT    = new AtomicLong();
+    private static IPropertyChangeListener PREFERENCES_LISTENER;
+    private static volatile ValidationPreferences PREFERENCES;
+
+    private final Map<String, AttributePlan> _plans = new ConcurrentHashMap<String, AttributePlan>();
+    private long                       _metaDataCount;
+    private long                       _preferencesCount;
+
+    /**
+     * @param project
+     * @return the plan cache for project. Never null, though the cache is not
+     *         kept if project is not accessible.
+     */
+    public static ValidationPlanCache getInstance(final IProject project)
+    {
+        synchronized (GET_INSTANCE_LOCK)
+        {
+            installPreferencesListener();
+            try
+            {
+                ValidationPlanCache cache = (ValidationPlanCache) project
+                        .getSessionProperty(SESSION_PROPERTY_KEY);
+                if (cache == null)
+                {
+                    cache = new ValidationPlanCache();
+                    project.setSessionProperty(SESSION_PROPERTY_KEY, cache);
+                }
+                return cache;
+            }
+            catch (final CoreException e)
+            {
+                // project is closed or gone; nothing worth caching
+                return new ValidationPlanCache();
+            }
+        }
+    }
+
+    /**
+     * @return the JSF validation preferences. The instance returned is shared
+     *         and must not be modified; a new one is loaded whenever the
+     *         preferences change.
+     */
+    public static ValidationPreferences getPreferences()
+    {
+        ValidationPreferences prefs = PREFERENCES;
+        if (prefs == null)
+        {
+            synchronized (GET_INSTANCE_LOCK)
+            {
+                installPreferencesListener();
+                prefs = PREFERENCES;
+                if (prefs == null)
+                {
+                    prefs = new ValidationPreferences(JSFCorePlugin
+                            .getDefault().getPreferenceStore());
+                    prefs.load();
+                    PREFERENCES = prefs;
+                }
+            }
+        }
+        return prefs;
+    }
+
+    private static void installPreferencesListener()
+    {
+        if (PREFERENCES_LISTENER == null)
+        {
+            PREFERENCES_LISTENER = new IPropertyChangeListener()
+            {
+                public void propertyChange(final PropertyChangeEvent event)
+                {
+                    PREFERENCES = null;
+                    PREFERENCES_COUNT.incrementAndGet();
+                }
+            };
+            final IPreferenceStore prefStore = JSFCorePlugin.getDefault()
+                    .getPreferenceStore();
+            prefStore.addPropertyChangeListener(PREFERENCES_LISTENER);
+        }
+    }
+
+    private ValidationPlanCache()
+    {
+        _metaDataCount = MetaDataModel.getModificationCount();
+        _preferencesCount = PREFERENCES_COUNT.get();
+    }
+
+    /**
+     * Equivalent to
+     * MetaDataEnabledProcessingFactory.getAttributeValueRuntimeTypeFeatureProcessors(featureType,
+     * sdContext, attributeId) but with the meta-data resolution cached.
+     *
+     * @param featureType
+     * @param sdContext
+     * @param file
+     *            the file being validated
+     * @param attributeId
+     * @return the processors of featureType for the attribute
+     */
+    public List<IMetaDataEnabledFeature> getFeatureProcessors(
+            final Class featureType, final IStructuredDocumentContext sdContext,
+            final IFile file, final AttributeIdentifier attributeId)
+    {
+        final String uri = attributeId.getTagIdentifier().getUri();
+        final String tagName = attributeId.getTagIdentifier().getTagName();
+        final String attrName = attributeId.getName();
+
+        return getPlan(file, uri, tagName, attrName).createProcessors(
+                featureType, sdContext);
+    }
+
+    /**
+     * @return the number of attributes planned
+     */
+    public int size()
+    {
+        checkCurrent();
+        return _plans.size();
+    }
+
+    private AttributePlan getPlan(final IFile file, final String uri,
+            final String tagName, final String attrName)
+    {
+        checkCurrent();
+        final String key = uri + "#" + tagName + "/" + attrName; //$NON-NLS-1$ //$NON-NLS-2$
+        AttributePlan plan = _plans.get(key);
+        if (plan == null)
+        {
+            // capture the counts the plan is built against so a plan resolved
+            // from a model that changed meanwhile is never cached
+            final long metaDataCount = MetaDataModel.getModificationCount();
+            final long preferencesCount = PREFERENCES_COUNT.get();
+            plan = createPlan(file, uri, tagName, attrName);
+            synchronized (this)
+            {
+                checkCurrent();
+                if (metaDataCount == _metaDataCount
+                        && preferencesCount == _preferencesCount)
+                {
+                    _plans.put(key, plan);
+                }
+            }
+        }
+        return plan;
+    }
+
+    private synchronized void checkCurrent()
+    {
+        final long metaDataCount = MetaDataModel.getModificationCount();
+        final long preferencesCount = PREFERENCES_COUNT.get();
+        if (metaDataCount != _metaDataCount
+                || preferencesCount != _preferencesCount)
+        {
+            _plans.clear();
+            _metaDataCount = metaDataCount;
+            _preferencesCount = preferencesCount;
+        }
+    }
+
+    private static AttributePlan createPlan(final IFile file,
+            final String uri, final String tagName, final String attrName)
+    {
+        final ITaglibDomainMetaDataQuery query = MetaDataQueryFactory
+                .getInstance().createQuery(
+                        MetaDataQueryContextFactory.getInstance()
+                                .createTaglibDomainModelContext(file));
+        final Entity attrEntity = query.getQueryHelper().getEntity(uri,
+                tagName + "/" + attrName); //$NON-NLS-1$
+        if (attrEntity == null)
+        {
+            return AttributePlan.NO_METADATA;
+        }
+
+        final Trait trait = query.findTrait(attrEntity,
+                MetaDataEnabledProcessingFactory.ATTRIBUTE_VALUE_RUNTIME_TYPE_PROP_NAME);
+        if (trait == null)
+        {
+            return AttributePlan.NO_METADATA;
+        }
+
+        final AbstractMetaDataEnabledType type = AttributeValueRuntimeTypeRegistry
+                .getInstance().getType(TraitValueHelper.getValueAsString(trait));
+        if (type == null)
+        {
+            return AttributePlan.NO_METADATA;
+        }
+        return new AttributePlan(attrEntity, trait, type);
+    }
+
+    private static final class AttributePlan
+    {
+        static final AttributePlan NO_METADATA = new AttributePlan(null, null,
+                null);
+
+        private final Entity                      _attrEntity;
+        private final Trait                       _trait;
+        private final AbstractMetaDataEnabledType _type;
+        // feature types known to have no processors for this attribute
+        private final Map<Class, Boolean>         _noProcessors = new ConcurrentHashMap<Class, Boolean>();
+
+        AttributePlan(final Entity attrEntity, final Trait trait,
+                final AbstractMetaDataEnabledType type)
+        {
+            _attrEntity = attrEntity;
+            _trait = trait;
+            _type = type;
+        }
+
+        List<IMetaDataEnabledFeature> createProcessors(
+                final Class featureType,
+                final IStructuredDocumentContext sdContext)
+        {
+            if (_type == null || _noProcessors.containsKey(featureType))
+            {
+                return Collections.emptyList();
+            }
+
+            final ITypeDescriptor typeDescriptor = AttributeValueRuntimeTypeFactory
+                    .getInstance().getType(_type);
+            if (typeDescriptor == null)
+            {
+                _noProcessors.put(featureType, Boolean.TRUE);
+                return Collections.emptyList();
+            }
+
+            final List<IMetaDataEnabledFeature> featureAdapters = typeDescriptor
+                    .getFeatureAdapters(featureType);
+            if (featureAdapters.isEmpty())
+            {
+                _noProcessors.put(featureType, Boolean.TRUE);
+                return Collections.emptyList();
+            }
+
+            final MetaDataContext context = new MetaDataContext(_attrEntity,
+                    _trait);
+            final List<IMetaDataEnabledFeature> processors = new ArrayList<IMetaDataEnabledFeature>(
+                    featureAdapters.size());
+            for (final IMetaDataEnabledFeature feature : featureAdapters)
+            {
+                feature.setMetaDataContext(context);
+                feature.setStructuredDocumentContext(sdContext);
+                processors.add(feature);
+            }
+            return Collections.unmodifiableList(processors);
+        }
+    }
+}
@@ -13,10 +13,23 @@
 package org.eclipse.jst.jsf.validation.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.core.internal.region.Region2AttrAdapter;
 import org.eclipse.jst.jsf.core.internal.region.Region2ElementAdapter;
@@ -32,6 +45,7 @@ import org.eclipse.wst.sse.core.StructuredModelManager;
 import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
 import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
 import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocumentRegion;
+import org.eclipse.wst.validation.internal.provisional.core.IMessage;
 import org.eclipse.wst.xml.core.internal.regions.DOMRegionContext;
 
 /**
@@ -52,6 +66,8 @@ public class XMLViewDefnValidator implements IJSFViewValidator
         DEBUG = value != null && value.equalsIgnoreCase("true"); //$NON-NLS-1$
     }
 
+    private static final int MAX_DEFAULT_BATCH_WORKERS = 4;
+
     // default.  Overridable by calling setSymbolResolverFactory
     private IStructuredDocumentSymbolResolverFactory   _symbolResolverFactory =
         StructuredDocumentSymbolResolverFactory.getInstance();
@@ -153,6 +169,155 @@ public class XMLViewDefnValidator implements IJSFViewValidator
         }
     }
 
+    /**
+     * Validates a batch of view files, such as all the views in a project
+     * during a build, on up to {@link #getDefaultBatchWorkers()} threads.
+     * 
+     * @param viewFiles
+     * @param reporters
+     * @param monitor
+     * @see #validateViews(List, Map, int, IProgressMonitor)
+     */
+    public void validateViews(final List<IFile> viewFiles,
+            final Map<IFile, ? extends IValidationReporter> reporters,
+            final IProgressMonitor monitor)
+    {
+        validateViews(viewFiles, reporters, getDefaultBatchWorkers(), monitor);
+    }
+
+    /**
+     * Validates a batch of view files on up to numWorkers threads. Each file
+     * is validated exactly as validateView(IFile, IValidationReporter) would,
+     * with its own JSFValidationContext confined to the worker validating it.
+     * 
+     * The reporters are only ever called on the calling thread: the problems
+     * found in each file are held until that file and all the files before
+     * it in viewFiles are done, and are then reported in the order they were
+     * found. So the reporters see exactly the same sequence of problems
+     * whatever the number of workers.
+     * 
+     * Resolving symbols may refresh a JSP model, which needs the file's
+     * scheduling rule. The calling thread only waits on the workers, so if it
+     * holds a rule (for example the project's during a build) a worker could
+     * wait for that rule forever. So when the calling thread holds any rule
+     * every file is validated on the calling thread.
+     * 
+     * @param viewFiles
+     * @param reporters
+     *            the reporter for each file in viewFiles. Files without a
+     *            reporter are skipped.
+     * @param numWorkers
+     *            the maximum number of files validated at once. 1 or less
+     *            validates every file on the calling thread, as does calling
+     *            while holding a scheduling rule.
+     * @param monitor
+     *            checked for cancellation before each file is started. May
+     *            be null.
+     */
+    public void validateViews(final List<IFile> viewFiles,
+            final Map<IFile, ? extends IValidationReporter> reporters,
+            final int numWorkers, final IProgressMonitor monitor)
+    {
+        if (numWorkers <= 1 || viewFiles.size() <= 1
+                || Job.getJobManager().currentRule() != null)
+        {
+            for (final IFile viewFile : viewFiles)
+            {
+                final IValidationReporter reporter = reporters.get(viewFile);
+                if (isCanceled(monitor))
+                {
+                    return;
+                }
+                if (reporter != null)
+                {
+                    validateView(viewFile, reporter);
+                }
+            }
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math
+                .min(numWorkers, viewFiles.size()), new WorkerThreadFactory());
+        try
+        {
+            final List<IValidationReporter> targets = new ArrayList<IValidationReporter>();
+            final List<Future<BufferedReporter>> results = new ArrayList<Future<BufferedReporter>>();
+            for (final IFile viewFile : viewFiles)
+            {
+                final IValidationReporter reporter = reporters.get(viewFile);
+                if (reporter == null)
+                {
+                    continue;
+                }
+                targets.add(reporter);
+                results.add(executor.submit(new Callable<BufferedReporter>()
+                {
+                    public BufferedReporter call() throws Exception
+                    {
+                        final BufferedReporter buffer = new BufferedReporter();
+                        if (!isCanceled(monitor))
+                        {
+                            validateView(viewFile, buffer);
+                        }
+                        return buffer;
+                    }
+                }));
+            }
+
+            for (int i = 0; i < results.size(); i++)
+            {
+                try
+                {
+                    results.get(i).get().replay(targets.get(i));
+                }
+                catch (final InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                catch (final ExecutionException e)
+                {
+                    JSFCorePlugin.log("Error validating JSF", e.getCause()); //$NON-NLS-1$
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The default number of workers used for batch validation. This is the
+     * number of processors, capped at 4, or the value of the system property
+     * "org.eclipse.jst.jsf.core.validation.batchWorkers".
+     * 
+     * @return the default number of batch validation workers
+     */
+    public static int getDefaultBatchWorkers()
+    {
+        final String value = System
+                .getProperty("org.eclipse.jst.jsf.core.validation.batchWorkers"); //$NON-NLS-1$
+        if (value != null)
+        {
+            try
+            {
+                return Math.max(1, Integer.parseInt(value.trim()));
+            }
+            catch (final NumberFormatException e)
+            {
+                // fall through to the default
+            }
+        }
+        return Math.min(MAX_DEFAULT_BATCH_WORKERS, Runtime.getRuntime()
+                .availableProcessors());
+    }
+
+    private static boolean isCanceled(final IProgressMonitor monitor)
+    {
+        return monitor != null && monitor.isCanceled();
+    }
+
     public void validateView(IFile viewFile,
             IStructuredDocumentRegion[] regions, IValidationReporter reporter)
     {
@@ -185,9 +350,8 @@ public class XMLViewDefnValidator implements IJSFViewValidator
             final boolean isIncremental, final IFile file,
             final IValidationReporter reporter)
     {
-        final ValidationPreferences prefs = new ValidationPreferences(
-                JSFCorePlugin.getDefault().getPreferenceStore());
-        prefs.load();
+        final ValidationPreferences prefs = ValidationPlanCache
+                .getPreferences();
         final DiagnosticFactory diagnosticFactory = new DiagnosticFactory();
 
         final IDTViewHandler viewHandler = DTAppManagerUtil.getViewHandler(file
@@ -202,4 +366,71 @@ public class XMLViewDefnValidator implements IJSFViewValidator
         return new JSFValidationContext(isIncremental, prefs, viewHandler,
                 diagnosticFactory, file, reporter, _symbolResolverFactory);
     }
+
+    /**
+     * Holds the problems reported for one file so that they can be passed on
+     * to the real reporter later on another thread.
+     */
+    private static final class BufferedReporter implements IValidationReporter
+    {
+        private final List<Report> _reports = new ArrayList<Report>();
+
+        public void report(final Diagnostic problem, final int start,
+                final int length)
+        {
+            _reports.add(new Report(problem, start, length, null));
+        }
+
+        public void report(final IMessage message)
+        {
+            _reports.add(new Report(null, 0, 0, message));
+        }
+
+        @SuppressWarnings("deprecation")
+        void replay(final IValidationReporter reporter)
+        {
+            for (final Report report : _reports)
+            {
+                if (report._message != null)
+                {
+                    reporter.report(report._message);
+                }
+                else
+                {
+                    reporter.report(report._problem, report._start,
+                            report._length);
+                }
+            }
+        }
+    }
+
+    private static final class Report
+    {
+        private final Diagnostic _problem;
+        private final int        _start;
+        private final int        _length;
+        private final IMessage   _message;
+
+        Report(final Diagnostic problem, final int start, final int length,
+                final IMessage message)
+        {
+            _problem = problem;
+            _start = start;
+            _length = length;
+            _message = message;
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger _count = new AtomicInteger();
+
+        public Thread newThread(final Runnable r)
+        {
+            final Thread thread = new Thread(r, "JSF view validation " //$NON-NLS-1$
+                    + _count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -77,11 +77,30 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
     private final EvaluationTracker                 _tracker;
     private final DiagnosticFactory                 _diagnosticFactory;
     private final IValidationReporter               _reporter;
+    private final String                            _memoKey;
+    private ELSemanticValidationCache.Result        _recording;
 
     ASTSemanticValidator(final ASTExpression expr,
             final IStructuredDocumentContext context,
             final IStructuredDocumentSymbolResolverFactory symbolResolverFactory,
             final IValidationReporter reporter)
+    {
+        this(expr, null, context, symbolResolverFactory, reporter);
+    }
+
+    /**
+     * @param expr
+     * @param elText
+     *            the text expr was parsed from. If not null, the result of
+     *            validation is memoized for the project under it.
+     * @param context
+     * @param symbolResolverFactory
+     * @param reporter
+     */
+    ASTSemanticValidator(final ASTExpression expr, final String elText,
+            final IStructuredDocumentContext context,
+            final IStructuredDocumentSymbolResolverFactory symbolResolverFactory,
+            final IValidationReporter reporter)
     {
         final IWorkspaceContextResolver resolver = IStructuredDocumentContextResolverFactory.INSTANCE
                 .getWorkspaceContextResolver(context);
@@ -101,6 +120,9 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
         _tracker = new EvaluationTracker();
         _diagnosticFactory = new DiagnosticFactory();
         _reporter = reporter;
+        _memoKey = elText != null && _targetFile != null ? symbolResolverFactory
+                .getClass().getName()
+                + '\n' + elText : null;
     }
 
     /* (non-Javadoc)
@@ -108,7 +130,48 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
      */
     public void validate()
     {
-        _expr.jjtAccept(this, _tracker);
+        final ELSemanticValidationCache memo = _memoKey != null
+                && _symbolResolver != null ? ELSemanticValidationCache
+                .getInstance(_targetFile) : null;
+        if (memo == null)
+        {
+            _expr.jjtAccept(this, _tracker);
+            return;
+        }
+
+        final ELSemanticValidationCache.Result result = memo.get(_memoKey,
+                _symbolResolver);
+        if (result != null)
+        {
+            result.report(_reporter, _context.getDocumentPosition());
+            _tracker.setType(result.getType());
+            return;
+        }
+
+        final long environmentCount = ELSemanticValidationCache
+                .getEnvironmentCount();
+        _recording = new ELSemanticValidationCache.Result();
+        try
+        {
+            _expr.jjtAccept(this, _tracker);
+            _recording.setType(_tracker.getType());
+            memo.put(_memoKey, _recording, environmentCount);
+        }
+        finally
+        {
+            _recording = null;
+        }
+    }
+
+    private void report(final Diagnostic diagnostic, final int offset,
+            final int length)
+    {
+        if (_recording != null)
+        {
+            _recording.addDiagnostic(diagnostic, offset
+                    - _context.getDocumentPosition(), length);
+        }
+        _reporter.report(diagnostic, offset, length);
     }
 
     public Object visit(final ASTAddExpression node, final Object data)
@@ -154,7 +217,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
                 final Token firstToken = node.getFirstToken();
                 final int offset = _context.getDocumentPosition() + firstToken.beginColumn - 1;
                 final int length = node.getLastToken().endColumn - firstToken.beginColumn+1;
-                _reporter.report(diagnostic, offset, length);
+                report(diagnostic, offset, length);
             }
 
             ((EvaluationTracker)data).setType(operator.perform(choiceArg, whenTrueArg, whenFalseArg));
@@ -293,7 +356,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
                     {
                         final int offset = _context.getDocumentPosition() + firstToken.beginColumn - 1;
                         final int length = node.getLastToken().endColumn - firstToken.beginColumn+1;
-                        _reporter.report(diagnostic, offset, length);
+                        report(diagnostic, offset, length);
                     }
 
                     ((EvaluationTracker)data).
@@ -310,7 +373,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
                     Diagnostic diagnostic = 
                         _diagnosticFactory.create_CANNOT_APPLY_OPERATOR_TO_METHOD_BINDING();
                     
-                    _reporter.report(diagnostic, offset, length);
+                    report(diagnostic, offset, length);
                 }
             }
         }
@@ -340,7 +403,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
             final Diagnostic diagnostic = 
                 _diagnosticFactory.create_MEMBER_IS_INTERMEDIATE(
                         ((IPropertySymbol)((IObjectSymbolBasedValueType)type).getSymbol()).getName());
-            _reporter.report(diagnostic, offset, length);
+            report(diagnostic, offset, length);
         }
 
         return data;
@@ -354,6 +417,10 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
             final String image = token.image;
 
             final ISymbol symbol = _symbolResolver.getVariable(image);
+            if (_recording != null)
+            {
+                _recording.addVariable(image, symbol);
+            }
 
             if (symbol == null)
             {
@@ -366,7 +433,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
 
                 if (diagnostic.getSeverity() != Diagnostic.OK)
                 {
-                    _reporter.report(diagnostic, offset, length);
+                    report(diagnostic, offset, length);
                 }
             }
             else if (symbol instanceof IInstanceSymbol)
@@ -409,7 +476,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
 
                 if (diagnostic.getSeverity() != Diagnostic.OK)
                 {
-                    _reporter.report(diagnostic, offset, length);
+                    report(diagnostic, offset, length);
                     ((EvaluationTracker) data).setType(null);
                 }
                 else
@@ -458,7 +525,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
 
                     if (diagnostic.getSeverity() != Diagnostic.OK)
                     {
-                        _reporter.report(diagnostic, offset, length);
+                        report(diagnostic, offset, length);
                         ((EvaluationTracker) data).setType(null);
                     }
                     else
@@ -536,7 +603,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
                     final Token firstToken = node.getFirstToken();
                     final int offset = _context.getDocumentPosition() + firstToken.beginColumn - 1;
                     final int length = node.getLastToken().endColumn - firstToken.beginColumn+1;
-                    _reporter.report(diagnostic, offset, length);
+                    report(diagnostic, offset, length);
                 }
 
                 curType = operator.performOperation(curType, secondType);
@@ -557,7 +624,7 @@ class ASTSemanticValidator implements JSPELParserVisitor, IExpressionSemanticVal
             final int offset = _context.getDocumentPosition() + node.getFirstToken().beginColumn - 1;
             final int length = node.getLastToken().endColumn - node.getFirstToken().beginColumn+1;
             final Diagnostic diagnostic = _diagnosticFactory.create_CANNOT_APPLY_OPERATOR_TO_METHOD_BINDING();
-            _reporter.report(diagnostic, offset, length);
+            report(diagnostic, offset, length);
         }
 
         return null;
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.validation.internal.el;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jst.jsp.core.internal.java.jspel.ASTExpression;
+import org.eclipse.jst.jsp.core.internal.java.jspel.JSPELParser;
+import org.eclipse.jst.jsp.core.internal.java.jspel.ParseException;
+import org.eclipse.jst.jsp.core.internal.java.jspel.TokenMgrError;
+
+/**
+ * A bounded, least recently used cache of parsed EL expressions keyed by the
+ * expression text. It is shared by EL validation and content assist, since
+ * the same expressions tend to appear many times across a web application's
+ * views and are parsed again on every validation pass and completion request.
+ *
+ * The expression text is used exactly as given: the token positions in the
+ * tree are relative to it, so texts that differ only by white space are
+ * cached separately. Only successful parses are cached.
+ *
+ * The trees returned are shared and so must be treated as immutable.
+ *
+ * The size of the shared cache can be set with the system property
+ * "org.eclipse.jst.jsf.core.el.astCacheSize"; 0 disables caching.
+ */
+public final class ELExpressionCache
+{
+    private static final int DEFAULT_MAX_SIZE = 2000;
+    private static final ELExpressionCache INSTANCE = new ELExpressionCache(
+            getDefaultMaxSize());
+
+    private final int _maxSize;
+    private final Map<String, ASTExpression> _expressions;
+    private final AtomicLong _hits = new AtomicLong();
+    private final AtomicLong _misses = new AtomicLong();
+
+    /**
+     * @return the cache shared by validation and content assist
+     */
+    public static ELExpressionCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Use {@link #getInstance()} rather than creating new caches; this is
+     * public for testing.
+     *
+     * @param maxSize
+     *            the maximum number of expressions kept
+     */
+    public ELExpressionCache(final int maxSize)
+    {
+        _maxSize = maxSize;
+        _expressions = new LinkedHashMap<String, ASTExpression>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    final Map.Entry<String, ASTExpression> eldest)
+            {
+                return size() > _maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param elText
+     * @return the parsed expression for elText. Must not be modified.
+     * @throws ParseException
+     *             if elText is not a valid expression
+     * @throws TokenMgrError
+     *             if elText can't be tokenized
+     */
+    public ASTExpression parse(final String elText) throws ParseException
+    {
+        if (_maxSize > 0)
+        {
+            synchronized (_expressions)
+            {
+                final ASTExpression expr = _expressions.get(elText);
+                if (expr != null)
+                {
+                    _hits.incrementAndGet();
+                    return expr;
+                }
+            }
+        }
+
+        _misses.incrementAndGet();
+        // a new parser rather than JSPELParser.createParser, which reuses a
+        // single instance, so that parsing is safe on any thread
+        final ASTExpression expr = new JSPELParser(new StringReader(elText))
+                .Expression();
+        if (_maxSize > 0)
+        {
+            synchronized (_expressions)
+            {
+                _expressions.put(elText, expr);
+            }
+        }
+        return expr;
+    }
+
+    /**
+     * @return the number of requests answered from the cache
+     */
+    public long getHitCount()
+    {
+        return _hits.get();
+    }
+
+    /**
+     * @return the number of requests that had to parse
+     */
+    public long getMissCount()
+    {
+        return _misses.get();
+    }
+
+    /**
+     * @return the number of expressions cached
+     */
+    public int size()
+    {
+        synchronized (_expressions)
+        {
+            return _expressions.size();
+        }
+    }
+
+    /**
+     * Drops all cached expressions and resets the counters.
+     */
+    public void clear()
+    {
+        synchronized (_expressions)
+        {
+            _expressions.clear();
+        }
+        _hits.set(0);
+        _misses.set(0);
+    }
+
+    private static int getDefaultMaxSize()
+    {
+        final String value = System
+                .getProperty("org.eclipse.jst.jsf.core.el.astCacheSize"); //$NON-NLS-1$
+        if (value != null)
+        {
+            try
+            {
+                return Math.max(0, Integer.parseInt(value.trim()));
+            }
+            catch (final NumberFormatException e)
+            {
+                // fall through to the default
+            }
+        }
+        return DEFAULT_MAX_SIZE;
+    }
+}
@@ -20,9 +20,10 @@ import org.eclipse.jst.jsf.common.internal.types.SignatureBasedType;
 import org.eclipse.jst.jsf.context.structureddocument.IStructuredDocumentContext;
 import org.eclipse.jst.jsf.designtime.resolver.IStructuredDocumentSymbolResolverFactory;
 import org.eclipse.jst.jsf.validation.internal.IJSFViewValidator.IValidationReporter;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics.Category;
 import org.eclipse.jst.jsf.validation.internal.el.diagnostics.DiagnosticFactory;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ASTExpression;
-import org.eclipse.jst.jsp.core.internal.java.jspel.JSPELParser;
 import org.eclipse.jst.jsp.core.internal.java.jspel.ParseException;
 import org.eclipse.jst.jsp.core.internal.java.jspel.Token;
 import org.eclipse.jst.jsp.core.internal.java.jspel.TokenMgrError;
@@ -72,19 +73,22 @@ public class ELExpressionValidator
     		return null;
     	}
 
-        JSPELParser elParser = JSPELParser.createParser(_elText);
-        // = 
         try {
-            //final long startParsing = System.currentTimeMillis();
-            final ASTExpression expr =  elParser.Expression();
-            //final long endParsing = System.currentTimeMillis();
-            //final long startSemantics = System.currentTimeMillis();
+            final ValidationMetrics metrics = ValidationMetrics.getInstance();
+            final long startParsing = metrics.start();
+            final ASTExpression expr;
+            try
+            {
+                expr = ELExpressionCache.getInstance().parse(_elText);
+            }
+            finally
+            {
+                metrics.record(Category.PHASE, ValidationMetrics.PHASE_PARSE, startParsing);
+            }
+            final long startSemantics = metrics.start();
             validateSemantics(expr, _context);
-            //final long endSemantics = System.currentTimeMillis();
+            metrics.record(Category.PHASE, ValidationMetrics.PHASE_RESOLVE, startSemantics);
 
-            //System.out.println("Time to parse '"+elText+"' = "+(endParsing-startParsing));
-            //System.out.println("Time to semantic checking '"+elText+"' = "+(endSemantics-startSemantics));
-            
             // if the parser bailed before parsing the whole
             // expression, raise a warning that there is probably
             // some syntatical issue
@@ -181,7 +185,7 @@ public class ELExpressionValidator
      */
     private void validateSemantics(ASTExpression expr,IStructuredDocumentContext context)
     {
-        _semanticValidator = new ASTSemanticValidator(expr, context, _symbolResolverFactory, _reporter);
+        _semanticValidator = new ASTSemanticValidator(expr, _elText, context, _symbolResolverFactory, _reporter);
         _semanticValidator.validate();
     }
 }
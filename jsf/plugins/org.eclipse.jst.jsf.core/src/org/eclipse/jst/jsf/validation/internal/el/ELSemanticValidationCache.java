@@ -0,0 +1,509 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.validation.internal.el;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.core.runtime.content.IContentType;
+import org.eclipse.core.runtime.content.IContentTypeManager;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jst.jsf.common.internal.types.SignatureBasedType;
+import org.eclipse.jst.jsf.context.symbol.IInstanceSymbol;
+import org.eclipse.jst.jsf.context.symbol.IJavaTypeDescriptor2;
+import org.eclipse.jst.jsf.context.symbol.IObjectSymbol;
+import org.eclipse.jst.jsf.context.symbol.ISymbol;
+import org.eclipse.jst.jsf.context.symbol.ITypeDescriptor;
+import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
+import org.eclipse.jst.jsf.designtime.resolver.ISymbolContextResolver;
+import org.eclipse.jst.jsf.validation.internal.IJSFViewValidator.IValidationReporter;
+
+/**
+ * A per-project, bounded, least recently used memo of EL semantic validation
+ * results keyed by the expression text. The same expressions appear on many
+ * pages of an application, so validating a project only evaluates the
+ * member accesses and operators of each distinct expression once.
+ *
+ * A result holds the diagnostics reported, with offsets relative to the
+ * expression, and the expression's type. It also holds a key for the symbol
+ * that each variable of the expression resolved to, made of its name, kind,
+ * runtime source and Java type signature, and is only reused where all of
+ * the variables resolve to symbols with the same keys again. Symbols are
+ * compared by value since providers hand out a copy per lookup. The members
+ * of map and list variables (loadBundle vars, the scope maps, ...) don't
+ * come from a Java type, so expressions using them are never memoized.
+ *
+ * All results are dropped when any Java element changes or any resource
+ * other than a JSP or HTML view changes, since either may change what the
+ * members of a variable resolve to.
+ *
+ * The size of each project's memo can be set with the system property
+ * "org.eclipse.jst.jsf.core.el.semanticCacheSize"; 0 disables it.
+ *
+ * Instances are thread-safe.
+ */
+public final class ELSemanticValidationCache
+{
+    private static final int           DEFAULT_MAX_SIZE     = 5000;
+    private static final int           MAX_SIZE             = getDefaultMaxSize();
+    private static final QualifiedName SESSION_PROPERTY_KEY = new QualifiedName(
+            JSFCorePlugin.PLUGIN_ID, "ELSemanticValidationCache"); //$NON-NLS-1$
+    private static final Object        GET_INSTANCE_LOCK    = new Object();
+    private static final AtomicLong    ENVIRONMENT_COUNT    = new AtomicLong();
+    private static IElementChangedListener JAVA_LISTENER;
+    private static IResourceChangeListener RESOURCE_LISTENER;
+
+    private final int                  _maxSize;
+    private final Map<String, Result>  _results;
+    private final AtomicLong           _hits                = new AtomicLong();
+    private final AtomicLong           _misses              = new AtomicLong();
+    private long                       _environmentCount;
+
+    /**
+     * @param project
+     * @return the memo for project. Never null, though the memo is not kept
+     *         if project is not accessible.
+     */
+    public static ELSemanticValidationCache getInstance(final IProject project)
+    {
+        synchronized (GET_INSTANCE_LOCK)
+        {
+            installListeners();
+            try
+            {
+                ELSemanticValidationCache cache = (ELSemanticValidationCache) project
+                        .getSessionProperty(SESSION_PROPERTY_KEY);
+                if (cache == null)
+                {
+                    cache = new ELSemanticValidationCache(MAX_SIZE);
+                    project.setSessionProperty(SESSION_PROPERTY_KEY, cache);
+                }
+                return cache;
+            }
+            catch (final CoreException e)
+            {
+                // project is closed or gone; nothing worth caching
+                return new ELSemanticValidationCache(0);
+            }
+        }
+    }
+
+    private static void installListeners()
+    {
+        if (JAVA_LISTENER == null)
+        {
+            JAVA_LISTENER = new IElementChangedListener()
+            {
+                public void elementChanged(final ElementChangedEvent event)
+                {
+                    ENVIRONMENT_COUNT.incrementAndGet();
+                }
+            };
+            JavaCore.addElementChangedListener(JAVA_LISTENER,
+                    ElementChangedEvent.POST_CHANGE);
+
+            RESOURCE_LISTENER = new IResourceChangeListener()
+            {
+                public void resourceChanged(final IResourceChangeEvent event)
+                {
+                    final IResourceDelta delta = event.getDelta();
+                    if (delta != null && hasEnvironmentChange(delta))
+                    {
+                        ENVIRONMENT_COUNT.incrementAndGet();
+                    }
+                }
+            };
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(
+                    RESOURCE_LISTENER, IResourceChangeEvent.POST_CHANGE);
+        }
+    }
+
+    private static boolean hasEnvironmentChange(final IResourceDelta delta)
+    {
+        final boolean[] changed = new boolean[1];
+        try
+        {
+            delta.accept(new IResourceDeltaVisitor()
+            {
+                public boolean visit(final IResourceDelta child)
+                {
+                    if (changed[0])
+                    {
+                        return false;
+                    }
+                    if (child.getResource().getType() == IResource.FILE
+                            && (child.getKind() != IResourceDelta.CHANGED
+                                    || (child.getFlags() & ~IResourceDelta.MARKERS) != 0)
+                            && !isView(child.getResource().getName()))
+                    {
+                        changed[0] = true;
+                        return false;
+                    }
+                    return true;
+                }
+            });
+        }
+        catch (final CoreException e)
+        {
+            return true;
+        }
+        return changed[0];
+    }
+
+    private static boolean isView(final String fileName)
+    {
+        final IContentTypeManager contentTypeMgr = Platform
+                .getContentTypeManager();
+        final IContentType contentType = contentTypeMgr
+                .findContentTypeFor(fileName);
+        if (contentType == null)
+        {
+            return false;
+        }
+        final IContentType jspSourceType = contentTypeMgr
+                .getContentType("org.eclipse.jst.jsp.core.jspsource"); //$NON-NLS-1$
+        final IContentType htmlSourceType = contentTypeMgr
+                .getContentType("org.eclipse.wst.html.core.htmlsource"); //$NON-NLS-1$
+        return (jspSourceType != null && contentType.isKindOf(jspSourceType))
+                || (htmlSourceType != null && contentType
+                        .isKindOf(htmlSourceType));
+    }
+
+    /**
+     * Use {@link #getInstance(IProject)} rather than creating new memos; this
+     * is public for testing.
+     *
+     * @param maxSize
+     *            the maximum number of results kept
+     */
+    public ELSemanticValidationCache(final int maxSize)
+    {
+        _maxSize = maxSize;
+        _results = new LinkedHashMap<String, Result>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    final Map.Entry<String, Result> eldest)
+            {
+                return size() > _maxSize;
+            }
+        };
+        _environmentCount = ENVIRONMENT_COUNT.get();
+    }
+
+    /**
+     * @param key
+     * @param symbolResolver
+     *            the resolver of the document being validated
+     * @return the result memoized for key if it applies to the variables of
+     *         symbolResolver, else null
+     */
+    Result get(final String key, final ISymbolContextResolver symbolResolver)
+    {
+        if (_maxSize <= 0)
+        {
+            return null;
+        }
+
+        final Result result;
+        synchronized (_results)
+        {
+            checkCurrent();
+            result = _results.get(key);
+        }
+        if (result != null && result.appliesTo(symbolResolver))
+        {
+            _hits.incrementAndGet();
+            return result;
+        }
+        _misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @param key
+     * @param result
+     * @param environmentCount
+     *            the value of {@link #getEnvironmentCount()} from before the
+     *            result was computed
+     */
+    void put(final String key, final Result result, final long environmentCount)
+    {
+        if (_maxSize <= 0 || !result.isReusable())
+        {
+            return;
+        }
+
+        synchronized (_results)
+        {
+            checkCurrent();
+            // don't keep results computed against an older environment
+            if (environmentCount == _environmentCount)
+            {
+                _results.put(key, result);
+            }
+        }
+    }
+
+    /**
+     * @return the current version of the symbol and type environment
+     */
+    static long getEnvironmentCount()
+    {
+        return ENVIRONMENT_COUNT.get();
+    }
+
+    /**
+     * @return the number of validations answered from the memo
+     */
+    public long getHitCount()
+    {
+        return _hits.get();
+    }
+
+    /**
+     * @return the number of validations that had to be evaluated
+     */
+    public long getMissCount()
+    {
+        return _misses.get();
+    }
+
+    /**
+     * @return the number of results memoized
+     */
+    public int size()
+    {
+        synchronized (_results)
+        {
+            checkCurrent();
+            return _results.size();
+        }
+    }
+
+    /**
+     * Drops all results and resets the counters.
+     */
+    public void clear()
+    {
+        synchronized (_results)
+        {
+            _results.clear();
+        }
+        _hits.set(0);
+        _misses.set(0);
+    }
+
+    // must be called holding _results
+    private void checkCurrent()
+    {
+        final long environmentCount = ENVIRONMENT_COUNT.get();
+        if (environmentCount != _environmentCount)
+        {
+            _results.clear();
+            _environmentCount = environmentCount;
+        }
+    }
+
+    private static int getDefaultMaxSize()
+    {
+        final String value = System
+                .getProperty("org.eclipse.jst.jsf.core.el.semanticCacheSize"); //$NON-NLS-1$
+        if (value != null)
+        {
+            try
+            {
+                return Math.max(0, Integer.parseInt(value.trim()));
+            }
+            catch (final NumberFormatException e)
+            {
+                // fall through to the default
+            }
+        }
+        return DEFAULT_MAX_SIZE;
+    }
+
+    /**
+     * @param symbol
+     *            the symbol a variable resolved to, may be null
+     * @return a key that is equal for two symbols when expressions using
+     *         either validate the same way, or null if symbol's members
+     *         don't come from a Java type. This is public for testing.
+     */
+    public static String getVariableKey(final ISymbol symbol)
+    {
+        if (symbol == null)
+        {
+            return ""; //$NON-NLS-1$
+        }
+        if (!(symbol instanceof IObjectSymbol))
+        {
+            return null;
+        }
+
+        final IObjectSymbol objectSymbol = (IObjectSymbol) symbol;
+        final StringBuffer key = new StringBuffer();
+        key.append(symbol.eClass().getName()).append('\n');
+        key.append(symbol.getName()).append('\n');
+        if (symbol instanceof IInstanceSymbol)
+        {
+            key.append(((IInstanceSymbol) symbol).getRuntimeSource()).append('\n');
+        }
+        key.append(objectSymbol.isReadable()).append(objectSymbol.isWritable());
+
+        final ITypeDescriptor typeDesc = objectSymbol.getTypeDescriptor();
+        if (typeDesc != null)
+        {
+            if (!(typeDesc instanceof IJavaTypeDescriptor2))
+            {
+                return null;
+            }
+            key.append('\n').append(typeDesc.eClass().getName());
+            key.append('\n').append(typeDesc.getTypeSignature());
+            for (final Object typeParam : typeDesc.getTypeParameterSignatures())
+            {
+                key.append('\n').append(typeParam);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param file
+     * @return the memo for file's project or null if file is null
+     */
+    static ELSemanticValidationCache getInstance(final IFile file)
+    {
+        return file != null ? getInstance(file.getProject()) : null;
+    }
+
+    /**
+     * The outcome of validating one expression, recorded while it is
+     * validated.
+     */
+    static final class Result
+    {
+        private final List<String>     _variableNames = new ArrayList<String>();
+        private final List<String>     _variableKeys  = new ArrayList<String>();
+        private final List<Diagnostic> _diagnostics   = new ArrayList<Diagnostic>();
+        private final List<int[]>      _regions       = new ArrayList<int[]>();
+        private SignatureBasedType     _type;
+        private boolean                _reusable      = true;
+
+        /**
+         * @param name
+         * @param symbol
+         *            the symbol name resolved to, may be null
+         */
+        void addVariable(final String name, final ISymbol symbol)
+        {
+            final String key = getVariableKey(symbol);
+            if (key == null)
+            {
+                _reusable = false;
+            }
+            _variableNames.add(name);
+            _variableKeys.add(key);
+        }
+
+        /**
+         * @return true if every variable recorded can be compared by value
+         */
+        boolean isReusable()
+        {
+            return _reusable;
+        }
+
+        /**
+         * @param diagnostic
+         * @param relativeOffset
+         *            offset from the start of the expression
+         * @param length
+         */
+        void addDiagnostic(final Diagnostic diagnostic,
+                final int relativeOffset, final int length)
+        {
+            _diagnostics.add(diagnostic);
+            _regions.add(new int[] {relativeOffset, length});
+        }
+
+        /**
+         * @param type
+         */
+        void setType(final SignatureBasedType type)
+        {
+            _type = type;
+        }
+
+        /**
+         * @return the type of the expression
+         */
+        SignatureBasedType getType()
+        {
+            return _type;
+        }
+
+        /**
+         * Reports the diagnostics recorded, in the order they were first
+         * reported.
+         *
+         * @param reporter
+         * @param documentPosition
+         *            the document position of the expression
+         */
+        void report(final IValidationReporter reporter,
+                final int documentPosition)
+        {
+            for (int i = 0; i < _diagnostics.size(); i++)
+            {
+                final int[] region = _regions.get(i);
+                reporter.report(_diagnostics.get(i),
+                        documentPosition + region[0], region[1]);
+            }
+        }
+
+        private boolean appliesTo(final ISymbolContextResolver symbolResolver)
+        {
+            for (int i = 0; i < _variableNames.size(); i++)
+            {
+                final String key = getVariableKey(symbolResolver
+                        .getVariable(_variableNames.get(i)));
+                if (!_variableKeys.get(i).equals(key))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
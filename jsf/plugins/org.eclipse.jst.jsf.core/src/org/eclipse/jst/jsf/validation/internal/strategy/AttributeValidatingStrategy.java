@@ -34,6 +34,7 @@ import org.eclipse.jdt.core.Signature;
 import org.eclipse.jst.jsf.common.dom.AttrDOMAdapter;
 import org.eclipse.jst.jsf.common.dom.AttributeIdentifier;
 import org.eclipse.jst.jsf.common.dom.DOMAdapter;
+import org.eclipse.jst.jsf.common.dom.TagIdentifier;
 import org.eclipse.jst.jsf.common.internal.types.CompositeType;
 import org.eclipse.jst.jsf.common.internal.types.IAssignable;
 import org.eclipse.jst.jsf.common.internal.types.TypeComparator;
@@ -61,13 +62,15 @@ import org.eclipse.jst.jsf.designtime.internal.view.XMLViewObjectMappingService;
 import org.eclipse.jst.jsf.designtime.internal.view.XMLViewObjectMappingService.ElementData;
 import org.eclipse.jst.jsf.facesconfig.emf.ConverterForClassType;
 import org.eclipse.jst.jsf.facesconfig.emf.ConverterType;
-import org.eclipse.jst.jsf.metadataprocessors.MetaDataEnabledProcessingFactory;
 import org.eclipse.jst.jsf.metadataprocessors.features.ELIsNotValidException;
 import org.eclipse.jst.jsf.metadataprocessors.features.IValidELValues;
 import org.eclipse.jst.jsf.metadataprocessors.features.IValidValues;
 import org.eclipse.jst.jsf.metadataprocessors.features.IValidationMessage;
 import org.eclipse.jst.jsf.validation.internal.AbstractXMLViewValidationStrategy;
 import org.eclipse.jst.jsf.validation.internal.JSFValidationContext;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics.Category;
+import org.eclipse.jst.jsf.validation.internal.ValidationPlanCache;
 import org.eclipse.jst.jsf.validation.internal.el.ELExpressionValidator;
 import org.eclipse.jst.jsf.validation.internal.el.ELValidationUtil;
 import org.eclipse.jst.jsp.core.internal.regions.DOMJSPRegionContexts;
@@ -103,6 +106,8 @@ AbstractXMLViewValidationStrategy
 
     private final JSFValidationContext _validationContext;
     private final TypeComparator       _typeComparator;
+    private final ValidationPlanCache  _planCache;
+    private final ValidationMetrics    _metrics;
     private Set<String>                _conversionTypes;
 
     /**
@@ -118,6 +123,9 @@ AbstractXMLViewValidationStrategy
         _typeComparator = new TypeComparator(
                 new TypeComparatorDiagnosticFactory(validationContext
                         .getPrefs().getTypeComparatorPrefs()));
+        _planCache = ValidationPlanCache.getInstance(validationContext
+                .getFile().getProject());
+        _metrics = ValidationMetrics.getInstance();
     }
 
     @Override
@@ -132,6 +140,7 @@ AbstractXMLViewValidationStrategy
         if (domAdapter instanceof AttrDOMAdapter)
         {
             final long curTime = System.nanoTime();
+            final long metricsStart = _metrics.start();
             final Region2AttrAdapter attrAdapter = (Region2AttrAdapter) domAdapter;
             // check that this is attribute value region - 221722
             if (attrAdapter.getAttributeValueRegion() != null)
@@ -146,6 +155,17 @@ AbstractXMLViewValidationStrategy
 
                 validateAttributeValue(context, attrAdapter);
             }
+            if (metricsStart >= 0)
+            {
+                _metrics.record(Category.STRATEGY, ID, metricsStart);
+                final TagIdentifier tagId = attrAdapter.getAttributeIdentifier()
+                        .getTagIdentifier();
+                if (tagId != null)
+                {
+                    _metrics.record(Category.TAG, ValidationMetrics.getTagKey(
+                            tagId.getUri(), tagId.getTagName()), metricsStart);
+                }
+            }
             if (DEBUG)
             {
                 System.out.println(String.format("Validation for attribute: %s took %d" //$NON-NLS-1$
@@ -279,13 +299,16 @@ AbstractXMLViewValidationStrategy
                   }
                   else
                   {
-                      final List elVals = MetaDataEnabledProcessingFactory
-                      .getInstance()
-                      .getAttributeValueRuntimeTypeFeatureProcessors(
+                      final long metadataStart = _metrics.start();
+                      final List elVals = _planCache
+                      .getFeatureProcessors(
                               IValidELValues.class,
                               elContext,
+                              _validationContext.getFile(),
                               attrAdapter
                               .getAttributeIdentifier());
+                      _metrics.record(Category.PHASE,
+                              ValidationMetrics.PHASE_METADATA, metadataStart);
                       final String safeELText = elText.replaceAll(
                               "[\n\r\t]", " "); //$NON-NLS-1$ //$NON-NLS-2$
                       validateELExpression(context, elContext, elVals,
@@ -416,6 +439,7 @@ AbstractXMLViewValidationStrategy
 
                     if (expectedType != null)
                     {
+                        final long compareStart = _metrics.start();
                         expectedType = maybeAddAlternativeTypes(
                                 expectedType, exprType, elementAdapter,
                                 attrAdapter);
@@ -424,6 +448,9 @@ AbstractXMLViewValidationStrategy
                         }
                         status = _typeComparator.calculateTypeCompatibility(
                                 expectedType, exprType);
+                        _metrics.record(Category.PHASE,
+                                ValidationMetrics.PHASE_TYPE_COMPARE,
+                                compareStart);
                         if (status.getSeverity() != Diagnostic.OK)
                         {
                             reportValidationMessage(status, context,
@@ -701,9 +728,12 @@ AbstractXMLViewValidationStrategy
             return;
         }
 
-        final List vv = MetaDataEnabledProcessingFactory.getInstance()
-        .getAttributeValueRuntimeTypeFeatureProcessors(
-                IValidValues.class, context, attributeId);
+        final long metadataStart = _metrics.start();
+        final List vv = _planCache.getFeatureProcessors(
+                IValidValues.class, context, _validationContext.getFile(),
+                attributeId);
+        _metrics.record(Category.PHASE, ValidationMetrics.PHASE_METADATA,
+                metadataStart);
         if (!vv.isEmpty())
         {
             for (final Iterator it = vv.iterator(); it.hasNext();)
@@ -41,6 +41,8 @@ import org.eclipse.jst.jsf.core.tagmatcher.InvalidExpressionException;
 import org.eclipse.jst.jsf.core.tagmatcher.XPathMatchingAlgorithm;
 import org.eclipse.jst.jsf.validation.internal.AbstractXMLViewValidationStrategy;
 import org.eclipse.jst.jsf.validation.internal.JSFValidationContext;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics.Category;
 import org.eclipse.jst.jsf.validation.internal.constraints.ContainsTagConstraint;
 import org.eclipse.jst.jsf.validation.internal.constraints.TagId;
 import org.eclipse.jst.jsf.validation.internal.constraints.TagSet;
@@ -92,9 +94,18 @@ public class ContainmentValidatingStrategy extends
         if (_enabled 
         		&& domAdapter instanceof Region2ElementAdapter)
         {
+            final ValidationMetrics metrics = ValidationMetrics.getInstance();
+            final long metricsStart = metrics.start();
             final Region2ElementAdapter elementAdapter = 
                 (Region2ElementAdapter) domAdapter;
             validateContainment(elementAdapter, _jsfValidationContext);
+            if (metricsStart >= 0)
+            {
+                metrics.record(Category.STRATEGY, ID, metricsStart);
+                metrics.record(Category.TAG, ValidationMetrics.getTagKey(
+                        elementAdapter.getNamespace(), elementAdapter
+                                .getLocalName()), metricsStart);
+            }
         }
     }
 
@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.facelet.core.internal.registry.taglib;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jst.jsf.facelet.core.internal.FaceletCorePlugin;
+import org.eclipse.jst.jsf.facelet.core.internal.FaceletCoreTraceOptions;
+import org.eclipse.jst.jsf.facelet.core.internal.registry.taglib.faceletTaglib.FaceletTaglib;
+import org.eclipse.jst.jsf.facelet.core.internal.registry.taglib.faceletTaglib.FaceletTaglibPackage;
+import org.eclipse.jst.jsf.facelet.core.internal.registry.taglib.faceletTaglib_1_0.FaceletTaglib_1_0Package;
+
+/**
+ * An on-disk cache of the facelet taglibs parsed from jar files, so that the
+ * taglib xml files in a jar are only parsed again when the jar changes.
+ *
+ * There is one cache file per jar. It records the jar's size and
+ * modification time and holds each taglib as an EMF binary resource, which
+ * loads much faster than the taglib xml since it needs no parser, schema or
+ * dtd resolution.
+ *
+ * The cache may be used from several threads. Cache files are replaced in
+ * one step, so a reader never sees a partly written file, and when two
+ * threads cache the same jar at once either one's file may be kept.
+ *
+ * Set the system property
+ * "org.eclipse.jst.jsf.facelet.core.disable.taglib.cache" to always parse the
+ * taglib xml.
+ */
+public final class FaceletTaglibCache
+{
+    private static final boolean DISABLE_CACHE = System
+            .getProperty("org.eclipse.jst.jsf.facelet.core.disable.taglib.cache") != null; //$NON-NLS-1$
+    private static final String CACHE_DIR_NAME = "taglibCache"; //$NON-NLS-1$
+    // "FTLC"
+    private static final int MAGIC = 0x46544C43;
+    private static final short FORMAT_VERSION = 1;
+
+    private static FaceletTaglibCache INSTANCE;
+
+    private final File _cacheDir;
+
+    /**
+     * @return the shared cache in the plugin state location
+     */
+    public static synchronized FaceletTaglibCache getInstance()
+    {
+        if (INSTANCE == null)
+        {
+            File cacheDir = null;
+            if (!DISABLE_CACHE && FaceletCorePlugin.getPlugin() != null)
+            {
+                cacheDir = FaceletCorePlugin.getPlugin().getStateLocation()
+                        .append(CACHE_DIR_NAME).toFile();
+            }
+            INSTANCE = new FaceletTaglibCache(cacheDir);
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Use {@link #getInstance()} rather than creating new caches; this is
+     * public for testing.
+     *
+     * @param cacheDir
+     *            the directory to keep the cache files in or null to disable
+     *            caching
+     */
+    public FaceletTaglibCache(final File cacheDir)
+    {
+        _cacheDir = cacheDir;
+    }
+
+    /**
+     * @param jarFile
+     * @return the taglibs cached for jarFile keyed by jar entry name, or null
+     *         if nothing is cached or the jar has changed since it was cached
+     */
+    public Map<String, FaceletTaglib> get(final File jarFile)
+    {
+        final File cacheFile = getCacheFile(jarFile);
+        if (cacheFile == null || !cacheFile.isFile())
+        {
+            return null;
+        }
+
+        try
+        {
+            return read(cacheFile, jarFile);
+        }
+        catch (final Exception e)
+        {
+            // a damaged or outdated cache entry just means reparsing the jar
+            if (FaceletCoreTraceOptions.TRACE_REGISTRYMANAGER)
+            {
+                FaceletCoreTraceOptions.log("Ignoring taglib cache for " //$NON-NLS-1$
+                        + jarFile + ": " + e); //$NON-NLS-1$
+            }
+            remove(jarFile);
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the cached taglibs for jarFile.
+     *
+     * @param jarFile
+     * @param taglibs
+     *            the taglibs parsed from jarFile keyed by jar entry name. The
+     *            taglibs are copied.
+     */
+    public void put(final File jarFile, final Map<String, FaceletTaglib> taglibs)
+    {
+        final File cacheFile = getCacheFile(jarFile);
+        if (cacheFile == null)
+        {
+            return;
+        }
+
+        try
+        {
+            if (!_cacheDir.mkdirs() && !_cacheDir.isDirectory())
+            {
+                throw new IOException("Could not create " + _cacheDir); //$NON-NLS-1$
+            }
+            write(cacheFile, jarFile, taglibs);
+        }
+        catch (final IOException e)
+        {
+            FaceletCorePlugin.log("While caching taglibs for " + jarFile, e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Drops anything cached for jarFile.
+     *
+     * @param jarFile
+     */
+    public void remove(final File jarFile)
+    {
+        final File cacheFile = getCacheFile(jarFile);
+        if (cacheFile != null)
+        {
+            cacheFile.delete();
+        }
+    }
+
+    private File getCacheFile(final File jarFile)
+    {
+        if (_cacheDir == null || jarFile == null)
+        {
+            return null;
+        }
+        final String path = jarFile.getAbsolutePath();
+        final String safeName = jarFile.getName().replaceAll("[^A-Za-z0-9_.-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+        return new File(_cacheDir, safeName + "_" //$NON-NLS-1$
+                + Integer.toHexString(path.hashCode()) + ".bin"); //$NON-NLS-1$
+    }
+
+    private static Map<String, FaceletTaglib> read(final File cacheFile,
+            final File jarFile) throws IOException
+    {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(cacheFile)));
+        try
+        {
+            if (!readHeader(in, jarFile))
+            {
+                return null;
+            }
+
+            final ResourceSet resSet = createResourceSet();
+            final Map<String, FaceletTaglib> taglibs = new LinkedHashMap<String, FaceletTaglib>();
+            final int numTaglibs = in.readInt();
+            for (int i = 0; i < numTaglibs; i++)
+            {
+                final String entryName = in.readUTF();
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+
+                final Resource res = createResource(resSet, entryName);
+                res.load(new ByteArrayInputStream(bytes), null);
+                taglibs.put(entryName, (FaceletTaglib) res.getContents().get(0));
+            }
+            return taglibs;
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    private static void write(final File cacheFile, final File jarFile,
+            final Map<String, FaceletTaglib> taglibs) throws IOException
+    {
+        final ResourceSet resSet = createResourceSet();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeUTF(jarFile.getAbsolutePath());
+        out.writeLong(jarFile.length());
+        out.writeLong(jarFile.lastModified());
+        out.writeInt(taglibs.size());
+        for (final Map.Entry<String, FaceletTaglib> entry : taglibs.entrySet())
+        {
+            // the taglib stays in the resource it was parsed into
+            final EObject copy = EcoreUtil.copy(entry.getValue());
+            final Resource res = createResource(resSet, entry.getKey());
+            res.getContents().add(copy);
+            final ByteArrayOutputStream resBytes = new ByteArrayOutputStream();
+            res.save(resBytes, null);
+
+            out.writeUTF(entry.getKey());
+            out.writeInt(resBytes.size());
+            resBytes.writeTo(out);
+        }
+        out.flush();
+
+        // jars may be cached from several threads at once, so each write
+        // gets its own temporary file
+        final File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", //$NON-NLS-1$
+                cacheFile.getParentFile());
+        try
+        {
+            final BufferedOutputStream fileOut = new BufferedOutputStream(
+                    new FileOutputStream(tempFile));
+            try
+            {
+                bytes.writeTo(fileOut);
+            }
+            finally
+            {
+                fileOut.close();
+            }
+            replace(tempFile, cacheFile, jarFile);
+        }
+        finally
+        {
+            tempFile.delete();
+        }
+    }
+
+    private static void replace(final File tempFile, final File cacheFile,
+            final File jarFile) throws IOException
+    {
+        try
+        {
+            try
+            {
+                Files.move(tempFile.toPath(), cacheFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (final AtomicMoveNotSupportedException e)
+            {
+                // the temporary file is a sibling, so this only happens on
+                // file systems without atomic rename
+                Files.move(tempFile.toPath(), cacheFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (final IOException e)
+        {
+            // another scan of the same jar may have just replaced the file,
+            // or may still have it open; what it cached is as good as ours
+            if (!isCurrent(cacheFile, jarFile))
+            {
+                throw e;
+            }
+        }
+    }
+
+    private static boolean isCurrent(final File cacheFile, final File jarFile)
+    {
+        try
+        {
+            final DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(cacheFile)));
+            try
+            {
+                return readHeader(in, jarFile);
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+        catch (final IOException e)
+        {
+            return false;
+        }
+    }
+
+    private static boolean readHeader(final DataInputStream in,
+            final File jarFile) throws IOException
+    {
+        return in.readInt() == MAGIC && in.readShort() == FORMAT_VERSION
+                && jarFile.getAbsolutePath().equals(in.readUTF())
+                && in.readLong() == jarFile.length()
+                && in.readLong() == jarFile.lastModified();
+    }
+
+    private static ResourceSet createResourceSet()
+    {
+        final ResourceSet resSet = new ResourceSetImpl();
+        resSet.getPackageRegistry().put(FaceletTaglibPackage.eNS_URI,
+                FaceletTaglibPackage.eINSTANCE);
+        resSet.getPackageRegistry().put(FaceletTaglib_1_0Package.eNS_URI,
+                FaceletTaglib_1_0Package.eINSTANCE);
+        return resSet;
+    }
+
+    private static Resource createResource(final ResourceSet resSet,
+            final String entryName)
+    {
+        final Resource res = new BinaryResourceImpl(URI.createURI(entryName));
+        resSet.getResources().add(res);
+        return res;
+    }
+}
@@ -12,14 +12,17 @@
  *******************************************************************************/
 package org.eclipse.jst.jsf.facelet.core.internal.registry.taglib;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
@@ -30,17 +33,17 @@ import org.eclipse.emf.ecore.resource.Resource.IOWrappedException;
 import org.eclipse.emf.ecore.xmi.FeatureNotFoundException;
 import org.eclipse.jst.jsf.common.internal.finder.AbstractMatcher.AlwaysMatcher;
 import org.eclipse.jst.jsf.common.internal.finder.AbstractMatcher.IMatcher;
-import org.eclipse.jst.jsf.common.internal.finder.VisitorMatcher;
-import org.eclipse.jst.jsf.common.internal.finder.acceptor.JarEntryMatchingAcceptor;
 import org.eclipse.jst.jsf.common.internal.finder.matcher.TaglibJarEntryFinder;
 import org.eclipse.jst.jsf.common.internal.resource.ClasspathJarFile;
 import org.eclipse.jst.jsf.common.internal.resource.DefaultJarLocator;
 import org.eclipse.jst.jsf.common.internal.resource.IJarLocator;
 import org.eclipse.jst.jsf.common.internal.resource.IJarLocator.JarChangeEvent;
 import org.eclipse.jst.jsf.common.internal.resource.IJarLocator.JarChangeListener;
+import org.eclipse.jst.jsf.common.internal.resource.JarScanPool;
 import org.eclipse.jst.jsf.common.internal.resource.JavaCoreMediator;
 import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.facelet.core.internal.FaceletCorePlugin;
+import org.eclipse.jst.jsf.facelet.core.internal.FaceletCoreTraceOptions;
 import org.eclipse.jst.jsf.facelet.core.internal.registry.taglib.IFaceletTagRecord.JarTagRecordDescriptor;
 import org.eclipse.jst.jsf.facelet.core.internal.registry.taglib.Listener.TaglibChangedEvent;
 import org.eclipse.jst.jsf.facelet.core.internal.registry.taglib.Listener.TaglibChangedEvent.CHANGE_TYPE;
@@ -152,14 +155,33 @@ public class JarFileFaceletTaglibLocator extends AbstractFaceletTaglibLocator
         final List<LibJarEntry> tagLibsFound = new ArrayList<LibJarEntry>();
         final Collection<? extends ClasspathJarFile> jars = _locator
                 .getJars(project);
-        long curTime = System.currentTimeMillis();
+        final long curTime = System.currentTimeMillis();
+        // scan the jars in parallel but add what they find in classpath
+        // order so that the records come out the same as a sequential scan
+        final List<Callable<List<LibJarEntry>>> tasks = new ArrayList<Callable<List<LibJarEntry>>>(jars.size());
         for (final ClasspathJarFile cpJarFile : jars)
         {
-        	tagLibsFound.addAll(processJar(cpJarFile, _jarEntryMatchers));
+            tasks.add(new Callable<List<LibJarEntry>>()
+            {
+                public List<LibJarEntry> call()
+                {
+                    return processJar(cpJarFile, _jarEntryMatchers);
+                }
+            });
+        }
+        for (final List<LibJarEntry> jarTagLibs : JarScanPool.invokeAll(tasks))
+        {
+            if (jarTagLibs != null)
+            {
+                tagLibsFound.addAll(jarTagLibs);
+            }
+        }
+        if (FaceletCoreTraceOptions.TRACE_REGISTRYMANAGER)
+        {
+            FaceletCoreTraceOptions.log(String.format(
+                    "Time spent processing jars: %d", //$NON-NLS-1$
+                    Long.valueOf(System.currentTimeMillis() - curTime)));
         }
-        System.out.printf(
-        		"Time spent processing jars: %d\n", //$NON-NLS-1$
-        		Long.valueOf(System.currentTimeMillis()-curTime));
         for (final LibJarEntry jarEntry : tagLibsFound)
         {
             final IFaceletTagRecord record = _factory.createRecords(jarEntry
@@ -199,6 +221,7 @@ public class JarFileFaceletTaglibLocator extends AbstractFaceletTaglibLocator
                     case JAR_REMOVED:
                     {
                         final ClasspathJarFile jar = event.getJar();
+                        FaceletTaglibCache.getInstance().remove(jar.getFile());
                         final List<IFaceletTagRecord>  removeRecords = 
                             new ArrayList<IFaceletTagRecord>();
                         for (final Map.Entry<String, IFaceletTagRecord> entry : _records
@@ -213,7 +236,7 @@ public class JarFileFaceletTaglibLocator extends AbstractFaceletTaglibLocator
                         
                         for (final IFaceletTagRecord removeMe : removeRecords)
                         {
-                            _records.remove(removeMe);
+                            _records.remove(removeMe.getURI());
                             fireChangeEvent(new TaglibChangedEvent(
                                     JarFileFaceletTaglibLocator.this,
                                     removeMe, null,
@@ -250,19 +273,43 @@ public class JarFileFaceletTaglibLocator extends AbstractFaceletTaglibLocator
             final List<IMatcher> jarEntryMatchers)
     {
         final List<LibJarEntry> tagLibsFound = new ArrayList<LibJarEntry>();
-        long curTime = System.currentTimeMillis();
+        final long curTime = System.currentTimeMillis();
+        // the shared index tells us which jars have taglibs without opening
+        // the jars that don't
+        final List<String> matchingEntryNames = findMatchingEntries(cpJarFile,
+                jarEntryMatchers);
+        if (matchingEntryNames.isEmpty())
+        {
+            return tagLibsFound;
+        }
+
+        final File file = cpJarFile.getFile();
+        final FaceletTaglibCache cache = FaceletTaglibCache.getInstance();
+        final Map<String, FaceletTaglib> cachedTaglibs = cache.get(file);
+        if (cachedTaglibs != null
+                && cachedTaglibs.keySet().containsAll(matchingEntryNames))
+        {
+            for (final String entryName : matchingEntryNames)
+            {
+                tagLibsFound.add(new LibJarEntry(cachedTaglibs.get(entryName),
+                        cpJarFile.getPath(), entryName));
+            }
+            return tagLibsFound;
+        }
+
+        final Map<String, FaceletTaglib> parsedTaglibs = new LinkedHashMap<String, FaceletTaglib>();
         final JarFile jarFile = cpJarFile.getJarFile();
         try
         {
             if (jarFile != null)
             {
-                final JarEntryMatchingAcceptor acceptor = new JarEntryMatchingAcceptor();
-                final VisitorMatcher<JarFile, JarEntry, String> matcher = new VisitorMatcher<JarFile, JarEntry, String>(
-                        "", "", acceptor, jarEntryMatchers); //$NON-NLS-1$//$NON-NLS-2$
-                final Collection<? extends JarEntry> matchingEntries = matcher
-                        .find(jarFile);
-                for (final JarEntry jarEntry : matchingEntries)
+                for (final String entryName : matchingEntryNames)
                 {
+                    final JarEntry jarEntry = jarFile.getJarEntry(entryName);
+                    if (jarEntry == null)
+                    {
+                        continue;
+                    }
                     InputStream is = null;
                     try
                     {
@@ -275,6 +322,7 @@ public class JarFileFaceletTaglibLocator extends AbstractFaceletTaglibLocator
                         {
                             tagLibsFound.add(new LibJarEntry(tagLib, cpJarFile
                                     .getPath(), name));
+                            parsedTaglibs.put(name, tagLib);
                         }
                     } catch (final Exception ex)
                     {
@@ -322,17 +370,40 @@ public class JarFileFaceletTaglibLocator extends AbstractFaceletTaglibLocator
                 }
             }
         }
-        long time = System.currentTimeMillis()-curTime;
-        if (time > 10)
+        if (!parsedTaglibs.isEmpty())
+        {
+            cache.put(file, parsedTaglibs);
+        }
+        if (FaceletCoreTraceOptions.TRACE_REGISTRYMANAGER)
         {
-        	System.out.printf(
-        			"Time spent in processJar for %s was %dms\n", //$NON-NLS-1$
-        			cpJarFile.getPath(),
-        			Long.valueOf(time));
+            FaceletCoreTraceOptions.log(String.format(
+                    "Time spent in processJar for %s was %dms", //$NON-NLS-1$
+                    cpJarFile.getPath(),
+                    Long.valueOf(System.currentTimeMillis() - curTime)));
         }
         return tagLibsFound;
     }
 
+    private static List<String> findMatchingEntries(
+            final ClasspathJarFile cpJarFile,
+            final List<IMatcher> jarEntryMatchers)
+    {
+        final List<String> matchingEntryNames = new ArrayList<String>();
+        for (final String entryName : cpJarFile.getEntryNames())
+        {
+            final JarEntry jarEntry = new JarEntry(entryName);
+            for (final IMatcher matcher : jarEntryMatchers)
+            {
+                if (matcher.matches(jarEntry))
+                {
+                    matchingEntryNames.add(entryName);
+                    break;
+                }
+            }
+        }
+        return matchingEntryNames;
+    }
+
     private static class LibJarEntry
     {
         private final FaceletTaglib _taglib;
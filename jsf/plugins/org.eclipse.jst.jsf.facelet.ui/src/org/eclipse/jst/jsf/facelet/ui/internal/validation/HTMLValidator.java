@@ -26,6 +26,7 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.jst.jsf.designtime.internal.BasicExtensionFactory.ExtensionData;
 import org.eclipse.jst.jsf.facelet.ui.internal.FaceletUiPlugin;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics;
 import org.eclipse.wst.validation.AbstractValidator;
 import org.eclipse.wst.validation.ValidationResult;
 import org.eclipse.wst.validation.ValidationState;
@@ -72,7 +73,24 @@ public class HTMLValidator extends AbstractValidator implements IValidator {
         return vr;
     }
 
+    @Override
+    public void validationFinishing(final IProject project, final ValidationState state, final IProgressMonitor monitor) {
+        try {
+            super.validationFinishing(project, state, monitor);
+        } finally {
+            ValidationMetrics.getInstance().traceDump();
+        }
+    }
+
     public void validate(final IValidationContext helper, final IReporter reporter) throws ValidationException {
+        try {
+            validateURIs(helper, reporter);
+        } finally {
+            ValidationMetrics.getInstance().traceDump();
+        }
+    }
+
+    private void validateURIs(final IValidationContext helper, final IReporter reporter) {
         final String[] uris = helper.getURIs();
         final IWorkspaceRoot wsRoot = ResourcesPlugin.getWorkspace().getRoot();
         if (uris.length > 0) {
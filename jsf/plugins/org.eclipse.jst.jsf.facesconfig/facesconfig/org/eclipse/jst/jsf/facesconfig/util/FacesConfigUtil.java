@@ -12,11 +12,20 @@
  **************************************************************************************************/
 package org.eclipse.jst.jsf.facesconfig.util;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
+import org.eclipse.core.runtime.content.IContentTypeManager.ContentTypeChangeEvent;
+import org.eclipse.core.runtime.content.IContentTypeManager.IContentTypeChangeListener;
 
 /**
  * Utility class for faces-config model management
@@ -29,6 +38,22 @@ final class FacesConfigUtil {
 	/** Must match the id specified in plugin.xml. */
 	public static final String FACES_CONFIG_CONTENT_TYPE_ID = "org.eclipse.jst.jsf.facesconfig.facesConfigFile"; //$NON-NLS-1$
 
+	/**
+	 * Content type decisions by file path. Determining the content type may
+	 * read and sniff the file, so a decision is kept for as long as the
+	 * file's modification stamp stays the same.
+	 */
+	private static final Map<IPath, Decision> DECISIONS = new ConcurrentHashMap<IPath, Decision>();
+
+	static {
+		// a change to the content type settings may change any decision
+		Platform.getContentTypeManager().addContentTypeChangeListener(new IContentTypeChangeListener() {
+			public void contentTypeChanged(ContentTypeChangeEvent event) {
+				DECISIONS.clear();
+			}
+		});
+	}
+
 	/**
 	 * Returns true iff the specified file seems to be a Faces configuration
 	 * file. Always returns false if the file is in a non-Faces project.
@@ -71,13 +96,26 @@ final class FacesConfigUtil {
 		//if (ignoreNonFacesProject && !JsfProjectUtil.isJsfProject(project))
 			//return false;
 
+		long stamp = file.getModificationStamp();
+		if (stamp == IResource.NULL_STAMP) {
+			// doesn't exist
+			DECISIONS.remove(file.getFullPath());
+			return false;
+		}
+		Decision decision = DECISIONS.get(file.getFullPath());
+		if (decision != null && decision.stamp == stamp)
+			return decision.isFacesConfig;
+
 		try {
+			boolean isFacesConfig = false;
 			IContentDescription contentDescription = file.getContentDescription();
 			if (contentDescription != null) {
 				IContentType contentType = contentDescription.getContentType();
 				if (contentType != null)
-					return FACES_CONFIG_CONTENT_TYPE_ID.equals(contentType.getId());
+					isFacesConfig = FACES_CONFIG_CONTENT_TYPE_ID.equals(contentType.getId());
 			}
+			DECISIONS.put(file.getFullPath(), new Decision(stamp, isFacesConfig));
+			return isFacesConfig;
 		} catch (CoreException ignored) {
 			// Empty block intended.
 		}
@@ -85,4 +123,59 @@ final class FacesConfigUtil {
 		return false;
 	}
 
+	/**
+	 * @param path
+	 *            full path of a file
+	 * @return true iff the file was last known to be a Faces configuration
+	 *         file. The file is not checked.
+	 */
+	static boolean wasFacesConfigFile(IPath path) {
+		Decision decision = DECISIONS.get(path);
+		return decision != null && decision.isFacesConfig;
+	}
+
+	/**
+	 * Forgets the content type decision for a file that has been removed.
+	 * 
+	 * @param path
+	 *            full path of the file
+	 * @return true iff the file was last known to be a Faces configuration
+	 *         file.
+	 */
+	static boolean forgetFile(IPath path) {
+		Decision decision = DECISIONS.remove(path);
+		return decision != null && decision.isFacesConfig;
+	}
+
+	/**
+	 * Forgets the content type decisions for all files in a project that has
+	 * been closed or removed.
+	 * 
+	 * @param project
+	 * @return true iff any of the files was last known to be a Faces
+	 *         configuration file.
+	 */
+	static boolean forgetProject(IProject project) {
+		boolean hadFacesConfig = false;
+		IPath projectPath = project.getFullPath();
+		for (Iterator<Map.Entry<IPath, Decision>> it = DECISIONS.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<IPath, Decision> entry = it.next();
+			if (projectPath.isPrefixOf(entry.getKey())) {
+				hadFacesConfig |= entry.getValue().isFacesConfig;
+				it.remove();
+			}
+		}
+		return hadFacesConfig;
+	}
+
+	private static final class Decision {
+		final long stamp;
+		final boolean isFacesConfig;
+
+		Decision(long stamp, boolean isFacesConfig) {
+			this.stamp = stamp;
+			this.isFacesConfig = isFacesConfig;
+		}
+	}
+
 }
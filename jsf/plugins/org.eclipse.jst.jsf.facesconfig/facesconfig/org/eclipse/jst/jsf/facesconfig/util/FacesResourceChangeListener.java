@@ -12,10 +12,14 @@
  **************************************************************************************************/
 package org.eclipse.jst.jsf.facesconfig.util;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.Map;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
@@ -26,6 +30,8 @@ import org.eclipse.core.resources.ISaveContext;
 import org.eclipse.core.resources.ISaveParticipant;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jst.jsf.facesconfig.FacesConfigPlugin;
@@ -33,8 +39,12 @@ import org.eclipse.jst.jsf.facesconfig.internal.Logger;
 import org.eclipse.ui.IEditorDescriptor;
 import org.eclipse.ui.IEditorRegistry;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.wst.common.componentcore.ComponentCore;
 import org.eclipse.wst.common.componentcore.internal.util.ComponentUtilities;
 import org.eclipse.wst.common.componentcore.resources.IVirtualComponent;
+import org.eclipse.wst.common.componentcore.resources.IVirtualFolder;
+import org.eclipse.wst.common.project.facet.core.IFacetedProject;
+import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
 
 /**
  * This class is responsible for the following:
@@ -50,6 +60,13 @@ import org.eclipse.wst.common.componentcore.resources.IVirtualComponent;
  * related and splitting it up would result in duplicate work as well as
  * multiple delta traversals.
  * 
+ * In JSF-faceted projects, only files in the web content folders and files
+ * named like faces-config.xml elsewhere are checked; derived and team private
+ * folders are not visited at all. Content type decisions are cached by
+ * {@link FacesConfigUtil}. One faces-config change event is fired per build,
+ * and only if a file was or is a faces-config file and was added, changed or
+ * removed, or if a project's content type settings changed.
+ * 
  * This class is not intended for external use. 
  * Should NOT be referenced or extended externally.
  */
@@ -66,6 +83,18 @@ final class FacesResourceChangeListener implements IResourceChangeListener,
 	private static final QualifiedName EDITOR_KEY = new QualifiedName(
 			"org.eclipse.ui.internal.registry.ResourceEditorRegistry", "EditorProperty");//$NON-NLS-2$//$NON-NLS-1$
 
+	private static final String JSF_FACET_ID = "jst.jsf"; //$NON-NLS-1$
+	private static final String FACES_CONFIG_FILE_NAME = "faces-config.xml"; //$NON-NLS-1$
+	/** Where a project's own content type settings are kept. */
+	private static final IPath CONTENT_TYPE_SETTINGS_PATH = new Path(".settings/org.eclipse.core.runtime.prefs"); //$NON-NLS-1$
+
+	/** The resource change events this listener is registered for. */
+	private int eventMask;
+	/** True if a faces-config file changed since the last event was fired. */
+	private boolean facesConfigChanged = false;
+	/** What is known about the projects in the delta being visited. */
+	private final Map projectScopes = new HashMap();
+
 	/** Start up the singleton instance. */
 	public static void startup() {
 
@@ -77,9 +106,9 @@ final class FacesResourceChangeListener implements IResourceChangeListener,
 		listener = new FacesResourceChangeListener();
 
 		// Register as resource change listener.
+		listener.eventMask = IResourceChangeEvent.PRE_BUILD + IResourceChangeEvent.POST_BUILD;
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(
-				listener,
-				IResourceChangeEvent.PRE_BUILD + IResourceChangeEvent.POST_BUILD);
+				listener, listener.eventMask);
 	}
 
 	/** Shutdown the singleton instance. */
@@ -116,25 +145,23 @@ final class FacesResourceChangeListener implements IResourceChangeListener,
 
 		IResourceDelta delta = event.getDelta();
 		if (delta != null) {
-			FacesConfigChangeEvent facesConfigChangeEvent = new FacesConfigChangeEvent();
-			fireFacesConfigChangeEvent(facesConfigChangeEvent);
-
 			try {
 				delta.accept(this);
 			} catch (CoreException ignored) {
 				Logger.log(this, ignored);
+			} finally {
+				projectScopes.clear();
 			}
 		}
 
-		// Restart projects, if necessary.
-		if ((delta != null) && (event.getType() == IResourceChangeEvent.POST_BUILD)) {
-			FacesConfigRestartServerResourceDeltaVisitor visitor = new FacesConfigRestartServerResourceDeltaVisitor();
-			try {
-				delta.accept(visitor);
-			} catch (CoreException ignored) {
-				Logger.log(this, ignored);
-			}
-			//restartComponents(visitor.getComponents());
+		// Coalesce the changes seen before and after a build into one event.
+		// Restarting projects is disabled, so there is nothing else to do
+		// after a build (see FacesConfigRestartServerResourceDeltaVisitor).
+		if (facesConfigChanged
+				&& (event.getType() == IResourceChangeEvent.POST_BUILD
+						|| (eventMask & IResourceChangeEvent.POST_BUILD) == 0)) {
+			facesConfigChanged = false;
+			fireFacesConfigChangeEvent(new FacesConfigChangeEvent());
 		}
 	}
 
@@ -145,24 +172,74 @@ final class FacesResourceChangeListener implements IResourceChangeListener,
 	 * @see IResourceDeltaVisitor#visit(IResourceDelta)
 	 */
 	public boolean visit(IResourceDelta delta) throws CoreException {
-
-		// Check for and handle it if it's a Struts config. file.
-		checkForFacesConfigFile(delta);
-
-		// Done.
-		return true;
+		IResource resource = delta.getResource();
+		switch (resource.getType()) {
+		case IResource.PROJECT:
+			if (delta.getKind() == IResourceDelta.REMOVED || !((IProject) resource).isOpen()) {
+				if (FacesConfigUtil.forgetProject((IProject) resource))
+					facesConfigChanged = true;
+				return false;
+			}
+			return true;
+		case IResource.FOLDER:
+			// Build output and team private folders hold no config. files.
+			return !resource.isDerived() && !resource.isTeamPrivateMember();
+		case IResource.FILE:
+			// Check for and handle it if it's a Struts config. file.
+			checkForFacesConfigFile(delta);
+			return false;
+		default:
+			return true;
+		}
 	}
 
 	private void checkForFacesConfigFile(IResourceDelta delta) {
+		IResource resource = delta.getResource();
+		if (CONTENT_TYPE_SETTINGS_PATH.equals(resource.getProjectRelativePath())) {
+			// Project specific content type settings may change any decision.
+			FacesConfigUtil.forgetProject(resource.getProject());
+			facesConfigChanged = true;
+			return;
+		}
+
+		if (delta.getKind() == IResourceDelta.REMOVED) {
+			if (FacesConfigUtil.forgetFile(resource.getFullPath()))
+				facesConfigChanged = true;
+			return;
+		}
+
 		boolean isAdded = delta.getKind() == IResourceDelta.ADDED;
 		if (isAdded
 				|| ((delta.getKind() == IResourceDelta.CHANGED) && ((delta.getFlags() & (IResourceDelta.CONTENT
 						| IResourceDelta.TYPE | IResourceDelta.SYNC | IResourceDelta.REPLACED)) != 0))) {
-			checkForFacesConfigFile(delta.getResource(), !isAdded);
+			// A file that stops being a config. file is a change as well.
+			boolean wasFacesConfig;
+			boolean isFacesConfig;
+			if (getProjectScope(resource.getProject()).mayBeFacesConfigFile(resource)) {
+				wasFacesConfig = FacesConfigUtil.wasFacesConfigFile(resource.getFullPath());
+				isFacesConfig = checkForFacesConfigFile(resource, !isAdded);
+			} else {
+				wasFacesConfig = FacesConfigUtil.forgetFile(resource.getFullPath());
+				isFacesConfig = false;
+			}
+			if (wasFacesConfig || isFacesConfig)
+				facesConfigChanged = true;
 		}
 	}
 
-	private void checkForFacesConfigFile(IResource resource, boolean ignoreNonFacesProjects) {
+	private ProjectScope getProjectScope(IProject project) {
+		ProjectScope scope = (ProjectScope) projectScopes.get(project);
+		if (scope == null) {
+			scope = new ProjectScope(project);
+			projectScopes.put(project, scope);
+		}
+		return scope;
+	}
+
+	/**
+	 * @return true iff the resource is a Faces config. file
+	 */
+	private boolean checkForFacesConfigFile(IResource resource, boolean ignoreNonFacesProjects) {
 		if (resource.getType() == IResource.FILE) {
 
 			// See if the file is a Struts config. file.
@@ -182,11 +259,12 @@ final class FacesResourceChangeListener implements IResourceChangeListener,
 					// Try to register the SCFE as the default editor.
 					setRegistration(file);
 				}
-			} else {
-				// Try to unregister the SCFE as the default editor.
-				unsetRegistration(file);
+				return true;
 			}
+			// Try to unregister the SCFE as the default editor.
+			unsetRegistration(file);
 		}
+		return false;
 	}
 
 	/**
@@ -318,7 +396,8 @@ final class FacesResourceChangeListener implements IResourceChangeListener,
 		if (listener == null) {
 			listener = new FacesResourceChangeListener();
 			// Register as resource change listener.
-			ResourcesPlugin.getWorkspace().addResourceChangeListener(listener, IResourceChangeEvent.PRE_BUILD);
+			listener.eventMask = IResourceChangeEvent.PRE_BUILD;
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(listener, listener.eventMask);
 		}
 		return listener;
 	}
@@ -360,4 +439,69 @@ final class FacesResourceChangeListener implements IResourceChangeListener,
 	public static void setPreferenceStore(IPreferenceStore preferenceStore) {
 		FacesResourceChangeListener.preferenceStore = preferenceStore;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Where Faces config. files may be found in a project.
+	 */
+	private static final class ProjectScope {
+		private final boolean isFacesProject;
+		private final IPath[] webContentPaths;
+
+		ProjectScope(IProject project) {
+			isFacesProject = isFacesProject(project);
+			webContentPaths = isFacesProject ? getWebContentPaths(project) : null;
+		}
+
+		/**
+		 * Config. files of a Faces project are in its web content folders:
+		 * WEB-INF/faces-config.xml and the files named by the
+		 * javax.faces.CONFIG_FILES context parameter, which are relative to
+		 * the web application. Elsewhere, only META-INF/faces-config.xml and
+		 * META-INF/*.faces-config.xml in the project's jars and source
+		 * folders are found by the runtime.
+		 * 
+		 * @return false if resource need not be checked
+		 */
+		boolean mayBeFacesConfigFile(IResource resource) {
+			if (!isFacesProject || webContentPaths == null)
+				return true;
+
+			IPath path = resource.getFullPath();
+			for (int i = 0; i < webContentPaths.length; i++) {
+				if (webContentPaths[i].isPrefixOf(path))
+					return true;
+			}
+			String name = resource.getName();
+			return FACES_CONFIG_FILE_NAME.equals(name) || name.endsWith("." + FACES_CONFIG_FILE_NAME); //$NON-NLS-1$
+		}
+
+		private static boolean isFacesProject(IProject project) {
+			if (!ProjectFacetsManager.isProjectFacetDefined(JSF_FACET_ID))
+				return false;
+			try {
+				IFacetedProject facetedProject = ProjectFacetsManager.create(project);
+				return facetedProject != null
+						&& facetedProject.hasProjectFacet(ProjectFacetsManager.getProjectFacet(JSF_FACET_ID));
+			} catch (CoreException e) {
+				return false;
+			}
+		}
+
+		private static IPath[] getWebContentPaths(IProject project) {
+			IVirtualComponent component = ComponentCore.createComponent(project);
+			if (component == null)
+				return null;
+			IVirtualFolder rootFolder = component.getRootFolder();
+			if (rootFolder == null)
+				return null;
+			IContainer[] folders = rootFolder.getUnderlyingFolders();
+			if (folders == null || folders.length == 0)
+				return null;
+			IPath[] paths = new IPath[folders.length];
+			for (int i = 0; i < folders.length; i++) {
+				paths[i] = folders[i].getFullPath();
+			}
+			return paths;
+		}
+	}
+}
@@ -13,20 +13,30 @@
 package org.eclipse.jst.jsf.ui.internal.validation;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jst.jsf.common.internal.JSPUtil;
 import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
 import org.eclipse.jst.jsf.core.jsfappconfig.JSFAppConfigUtils;
 import org.eclipse.jst.jsf.validation.internal.IJSFViewValidator;
+import org.eclipse.jst.jsf.validation.internal.IJSFViewValidator.IValidationReporter;
 import org.eclipse.jst.jsf.validation.internal.JSFValidatorFactory;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics;
 import org.eclipse.jst.jsf.validation.internal.ValidationPreferences;
 import org.eclipse.jst.jsp.core.internal.validation.JSPValidator;
 import org.eclipse.wst.sse.core.StructuredModelManager;
@@ -34,6 +44,9 @@ import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
 import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
 import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocumentRegion;
 import org.eclipse.wst.sse.ui.internal.reconcile.validator.ISourceValidator;
+import org.eclipse.wst.validation.ValidationState;
+import org.eclipse.wst.validation.internal.core.ValidationException;
+import org.eclipse.wst.validation.internal.provisional.core.IMessage;
 import org.eclipse.wst.validation.internal.provisional.core.IReporter;
 import org.eclipse.wst.validation.internal.provisional.core.IValidationContext;
 
@@ -192,9 +205,163 @@ public class JSFValidator extends JSPValidator implements ISourceValidator
         }
     }
 
+    /**
+     * Validates all the files named by helper as one batch, so that they can
+     * be validated on several threads. See
+     * XMLViewDefnValidator.validateViews.
+     */
+    @Override
+    public void validate(final IValidationContext helper,
+            final IReporter reporter) throws ValidationException
+    {
+        try
+        {
+            final String[] uris = helper.getURIs();
+            if (uris.length <= 1)
+            {
+                super.validate(helper, reporter);
+            }
+            else
+            {
+                validateBatch(uris, reporter);
+            }
+        }
+        finally
+        {
+            ValidationMetrics.getInstance().traceDump();
+        }
+    }
+
+    private void validateBatch(final String[] uris, final IReporter reporter)
+    {
+        final ValidationPreferences prefs = new ValidationPreferences(
+                JSFCorePlugin.getDefault().getPreferenceStore());
+        prefs.load();
+
+        final IWorkspaceRoot wsRoot = ResourcesPlugin.getWorkspace().getRoot();
+        final BatchReporter batchReporter = new BatchReporter(reporter, prefs);
+        final List<IFile> files = new ArrayList<IFile>();
+        final Map<IFile, IValidationReporter> reporters = new HashMap<IFile, IValidationReporter>();
+        for (final String uri : uris)
+        {
+            final IFile file = wsRoot.getFile(new Path(uri));
+            if (file.exists() && shouldValidate(file))
+            {
+                files.add(file);
+                reporters.put(file, batchReporter.createReporter(file));
+            }
+        }
+
+        try
+        {
+            JSFValidatorFactory.createDefaultXMLBatchValidator().validateViews(
+                    files, reporters, new NullProgressMonitor()
+                    {
+                        @Override
+                        public boolean isCanceled()
+                        {
+                            return reporter.isCancelled();
+                        }
+                    });
+        }
+        finally
+        {
+            batchReporter.release();
+        }
+    }
+
+    @Override
+    public void validationFinishing(final IProject project,
+            final ValidationState state, final IProgressMonitor monitor)
+    {
+        try
+        {
+            super.validationFinishing(project, state, monitor);
+        }
+        finally
+        {
+            ValidationMetrics.getInstance().traceDump();
+        }
+    }
+
     private boolean shouldValidate(final IFile file)
     {
         return (JSPUtil.isJSPContentType(file)
                 && JSFAppConfigUtils.isValidJSFProject(file.getProject()));
     }
+
+    /**
+     * Reports the problems found in a batch of files. Batch validation
+     * reports each file's problems together on the validating thread, so only
+     * the model of the file currently being reported is held for read.
+     */
+    private final class BatchReporter
+    {
+        private final IReporter             _reporter;
+        private final ValidationPreferences _prefs;
+        private IFile                       _file;
+        private IStructuredModel            _model;
+        private ValidationReporter          _fileReporter;
+
+        BatchReporter(final IReporter reporter,
+                final ValidationPreferences prefs)
+        {
+            _reporter = reporter;
+            _prefs = prefs;
+        }
+
+        IValidationReporter createReporter(final IFile file)
+        {
+            return new IValidationReporter()
+            {
+                public void report(final Diagnostic problem, final int start,
+                        final int length)
+                {
+                    getReporter(file).report(problem, start, length);
+                }
+
+                @SuppressWarnings("deprecation")
+                public void report(final IMessage message)
+                {
+                    getReporter(file).report(message);
+                }
+            };
+        }
+
+        private ValidationReporter getReporter(final IFile file)
+        {
+            if (!file.equals(_file))
+            {
+                release();
+                _file = file;
+                try
+                {
+                    _model = StructuredModelManager.getModelManager()
+                            .getModelForRead(file);
+                }
+                catch (final CoreException e)
+                {
+                    JSFCorePlugin.log("Error validating JSF", e); //$NON-NLS-1$
+                }
+                catch (final IOException e)
+                {
+                    JSFCorePlugin.log("Error validating JSF", e); //$NON-NLS-1$
+                }
+                _fileReporter = new ValidationReporter(JSFValidator.this,
+                        _reporter, file, _prefs, _model);
+            }
+            return _fileReporter;
+        }
+
+        void release()
+        {
+            if (null != _model)
+            {
+                _model.releaseFromRead();
+                _model = null;
+            }
+            _file = null;
+            _fileReporter = null;
+        }
+    }
 }
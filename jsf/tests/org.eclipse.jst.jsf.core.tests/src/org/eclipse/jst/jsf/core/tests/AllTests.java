@@ -17,6 +17,8 @@ import junit.framework.TestSuite;
 
 import org.eclipse.jst.jsf.core.tests.appconfig.CompositeJSFAppConfigLocatorProviderStrategyTests;
 import org.eclipse.jst.jsf.core.tests.appconfig.JSFAppConfigManagerFactoryTests;
+import org.eclipse.jst.jsf.core.tests.appconfig.JSFAppConfigManagerViewsTests;
+import org.eclipse.jst.jsf.core.tests.appconfig.provider.TestAnnotationJSFAppConfigProvider;
 import org.eclipse.jst.jsf.core.tests.appconfig.validation.AppConfigValidationUtilTestCase;
 import org.eclipse.jst.jsf.core.tests.contenttype.TestContentTypes;
 import org.eclipse.jst.jsf.core.tests.facet.JsfDownloadableLibraryLocationTests;
@@ -44,8 +46,12 @@ import org.eclipse.jst.jsf.core.tests.types.TypeComparatorTests;
 import org.eclipse.jst.jsf.core.tests.types.TypeTransformerTests;
 import org.eclipse.jst.jsf.core.tests.util.TestJDTBeanIntrospector;
 import org.eclipse.jst.jsf.core.tests.util.TestJDTBeanPropertyWorkingCopy;
+import org.eclipse.jst.jsf.core.tests.util.TestTypeInfoCache;
 import org.eclipse.jst.jsf.core.tests.util.TestTypeUtil;
 import org.eclipse.jst.jsf.core.tests.validation.TestJSPSemanticsValidator_AttributeValues;
+import org.eclipse.jst.jsf.core.tests.validation.TestValidationMetrics;
+import org.eclipse.jst.jsf.core.tests.validation.TestValidationPlanCache;
+import org.eclipse.jst.jsf.core.tests.validation.TestXMLViewDefnValidator_Batch;
 import org.eclipse.jst.jsf.core.tests.validation.TestJSPSemanticsValidator_Containment;
 import org.eclipse.jst.jsf.test.util.JSFTestUtil;
 
@@ -69,6 +75,7 @@ public class AllTests
         suite.addTestSuite(TestJDTBeanPropertyWorkingCopy.class);
         suite.addTestSuite(TestJDTBeanIntrospector.class);
         suite.addTestSuite(TestTypeUtil.class);
+        suite.addTestSuite(TestTypeInfoCache.class);
 
 		suite.addTestSuite(TypeComparatorTests.class);
 		suite.addTestSuite(TypeTransformerTests.class);
@@ -96,6 +103,9 @@ public class AllTests
 
 		suite.addTestSuite(TestJSPSemanticsValidator_Containment.class);
         suite.addTestSuite(TestJSPSemanticsValidator_AttributeValues.class);
+        suite.addTestSuite(TestXMLViewDefnValidator_Batch.class);
+        suite.addTestSuite(TestValidationPlanCache.class);
+        suite.addTestSuite(TestValidationMetrics.class);
 		suite.addTestSuite(AppConfigValidationUtilTestCase.class);
 		suite.addTestSuite(TestMemberConstraint.class);
 		suite.addTestSuite(TestXPathValidation.class);
@@ -121,6 +131,8 @@ public class AllTests
         //JSFAppConfig Tests
         suite.addTestSuite(CompositeJSFAppConfigLocatorProviderStrategyTests.class);
         suite.addTestSuite(JSFAppConfigManagerFactoryTests.class);
+        suite.addTestSuite(JSFAppConfigManagerViewsTests.class);
+        suite.addTestSuite(TestAnnotationJSFAppConfigProvider.class);
 
         suite.addTestSuite(JSFTestUtil.getAllowJavaScriptJobsTestCase());
 		//$JUnit-END$
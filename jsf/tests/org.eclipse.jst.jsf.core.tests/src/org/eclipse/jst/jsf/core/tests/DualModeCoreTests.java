@@ -15,6 +15,8 @@ package org.eclipse.jst.jsf.core.tests;
 import org.eclipse.jst.jsf.core.tests.resource.AllLifecycleListenerTests;
 import org.eclipse.jst.jsf.core.tests.resource.FastClasspathEntryLifecycleTests;
 import org.eclipse.jst.jsf.core.tests.resource.TestDefaultJarLocator;
+import org.eclipse.jst.jsf.core.tests.resource.TestJarContentIndex;
+import org.eclipse.jst.jsf.core.tests.resource.TestJarScanPool;
 import org.eclipse.jst.jsf.core.tests.resource.TestResourceTracker;
 import org.eclipse.jst.jsf.core.tests.serialization.TLDAttributeSerializationTests;
 import org.eclipse.jst.jsf.test.util.junit4.DualModeEnvironment;
@@ -33,7 +35,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses(
 { AllLifecycleListenerTests.class,
         TestResourceTracker.class,TLDAttributeSerializationTests.class ,
-        FastClasspathEntryLifecycleTests.class, TestDefaultJarLocator.class})
+        FastClasspathEntryLifecycleTests.class, TestDefaultJarLocator.class,
+        TestJarContentIndex.class, TestJarScanPool.class})
 public class DualModeCoreTests
 {
 }
@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.jst.jsf.core.tests.appconfig;
 
+import java.util.List;
+
 import junit.framework.TestCase;
 
 import org.eclipse.jst.jsf.core.IJSFCoreConstants;
@@ -19,6 +21,7 @@ import org.eclipse.jst.jsf.core.jsfappconfig.JSFAppConfigManager;
 import org.eclipse.jst.jsf.core.jsfappconfig.internal.IJSFAppConfigManager;
 import org.eclipse.jst.jsf.core.jsfappconfig.internal.JSFAppConfigManagerFactory;
 import org.eclipse.jst.jsf.core.tests.util.JSFFacetedTestEnvironment;
+import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigFactory;
 import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanType;
 import org.eclipse.jst.jsf.test.util.JDTTestEnvironment;
 import org.eclipse.jst.jsf.test.util.JSFTestUtil;
@@ -67,6 +70,22 @@ public class JSFAppConfigManagerFactoryTests extends TestCase {
 		assertEquals(mgr, mgr3);
 		assertNotNull(mgr3.getManagedBeans());
 	}
+
+	public void testDeprecatedManagerReturnsCopies() {
+		JSFAppConfigManager mgr = JSFAppConfigManager.getInstance(projectTestEnvironment.getTestProject());
+		assertNotNull(mgr);
+
+		//callers of the public class own the lists they get
+		List beans = mgr.getManagedBeans();
+		assertNotSame(beans, mgr.getManagedBeans());
+		int size = beans.size();
+		beans.add(FacesConfigFactory.eINSTANCE.createManagedBeanType());
+		assertEquals(size, mgr.getManagedBeans().size());
+
+		List resolvers = mgr.getPropertyResolvers();
+		resolvers.add("MyResolver");
+		assertFalse(mgr.getPropertyResolvers().contains("MyResolver"));
+	}
 	
 // test extension disabled becuz it screws up tests	
 //	public void testExtPtJSFAppConfigManagerSetup() {
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.tests.appconfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jst.jsf.core.IJSFCoreConstants;
+import org.eclipse.jst.jsf.core.jsfappconfig.internal.IJSFAppConfigManager;
+import org.eclipse.jst.jsf.core.jsfappconfig.internal.JSFAppConfigManagerFactory;
+import org.eclipse.jst.jsf.core.tests.util.JSFFacetedTestEnvironment;
+import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigFactory;
+import org.eclipse.jst.jsf.facesconfig.emf.FacesConfigType;
+import org.eclipse.jst.jsf.facesconfig.emf.FromViewIdType;
+import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanType;
+import org.eclipse.jst.jsf.facesconfig.emf.NavigationRuleType;
+import org.eclipse.jst.jsf.test.util.JSFTestUtil;
+import org.eclipse.jst.jsf.test.util.WebProjectTestEnvironment;
+
+public class JSFAppConfigManagerViewsTests extends TestCase {
+	WebProjectTestEnvironment projectTestEnvironment;
+	IJSFAppConfigManager mgr;
+	FacesConfigType facesConfig;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		JSFTestUtil.setValidationEnabled(false);
+		JSFTestUtil.setInternetProxyPreferences(true, "www-proxy.us.oracle.com", "80");
+
+		projectTestEnvironment =
+			new WebProjectTestEnvironment("JSFAppConfigManagerViewsTests"+"_"+getName());
+		boolean created = projectTestEnvironment.createProject(true);
+		assertTrue(projectTestEnvironment.getTestProject().isAccessible());
+
+		if (created) {
+			// initialize test case for faces 1.1
+			JSFFacetedTestEnvironment jsfFacedEnv = new JSFFacetedTestEnvironment(projectTestEnvironment);
+			jsfFacedEnv.initialize(IJSFCoreConstants.FACET_VERSION_1_1);
+		}
+
+		projectTestEnvironment.getTestProject().setSessionProperty(JSFAppConfigManagerFactory.TESTABLE_FACTORY_SESSION_KEY, new TestJSFAppConfigManagerFactory());
+		mgr = JSFAppConfigManagerFactory.getJSFAppConfigManagerInstance(projectTestEnvironment.getTestProject());
+		assertNotNull(mgr);
+		assertEquals(TestLocatorProvider.MANAGED_BEAN_COUNT, mgr.getManagedBeans().size());
+		// the fake provider's model; it doesn't add a change adapter itself
+		facesConfig = (FacesConfigType) mgr.getManagedBeans().get(0).eContainer();
+		assertNotNull(facesConfig);
+	}
+
+	public void testViewsFollowModelChanges() {
+		final List<ManagedBeanType> beans = mgr.getManagedBeans();
+		assertSame(beans, mgr.getManagedBeans());
+		try {
+			beans.clear();
+			fail("views must be unmodifiable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		final ManagedBeanType bean = FacesConfigFactory.eINSTANCE.createManagedBeanType();
+		facesConfig.getManagedBean().add(bean);
+		assertEquals(TestLocatorProvider.MANAGED_BEAN_COUNT + 1, mgr.getManagedBeans().size());
+		assertTrue(mgr.getManagedBeans().contains(bean));
+
+		facesConfig.getManagedBean().remove(bean);
+		assertEquals(TestLocatorProvider.MANAGED_BEAN_COUNT, mgr.getManagedBeans().size());
+		assertFalse(mgr.getManagedBeans().contains(bean));
+	}
+
+	public void testNavigationRulesForPage() {
+		final NavigationRuleType noFromViewId = createRule(null);
+		final NavigationRuleType exact = createRule("/a/b.jsp");
+		final NavigationRuleType folderPrefix = createRule("/a/*");
+		final NavigationRuleType wildcard = createRule("*");
+		final NavigationRuleType otherPage = createRule("/c.jsp");
+		final NavigationRuleType exactPrefix = createRule("/a/b.jsp*");
+		final NavigationRuleType empty = createRule("");
+		final NavigationRuleType otherPrefix = createRule("/b*");
+		final NavigationRuleType longerPrefix = createRule("/a/b.jspx*");
+		final List<NavigationRuleType> added = Arrays.asList(noFromViewId,
+				exact, folderPrefix, wildcard, otherPage, exactPrefix, empty,
+				otherPrefix, longerPrefix);
+		facesConfig.getNavigationRule().addAll(added);
+
+		final IFile page = projectTestEnvironment.getTestProject().getFile("WebContent/a/b.jsp");
+		assertEquals(Arrays.asList(noFromViewId, exact, folderPrefix, wildcard, exactPrefix),
+				getAddedRulesForPage(page, added));
+
+		// changing a from-view-id must be reflected
+		otherPage.getFromViewId().setTextContent("/a/b.jsp");
+		assertEquals(Arrays.asList(noFromViewId, exact, folderPrefix, wildcard, otherPage, exactPrefix),
+				getAddedRulesForPage(page, added));
+
+		facesConfig.getNavigationRule().remove(exact);
+		assertEquals(Arrays.asList(noFromViewId, folderPrefix, wildcard, otherPage, exactPrefix),
+				getAddedRulesForPage(page, added));
+
+		final IFile otherFolderPage = projectTestEnvironment.getTestProject().getFile("WebContent/b/index.jsp");
+		assertEquals(Arrays.asList(noFromViewId, wildcard, otherPrefix),
+				getAddedRulesForPage(otherFolderPage, added));
+	}
+
+	private List<NavigationRuleType> getAddedRulesForPage(final IFile page, final List<NavigationRuleType> added) {
+		final List<NavigationRuleType> rules = new ArrayList<NavigationRuleType>(mgr.getNavigationRulesForPage(page));
+		rules.retainAll(added);
+		return rules;
+	}
+
+	private static NavigationRuleType createRule(final String fromViewId) {
+		final FacesConfigFactory fac = FacesConfigFactory.eINSTANCE;
+		final NavigationRuleType rule = fac.createNavigationRuleType();
+		if (fromViewId != null) {
+			final FromViewIdType fromViewIdType = fac.createFromViewIdType();
+			fromViewIdType.setTextContent(fromViewId);
+			rule.setFromViewId(fromViewIdType);
+		}
+		return rule;
+	}
+}
@@ -92,6 +92,18 @@ public class TestJSFAppConfigManager implements IJSFAppConfigManager {
 		return getManager().removeFacesConfigChangeListener(emfClass);
 	}
 
+	@SuppressWarnings("rawtypes")
+	public boolean addSharedFacesConfigChangeListener(Class emfClass,
+			IFacesConfigChangeListener listener) {
+		return getManager().addSharedFacesConfigChangeListener(emfClass, listener);
+	}
+
+	@SuppressWarnings("rawtypes")
+	public boolean removeSharedFacesConfigChangeListener(Class emfClass,
+			IFacesConfigChangeListener listener) {
+		return getManager().removeSharedFacesConfigChangeListener(emfClass, listener);
+	}
+
 	public void notifyFacesConfigChangeListeners(Notification notification) {
 		getManager().notifyFacesConfigChangeListeners(notification);
 	}
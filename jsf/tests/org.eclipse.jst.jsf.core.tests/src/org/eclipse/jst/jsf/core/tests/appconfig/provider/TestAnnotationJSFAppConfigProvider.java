@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.tests.appconfig.provider;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jst.common.project.facet.core.JavaFacet;
+import org.eclipse.jst.jsf.core.IJSFCoreConstants;
+import org.eclipse.jst.jsf.core.jsfappconfig.internal.IJSFAppConfigManager;
+import org.eclipse.jst.jsf.core.jsfappconfig.internal.JSFAppConfigManagerFactory;
+import org.eclipse.jst.jsf.core.tests.util.JSFFacetedTestEnvironment;
+import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanType;
+import org.eclipse.jst.jsf.test.util.JDTTestEnvironment;
+import org.eclipse.jst.jsf.test.util.JSFTestUtil;
+import org.eclipse.jst.jsf.test.util.WebProjectTestEnvironment;
+import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
+
+/**
+ * Checks that the annotation provider follows changes to annotated classes
+ * without rescanning the whole project.
+ */
+public class TestAnnotationJSFAppConfigProvider extends TestCase
+{
+    private static final String SRC_FOLDER_NAME = "src";
+    private static final String PACKAGE_NAME = "com.test";
+
+    private WebProjectTestEnvironment _testEnv;
+    private JDTTestEnvironment        _jdtTestEnv;
+    private ICompilationUnit          _beanUnit;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        JSFTestUtil.setValidationEnabled(false);
+
+        _testEnv = new WebProjectTestEnvironment("TestAnnotationJSFAppConfigProvider_" + getName(),
+                JavaFacet.VERSION_1_5, ProjectFacetsManager.getProjectFacet("jst.web").getVersion("2.5"));
+        _testEnv.createProject(false);
+        assertTrue(_testEnv.getTestProject().isAccessible());
+
+        final JSFFacetedTestEnvironment jsfFacetedEnv = new JSFFacetedTestEnvironment(_testEnv);
+        jsfFacetedEnv.initialize(IJSFCoreConstants.FACET_VERSION_2_0);
+
+        _jdtTestEnv = new JDTTestEnvironment(_testEnv);
+        // the annotation itself, in case the JSF library doesn't supply it
+        _jdtTestEnv.addSourceFile(SRC_FOLDER_NAME, "javax.faces.bean", "ManagedBean",
+                "package javax.faces.bean;\n"
+                + "public @interface ManagedBean {\n"
+                + "    String name() default \"\";\n"
+                + "    boolean eager() default false;\n"
+                + "}\n");
+        _beanUnit = _jdtTestEnv.addSourceFile(SRC_FOLDER_NAME, PACKAGE_NAME, "Bean1",
+                beanSource("Bean1", "bean1"));
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        _testEnv.getTestProject().delete(true, null);
+        super.tearDown();
+    }
+
+    public void testAddManagedBean() throws Exception
+    {
+        assertEquals(singleton("bean1"), getAnnotatedBeanNames());
+        final ManagedBeanType bean1 = getAnnotatedBean("bean1");
+
+        _jdtTestEnv.addSourceFile(SRC_FOLDER_NAME, PACKAGE_NAME, "Bean2",
+                beanSource("Bean2", "bean2"));
+
+        final Set<String> expected = new HashSet<String>();
+        expected.add("bean1");
+        expected.add("bean2");
+        assertEquals(expected, getAnnotatedBeanNames());
+
+        // the new bean is added to the existing model
+        assertSame(bean1, getAnnotatedBean("bean1"));
+        assertSame(bean1.eContainer(), getAnnotatedBean("bean2").eContainer());
+    }
+
+    public void testRemoveManagedBean() throws Exception
+    {
+        final ICompilationUnit bean2Unit = _jdtTestEnv.addSourceFile(SRC_FOLDER_NAME,
+                PACKAGE_NAME, "Bean2", beanSource("Bean2", "bean2"));
+        final ManagedBeanType bean1 = getAnnotatedBean("bean1");
+        final ManagedBeanType bean2 = getAnnotatedBean("bean2");
+
+        bean2Unit.getResource().delete(true, null);
+
+        assertEquals(singleton("bean1"), getAnnotatedBeanNames());
+        assertSame(bean1, getAnnotatedBean("bean1"));
+        assertNull(bean2.eContainer());
+
+        _beanUnit.getResource().delete(true, null);
+
+        assertTrue(getAnnotatedBeanNames().isEmpty());
+    }
+
+    public void testEditManagedBean() throws Exception
+    {
+        _jdtTestEnv.addSourceFile(SRC_FOLDER_NAME, PACKAGE_NAME, "Bean2",
+                beanSource("Bean2", "bean2"));
+        final ManagedBeanType bean2 = getAnnotatedBean("bean2");
+        final EObject facesConfig = bean2.eContainer();
+        assertNotNull(facesConfig);
+
+        setContents(beanSource("Bean1", "renamedBean"));
+        final Set<String> expected = new HashSet<String>();
+        expected.add("renamedBean");
+        expected.add("bean2");
+        assertEquals(expected, getAnnotatedBeanNames());
+
+        // only the edited unit's contributions are replaced
+        assertSame(bean2, getAnnotatedBean("bean2"));
+        assertSame(facesConfig, getAnnotatedBean("renamedBean").eContainer());
+
+        // removing the annotation drops the bean
+        setContents("package " + PACKAGE_NAME + ";\npublic class Bean1 {}\n");
+        assertEquals(singleton("bean2"), getAnnotatedBeanNames());
+        assertSame(bean2, getAnnotatedBean("bean2"));
+        assertSame(facesConfig, bean2.eContainer());
+    }
+
+    public void testWorkingCopyChangesAreIgnored() throws Exception
+    {
+        assertEquals(singleton("bean1"), getAnnotatedBeanNames());
+        final ManagedBeanType bean1 = getAnnotatedBean("bean1");
+
+        final ICompilationUnit workingCopy = _beanUnit.getWorkingCopy(null);
+        try
+        {
+            workingCopy.getBuffer().setContents(beanSource("Bean1", "unsavedBean"));
+            workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+            // only saved content is reflected in the model
+            assertEquals(singleton("bean1"), getAnnotatedBeanNames());
+            assertSame(bean1, getAnnotatedBean("bean1"));
+        }
+        finally
+        {
+            workingCopy.discardWorkingCopy();
+        }
+    }
+
+    private void setContents(final String contents) throws Exception
+    {
+        ((IFile) _beanUnit.getResource()).setContents(new ByteArrayInputStream(
+                contents.getBytes("UTF-8")), true, false, null);
+    }
+
+    private Set<String> getAnnotatedBeanNames()
+    {
+        return getAnnotatedBeans().keySet();
+    }
+
+    private ManagedBeanType getAnnotatedBean(final String name)
+    {
+        final ManagedBeanType bean = getAnnotatedBeans().get(name);
+        assertNotNull(bean);
+        return bean;
+    }
+
+    private Map<String, ManagedBeanType> getAnnotatedBeans()
+    {
+        final IJSFAppConfigManager manager = JSFAppConfigManagerFactory
+                .getJSFAppConfigManagerInstance(_testEnv.getTestProject());
+        final Map<String, ManagedBeanType> beans = new HashMap<String, ManagedBeanType>();
+        for (final Object bean : manager.getManagedBeans())
+        {
+            final ManagedBeanType managedBean = (ManagedBeanType) bean;
+            if (managedBean.getManagedBeanClass() != null
+                    && managedBean.getManagedBeanClass().getTextContent().startsWith(PACKAGE_NAME))
+            {
+                beans.put(managedBean.getManagedBeanName().getTextContent(), managedBean);
+            }
+        }
+        return beans;
+    }
+
+    private static String beanSource(final String className, final String beanName)
+    {
+        return "package " + PACKAGE_NAME + ";\n"
+            + "import javax.faces.bean.ManagedBean;\n"
+            + "@ManagedBean(name=\"" + beanName + "\")\n"
+            + "public class " + className + " {}\n";
+    }
+
+    private static Set<String> singleton(final String value)
+    {
+        final Set<String> set = new HashSet<String>();
+        set.add(value);
+        return set;
+    }
+}
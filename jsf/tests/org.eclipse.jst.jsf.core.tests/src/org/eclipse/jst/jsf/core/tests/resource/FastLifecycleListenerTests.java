@@ -123,6 +123,73 @@ public class FastLifecycleListenerTests
         listener.removeResource(_file);
     }
 
+    @Test
+    public void testAddListenerForResource()
+    {
+        final IFile otherFile = _project.getFile("otherfile.txt");
+        final LifecycleListener listener = new LifecycleListener(_file,
+                _wsContext.getWorkspace());
+        listener.addResource(otherFile);
+        final MyTestListener tester = new MyTestListener(_wsContext);
+        listener.addListener(tester, _file);
+
+        tester.fireAndExpect(_factory.createSimpleFileChange(_file, true),
+                _file, EventType.RESOURCE_CHANGED,
+                ReasonType.RESOURCE_CHANGED_CONTENTS);
+        tester.fireAndExpectNull(_factory.createSimpleFileChange(otherFile,
+                true));
+
+        // subscribing again moves the listener
+        listener.addListener(tester, otherFile);
+        tester.fireAndExpectNull(_factory.createSimpleFileChange(_file, true));
+        tester.fireAndExpect(_factory.createSimpleFileChange(otherFile, true),
+                otherFile, EventType.RESOURCE_CHANGED,
+                ReasonType.RESOURCE_CHANGED_CONTENTS);
+
+        listener.removeListener(tester);
+        tester.fireAndExpectNull(_factory.createSimpleFileChange(otherFile,
+                true));
+    }
+
+    /**
+     * Tracks 10000 files, each with its own listener as a JSPModelProcessor
+     * has, and checks that a change to one of them only reaches its own
+     * listener.
+     */
+    @Test
+    public void testDispatchToManyTrackedResources()
+    {
+        final int numFiles = 10000;
+        final LifecycleListener listener = new LifecycleListener(_wsContext
+                .getWorkspace());
+        final List<MyTestListener> testers = new ArrayList<MyTestListener>();
+        final List<IFile> files = new ArrayList<IFile>();
+        for (int i = 0; i < numFiles; i++)
+        {
+            final IFile file = _project.getFolder("folder" + (i % 100))
+                    .getFile("file" + i + ".jsp");
+            final MyTestListener tester = new MyTestListener(_wsContext);
+            listener.addResource(file);
+            listener.addListener(tester, file);
+            files.add(file);
+            testers.add(tester);
+        }
+
+        final int changedIndex = numFiles / 2;
+        final IFile changed = files.get(changedIndex);
+        final IResourceChangeEvent event = _factory.createSimpleFileChange(
+                changed, true);
+        testers.get(changedIndex).fireAndExpect(event, changed,
+                EventType.RESOURCE_CHANGED,
+                ReasonType.RESOURCE_CHANGED_CONTENTS);
+
+        // not files in other folders, nor other files in the same folder
+        testers.get(0).fireAndExpectNull(event);
+        testers.get(changedIndex + 1).fireAndExpectNull(event);
+        testers.get(changedIndex + 100).fireAndExpectNull(event);
+        testers.get(numFiles - 1).fireAndExpectNull(event);
+    }
+
     @Test
     public void testFileChangedEvents()
     {
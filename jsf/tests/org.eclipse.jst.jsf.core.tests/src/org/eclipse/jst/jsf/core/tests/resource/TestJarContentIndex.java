@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.tests.resource;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jst.jsf.common.internal.resource.JarContentIndex;
+import org.eclipse.jst.jsf.test.util.mock.MockProject;
+import org.eclipse.jst.jsf.test.util.junit4.NoPluginEnvironment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(NoPluginEnvironment.class)
+public class TestJarContentIndex
+{
+    private File _dir;
+    private File _jar;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _dir = File.createTempFile("jarContentIndex", "");
+        _dir.delete();
+        _dir.mkdirs();
+        _jar = new File(_dir, "lib.jar");
+        writeJar(_jar, "content", "META-INF/faces-config.xml",
+                "META-INF/my.taglib.xml", "com/foo/Bar.class",
+                "com/foo/messages.properties");
+    }
+
+    @After
+    public void tearDown()
+    {
+        for (final File file : _dir.listFiles())
+        {
+            file.delete();
+        }
+        _dir.delete();
+    }
+
+    @Test
+    public void testEntries() throws Exception
+    {
+        final JarContentIndex index = new JarContentIndex(null);
+        assertTrue(index.hasEntry(_jar, "META-INF/faces-config.xml"));
+        assertFalse(index.hasEntry(_jar, "META-INF/web.xml"));
+        // class files and directories aren't indexed
+        assertFalse(index.hasEntry(_jar, "com/foo/Bar.class"));
+        assertEquals(Arrays.asList("META-INF/faces-config.xml",
+                "META-INF/my.taglib.xml", "com/foo/messages.properties"),
+                index.getEntryNames(_jar));
+        assertEquals(Collections.singletonList("META-INF/my.taglib.xml"),
+                index.findEntries(_jar,
+                        Pattern.compile("META-INF/.*\\.taglib\\.xml")));
+
+        assertFalse(index.hasEntry(new File(_dir, "missing.jar"),
+                "META-INF/faces-config.xml"));
+        assertTrue(index.getEntryNames(new File(_dir, "missing.jar")).isEmpty());
+    }
+
+    @Test
+    public void testEntriesWithPrefix() throws Exception
+    {
+        final JarContentIndex index = new JarContentIndex(null);
+        assertEquals(Arrays.asList("META-INF/faces-config.xml",
+                "META-INF/my.taglib.xml"),
+                index.getEntryNames(null, _jar, "META-INF/"));
+        assertEquals(Collections.singletonList("com/foo/messages.properties"),
+                index.getEntryNames(null, _jar, "com/foo/"));
+        assertTrue(index.getEntryNames(null, _jar, "com/bar/").isEmpty());
+        assertTrue(index.getEntryNames(null, _jar, "zzz").isEmpty());
+        assertEquals(index.getEntryNames(_jar),
+                index.getEntryNames(null, _jar, ""));
+    }
+
+    @Test
+    public void testReleaseProject() throws Exception
+    {
+        final File indexFile = new File(_dir, "index.dat");
+        final JarContentIndex index = new JarContentIndex(indexFile);
+        final MockProject project1 = new MockProject(new Path("/project1"), null);
+        final MockProject project2 = new MockProject(new Path("/project2"), null);
+        assertTrue(index.hasEntry(project1, _jar, "META-INF/faces-config.xml"));
+        assertTrue(index.hasEntry(project2, _jar, "META-INF/faces-config.xml"));
+
+        // still used by project2
+        index.releaseProject(project1);
+        index.save();
+        assertTrue(isSaved(indexFile, _jar));
+
+        // the last owner is gone, so the jar is no longer indexed or saved
+        index.releaseProject(project2);
+        index.save();
+        assertFalse(isSaved(indexFile, _jar));
+    }
+
+    @Test
+    public void testReleaseProjectDropsUnownedJars() throws Exception
+    {
+        final File indexFile = new File(_dir, "index.dat");
+        final JarContentIndex index = new JarContentIndex(indexFile);
+        assertNotNull(index.getEntryDigest(null, _jar, "META-INF/faces-config.xml"));
+        index.save();
+        assertTrue(isSaved(indexFile, _jar));
+
+        // a jar looked up with no owner doesn't outlive the next release
+        index.releaseProject(new MockProject(new Path("/project1"), null));
+        index.save();
+        assertFalse(isSaved(indexFile, _jar));
+    }
+
+    @Test
+    public void testRescanWhenJarChanges() throws Exception
+    {
+        final JarContentIndex index = new JarContentIndex(null);
+        final byte[] digest = index.getEntryDigest(null, _jar,
+                "META-INF/faces-config.xml");
+        assertNotNull(digest);
+        assertNull(index.getEntryDigest(null, _jar, "META-INF/web.xml"));
+
+        writeJar(_jar, "changed content", "META-INF/faces-config.xml",
+                "META-INF/web.xml");
+        // make sure the time stamp moves even on coarse file systems
+        _jar.setLastModified(_jar.lastModified() + 2000);
+
+        assertTrue(index.hasEntry(_jar, "META-INF/web.xml"));
+        assertFalse(index.hasEntry(_jar, "META-INF/my.taglib.xml"));
+        assertFalse(Arrays.equals(digest, index.getEntryDigest(null, _jar,
+                "META-INF/faces-config.xml")));
+    }
+
+    @Test
+    public void testPersistence() throws Exception
+    {
+        final File indexFile = new File(_dir, "index.dat");
+        final JarContentIndex index = new JarContentIndex(indexFile);
+        final byte[] digest = index.getEntryDigest(null, _jar,
+                "META-INF/my.taglib.xml");
+        index.save();
+        assertTrue(indexFile.isFile());
+
+        final JarContentIndex reloaded = new JarContentIndex(indexFile);
+        assertEquals(index.getEntryNames(_jar), reloaded.getEntryNames(_jar));
+        assertTrue(Arrays.equals(digest, reloaded.getEntryDigest(null, _jar,
+                "META-INF/my.taglib.xml")));
+    }
+
+    private static boolean isSaved(final File indexFile, final File jar)
+            throws Exception
+    {
+        // the jar paths are stored as (ASCII) UTF strings
+        final String contents = new String(Files.readAllBytes(indexFile
+                .toPath()), "ISO-8859-1");
+        return contents.contains(jar.getAbsolutePath());
+    }
+
+    private static void writeJar(final File file, final String content,
+            final String... entryNames) throws Exception
+    {
+        final JarOutputStream out = new JarOutputStream(new FileOutputStream(
+                file));
+        try
+        {
+            out.putNextEntry(new ZipEntry("com/"));
+            out.closeEntry();
+            for (final String entryName : entryNames)
+            {
+                out.putNextEntry(new ZipEntry(entryName));
+                out.write((entryName + content).getBytes("UTF-8"));
+                out.closeEntry();
+            }
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+}
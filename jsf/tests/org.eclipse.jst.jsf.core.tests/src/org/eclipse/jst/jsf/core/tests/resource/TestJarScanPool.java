@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.tests.resource;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.jst.jsf.common.internal.resource.JarContentIndex;
+import org.eclipse.jst.jsf.common.internal.resource.JarScanPool;
+import org.eclipse.jst.jsf.test.util.junit4.NoPluginEnvironment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(NoPluginEnvironment.class)
+public class TestJarScanPool
+{
+    private static final int NUM_JARS = 300;
+    private static final int NUM_ENTRIES_PER_JAR = 200;
+
+    private File _dir;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _dir = File.createTempFile("jarScanPool", "");
+        _dir.delete();
+        _dir.mkdirs();
+    }
+
+    @After
+    public void tearDown()
+    {
+        for (final File file : _dir.listFiles())
+        {
+            file.delete();
+        }
+        _dir.delete();
+    }
+
+    @Test
+    public void testResultsInTaskOrder()
+    {
+        final List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < 50; i++)
+        {
+            final int value = i;
+            tasks.add(new Callable<Integer>()
+            {
+                public Integer call() throws Exception
+                {
+                    // finish out of order
+                    Thread.sleep((50 - value) % 7);
+                    if (value == 13)
+                    {
+                        throw new Exception("Expected by test");
+                    }
+                    return Integer.valueOf(value);
+                }
+            });
+        }
+
+        final List<Integer> results = JarScanPool.invokeAll(tasks);
+        assertEquals(tasks.size(), results.size());
+        for (int i = 0; i < results.size(); i++)
+        {
+            if (i == 13)
+            {
+                assertNull(results.get(i));
+            }
+            else
+            {
+                assertEquals(Integer.valueOf(i), results.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testInterruptedCallerGetsAllResults()
+    {
+        final List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < 20; i++)
+        {
+            final int value = i;
+            tasks.add(new Callable<Integer>()
+            {
+                public Integer call() throws Exception
+                {
+                    return Integer.valueOf(value);
+                }
+            });
+        }
+
+        Thread.currentThread().interrupt();
+        final List<Integer> results;
+        try
+        {
+            results = JarScanPool.invokeAll(tasks);
+            // the interrupt is still visible to the caller
+            assertTrue(Thread.currentThread().isInterrupted());
+        }
+        finally
+        {
+            Thread.interrupted();
+        }
+
+        assertEquals(tasks.size(), results.size());
+        for (int i = 0; i < results.size(); i++)
+        {
+            assertEquals(Integer.valueOf(i), results.get(i));
+        }
+    }
+
+    /**
+     * Scans a synthetic classpath of 300 jars for faces-config.xml the way
+     * JSFAppConfigUtils does, first on one thread and then on the pool.
+     */
+    @Test
+    public void testScanBenchmark() throws Exception
+    {
+        final List<File> jars = new ArrayList<File>();
+        for (int i = 0; i < NUM_JARS; i++)
+        {
+            final File jar = new File(_dir, "lib" + i + ".jar");
+            writeJar(jar, i % 10 == 0);
+            jars.add(jar);
+        }
+
+        // warm up
+        scan(jars, false);
+        scan(jars, true);
+
+        long start = System.nanoTime();
+        final List<String> sequential = scan(jars, false);
+        final long sequentialTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        final List<String> parallel = scan(jars, true);
+        final long parallelTime = System.nanoTime() - start;
+
+        assertEquals(NUM_JARS / 10, sequential.size());
+        assertEquals(sequential, parallel);
+
+        System.out.printf(
+                "Scanning %d jars: sequential %dms, parallel(%d) %dms\n",
+                Integer.valueOf(NUM_JARS),
+                Long.valueOf(sequentialTime / 1000000),
+                Integer.valueOf(JarScanPool.getParallelism()),
+                Long.valueOf(parallelTime / 1000000));
+    }
+
+    private static List<String> scan(final List<File> jars,
+            final boolean parallel) throws Exception
+    {
+        // a new index each time so that every jar is really opened
+        final JarContentIndex index = new JarContentIndex(null);
+        final List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+        for (final File jar : jars)
+        {
+            tasks.add(new Callable<String>()
+            {
+                public String call() throws Exception
+                {
+                    return index.hasEntry(jar, "META-INF/faces-config.xml") ? jar
+                            .getName() : null;
+                }
+            });
+        }
+
+        final List<String> results = new ArrayList<String>();
+        if (parallel)
+        {
+            results.addAll(JarScanPool.invokeAll(tasks));
+        }
+        else
+        {
+            for (final Callable<String> task : tasks)
+            {
+                results.add(task.call());
+            }
+        }
+        results.removeAll(Arrays.asList((String) null));
+        return results;
+    }
+
+    private static void writeJar(final File file, final boolean hasFacesConfig)
+            throws Exception
+    {
+        final JarOutputStream out = new JarOutputStream(new FileOutputStream(
+                file));
+        try
+        {
+            if (hasFacesConfig)
+            {
+                out.putNextEntry(new ZipEntry("META-INF/faces-config.xml"));
+                out.write("<faces-config/>".getBytes("UTF-8"));
+                out.closeEntry();
+            }
+            for (int i = 0; i < NUM_ENTRIES_PER_JAR; i++)
+            {
+                out.putNextEntry(new ZipEntry("org/example/res" + i
+                        + ".properties"));
+                out.write(("key=value" + i).getBytes("UTF-8"));
+                out.closeEntry();
+            }
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jst.jsf.common.internal.types.TypeConstants;
 import org.eclipse.jst.jsf.common.util.JDTBeanIntrospector;
+import org.eclipse.jst.jsf.common.util.JDTBeanMethod;
 import org.eclipse.jst.jsf.common.util.JDTBeanProperty;
 import org.eclipse.jst.jsf.core.tests.TestsPlugin;
 import org.eclipse.jst.jsf.test.util.JDTTestEnvironment;
@@ -656,4 +657,60 @@ public class TestJDTBeanIntrospector extends TestCase
                 property.getTypeSignature());
         assertNull("IType won't resolve", property.getType());
     }
+
+    public void testModelsMemoized() throws Exception
+    {
+        final JDTBeanIntrospector introspector = JDTBeanIntrospector.forType(_testBean1Type);
+        assertSame(introspector, JDTBeanIntrospector.forType(_testBean1Type));
+
+        final Map<String, JDTBeanProperty> properties = introspector.getProperties();
+        assertSame(properties.get("stringProp1"), introspector.getProperty("stringProp1"));
+        assertSame(properties.get("anotherBean"), introspector.getProperties().get("anotherBean"));
+
+        // callers get their own copy of the map
+        properties.clear();
+        assertEquals(15, introspector.getProperties().size());
+
+        final JDTBeanMethod[] methods = introspector.getMethods();
+        assertTrue(methods.length > 0);
+        assertSame(methods[0], introspector.getMethods()[0]);
+    }
+
+    public void testModelsDroppedOnPropertyTypeChange() throws Exception
+    {
+        final JDTBeanIntrospector introspector = JDTBeanIntrospector.forType(_testBean1Type);
+        final JDTBeanProperty property = introspector.getProperty("anotherBean");
+        assertNotNull(property);
+        assertNotNull(property.getType());
+
+        // change the type of the property, not the bean
+        final TestFileResource codeRes = new TestFileResource();
+        codeRes.load(TestsPlugin.getDefault().getBundle(),
+                "/testfiles/AnotherBean.java.data");
+        _jdtTestEnvironment.addSourceFile(srcFolderName, packageName1,
+                testAnotherBeanName, codeRes.toString());
+
+        final JDTBeanIntrospector newIntrospector = JDTBeanIntrospector.forType(_testBean1Type);
+        assertNotSame(introspector, newIntrospector);
+        assertNotSame(property, newIntrospector.getProperty("anotherBean"));
+    }
+
+    public void testMethodsDroppedOnSignatureTypeChange() throws Exception
+    {
+        // only compute the methods so the dependency comes from them
+        final JDTBeanIntrospector introspector = JDTBeanIntrospector.forType(_testBean1Type);
+        final JDTBeanMethod[] methods = introspector.getMethods();
+        assertTrue(methods.length > 0);
+
+        // change a type used in a method signature, not the bean
+        final TestFileResource codeRes = new TestFileResource();
+        codeRes.load(TestsPlugin.getDefault().getBundle(),
+                "/testfiles/AnotherBean.java.data");
+        _jdtTestEnvironment.addSourceFile(srcFolderName, packageName1,
+                testAnotherBeanName, codeRes.toString());
+
+        final JDTBeanIntrospector newIntrospector = JDTBeanIntrospector.forType(_testBean1Type);
+        assertNotSame(introspector, newIntrospector);
+        assertNotSame(methods[0], newIntrospector.getMethods()[0]);
+    }
 }
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.tests.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jst.jsf.common.internal.types.TypeInfoCache;
+import org.eclipse.jst.jsf.core.tests.TestsPlugin;
+import org.eclipse.jst.jsf.test.util.JDTTestEnvironment;
+import org.eclipse.jst.jsf.test.util.JSFTestUtil;
+import org.eclipse.jst.jsf.test.util.TestFileResource;
+import org.eclipse.jst.jsf.test.util.WebProjectTestEnvironment;
+
+public class TestTypeInfoCache extends TestCase
+{
+    private final static String srcFolderName         = "src";
+    private final static String packageName1          = "com.test";
+    private final static String testBeanName1         = "TestBean1";
+    private final static String testBeanSubclassName1 = "TestBean1Subclass";
+    private final static int    NUM_BEANS             = 40;
+    private final static int    NUM_THREADS           = 8;
+    private final static int    NUM_LOOKUPS           = 10000;
+
+    private JDTTestEnvironment _jdtTestEnvironment;
+    private String             _testBean1Code;
+    private IType              _testBeanSubclassType;
+    private List<IType>        _beanTypes;
+    private TypeInfoCache      _cache;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        JSFTestUtil.setValidationEnabled(false);
+        JSFTestUtil.setInternetProxyPreferences(true,
+                "www-proxy.us.oracle.com", "80");
+
+        final WebProjectTestEnvironment projectTestEnvironment = new WebProjectTestEnvironment(
+                "TestTypeInfoCache_" + getName());
+        projectTestEnvironment.createProject(true);
+
+        _jdtTestEnvironment = new JDTTestEnvironment(projectTestEnvironment);
+        TestFileResource codeRes = new TestFileResource();
+        codeRes.load(TestsPlugin.getDefault().getBundle(),
+                "/testfiles/TestBean1.java.data");
+        _testBean1Code = codeRes.toString();
+        _jdtTestEnvironment.addSourceFile(srcFolderName, packageName1,
+                testBeanName1, _testBean1Code);
+
+        codeRes = new TestFileResource();
+        codeRes.load(TestsPlugin.getDefault().getBundle(),
+                "/testfiles/AnotherBean.java.data");
+        _jdtTestEnvironment.addSourceFile(srcFolderName, packageName1,
+                "AnotherBean", codeRes.toString());
+
+        codeRes = new TestFileResource();
+        codeRes.load(TestsPlugin.getDefault().getBundle(),
+                "/testfiles/TestBean1Subclass.java.data");
+        _jdtTestEnvironment.addSourceFile(srcFolderName, packageName1,
+                testBeanSubclassName1, codeRes.toString());
+        _testBeanSubclassType = _jdtTestEnvironment.getJavaProject().findType(
+                packageName1 + "." + testBeanSubclassName1);
+        assertNotNull(_testBeanSubclassType);
+
+        _beanTypes = new ArrayList<IType>();
+        for (int i = 0; i < NUM_BEANS; i++)
+        {
+            final String name = "Bean" + i;
+            _jdtTestEnvironment.addSourceFile(srcFolderName, packageName1,
+                    name, "package " + packageName1 + ";\npublic class " + name
+                            + " extends " + testBeanName1 + " {}\n");
+            final IType type = _jdtTestEnvironment.getJavaProject().findType(
+                    packageName1 + "." + name);
+            assertNotNull(type);
+            _beanTypes.add(type);
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        TypeInfoCache.disposeInstance(_cache);
+        super.tearDown();
+    }
+
+    public void testCachedUntilSupertypeChanges() throws Exception
+    {
+        _cache = TypeInfoCache.createNewInstance(0);
+        assertNull(_cache.getCachedSupertypes(_testBeanSubclassType));
+
+        final IType[] supertypes = _cache.cacheSupertypesFor(_testBeanSubclassType);
+        assertNotNull(supertypes);
+        assertEquals(packageName1 + "." + testBeanName1,
+                supertypes[0].getFullyQualifiedName());
+        assertSame(supertypes, _cache.getCachedSupertypes(_testBeanSubclassType));
+        assertSame(supertypes, _cache.cacheSupertypesFor(_testBeanSubclassType));
+
+        // changing the super class must drop the cached info of the subclass
+        _jdtTestEnvironment.addSourceFile(srcFolderName, packageName1,
+                testBeanName1, _testBean1Code);
+        assertNull(_cache.getCachedSupertypes(_testBeanSubclassType));
+        assertEquals(0, _cache.size());
+    }
+
+    public void testBoundedSize() throws Exception
+    {
+        _cache = TypeInfoCache.createNewInstance(10);
+        final IType first = _beanTypes.get(0);
+        _cache.cacheSupertypesFor(first);
+
+        for (final IType type : _beanTypes)
+        {
+            _cache.cacheSupertypesFor(type);
+            // keep the first type recently used
+            assertNotNull(_cache.getCachedSupertypes(first));
+            assertTrue(_cache.size() <= 10);
+        }
+
+        assertNotNull(_cache.getCachedSupertypes(first));
+        assertNotNull(_cache.getCachedSupertypes(_beanTypes.get(NUM_BEANS - 1)));
+        assertNull(_cache.getCachedSupertypes(_beanTypes.get(1)));
+
+        // evicted types are uncached cleanly and can be cached again
+        assertNotNull(_cache.cacheSupertypesFor(_beanTypes.get(1)));
+        assertNotNull(_cache.getCachedSupertypes(_beanTypes.get(1)));
+    }
+
+    public void testConcurrentLookups() throws Exception
+    {
+        // every thread must get back the supertypes that were cached up front
+        _cache = TypeInfoCache.createNewInstance(0);
+        final IType[][] expected = new IType[NUM_BEANS][];
+        for (int i = 0; i < NUM_BEANS; i++)
+        {
+            expected[i] = _cache.cacheSupertypesFor(_beanTypes.get(i));
+        }
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(NUM_THREADS);
+        final AtomicReference<String> failure = new AtomicReference<String>();
+
+        for (int t = 0; t < NUM_THREADS; t++)
+        {
+            final int offset = t;
+            final Thread thread = new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                        for (int i = 0; i < NUM_LOOKUPS; i++)
+                        {
+                            final int index = (i + offset) % NUM_BEANS;
+                            IType[] supertypes = _cache.getCachedSupertypes(_beanTypes.get(index));
+                            if (supertypes == null)
+                            {
+                                supertypes = _cache.cacheSupertypesFor(_beanTypes.get(index));
+                            }
+                            if (supertypes != expected[index])
+                            {
+                                failure.set("Unexpected supertypes for " + _beanTypes.get(index));
+                            }
+                        }
+                    }
+                    catch (final InterruptedException e)
+                    {
+                        failure.set(e.toString());
+                    }
+                    finally
+                    {
+                        done.countDown();
+                    }
+                }
+            }, "TypeInfoCache lookup " + t);
+            thread.start();
+        }
+
+        start.countDown();
+        assertTrue("Lookups did not finish", done.await(2, TimeUnit.MINUTES));
+        assertNull(failure.get(), failure.get());
+    }
+}
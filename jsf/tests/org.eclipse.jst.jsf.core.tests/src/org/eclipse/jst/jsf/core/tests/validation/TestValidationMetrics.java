@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.tests.validation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics.Category;
+import org.eclipse.jst.jsf.validation.internal.ValidationMetrics.Histogram;
+
+public class TestValidationMetrics extends TestCase
+{
+    private ValidationMetrics _metrics;
+    private boolean           _wasEnabled;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        _metrics = ValidationMetrics.getInstance();
+        _wasEnabled = _metrics.isEnabled();
+        _metrics.reset();
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        _metrics.setEnabled(_wasEnabled);
+        _metrics.reset();
+        super.tearDown();
+    }
+
+    public void testDisabledRecordsNothing()
+    {
+        _metrics.setEnabled(false);
+        final long start = _metrics.start();
+        assertTrue(start < 0);
+        _metrics.record(Category.PHASE, ValidationMetrics.PHASE_PARSE, start);
+        assertTrue(_metrics.getHistograms(Category.PHASE).isEmpty());
+    }
+
+    public void testHistograms() throws Exception
+    {
+        _metrics.setEnabled(true);
+        for (int i = 0; i < 10; i++)
+        {
+            _metrics.record(Category.PHASE, ValidationMetrics.PHASE_PARSE, _metrics.start());
+        }
+        final long start = _metrics.start();
+        Thread.sleep(5);
+        _metrics.record(Category.PHASE, ValidationMetrics.PHASE_RESOLVE, start);
+        final String tagKey = ValidationMetrics.getTagKey("http://java.sun.com/jsf/html", "inputText");
+        _metrics.record(Category.TAG, tagKey, start);
+
+        final List<Histogram> phases = _metrics.getHistograms(Category.PHASE);
+        assertEquals(2, phases.size());
+        // slowest first
+        final Histogram resolve = phases.get(0);
+        assertEquals(ValidationMetrics.PHASE_RESOLVE, resolve.getKey());
+        assertEquals(1, resolve.getCount());
+        assertTrue(resolve.getTotalNanos() >= 5000000);
+        assertEquals(resolve.getTotalNanos(), resolve.getMaxNanos());
+
+        final Histogram parse = phases.get(1);
+        assertEquals(ValidationMetrics.PHASE_PARSE, parse.getKey());
+        assertEquals(10, parse.getCount());
+        assertTrue(parse.getPercentileNanos(50) <= parse.getPercentileNanos(90));
+        assertTrue(parse.getPercentileNanos(90) <= parse.getMaxNanos());
+        assertTrue(parse.getMeanNanos() <= parse.getMaxNanos());
+
+        assertEquals(1, _metrics.getHistograms(Category.TAG).size());
+        assertEquals(tagKey, _metrics.getHistograms(Category.TAG).get(0).getKey());
+        assertTrue(_metrics.getHistograms(Category.STRATEGY).isEmpty());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        _metrics.dump(new PrintStream(bytes, true));
+        final String dump = bytes.toString();
+        assertTrue(dump.contains(ValidationMetrics.PHASE_RESOLVE));
+        assertTrue(dump.contains(tagKey));
+
+        _metrics.reset();
+        assertTrue(_metrics.getHistograms(Category.PHASE).isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.tests.validation;
+
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jst.common.project.facet.core.JavaFacet;
+import org.eclipse.jst.jsf.core.internal.JSFCorePlugin;
+import org.eclipse.jst.jsf.core.tests.TestsPlugin;
+import org.eclipse.jst.jsf.core.tests.util.JSFCoreUtilHelper;
+import org.eclipse.jst.jsf.core.tests.validation.MockValidationReporter.ReportedProblem;
+import org.eclipse.jst.jsf.test.util.JSFTestUtil;
+import org.eclipse.jst.jsf.test.util.WebProjectTestEnvironment;
+import org.eclipse.jst.jsf.validation.internal.ValidationPlanCache;
+import org.eclipse.jst.jsf.validation.internal.ValidationPreferences;
+import org.eclipse.jst.jsf.validation.internal.XMLViewDefnValidator;
+import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
+
+public class TestValidationPlanCache extends TestCase
+{
+    private static final String TEST_KEY = "org.eclipse.jst.jsf.core.tests.validationPlanCache";
+
+    private WebProjectTestEnvironment _webProject;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        JSFTestUtil.setValidationEnabled(false);
+        JSFTestUtil.setInternetProxyPreferences(true, "www-proxy.uk.oracle.com", "80");
+
+        final ZipFile zipFile = JSFTestUtil.createZipFile(
+                TestsPlugin.getDefault().getBundle(),
+                "/testfiles/testzips/ValidationTestProject2.zip");
+        _webProject = new WebProjectTestEnvironment(
+                this,
+                JavaFacet.VERSION_1_5,
+                ProjectFacetsManager.getProjectFacet( "jst.web" ).getVersion("2.4"));
+        _webProject.createFromZip2(zipFile, true);
+        JSFCoreUtilHelper.injectTestTagRegistryFactoryProvider(JSFCoreUtilHelper.createSimpleRegistryFactory());
+        Job.getJobManager().beginRule(_webProject.getTestProject(), null);
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        super.tearDown();
+        Job.getJobManager().endRule(_webProject.getTestProject());
+        JSFCoreUtilHelper.injectTestTagRegistryFactoryProvider(null);
+        JSFCorePlugin.getDefault().getPreferenceStore().setToDefault(TEST_KEY);
+    }
+
+    public void testPlansReused() throws Exception
+    {
+        final IProject project = _webProject.getTestProject();
+        final IFile jspFile = project.getFile(new Path("WebContent/NonELValidation.jsp"));
+        assertTrue(jspFile.isAccessible());
+
+        final ValidationPlanCache cache = ValidationPlanCache.getInstance(project);
+        assertSame(cache, ValidationPlanCache.getInstance(project));
+
+        final XMLViewDefnValidator validator = new XMLViewDefnValidator();
+        final MockValidationReporter firstReporter = new MockValidationReporter();
+        validator.validateView(jspFile, firstReporter);
+        final int numPlans = cache.size();
+        assertTrue(numPlans > 0);
+
+        // a second run needs no new plans and finds the same problems
+        final MockValidationReporter secondReporter = new MockValidationReporter();
+        validator.validateView(jspFile, secondReporter);
+        assertEquals(numPlans, cache.size());
+
+        final List<ReportedProblem> firstProblems = firstReporter.getReportedProblems();
+        final List<ReportedProblem> secondProblems = secondReporter.getReportedProblems();
+        assertEquals(firstProblems.size(), secondProblems.size());
+        for (int i = 0; i < firstProblems.size(); i++)
+        {
+            assertEquals(firstProblems.get(i).getOffset(), secondProblems.get(i).getOffset());
+            assertEquals(firstProblems.get(i).getLength(), secondProblems.get(i).getLength());
+            assertEquals(firstProblems.get(i).getSeverity(), secondProblems.get(i).getSeverity());
+        }
+    }
+
+    public void testPreferenceChangeInvalidates() throws Exception
+    {
+        final IProject project = _webProject.getTestProject();
+        final IFile jspFile = project.getFile(new Path("WebContent/NonELValidation.jsp"));
+
+        final ValidationPlanCache cache = ValidationPlanCache.getInstance(project);
+        new XMLViewDefnValidator().validateView(jspFile, new MockValidationReporter());
+        assertTrue(cache.size() > 0);
+
+        final ValidationPreferences prefs = ValidationPlanCache.getPreferences();
+        assertSame(prefs, ValidationPlanCache.getPreferences());
+
+        final IPreferenceStore prefStore = JSFCorePlugin.getDefault().getPreferenceStore();
+        prefStore.setValue(TEST_KEY, !prefStore.getBoolean(TEST_KEY));
+
+        assertEquals(0, cache.size());
+        assertNotSame(prefs, ValidationPlanCache.getPreferences());
+    }
+}
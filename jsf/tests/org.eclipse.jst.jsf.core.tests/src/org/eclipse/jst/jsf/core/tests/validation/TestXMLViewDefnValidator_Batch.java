@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.core.tests.validation;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jst.common.project.facet.core.JavaFacet;
+import org.eclipse.jst.jsf.core.tests.TestsPlugin;
+import org.eclipse.jst.jsf.core.tests.util.JSFCoreUtilHelper;
+import org.eclipse.jst.jsf.core.tests.validation.MockValidationReporter.ReportedProblem;
+import org.eclipse.jst.jsf.test.util.JSFTestUtil;
+import org.eclipse.jst.jsf.test.util.WebProjectTestEnvironment;
+import org.eclipse.jst.jsf.validation.internal.XMLViewDefnValidator;
+import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
+
+public class TestXMLViewDefnValidator_Batch extends TestCase
+{
+    private static final String[] SOURCE_FILES =
+    { "WebContent/ELValidation.jsp", "WebContent/NonELValidation.jsp" };
+
+    private WebProjectTestEnvironment _webProject;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        JSFTestUtil.setValidationEnabled(false);
+        JSFTestUtil.setInternetProxyPreferences(true, "www-proxy.uk.oracle.com", "80");
+
+        final ZipFile zipFile = JSFTestUtil.createZipFile(
+                TestsPlugin.getDefault().getBundle(),
+                "/testfiles/testzips/ValidationTestProject2.zip");
+        _webProject = new WebProjectTestEnvironment(
+                this,
+                JavaFacet.VERSION_1_5,
+                ProjectFacetsManager.getProjectFacet( "jst.web" ).getVersion("2.4"));
+        _webProject.createFromZip2(zipFile, true);
+        JSFCoreUtilHelper.injectTestTagRegistryFactoryProvider(JSFCoreUtilHelper.createSimpleRegistryFactory());
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        super.tearDown();
+        JSFCoreUtilHelper.injectTestTagRegistryFactoryProvider(null);
+    }
+
+    public void testBatchMatchesSequential() throws Exception
+    {
+        final List<IFile> files = createViewFiles(20);
+        final XMLViewDefnValidator validator = new XMLViewDefnValidator();
+
+        final Map<IFile, MockValidationReporter> expected = new HashMap<IFile, MockValidationReporter>();
+        for (final IFile file : files)
+        {
+            final MockValidationReporter reporter = new MockValidationReporter();
+            validator.validateView(file, reporter);
+            expected.put(file, reporter);
+        }
+
+        for (final int numWorkers : new int[] {1, 4})
+        {
+            final Map<IFile, MockValidationReporter> reporters = createReporters(files);
+            validator.validateViews(files, reporters, numWorkers, null);
+
+            for (final IFile file : files)
+            {
+                assertSameProblems(expected.get(file), reporters.get(file));
+            }
+        }
+    }
+
+    public void testBatchUnderRuleMatchesSequential() throws Exception
+    {
+        final List<IFile> files = createViewFiles(20);
+        final XMLViewDefnValidator validator = new XMLViewDefnValidator();
+        final Map<IFile, MockValidationReporter> expected = createReporters(files);
+        validator.validateViews(files, expected, 1, null);
+
+        // workers may need the rule held by the caller, so holding one must
+        // not hang the batch
+        final IProject project = _webProject.getTestProject();
+        final Map<IFile, MockValidationReporter> reporters = createReporters(files);
+        final Throwable[] failure = new Throwable[1];
+        final Thread thread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                Job.getJobManager().beginRule(project, null);
+                try
+                {
+                    validator.validateViews(files, reporters, 4, null);
+                }
+                catch (final Throwable t)
+                {
+                    failure[0] = t;
+                }
+                finally
+                {
+                    Job.getJobManager().endRule(project);
+                }
+            }
+        };
+        thread.start();
+        thread.join(TimeUnit.MINUTES.toMillis(2));
+        assertFalse(thread.isAlive());
+        assertNull(failure[0]);
+
+        for (final IFile file : files)
+        {
+            assertSameProblems(expected.get(file), reporters.get(file));
+        }
+    }
+
+    private List<IFile> createViewFiles(final int numFiles) throws Exception
+    {
+        final IProject project = _webProject.getTestProject();
+        final IFolder folder = project.getFolder(new Path("WebContent/batch"));
+        if (!folder.exists())
+        {
+            folder.create(true, true, null);
+        }
+
+        final List<IFile> files = new ArrayList<IFile>();
+        for (int i = 0; i < numFiles; i++)
+        {
+            final IFile source = project.getFile(new Path(SOURCE_FILES[i % SOURCE_FILES.length]));
+            final IFile file = folder.getFile(i + "_" + source.getName());
+            if (!file.exists())
+            {
+                final InputStream contents = source.getContents();
+                try
+                {
+                    file.create(contents, true, null);
+                }
+                finally
+                {
+                    contents.close();
+                }
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    private static Map<IFile, MockValidationReporter> createReporters(final List<IFile> files)
+    {
+        final Map<IFile, MockValidationReporter> reporters = new HashMap<IFile, MockValidationReporter>();
+        for (final IFile file : files)
+        {
+            reporters.put(file, new MockValidationReporter());
+        }
+        return reporters;
+    }
+
+    private static void assertSameProblems(final MockValidationReporter expected,
+            final MockValidationReporter actual)
+    {
+        final List<ReportedProblem> expectedProblems = expected.getReportedProblems();
+        final List<ReportedProblem> actualProblems = actual.getReportedProblems();
+        assertTrue(expectedProblems.size() > 0);
+        assertEquals(expectedProblems.size(), actualProblems.size());
+        for (int i = 0; i < expectedProblems.size(); i++)
+        {
+            final ReportedProblem expectedProblem = expectedProblems.get(i);
+            final ReportedProblem actualProblem = actualProblems.get(i);
+            assertEquals(expectedProblem.getOffset(), actualProblem.getOffset());
+            assertEquals(expectedProblem.getLength(), actualProblem.getLength());
+            assertEquals(expectedProblem.getSeverity(), actualProblem.getSeverity());
+            assertEquals(expectedProblem.getErrorCode(), actualProblem.getErrorCode());
+        }
+    }
+}
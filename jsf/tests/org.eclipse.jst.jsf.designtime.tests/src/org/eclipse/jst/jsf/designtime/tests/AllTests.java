@@ -15,6 +15,7 @@ package org.eclipse.jst.jsf.designtime.tests;
 
 import org.eclipse.jst.jsf.designtime.tests.views.TestJSPViewDefnAdapter;
 import org.eclipse.jst.jsf.designtime.tests.views.persistence.TestSerializableTLDTagElement;
+import org.eclipse.jst.jsf.designtime.tests.views.persistence.TestTagRepositoryFormat;
 import org.eclipse.jst.jsf.test.util.JSFTestUtil;
 
 import junit.framework.Test;
@@ -81,6 +82,7 @@ public class AllTests {
         suite.addTestSuite(TestDesignTimeApplicationManager.class);
         suite.addTestSuite(TestJSPViewDefnAdapter.class);
         suite.addTestSuite(TestSerializableTLDTagElement.class);
+        suite.addTestSuite(TestTagRepositoryFormat.class);
         suite.addTestSuite(TestJSF20ImplicitVariables.class);
         suite.addTestSuite(TestJSF20DefaultBeanSymbolSourceProvider.class);
         //addTestSuite(suite, JSPViewSuite.class);
@@ -13,15 +13,24 @@
  ********************************************************************************/
 package org.eclipse.jst.jsf.designtime.tests;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import junit.framework.TestCase;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.jst.jsf.context.symbol.IBeanInstanceSymbol;
 import org.eclipse.jst.jsf.context.symbol.ISymbol;
 import org.eclipse.jst.jsf.context.symbol.source.ISymbolConstants;
 import org.eclipse.jst.jsf.core.IJSFCoreConstants;
+import org.eclipse.jst.jsf.core.jsfappconfig.IFacesConfigChangeListener;
+import org.eclipse.jst.jsf.core.jsfappconfig.internal.IJSFAppConfigManager;
+import org.eclipse.jst.jsf.core.jsfappconfig.internal.JSFAppConfigManagerFactory;
 import org.eclipse.jst.jsf.core.tests.TestsPlugin;
 import org.eclipse.jst.jsf.core.tests.util.JSFFacetedTestEnvironment;
 import org.eclipse.jst.jsf.designtime.symbols.DefaultBeanSymbolSourceProvider;
+import org.eclipse.jst.jsf.facesconfig.emf.ManagedBeanType;
 import org.eclipse.jst.jsf.test.util.JDTTestEnvironment;
 import org.eclipse.jst.jsf.test.util.JSFTestUtil;
 import org.eclipse.jst.jsf.test.util.WebProjectTestEnvironment;
@@ -199,4 +208,103 @@ public class TestDefaultBeanSymbolSourceProvider extends TestCase
         assertNotNull(symbol);
         assertEquals(expectedName, symbol.getName());
     }
+
+    /**
+     * Repeated lookups should be answered from the bean index, each with an
+     * equal copy of the indexed symbol
+     */
+    public void testRepeatedLookupUsesIndex()
+    {
+        final DefaultBeanSymbolSourceProvider  provider =
+            DefaultBeanSymbolSourceProvider.getInstance();
+
+        final IBeanInstanceSymbol symbol = (IBeanInstanceSymbol)
+            provider.getSymbol("myBean_request", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_ALL);
+        assertNotNull(symbol);
+        assertNotNull(symbol.getTypeDescriptor());
+
+        // each lookup gets its own copy of the indexed symbol
+        symbol.setName("changed");
+        final IBeanInstanceSymbol again = (IBeanInstanceSymbol)
+            provider.getSymbol("myBean_request", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_ALL);
+        assertNotSame(symbol, again);
+        assertEquals("myBean_request", again.getName());
+        assertEquals(symbol.getRuntimeSource(), again.getRuntimeSource());
+        assertEquals(symbol.getTypeDescriptor().getTypeSignature(),
+                again.getTypeDescriptor().getTypeSignature());
+        assertNull(provider.getSymbol("myBean_request", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_SESSION));
+        assertNull(provider.getSymbol("notABean", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_ALL));
+
+        final ISymbol[] symbols =
+            provider.getSymbols("myBean_", _facesConfigFile, ISymbolConstants.SYMBOL_SCOPE_ALL);
+        assertEquals(4, symbols.length);
+    }
+
+    /**
+     * Edits to a managed bean in faces-config must be seen by the index,
+     * without displacing other listeners for the same model classes
+     */
+    public void testEditedBeanUpdatesIndex()
+    {
+        final DefaultBeanSymbolSourceProvider  provider =
+            DefaultBeanSymbolSourceProvider.getInstance();
+        assertNotNull(provider.getSymbol("myBean_request", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_ALL));
+
+        final IJSFAppConfigManager configManager = JSFAppConfigManagerFactory
+                .getJSFAppConfigManagerInstance(_facesConfigFile.getProject());
+        final List<Notification> notifications = new ArrayList<Notification>();
+        final IFacesConfigChangeListener listener = new IFacesConfigChangeListener()
+        {
+            public void notifyChanged(final Notification notification)
+            {
+                notifications.add(notification);
+            }
+        };
+        configManager.addFacesConfigChangeListener(String.class, listener);
+        try
+        {
+            final ManagedBeanType bean = findBean(configManager, "myBean_request");
+            assertNotNull(bean);
+
+            bean.getManagedBeanName().setTextContent("myBean_renamed");
+            assertFalse(notifications.isEmpty());
+            assertNull(provider.getSymbol("myBean_request", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_ALL));
+            final ISymbol renamed = provider.getSymbol("myBean_renamed", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_REQUEST);
+            assertNotNull(renamed);
+            assertEquals("myBean_renamed", renamed.getName());
+
+            bean.getManagedBeanScope().setTextContent("session");
+            assertNull(provider.getSymbol("myBean_renamed", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_REQUEST));
+            assertNotNull(provider.getSymbol("myBean_renamed", _facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_SESSION));
+            assertEquals(2, provider.getSymbols(_facesConfigFile, 
+                                ISymbolConstants.SYMBOL_SCOPE_SESSION).length);
+        }
+        finally
+        {
+            configManager.removeFacesConfigChangeListener(String.class);
+        }
+    }
+
+    private static ManagedBeanType findBean(final IJSFAppConfigManager configManager,
+            final String name)
+    {
+        for (final ManagedBeanType bean : configManager.getManagedBeans())
+        {
+            if (bean.getManagedBeanName() != null
+                    && name.equals(bean.getManagedBeanName().getTextContent()))
+            {
+                return bean;
+            }
+        }
+        return null;
+    }
 }
@@ -19,11 +19,14 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import junit.framework.TestCase;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.jst.jsf.context.symbol.ISymbol;
 import org.eclipse.jst.jsf.context.symbol.source.ISymbolConstants;
 import org.eclipse.jst.jsf.core.IJSFCoreConstants;
@@ -40,6 +43,7 @@ import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
 public class TestJSPModelProcessor extends TestCase
 {
     private static final int NUM_JSPS = 25;
+    private static final int NUM_CONCURRENT_JSPS = 300;
     private static final int WAIT_ITERATIONS = 50;
     private static final int WAIT_SLEEP_TIME_MS = 100;
 
@@ -343,6 +347,154 @@ public class TestJSPModelProcessor extends TestCase
         }
     }
 
+    public void testConcurrentRefreshThroughput() throws Exception
+    {
+        final List<IFile> jsps = new ArrayList<IFile>(NUM_CONCURRENT_JSPS);
+        for (int i = 0; i < NUM_CONCURRENT_JSPS; i++)
+        {
+            final IFile file = _testJSP1.getParent().getFile(new Path("concurrent_"+i+".jsp"));
+            _testJSP1.copy(file.getFullPath(), true, null);
+            jsps.add(file);
+        }
+
+        final List<JSPModelProcessor> processors = new ArrayList<JSPModelProcessor>(NUM_CONCURRENT_JSPS);
+        for (final IFile file : jsps)
+        {
+            final JSPModelProcessor processor = JSPModelProcessor.get(file);
+            assertTrue(processor.isModelDirty());
+            processors.add(processor);
+        }
+
+        // each refresh job is only scheduled on its own file, so none of
+        // these should have to wait for the others to finish
+        final CountDownLatch done = new CountDownLatch(NUM_CONCURRENT_JSPS);
+        final long startTime = System.nanoTime();
+        for (final JSPModelProcessor processor : processors)
+        {
+            processor.refresh(JSPModelProcessor.FORCE_REFRESH, new Runnable()
+            {
+                public void run()
+                {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES));
+        System.out.printf("Refreshed %d JSPs concurrently in %dms\n",
+                Integer.valueOf(NUM_CONCURRENT_JSPS),
+                Long.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+
+        for (final JSPModelProcessor processor : processors)
+        {
+            assertFalse(processor.isModelDirty());
+            assertEquals(2, processor.getMapForScope(ISymbolConstants.SYMBOL_SCOPE_REQUEST_STRING).size());
+        }
+    }
+
+    public void testIncrementalRefreshOnEdit() throws Exception
+    {
+        final IModelManager modelManager = StructuredModelManager.getModelManager();
+
+        IStructuredModel model = null;
+
+        try
+        {
+            // hold the model for edit so the processor sees the same document
+            model = modelManager.getModelForEdit(_testJSP1);
+
+            final JSPModelProcessor processor = JSPModelProcessor.get(_testJSP1);
+            processor.refresh(!JSPModelProcessor.FORCE_REFRESH, JSPModelProcessor.RUN_ON_CURRENT_THREAD);
+            Map<Object, ISymbol> scopeMap =
+                processor.getMapForScope(ISymbolConstants.SYMBOL_SCOPE_REQUEST_STRING);
+            assertEquals(2, scopeMap.size());
+            assertTrue(scopeMap.containsKey("bundle"));
+            assertTrue(scopeMap.containsKey("row"));
+            assertFalse(processor.isModelDirty());
+
+            // rename the loadBundle variable without saving
+            final String text = model.getStructuredDocument().get();
+            final int offset = text.indexOf("var=\"bundle\"") + "var=\"".length();
+            model.getStructuredDocument().replace(offset, "bundle".length(), "messages");
+            assertTrue(processor.isModelDirty());
+
+            processor.refresh(!JSPModelProcessor.FORCE_REFRESH, JSPModelProcessor.RUN_ON_CURRENT_THREAD);
+            scopeMap =
+                processor.getMapForScope(ISymbolConstants.SYMBOL_SCOPE_REQUEST_STRING);
+            assertEquals(2, scopeMap.size());
+            assertTrue(scopeMap.containsKey("messages"));
+            assertFalse(scopeMap.containsKey("bundle"));
+            assertTrue(scopeMap.containsKey("row"));
+            assertFalse(processor.isModelDirty());
+
+            // removing the dataTable should drop its variable
+            final String newText = model.getStructuredDocument().get();
+            final int start = newText.indexOf("<h:dataTable");
+            final int end = newText.indexOf("</h:dataTable>") + "</h:dataTable>".length();
+            model.getStructuredDocument().replace(start, end - start, "");
+
+            processor.refresh(!JSPModelProcessor.FORCE_REFRESH, JSPModelProcessor.RUN_ON_CURRENT_THREAD);
+            scopeMap =
+                processor.getMapForScope(ISymbolConstants.SYMBOL_SCOPE_REQUEST_STRING);
+            assertEquals(1, scopeMap.size());
+            assertTrue(scopeMap.containsKey("messages"));
+        }
+        finally
+        {
+            if (model != null)
+            {
+                model.releaseFromEdit();
+            }
+        }
+    }
+
+    public void testIncrementalRefreshOnRestructuringEdit() throws Exception
+    {
+        final IModelManager modelManager = StructuredModelManager.getModelManager();
+
+        IStructuredModel model = null;
+
+        try
+        {
+            model = modelManager.getModelForEdit(_testJSP1);
+
+            final JSPModelProcessor processor = JSPModelProcessor.get(_testJSP1);
+            processor.refresh(!JSPModelProcessor.FORCE_REFRESH, JSPModelProcessor.RUN_ON_CURRENT_THREAD);
+            Map<Object, ISymbol> scopeMap =
+                processor.getMapForScope(ISymbolConstants.SYMBOL_SCOPE_REQUEST_STRING);
+            assertEquals(2, scopeMap.size());
+
+            // opening a comment before the dataTable makes SSE re-create the
+            // nodes after the edit, well outside the inserted text
+            final int start = model.getStructuredDocument().get().indexOf("<h:dataTable");
+            model.getStructuredDocument().replace(start, 0, "<!--");
+
+            processor.refresh(!JSPModelProcessor.FORCE_REFRESH, JSPModelProcessor.RUN_ON_CURRENT_THREAD);
+            scopeMap =
+                processor.getMapForScope(ISymbolConstants.SYMBOL_SCOPE_REQUEST_STRING);
+            assertEquals(1, scopeMap.size());
+            assertTrue(scopeMap.containsKey("bundle"));
+            assertFalse(scopeMap.containsKey("row"));
+
+            // removing it again re-creates the dataTable from the old text
+            model.getStructuredDocument().replace(start, "<!--".length(), "");
+
+            processor.refresh(!JSPModelProcessor.FORCE_REFRESH, JSPModelProcessor.RUN_ON_CURRENT_THREAD);
+            scopeMap =
+                processor.getMapForScope(ISymbolConstants.SYMBOL_SCOPE_REQUEST_STRING);
+            assertEquals(2, scopeMap.size());
+            assertTrue(scopeMap.containsKey("bundle"));
+            assertTrue(scopeMap.containsKey("row"));
+            assertFalse(processor.isModelDirty());
+        }
+        finally
+        {
+            if (model != null)
+            {
+                model.releaseFromEdit();
+            }
+        }
+    }
+
     private void waitForAndAssertProcessorDirty(
             final JSPModelProcessor processor, final boolean expectedValue)
             throws Exception
@@ -277,7 +277,8 @@ public class TestWorkspaceBasedResourceLocator
                 assertEquals("tag1.xhtml", resource.getName());
             }
         }
-        assertEquals(3, _locator.locate(_project).size());
+        // the root and the renamed folder; tag1.xhtml went with mylib333
+        assertEquals(2, _locator.locate(_project).size());
     }
 
     @Test
@@ -322,6 +323,20 @@ public class TestWorkspaceBasedResourceLocator
         assertEquals(3, _locator.locate(_project).size());
     }
 
+    @Test
+    public void testProjectClosed()
+    {
+        _locator.start(_project);
+        assertEquals(3, _locator.locate(_project).size());
+        _changeTester.installListener();
+        _context.fireWorkspaceEvent(_eventFactory
+                .createSimpleProjectClosed(_project));
+        _changeTester.removeListener();
+        // closing doesn't remove the resources, it just forgets them
+        _changeTester.assertNumEvents(0);
+        assertEquals(0, _locator.locate(_project).size());
+    }
+
     @Test
     @BugRegressionTest(bugNumber = 312358)
     public void testResourceRootDoesntExist()
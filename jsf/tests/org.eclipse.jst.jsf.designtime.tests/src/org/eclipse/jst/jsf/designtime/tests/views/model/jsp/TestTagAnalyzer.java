@@ -12,7 +12,13 @@
  *******************************************************************************/
 package org.eclipse.jst.jsf.designtime.tests.views.model.jsp;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jst.jsf.common.runtime.internal.model.component.ComponentTypeInfo;
@@ -23,8 +29,11 @@ import org.eclipse.jst.jsf.common.runtime.internal.view.model.common.IHandlerTag
 import org.eclipse.jst.jsf.common.runtime.internal.view.model.common.IJSFTagElement.TagType;
 import org.eclipse.jst.jsf.core.internal.tld.ITLDConstants;
 import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.TLDTagElement;
+import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.TagIntrospectingStrategy;
+import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.analyzer.StaticTagAnalyzer;
 import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.analyzer.TagAnalyzer;
 import org.eclipse.jst.jsp.core.internal.contentmodel.tld.provisional.TLDElementDeclaration;
+import org.eclipse.jst.jsf.test.util.JDTTestEnvironment;
 import org.eclipse.jst.jsp.core.taglib.ITaglibRecord;
 
 public class TestTagAnalyzer extends BaseTestClass
@@ -63,6 +72,7 @@ public class TestTagAnalyzer extends BaseTestClass
     @Override
     protected void tearDown() throws Exception
     {
+        TagAnalyzer.setUseStaticAnalysis(true);
         super.tearDown();
     }
 
@@ -73,6 +83,123 @@ public class TestTagAnalyzer extends BaseTestClass
         assertEquals("javax.faces.HtmlInputText", componentType);
     }
 
+    public void testStaticAnalysisMatchesProxy()
+    {
+        final IProject project = _webProjectTestEnv.getTestProject();
+        final List<TLDElementDeclaration> htmlTags = TestUtil
+                .getTags(_tagRecords.get(ITLDConstants.URI_JSF_HTML));
+
+        TagAnalyzer.setUseStaticAnalysis(false);
+        final Map<String, String> proxyTypes = new HashMap<String, String>();
+        for (final TLDElementDeclaration tag : htmlTags)
+        {
+            proxyTypes.put(tag.getNodeName(), TagAnalyzer.findComponentType(tag, project));
+        }
+
+        TagAnalyzer.setUseStaticAnalysis(true);
+        for (final TLDElementDeclaration tag : htmlTags)
+        {
+            assertEquals(tag.getNodeName(), proxyTypes.get(tag.getNodeName()),
+                    TagAnalyzer.findComponentType(tag, project));
+        }
+    }
+
+    public void testStaticConverterAndValidatorIds() throws Exception
+    {
+        final JDTTestEnvironment jdtTestEnv = new JDTTestEnvironment(_webProjectTestEnv);
+        jdtTestEnv.addSourceFile("src", "tags", "SetterConverterTag",
+                "package tags;\n"
+                + "public class SetterConverterTag {\n"
+                + "    public SetterConverterTag() { setConverterId(\"test.Setter\"); }\n"
+                + "    public void setConverterId(String id) {}\n"
+                + "}\n");
+        jdtTestEnv.addSourceFile("src", "tags", "FieldConverterTag",
+                "package tags;\n"
+                + "public class FieldConverterTag {\n"
+                + "    private String _converterId;\n"
+                + "    public FieldConverterTag() { _converterId = \"test.Field\"; }\n"
+                + "}\n");
+        jdtTestEnv.addSourceFile("src", "tags", "ExpressionConverterTag",
+                "package tags;\n"
+                + "public class ExpressionConverterTag {\n"
+                + "    private static Object CONVERTER_ID_EXPR = createValueExpression(\"test.Expression\", String.class);\n"
+                + "    private static Object createValueExpression(String text, Class<?> type) { return text; }\n"
+                + "}\n");
+        // the constant is stored to a local and a different String is
+        // passed to the setter
+        jdtTestEnv.addSourceFile("src", "tags", "IndirectConverterTag",
+                "package tags;\n"
+                + "public class IndirectConverterTag {\n"
+                + "    public void doStartTag(String id) {\n"
+                + "        String unused = \"test.Unused\";\n"
+                + "        setConverterId(id);\n"
+                + "    }\n"
+                + "    public void setConverterId(String id) {}\n"
+                + "}\n");
+        jdtTestEnv.addSourceFile("src", "tags", "FactoryValidatorTag",
+                "package tags;\n"
+                + "public class FactoryValidatorTag {\n"
+                + "    private static final String VALIDATOR_ID = \"test.Factory\";\n"
+                + "    public Object createValidator() { return createValidator(VALIDATOR_ID); }\n"
+                + "    public Object createValidator(String id) { return id; }\n"
+                + "}\n");
+        // the constant is returned by a call between the load and the sink
+        jdtTestEnv.addSourceFile("src", "tags", "ComputedValidatorTag",
+                "package tags;\n"
+                + "public class ComputedValidatorTag {\n"
+                + "    public ComputedValidatorTag() { setValidatorId(\"test.Computed\".trim()); }\n"
+                + "    public void setValidatorId(String id) {}\n"
+                + "}\n");
+
+        final IProject project = _webProjectTestEnv.getTestProject();
+        project.build(IncrementalProjectBuilder.FULL_BUILD, null);
+
+        assertEquals("test.Setter", StaticTagAnalyzer.findConverterType(
+                jdtTestEnv.getJavaProject().findType("tags.SetterConverterTag")));
+        assertEquals("test.Field", StaticTagAnalyzer.findConverterType(
+                jdtTestEnv.getJavaProject().findType("tags.FieldConverterTag")));
+        assertEquals("test.Expression", StaticTagAnalyzer.findConverterType(
+                jdtTestEnv.getJavaProject().findType("tags.ExpressionConverterTag")));
+        assertNull(StaticTagAnalyzer.findConverterType(
+                jdtTestEnv.getJavaProject().findType("tags.IndirectConverterTag")));
+        assertEquals("test.Factory", StaticTagAnalyzer.findValidatorType(
+                jdtTestEnv.getJavaProject().findType("tags.FactoryValidatorTag")));
+        assertNull(StaticTagAnalyzer.findValidatorType(
+                jdtTestEnv.getJavaProject().findType("tags.ComputedValidatorTag")));
+    }
+
+    /**
+     * Compares the time to resolve all core and html tags from scratch, as
+     * the TLD registry does when it is built, with and without static
+     * analysis.
+     */
+    public void testColdTagResolutionBenchmark()
+    {
+        final IProject project = _webProjectTestEnv.getTestProject();
+        final List<TLDElementDeclaration> tags = new ArrayList<TLDElementDeclaration>();
+        tags.addAll(TestUtil.getTags(_tagRecords.get(ITLDConstants.URI_JSF_CORE)));
+        tags.addAll(TestUtil.getTags(_tagRecords.get(ITLDConstants.URI_JSF_HTML)));
+
+        TagAnalyzer.setUseStaticAnalysis(false);
+        final long proxyTime = timeResolve(new TagIntrospectingStrategy(project), tags);
+        TagAnalyzer.setUseStaticAnalysis(true);
+        final long staticTime = timeResolve(new TagIntrospectingStrategy(project), tags);
+
+        System.out.printf("Resolved %d tags: proxy introspection %dms, static analysis %dms\n",
+                Integer.valueOf(tags.size()), Long.valueOf(proxyTime), Long.valueOf(staticTime));
+    }
+
+    private long timeResolve(final TagIntrospectingStrategy strategy,
+            final List<TLDElementDeclaration> tags)
+    {
+        final long startTime = System.nanoTime();
+        for (final TLDElementDeclaration tag : tags)
+        {
+            strategy.resolve(tag);
+        }
+        return (System.nanoTime() - startTime) / 1000000;
+    }
+
     // TODO: introspection of converters and validators is flaky at best
     // and very dependent on what's on the classpath
 //    public void testFindConverterType()
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.designtime.tests.views.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jst.common.project.facet.core.JavaFacet;
+import org.eclipse.jst.jsf.common.runtime.internal.view.model.common.ITagElement;
+import org.eclipse.jst.jsf.core.tests.TestsPlugin;
+import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.DefaultJSPTagResolver;
+import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.TLDNamespace;
+import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.persistence.SerializableTLDNamespace;
+import org.eclipse.jst.jsf.designtime.internal.view.model.jsp.persistence.TagRepositoryFormat;
+import org.eclipse.jst.jsf.test.util.JSFTestUtil;
+import org.eclipse.jst.jsf.test.util.WebProjectTestEnvironment;
+import org.eclipse.jst.jsp.core.internal.contentmodel.tld.CMDocumentFactoryTLD;
+import org.eclipse.jst.jsp.core.internal.contentmodel.tld.provisional.TLDDocument;
+import org.eclipse.jst.jsp.core.taglib.ITaglibRecord;
+import org.eclipse.jst.jsp.core.taglib.TaglibIndex;
+import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
+
+public class TestTagRepositoryFormat extends TestCase
+{
+    private static final String URI = "uri-supplied";
+
+    private WebProjectTestEnvironment _webProject;
+    private File _file;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        final ZipFile zipFile = JSFTestUtil.createZipFile(TestsPlugin
+                .getDefault().getBundle(), "/testfiles/testzips/TLDTests2.zip");
+        _webProject = new WebProjectTestEnvironment(this,
+                JavaFacet.VERSION_1_5, ProjectFacetsManager.getProjectFacet(
+                        "jst.web").getVersion("2.4"));
+        _webProject.createFromZip2(zipFile, true);
+        assertNotNull(_webProject);
+
+        _file = File.createTempFile("tagRepository", ".dat");
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        _file.delete();
+        new File(_file.getAbsolutePath() + ".tmp").delete();
+        super.tearDown();
+    }
+
+    public void testHeaderRoundTrip() throws Exception
+    {
+        TagRepositoryFormat.writeHeader(_file, "1.2.3");
+        assertEquals("1.2.3", TagRepositoryFormat.readHeader(_file));
+
+        // rewriting replaces the old contents
+        TagRepositoryFormat.writeHeader(_file, "1.2.4");
+        assertEquals("1.2.4", TagRepositoryFormat.readHeader(_file));
+        assertFalse(new File(_file.getAbsolutePath() + ".tmp").exists());
+
+        // a truncated header is not in the current format
+        truncate(3);
+        assertNull(TagRepositoryFormat.readHeader(_file));
+    }
+
+    public void testSegmentRoundTrip() throws Exception
+    {
+        final SerializableTLDNamespace namespace = createNamespace();
+        final Map<String, SerializableTLDNamespace> namespaces =
+            new HashMap<String, SerializableTLDNamespace>();
+        namespaces.put(URI, namespace);
+
+        TagRepositoryFormat.writeSegment(_file, namespaces);
+        Map<String, SerializableTLDNamespace> read = TagRepositoryFormat.readSegment(_file);
+        assertEquals(1, read.size());
+        assertNamespace(namespace, read.get(URI));
+
+        // a namespace that was never loaded is written back unchanged
+        final long length = _file.length();
+        TagRepositoryFormat.writeSegment(_file, TagRepositoryFormat.readSegment(_file));
+        assertEquals(length, _file.length());
+        read = TagRepositoryFormat.readSegment(_file);
+        assertNamespace(namespace, read.get(URI));
+    }
+
+    public void testTruncatedSegment() throws Exception
+    {
+        final Map<String, SerializableTLDNamespace> namespaces =
+            new HashMap<String, SerializableTLDNamespace>();
+        namespaces.put(URI, createNamespace());
+        TagRepositoryFormat.writeSegment(_file, namespaces);
+
+        truncate(_file.length() / 2);
+        try
+        {
+            TagRepositoryFormat.readSegment(_file);
+            fail("Expected an IOException reading a truncated segment");
+        }
+        catch (final IOException e)
+        {
+            // expected
+        }
+
+        // too short for the preamble: treated as an old or empty file
+        truncate(2);
+        assertTrue(TagRepositoryFormat.readSegment(_file).isEmpty());
+    }
+
+    public void testCorruptSegment() throws Exception
+    {
+        final Map<String, SerializableTLDNamespace> namespaces =
+            new HashMap<String, SerializableTLDNamespace>();
+        namespaces.put(URI, createNamespace());
+        TagRepositoryFormat.writeSegment(_file, namespaces);
+
+        // overwrite the string count that follows the magic and version
+        final RandomAccessFile raf = new RandomAccessFile(_file, "rw");
+        try
+        {
+            raf.seek(6);
+            raf.writeInt(Integer.MAX_VALUE);
+        }
+        finally
+        {
+            raf.close();
+        }
+
+        try
+        {
+            TagRepositoryFormat.readSegment(_file);
+            fail("Expected an IOException reading a corrupt segment");
+        }
+        catch (final IOException e)
+        {
+            // expected
+        }
+    }
+
+    private void assertNamespace(final SerializableTLDNamespace expected,
+            final SerializableTLDNamespace actual)
+    {
+        assertNotNull(actual);
+        assertEquals(expected.getNSUri(), actual.getNSUri());
+        assertEquals(expected.getDisplayName(), actual.getDisplayName());
+        assertEquals(expected.getViewElements().size(), actual.getViewElements().size());
+        for (final ITagElement element : expected.getViewElements())
+        {
+            final ITagElement readElement = actual.getViewElement(element.getName());
+            assertNotNull(element.getName(), readElement);
+            assertEquals(element.getUri(), readElement.getUri());
+        }
+    }
+
+    private SerializableTLDNamespace createNamespace()
+    {
+        final IProject project = _webProject.getTestProject();
+        final ITaglibRecord tagRecord = findTagRecord(project, URI);
+        assertNotNull(tagRecord);
+        final TLDDocument doc = (TLDDocument) new CMDocumentFactoryTLD()
+                .createCMDocument(tagRecord);
+        final TLDNamespace tldNamespace = new TLDNamespace(doc,
+                new DefaultJSPTagResolver(project));
+        // resolve all tags so the snapshot has something to write
+        assertFalse(tldNamespace.getViewElements().isEmpty());
+        return new SerializableTLDNamespace(tldNamespace);
+    }
+
+    private void truncate(final long length) throws IOException
+    {
+        final RandomAccessFile raf = new RandomAccessFile(_file, "rw");
+        try
+        {
+            raf.setLength(length);
+        }
+        finally
+        {
+            raf.close();
+        }
+    }
+
+    private static ITaglibRecord findTagRecord(final IProject project,
+            final String shortName)
+    {
+        for (final ITaglibRecord record : TaglibIndex
+                .getAvailableTaglibRecords(project.getFullPath()))
+        {
+            if (shortName.equals(record.getDescriptor().getShortName()))
+            {
+                return record;
+            }
+        }
+        return null;
+    }
+}
@@ -39,5 +39,6 @@ public class AllFacesConfigTests extends TestSuite {
 		super();
 		addTest(AllReadTests.suite());
 		addTest(AllWriteTests.suite());
+		addTestSuite(FacesResourceChangeListenerTestCase.class);
 	}
 }
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.facesconfig.tests;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.Bundle;
+
+/**
+ * Tests the content type decisions kept by FacesConfigUtil and the change
+ * events fired by FacesResourceChangeListener. Both are internal to the
+ * facesconfig plugin, so they are reached reflectively.
+ */
+public class FacesResourceChangeListenerTestCase extends TestCase
+{
+    private static final String UTIL_PACKAGE = "org.eclipse.jst.jsf.facesconfig.util.";
+    private static final String FACES_CONFIG_CONTENTS =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<faces-config version=\"1.2\"></faces-config>\n";
+    private static final String OTHER_XML_CONTENTS =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<web-app></web-app>\n";
+
+    private Class<?>          _utilClass;
+    private Class<?>          _listenerClass;
+    private Object            _changeListener;
+    private int               _numEvents;
+    private IProject          _project;
+    private boolean           _wasAutoBuilding;
+
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        final Bundle bundle = Platform.getBundle("org.eclipse.jst.jsf.facesconfig");
+        _utilClass = bundle.loadClass(UTIL_PACKAGE + "FacesConfigUtil");
+        _listenerClass = bundle.loadClass(UTIL_PACKAGE + "FacesResourceChangeListener");
+
+        // builds are run explicitly so that events can be counted per build
+        final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        final IWorkspaceDescription description = workspace.getDescription();
+        _wasAutoBuilding = description.isAutoBuilding();
+        description.setAutoBuilding(false);
+        workspace.setDescription(description);
+
+        _project = workspace.getRoot().getProject("FacesResourceChangeListenerTestCase_" + getName());
+        _project.create(null);
+        _project.open(null);
+
+        // listen before and after builds, as the plugin does
+        invokeStatic(_listenerClass, "shutdown", new Class[0], new Object[0]);
+        invokeStatic(_listenerClass, "startup", new Class[0], new Object[0]);
+        final Class<?> changeListenerInterface = bundle.loadClass(UTIL_PACKAGE + "IFacesConfigChangeListener");
+        _changeListener = Proxy.newProxyInstance(changeListenerInterface.getClassLoader(),
+                new Class[] {changeListenerInterface}, new InvocationHandler()
+                {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args)
+                    {
+                        if ("resourceChanged".equals(method.getName()))
+                        {
+                            _numEvents++;
+                            return null;
+                        }
+                        if ("equals".equals(method.getName()))
+                        {
+                            return Boolean.valueOf(proxy == args[0]);
+                        }
+                        if ("hashCode".equals(method.getName()))
+                        {
+                            return Integer.valueOf(System.identityHashCode(proxy));
+                        }
+                        return "FacesConfigChangeListener";
+                    }
+                });
+        invokeListener("addFacesConfigChangeListener", changeListenerInterface, _changeListener);
+        build();
+        _numEvents = 0;
+    }
+
+    protected void tearDown() throws Exception
+    {
+        invokeStatic(_listenerClass, "shutdown", new Class[0], new Object[0]);
+        if (_project.exists())
+        {
+            _project.delete(true, null);
+        }
+
+        final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        final IWorkspaceDescription description = workspace.getDescription();
+        description.setAutoBuilding(_wasAutoBuilding);
+        workspace.setDescription(description);
+        super.tearDown();
+    }
+
+    public void testDecisionReusedWhileStampUnchanged() throws Exception
+    {
+        final IFile file = createFile("faces-config.xml", FACES_CONFIG_CONTENTS);
+        assertTrue(isFacesConfigFile(file));
+
+        // with the stamp put back the cached decision is used, even though the
+        // contents no longer describe a faces-config file
+        final long stamp = file.getModificationStamp();
+        file.setContents(new ByteArrayInputStream(OTHER_XML_CONTENTS.getBytes("UTF-8")), true, false, null);
+        file.revertModificationStamp(stamp);
+        assertTrue(isFacesConfigFile(file));
+
+        // a new stamp means the file is checked again
+        file.touch(null);
+        assertFalse(isFacesConfigFile(file));
+        assertFalse(wasFacesConfigFile(file.getFullPath()));
+    }
+
+    public void testRemovedFileForgotten() throws Exception
+    {
+        final IFile file = createFile("faces-config.xml", FACES_CONFIG_CONTENTS);
+        build();
+        assertEquals(1, _numEvents);
+        assertTrue(wasFacesConfigFile(file.getFullPath()));
+
+        file.delete(true, null);
+        build();
+        assertEquals(2, _numEvents);
+        assertFalse(wasFacesConfigFile(file.getFullPath()));
+    }
+
+    public void testClosedProjectForgotten() throws Exception
+    {
+        final IFile file = createFile("faces-config.xml", FACES_CONFIG_CONTENTS);
+        build();
+        assertEquals(1, _numEvents);
+        assertTrue(wasFacesConfigFile(file.getFullPath()));
+
+        _project.close(null);
+        build();
+        assertEquals(2, _numEvents);
+        assertFalse(wasFacesConfigFile(file.getFullPath()));
+    }
+
+    public void testOneEventPerBuild() throws Exception
+    {
+        final IFile file1 = createFile("faces-config.xml", FACES_CONFIG_CONTENTS);
+        createFile("META-INF/my.faces-config.xml", FACES_CONFIG_CONTENTS);
+        final IFile otherFile = createFile("other.xml", OTHER_XML_CONTENTS);
+        build();
+        assertEquals(1, _numEvents);
+
+        // nothing to do with faces-config
+        otherFile.setContents(new ByteArrayInputStream(OTHER_XML_CONTENTS.getBytes("UTF-8")), true, false, null);
+        build();
+        assertEquals(1, _numEvents);
+
+        // a file that stops being a faces-config file is a change too
+        file1.setContents(new ByteArrayInputStream(OTHER_XML_CONTENTS.getBytes("UTF-8")), true, false, null);
+        build();
+        assertEquals(2, _numEvents);
+        assertFalse(wasFacesConfigFile(file1.getFullPath()));
+
+        // as is a change to the project's content type settings
+        createFile(".settings/org.eclipse.core.runtime.prefs", "eclipse.preferences.version=1\n");
+        build();
+        assertEquals(3, _numEvents);
+    }
+
+    private IFile createFile(final String path, final String contents) throws Exception
+    {
+        final IFile file = _project.getFile(path);
+        final IFolder parent = file.getParent() instanceof IFolder ? (IFolder) file.getParent() : null;
+        if (parent != null && !parent.exists())
+        {
+            parent.create(true, true, null);
+        }
+        file.create(new ByteArrayInputStream(contents.getBytes("UTF-8")), true, null);
+        return file;
+    }
+
+    private static void build() throws Exception
+    {
+        ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+    }
+
+    private boolean isFacesConfigFile(final IFile file) throws Exception
+    {
+        return ((Boolean) invokeStatic(_utilClass, "isFacesConfigFile",
+                new Class[] {IFile.class, boolean.class},
+                new Object[] {file, Boolean.FALSE})).booleanValue();
+    }
+
+    private boolean wasFacesConfigFile(final IPath path) throws Exception
+    {
+        return ((Boolean) invokeStatic(_utilClass, "wasFacesConfigFile",
+                new Class[] {IPath.class}, new Object[] {path})).booleanValue();
+    }
+
+    private void invokeListener(final String name, final Class<?> parameterType, final Object arg) throws Exception
+    {
+        final Object listener = invokeStatic(_listenerClass, "getFacesResourceChangeListener",
+                new Class[0], new Object[0]);
+        final Method method = _listenerClass.getDeclaredMethod(name, parameterType);
+        method.setAccessible(true);
+        method.invoke(listener, arg);
+    }
+
+    private static Object invokeStatic(final Class<?> clazz, final String name,
+            final Class<?>[] parameterTypes, final Object[] args) throws Exception
+    {
+        final Method method = clazz.getDeclaredMethod(name, parameterTypes);
+        method.setAccessible(true);
+        try
+        {
+            return method.invoke(null, args);
+        }
+        catch (final InvocationTargetException e)
+        {
+            if (e.getCause() instanceof Exception)
+            {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
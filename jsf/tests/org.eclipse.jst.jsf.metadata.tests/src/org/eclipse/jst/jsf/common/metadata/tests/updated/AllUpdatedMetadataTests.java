@@ -31,6 +31,9 @@ public class AllUpdatedMetadataTests {
 		suite.addTestSuite(TinyTestTests.class);
 
 		suite.addTestSuite(MetaDataModelManagerFactoryTests.class);
+		suite.addTestSuite(MetaDataModelManagerTests.class);
+		suite.addTestSuite(MetaDataModelMergeAssistantTests.class);
+		suite.addTestSuite(StandardMetaDataSnapshotsTests.class);
 		suite.addTestSuite(ModelProviderAdapterTests.class);
 		
 		//query
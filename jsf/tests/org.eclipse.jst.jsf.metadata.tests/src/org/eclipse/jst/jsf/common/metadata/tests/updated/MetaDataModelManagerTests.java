@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.common.metadata.tests.updated;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jst.jsf.common.metadata.Model;
+import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataModelManager;
+import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModelContext;
+import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModelManagerFactory;
+import org.eclipse.jst.jsf.common.metadata.tests.AbstractBaseMetaDataTestCase;
+
+public class MetaDataModelManagerTests extends AbstractBaseMetaDataTestCase {
+	private static final String[] URIS = new String[] {
+		"http://org.eclipse.jsf/test",
+		"http://org.eclipse.jsf/test2",
+		"http://org.eclipse.jsf/mergetest1",
+		"http://org.eclipse.jsf/tinytest",
+		"http://org.eclipse.jsf/traithelpertest",
+		"http://org.eclipse.jsf/propertyDescriptorTest"
+	};
+	private static final int NUM_THREADS = 8;
+	private static final int NUM_QUERIES = 10000;
+
+	private IMetaDataModelManager _manager;
+
+	public void setUp() throws Exception {
+		super.setUp();
+		_manager = MetaDataModelManagerFactory.getMetaDataModelManagerInstance(project);
+		assertNotNull(_manager);
+	}
+
+	public void testConcurrentFirstLoadsShareModel() throws Exception {
+		final String uri = "http://org.eclipse.jsf/quickEditSectionTest";
+		final Model[] results = new Model[NUM_THREADS];
+		runThreads(NUM_THREADS, new IndexedRunnable() {
+			public void run(final int index) {
+				results[index] = getModel(uri);
+			}
+		});
+
+		assertNotNull(results[0]);
+		for (final Model result : results) {
+			assertSame(results[0], result);
+		}
+		assertSame(results[0], getModel(uri));
+	}
+
+	public void testConcurrentQueriesReturnLoadedModels() throws Exception {
+		final Model[] expected = new Model[URIS.length];
+		for (int i = 0; i < URIS.length; i++) {
+			expected[i] = getModel(URIS[i]);
+			assertNotNull(URIS[i], expected[i]);
+		}
+
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		runThreads(NUM_THREADS, new IndexedRunnable() {
+			public void run(final int index) {
+				for (int i = 0; i < NUM_QUERIES; i++) {
+					final int uri = (i + index) % URIS.length;
+					if (getModel(URIS[uri]) != expected[uri]) {
+						failure.set("Unexpected model for " + URIS[uri]);
+					}
+				}
+			}
+		});
+		assertNull(failure.get(), failure.get());
+	}
+
+	private Model getModel(final String uri) {
+		return _manager.getModel(new MetaDataModelContext(project, domain, uri));
+	}
+
+	private static void runThreads(final int numThreads, final IndexedRunnable runnable) throws Exception {
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(numThreads);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		for (int t = 0; t < numThreads; t++) {
+			final int index = t;
+			final Thread thread = new Thread(new Runnable() {
+				public void run() {
+					try {
+						start.await();
+						runnable.run(index);
+					} catch (final Throwable e) {
+						failure.set(e);
+					} finally {
+						done.countDown();
+					}
+				}
+			}, "MetaDataModelManager query " + t);
+			thread.start();
+		}
+
+		start.countDown();
+		assertTrue("Threads did not finish", done.await(2, TimeUnit.MINUTES));
+		if (failure.get() != null) {
+			throw new AssertionError(failure.get());
+		}
+	}
+
+	private interface IndexedRunnable {
+		void run(int index);
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.common.metadata.tests.updated;
+
+import java.util.List;
+
+import org.eclipse.jst.jsf.common.metadata.Entity;
+import org.eclipse.jst.jsf.common.metadata.EntityGroup;
+import org.eclipse.jst.jsf.common.metadata.IncludeEntityGroup;
+import org.eclipse.jst.jsf.common.metadata.MetadataFactory;
+import org.eclipse.jst.jsf.common.metadata.Model;
+import org.eclipse.jst.jsf.common.metadata.Trait;
+import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataLocator;
+import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataSourceModelProvider;
+import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModel;
+import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModelContext;
+import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModelMergeAssistantImpl;
+import org.eclipse.jst.jsf.common.metadata.internal.StandardMetaDataFilesTranslator;
+import org.eclipse.jst.jsf.common.metadata.query.internal.HierarchicalSearchControl;
+import org.eclipse.jst.jsf.common.metadata.query.internal.SimpleEntityQueryVisitorImpl;
+import org.eclipse.jst.jsf.common.metadata.tests.AbstractBaseMetaDataTestCase;
+
+public class MetaDataModelMergeAssistantTests extends AbstractBaseMetaDataTestCase {
+	// about the size of the Trinidad tag library metadata
+	private static final int NUM_TAGS = 130;
+	private static final int NUM_ATTRIBUTES = 30;
+	private static final int NUM_TRAITS = 4;
+
+	private static final String URI = "http://org.eclipse.jsf/mergeAssistantTest";
+
+	public void testLookupsMatchQueryVisitor() throws Exception {
+		final Model model = createModel("A", 3, 3);
+		// ids that fold to the same key; only the second has children
+		model.getChildEntities().add(createEntity("dupe", "tag"));
+		final Entity dupe = createEntity("DUPE", "tag");
+		dupe.getChildEntities().add(createEntity("child", "attribute"));
+		model.getChildEntities().add(dupe);
+
+		final MetaDataModel mm = merge(new Model[] {model});
+		final Model merged = (Model)mm.getRoot();
+		final MetaDataModelMergeAssistantImpl assistant = new MetaDataModelMergeAssistantImpl(mm);
+		final SimpleEntityQueryVisitorImpl visitor = new SimpleEntityQueryVisitorImpl(
+				new HierarchicalSearchControl(1, HierarchicalSearchControl.SCOPE_ALL_LEVELS));
+
+		final String[] keys = new String[] {"tag0", "TAG1", "tag2/attr1", "Tag2/ATTR2", "dupe", "dupe/child",
+				"DUPE/CHILD", "/tag1/", "tag1//attr0", "tag3", "tag1/attr3", "", "/"};
+		for (final String key : keys) {
+			final List<Entity> expected = visitor.findEntities(merged, key).getResults();
+			final Entity found = assistant.getMergedEntity(merged, key);
+			if (expected.isEmpty())
+				assertNull(key, found);
+			else
+				assertSame(key, expected.get(0), found);
+		}
+	}
+
+	public void testMergeWithIncludes() {
+		final Model first = createModel("A", 3, 2);
+		final Model second = createModel("B", 4, 3);
+		final Model merged = (Model)merge(new Model[] {first, second}).getRoot();
+
+		assertEquals(4, merged.getChildEntities().size());
+		assertEquals(1, merged.getEntityGroups().size());
+		final Entity tag = merged.getChildEntities().get(0);
+		// traits of the first model, then new ones from the second, then the include group's
+		assertEquals(NUM_TRAITS + 2, tag.getTraits().size());
+		assertEquals("tagA", tag.getTraits().get(NUM_TRAITS - 1).getId());
+		assertEquals("tagB", tag.getTraits().get(NUM_TRAITS).getId());
+		assertEquals("shared", tag.getTraits().get(NUM_TRAITS + 1).getId());
+		// attributes of both merged by id, plus the one from the include group
+		assertEquals(4, tag.getChildEntities().size());
+		assertEquals(NUM_TRAITS + 1, tag.getChildEntities().get(0).getTraits().size());
+		assertEquals("included", tag.getChildEntities().get(3).getId());
+		// a tag only in the second model
+		assertEquals(4, merged.getChildEntities().get(3).getChildEntities().size());
+	}
+
+	public void testMergeLargeModels() {
+		final Model first = createModel("A", NUM_TAGS, NUM_ATTRIBUTES);
+		final Model second = createModel("B", NUM_TAGS, NUM_ATTRIBUTES);
+		final Model merged = (Model)merge(new Model[] {first, second}).getRoot();
+
+		assertEquals(NUM_TAGS, merged.getChildEntities().size());
+		for (final Entity tag : merged.getChildEntities()) {
+			assertEquals(tag.getId(), NUM_TRAITS + 2, tag.getTraits().size());
+			assertEquals(tag.getId(), NUM_ATTRIBUTES + 1, tag.getChildEntities().size());
+			for (final Entity attr : tag.getChildEntities().subList(0, NUM_ATTRIBUTES)) {
+				assertEquals(attr.getId(), NUM_TRAITS + 1, attr.getTraits().size());
+			}
+		}
+	}
+
+	private MetaDataModel merge(final Model[] sources) {
+		final MetaDataModel mm = new MetaDataModel(new MetaDataModelContext(project, domain, URI), null);
+		final MetaDataModelMergeAssistantImpl assistant = new MetaDataModelMergeAssistantImpl(mm);
+		final StandardMetaDataFilesTranslator translator = new StandardMetaDataFilesTranslator();
+		for (final Model source : sources) {
+			assistant.setSourceModelProvider(new SourceModelProvider(source));
+			translator.translate(assistant);
+		}
+		assistant.setMergeComplete();
+		return mm;
+	}
+
+	/**
+	 * @param source - distinguishes the traits only found in this model
+	 * @param numTags
+	 * @param numAttributes
+	 * @return model where every tag includes a local entity group
+	 */
+	private Model createModel(final String source, final int numTags, final int numAttributes) {
+		final Model model = MetadataFactory.eINSTANCE.createModel();
+		model.setId(URI);
+
+		final EntityGroup group = MetadataFactory.eINSTANCE.createEntityGroup();
+		group.setId("common");
+		group.getTraits().add(createTrait("shared"));
+		group.getChildEntities().add(createEntity("included", "attribute"));
+		model.getEntityGroups().add(group);
+
+		for (int t = 0; t < numTags; t++) {
+			final Entity tag = createEntity("tag" + t, "tag");
+			addTraits(tag, source);
+			final IncludeEntityGroup include = MetadataFactory.eINSTANCE.createIncludeEntityGroup();
+			include.setId("common");
+			tag.getIncludeGroups().add(include);
+			for (int a = 0; a < numAttributes; a++) {
+				final Entity attr = createEntity("attr" + a, "attribute");
+				addTraits(attr, source);
+				tag.getChildEntities().add(attr);
+			}
+			model.getChildEntities().add(tag);
+		}
+		return model;
+	}
+
+	private void addTraits(final Entity entity, final String source) {
+		for (int i = 0; i < NUM_TRAITS - 1; i++) {
+			entity.getTraits().add(createTrait("trait" + i));
+		}
+		// one trait only found in this source
+		entity.getTraits().add(createTrait(entity.getType() + source));
+	}
+
+	private Entity createEntity(final String id, final String type) {
+		final Entity entity = MetadataFactory.eINSTANCE.createEntity();
+		entity.setId(id);
+		entity.setType(type);
+		return entity;
+	}
+
+	private Trait createTrait(final String id) {
+		final Trait trait = MetadataFactory.eINSTANCE.createTrait();
+		trait.setId(id);
+		return trait;
+	}
+
+	private static class SourceModelProvider implements IMetaDataSourceModelProvider {
+		private final Model _model;
+
+		SourceModelProvider(final Model model) {
+			_model = model;
+		}
+
+		public Object getSourceModel() {
+			return _model;
+		}
+
+		public IMetaDataLocator getLocator() {
+			return null;
+		}
+
+		public void setLocator(final IMetaDataLocator locator) {
+			// not located
+		}
+
+		public Object getAdapter(final Class adapter) {
+			return null;
+		}
+	}
+}
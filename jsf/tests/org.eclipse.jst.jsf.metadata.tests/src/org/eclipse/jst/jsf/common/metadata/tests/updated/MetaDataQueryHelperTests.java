@@ -20,6 +20,7 @@ import org.eclipse.jst.jsf.common.metadata.Entity;
 import org.eclipse.jst.jsf.common.metadata.Model;
 import org.eclipse.jst.jsf.common.metadata.Trait;
 import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataDomainContext;
+import org.eclipse.jst.jsf.common.metadata.internal.MetaDataModelIndex;
 import org.eclipse.jst.jsf.common.metadata.query.EmptyResultSet;
 import org.eclipse.jst.jsf.common.metadata.query.IEntityQueryVisitor;
 import org.eclipse.jst.jsf.common.metadata.query.IResultSet;
@@ -301,6 +302,34 @@ public class MetaDataQueryHelperTests extends AbstractBaseMetaDataTestCase {
 
 	}
 	
+	public void testIndexedLookupsMatchVisitor() {
+		Model model = _helper.getModel(baseTestUri);
+		assertNotNull(MetaDataModelIndex.getIndex(model));
+		
+		for (Entity tag : model.getChildEntities()) {
+			assertIndexedLookupsMatchVisitor(model, tag.getId(), tag);
+			for (Entity attr : tag.getChildEntities()) {
+				assertIndexedLookupsMatchVisitor(model, tag.getId()+"/"+attr.getId(), attr);
+			}
+		}
+		assertSame(_helper.getEntity(model, "loaded/att3"), _helper.getEntity(model, "LOADED/Att3"));
+		assertSame(_helper.getEntity(model, "loaded/att3"), _helper.getEntity(model, "/loaded/att3/"));
+	}
+
+	private void assertIndexedLookupsMatchVisitor(Model model, String key, Entity entity) {
+		Entity expected = _helper.getFirstFromResultSet(
+				new SimpleEntityQueryVisitorImpl(new HierarchicalSearchControl(1, HierarchicalSearchControl.SCOPE_ALL_LEVELS))
+					.findEntities(model, key));
+		assertSame(key, expected, _helper.getEntity(model, key));
+		assertSame(key, expected, _helper.getEntity(baseTestUri, key.toUpperCase()));
+		
+		for (Trait trait : entity.getTraits()) {
+			Trait expectedTrait = _helper.getFirstFromResultSet(
+					new SimpleTraitQueryVisitorImpl().findTraits(entity, trait.getId()));
+			assertSame(trait.getId(), expectedTrait, _helper.getTrait(entity, trait.getId()));
+		}
+	}
+
 	@Test
 	public void testSubclassability() {
 		IMetaDataQueryHelper myHelper = new MyMetaDataQueryHelper();
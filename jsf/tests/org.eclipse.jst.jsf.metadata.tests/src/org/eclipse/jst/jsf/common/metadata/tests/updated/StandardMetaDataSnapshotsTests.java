@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.common.metadata.tests.updated;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jst.jsf.common.metadata.Entity;
+import org.eclipse.jst.jsf.common.metadata.Model;
+import org.eclipse.jst.jsf.common.metadata.Trait;
+import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataLocator;
+import org.eclipse.jst.jsf.common.metadata.internal.IMetaDataSourceModelProvider;
+import org.eclipse.jst.jsf.common.metadata.internal.StandardMetaDataFileInfo;
+import org.eclipse.jst.jsf.common.metadata.internal.StandardMetaDataSnapshots;
+import org.eclipse.jst.jsf.common.metadata.internal.StandardModelFactory;
+
+public class StandardMetaDataSnapshotsTests extends TestCase {
+	private static final String BUNDLE_ID = "org.eclipse.jst.jsf.metadata.tests";
+	private static final String LOCATION = "/testfiles/metadata/jsf_test.xml";
+
+	private File _dir;
+	private StandardMetaDataSnapshots _snapshots;
+	private StandardMetaDataFileInfo _info;
+	private IMetaDataSourceModelProvider _provider;
+	private URL _url;
+	private URI _uri;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		_dir = File.createTempFile("snapshots", "");
+		_dir.delete();
+		_dir.mkdirs();
+		_snapshots = new StandardMetaDataSnapshots(_dir);
+		_info = new StandardMetaDataFileInfo(LOCATION, BUNDLE_ID, null);
+		_provider = new SourceModelProvider();
+		_url = FileLocator.find(Platform.getBundle(BUNDLE_ID), new Path(LOCATION), null);
+		assertNotNull(_url);
+		_uri = URI.createURI(_url.toURI().toString());
+	}
+
+	protected void tearDown() throws Exception {
+		for (final File file : _dir.listFiles()) {
+			file.delete();
+		}
+		_dir.delete();
+		super.tearDown();
+	}
+
+	public void testRoundTrip() throws Exception {
+		assertNull(_snapshots.load(_info, _provider, _uri));
+
+		final Model parsed = parse();
+		_snapshots.save(_info, parsed);
+		assertEquals(1, _dir.listFiles().length);
+
+		final Model loaded = _snapshots.load(_info, _provider, _uri);
+		assertNotNull(loaded);
+		assertNotSame(parsed, loaded);
+		loaded.setSourceModelProvider(_provider);
+		assertEquals(parsed.getChildEntities().size(), loaded.getChildEntities().size());
+		assertEquals(parsed.getEntityGroups().size(), loaded.getEntityGroups().size());
+		assertTrue(EcoreUtil.equals(parsed, loaded));
+		assertProviderSet(loaded);
+	}
+
+	public void testCustomLocatorNotSnapshot() throws Exception {
+		final StandardMetaDataFileInfo info = new StandardMetaDataFileInfo(LOCATION, BUNDLE_ID,
+				"org.eclipse.jst.jsf.common.metadata.internal.PluginRelativeStandardMetaDataSourceFileLocator");
+		_snapshots.save(info, parse());
+		assertEquals(0, _dir.listFiles().length);
+		assertNull(_snapshots.load(info, _provider, _uri));
+	}
+
+	public void testCorruptSnapshotDiscarded() throws Exception {
+		_snapshots.save(_info, parse());
+		final File file = _dir.listFiles()[0];
+		final FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(new byte[] {1, 2, 3});
+		} finally {
+			out.close();
+		}
+
+		assertNull(_snapshots.load(_info, _provider, _uri));
+		assertFalse(file.exists());
+	}
+
+	private Model parse() throws Exception {
+		final InputStream in = _url.openStream();
+		try {
+			final EList contents = StandardModelFactory.getInstance().loadStandardFileResource(in, _provider, _uri);
+			assertFalse(contents.isEmpty());
+			final Model model = (Model)contents.get(0);
+			model.setSourceModelProvider(_provider);
+			return model;
+		} finally {
+			in.close();
+		}
+	}
+
+	private void assertProviderSet(final Entity entity) {
+		for (final Trait trait : entity.getTraits()) {
+			assertSame(_provider, trait.getSourceModelProvider());
+		}
+		for (final Entity child : entity.getChildEntities()) {
+			assertProviderSet(child);
+		}
+	}
+
+	private static class SourceModelProvider implements IMetaDataSourceModelProvider {
+		public Object getSourceModel() {
+			return null;
+		}
+
+		public IMetaDataLocator getLocator() {
+			return null;
+		}
+
+		public void setLocator(final IMetaDataLocator locator) {
+			// not located
+		}
+
+		public Object getAdapter(final Class adapter) {
+			return null;
+		}
+	}
+}
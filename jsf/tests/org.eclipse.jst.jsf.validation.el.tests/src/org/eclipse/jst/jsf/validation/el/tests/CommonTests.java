@@ -40,7 +40,9 @@ import org.eclipse.jst.jsf.validation.el.tests.jsp.LogicalNotTestCase;
 import org.eclipse.jst.jsf.validation.el.tests.jsp.LogicalOrTestCase;
 import org.eclipse.jst.jsf.validation.el.tests.jsp.MarkerOffsetsTestCase;
 import org.eclipse.jst.jsf.validation.el.tests.jsp.MethodBindingTestCase;
+import org.eclipse.jst.jsf.validation.el.tests.jsp.ProjectSymbolResolutionTestCase;
 import org.eclipse.jst.jsf.validation.el.tests.jsp.PropertiesOfMapsTestCase;
+import org.eclipse.jst.jsf.validation.el.tests.jsp.SemanticValidationMemoTestCase;
 import org.eclipse.jst.jsf.validation.el.tests.jsp.UnaryEmptyTestCase;
 import org.eclipse.jst.jsf.validation.el.tests.jsp.UnaryMinusTestCase;
 import org.eclipse.jst.jsf.validation.el.tests.jsp.ext.BeanPropertyResolutionTestCase_JSFExt;
@@ -65,6 +67,8 @@ public class CommonTests
         suite.addTest(new ConfigurableTestSuite(MethodBindingTestCase.class));
         suite.addTest(new ConfigurableTestSuite(PropertiesOfMapsTestCase.class));
         suite.addTest(new ConfigurableTestSuite(BracketOperatorTestCase.class));
+        suite.addTest(new ConfigurableTestSuite(ProjectSymbolResolutionTestCase.class));
+        suite.addTest(new ConfigurableTestSuite(SemanticValidationMemoTestCase.class));
         
         suite.addTest(new ConfigurableTestSuite(ArithmeticAddTestCase.class));
         suite.addTest(new ConfigurableTestSuite(ArithmeticDivideTestCase.class));
@@ -96,6 +100,9 @@ public class CommonTests
         // preferences
         suite.addTest(new ConfigurableTestSuite(EndToEndTestCase.class));
         suite.addTest(new ConfigurableTestSuite(TestELValidationPreferences.class));
+
+        // parsing
+        suite.addTest(new ConfigurableTestSuite(TestELExpressionCache.class));
        
         //$JUnit-END$
     }
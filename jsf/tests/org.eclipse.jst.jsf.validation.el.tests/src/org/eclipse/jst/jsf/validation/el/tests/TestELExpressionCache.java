@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.validation.el.tests;
+
+import junit.framework.TestCase;
+
+import org.eclipse.jst.jsf.validation.internal.el.ELExpressionCache;
+import org.eclipse.jst.jsp.core.internal.java.jspel.ASTExpression;
+import org.eclipse.jst.jsp.core.internal.java.jspel.ParseException;
+
+/**
+ * Unit tests for ELExpressionCache
+ */
+public class TestELExpressionCache extends TestCase
+{
+    public void testHitsAndMisses() throws Exception
+    {
+        final ELExpressionCache cache = new ELExpressionCache(10);
+        final ASTExpression expr = cache.parse("myBean.property");
+        assertNotNull(expr);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        assertSame(expr, cache.parse("myBean.property"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // token positions depend on the exact text
+        assertNotSame(expr, cache.parse(" myBean.property"));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    public void testLeastRecentlyUsedEvicted() throws Exception
+    {
+        final ELExpressionCache cache = new ELExpressionCache(2);
+        final ASTExpression first = cache.parse("a.b");
+        cache.parse("c.d");
+        // touch the first so that the second is the eldest
+        assertSame(first, cache.parse("a.b"));
+        cache.parse("e.f");
+        assertEquals(2, cache.size());
+
+        assertSame(first, cache.parse("a.b"));
+        final long misses = cache.getMissCount();
+        cache.parse("c.d");
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    public void testSyntaxErrorNotCached() throws Exception
+    {
+        final ELExpressionCache cache = new ELExpressionCache(10);
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                cache.parse("a.");
+                fail("Expected a parse error");
+            }
+            catch (final ParseException e)
+            {
+                // expected
+            }
+        }
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    public void testDisabled() throws Exception
+    {
+        final ELExpressionCache cache = new ELExpressionCache(0);
+        final ASTExpression expr = cache.parse("a.b");
+        assertNotSame(expr, cache.parse("a.b"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+    }
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.validation.el.tests.jsp;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jst.jsf.context.structureddocument.IStructuredDocumentContext;
+import org.eclipse.jst.jsf.context.structureddocument.IStructuredDocumentContextFactory;
+import org.eclipse.jst.jsf.context.symbol.IObjectSymbol;
+import org.eclipse.jst.jsf.context.symbol.ISymbol;
+import org.eclipse.jst.jsf.core.JSFVersion;
+import org.eclipse.jst.jsf.designtime.resolver.ISymbolContextResolver;
+import org.eclipse.jst.jsf.designtime.resolver.StructuredDocumentSymbolResolverFactory;
+import org.eclipse.jst.jsf.test.util.TestFileResource;
+import org.eclipse.jst.jsf.validation.el.tests.ELValidationTestPlugin;
+import org.eclipse.jst.jsf.validation.el.tests.base.ELAssert;
+import org.eclipse.jst.jsf.validation.el.tests.base.SingleJSPTestCase;
+import org.eclipse.wst.sse.core.StructuredModelManager;
+import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
+
+/**
+ * Test cases for bean property and method resolution shared between the
+ * documents of a project
+ */
+public class ProjectSymbolResolutionTestCase extends SingleJSPTestCase
+{
+    private IStructuredModel _otherModel;
+
+    public ProjectSymbolResolutionTestCase()
+    {
+        super("/testdata/jsps/beanPropertyResolution.jsp.data", "/beanPropertyResolution.jsp", JSFVersion.V1_1,FACES_CONFIG_FILE_NAME_1_1);
+    }
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        final IFile otherJSP = loadJSP("/testdata/jsps/beanPropertyResolution.jsp.data", "/beanPropertyResolution2.jsp");
+        _otherModel = StructuredModelManager.getModelManager().getModelForRead(otherJSP);
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        if (_otherModel != null)
+        {
+            _otherModel.releaseFromRead();
+        }
+        super.tearDown();
+    }
+
+    @Override
+    public void testSanity()
+    {
+        assertEquals("myBean.stringProperty", ELAssert.getELText(_structuredDocument,523));
+        assertEquals("myBean.stringProperty", ELAssert.getELText(_otherModel.getStructuredDocument(),523));
+    }
+
+    @Override
+    public void testNoErrorExprs()
+    {
+        final ISymbolContextResolver resolver1 = createResolver(_structuredDocument);
+        final ISymbolContextResolver resolver2 = createResolver(_otherModel.getStructuredDocument());
+
+        final ISymbol bean1 = resolver1.getVariable("myBean");
+        final ISymbol bean2 = resolver2.getVariable("myBean");
+        assertTrue(bean1 instanceof IObjectSymbol);
+        assertTrue(bean2 instanceof IObjectSymbol);
+
+        // both documents share the resolution on the bean's type, but each
+        // gets its own copy of the symbols
+        final ISymbol property = resolver1.getProperty(bean1, "stringProperty");
+        assertNotNull(property);
+        final ISymbol otherProperty = resolver2.getProperty(bean2, "stringProperty");
+        assertNotSame(property, otherProperty);
+        assertEquals(property.getName(), otherProperty.getName());
+        assertNull(resolver2.getProperty(bean2, "notAProperty"));
+
+        final ISymbol[] properties = resolver1.getProperties(bean1);
+        assertTrue(properties.length > 0);
+        final ISymbol[] otherProperties = resolver2.getProperties(bean2);
+        assertEquals(properties.length, otherProperties.length);
+        for (int i = 0; i < properties.length; i++)
+        {
+            assertNotSame(properties[i], otherProperties[i]);
+            assertEquals(properties[i].getName(), otherProperties[i].getName());
+        }
+
+        final ISymbol[] methods = resolver1.getMethods((IObjectSymbol) bean1);
+        assertTrue(methods.length > 0);
+        assertEquals(methods[0].getName(), resolver2.getMethods((IObjectSymbol) bean2)[0].getName());
+
+        // changing a symbol doesn't leak into the other document
+        property.setName("changed");
+        assertEquals("stringProperty", resolver2.getProperty(bean2, "stringProperty").getName());
+    }
+
+    public void testDifferentTypesKeptApart()
+    {
+        final ISymbolContextResolver resolver1 = createResolver(_structuredDocument);
+        final ISymbolContextResolver resolver2 = createResolver(_otherModel.getStructuredDocument());
+
+        final ISymbol myBean = resolver1.getVariable("myBean");
+        final ISymbol subClassBean = resolver2.getVariable("myBeanSubClass");
+        assertTrue(myBean instanceof IObjectSymbol);
+        assertTrue(subClassBean instanceof IObjectSymbol);
+
+        // resolve on one type first so a cache keyed by anything but the
+        // type would answer the other with it
+        assertNull(resolver1.getProperty(myBean, "subClassStringProperty"));
+        assertNotNull(resolver2.getProperty(subClassBean, "subClassStringProperty"));
+        assertNull(resolver1.getProperty(myBean, "subClassStringProperty"));
+
+        assertTrue(resolver2.getProperties(subClassBean).length
+                > resolver1.getProperties(myBean).length);
+    }
+
+    public void testFacesConfigChange() throws Exception
+    {
+        final ISymbolContextResolver resolver1 = createResolver(_structuredDocument);
+        final ISymbol bean1 = resolver1.getVariable("myBean");
+        assertNull(resolver1.getProperty(bean1, "subClassStringProperty"));
+
+        // change the class of myBean
+        final TestFileResource resource = new TestFileResource();
+        resource.load(ELValidationTestPlugin.getDefault().getBundle(),
+                      FACES_CONFIG_FILE_NAME_1_1);
+        final String facesConfig = resource.toString().replaceFirst(
+                "beans\\.MyBean<", "beans.MyBeanSubClass<");
+        final IFile facesConfigFile = _testEnv.getWebRoot(false, false)
+                .getFile(new Path("/WEB-INF/faces-config.xml")).getUnderlyingFile();
+        facesConfigFile.setContents(new ByteArrayInputStream(facesConfig.getBytes("UTF-8")), true, true, null);
+
+        final ISymbolContextResolver resolver2 = createResolver(_otherModel.getStructuredDocument());
+        final ISymbol bean2 = resolver2.getVariable("myBean");
+        assertNotNull(resolver2.getProperty(bean2, "subClassStringProperty"));
+    }
+
+    @Override
+    public void testWarningExprs()
+    {
+        // nothing to warn about
+    }
+
+    @Override
+    public void testErrorExprs()
+    {
+        // nothing in error
+    }
+
+    public void testJavaChangeInvalidates() throws Exception
+    {
+        final ISymbolContextResolver resolver1 = createResolver(_structuredDocument);
+        final ISymbol bean1 = resolver1.getVariable("myBean");
+        final ISymbol property = resolver1.getProperty(bean1, "stringProperty");
+        assertNotNull(property);
+
+        final TestFileResource resource = new TestFileResource();
+        resource.load(ELValidationTestPlugin.getDefault().getBundle(),
+                      "/testdata/classes/MyBean.java.data");
+        _jdtTestEnv.addSourceFile("src", "beans", "MyBean", resource.toString());
+
+        final ISymbolContextResolver resolver2 = createResolver(_otherModel.getStructuredDocument());
+        final ISymbol newProperty = resolver2.getProperty(resolver2.getVariable("myBean"), "stringProperty");
+        assertNotNull(newProperty);
+        assertNotSame(property, newProperty);
+    }
+
+    private static ISymbolContextResolver createResolver(final IStructuredDocument document)
+    {
+        final IStructuredDocumentContext context =
+            IStructuredDocumentContextFactory.INSTANCE.getContext(document, 523);
+        assertNotNull(context);
+        final ISymbolContextResolver resolver =
+            StructuredDocumentSymbolResolverFactory.getInstance().getSymbolContextResolver(context);
+        assertNotNull(resolver);
+        return resolver;
+    }
+}
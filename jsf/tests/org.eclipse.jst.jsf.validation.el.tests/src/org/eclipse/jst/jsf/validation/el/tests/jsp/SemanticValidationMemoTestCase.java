@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    initial API and implementation
+ *
+ ********************************************************************************/
+package org.eclipse.jst.jsf.validation.el.tests.jsp;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jst.jsf.context.symbol.ERuntimeSource;
+import org.eclipse.jst.jsf.context.symbol.IBeanInstanceSymbol;
+import org.eclipse.jst.jsf.context.symbol.IInstanceSymbol;
+import org.eclipse.jst.jsf.context.symbol.IJavaTypeDescriptor2;
+import org.eclipse.jst.jsf.context.symbol.SymbolFactory;
+import org.eclipse.jst.jsf.core.JSFVersion;
+import org.eclipse.jst.jsf.core.tests.validation.MockValidationReporter.ReportedProblem;
+import org.eclipse.jst.jsf.test.util.TestFileResource;
+import org.eclipse.jst.jsf.validation.el.tests.ELValidationTestPlugin;
+import org.eclipse.jst.jsf.validation.el.tests.base.ELAssert;
+import org.eclipse.jst.jsf.validation.el.tests.base.MockELValidationReporter;
+import org.eclipse.jst.jsf.validation.el.tests.base.SingleJSPTestCase;
+import org.eclipse.jst.jsf.validation.internal.el.ELExpressionValidator;
+import org.eclipse.jst.jsf.validation.internal.el.ELSemanticValidationCache;
+import org.eclipse.jst.jsf.validation.internal.el.diagnostics.DiagnosticFactory;
+import org.eclipse.wst.sse.core.StructuredModelManager;
+import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
+
+/**
+ * Test cases for EL semantic validation results memoized between the
+ * documents of a project
+ */
+public class SemanticValidationMemoTestCase extends SingleJSPTestCase
+{
+    private IFile                     _otherJSP;
+    private IStructuredModel          _otherModel;
+    private ELSemanticValidationCache _memo;
+
+    public SemanticValidationMemoTestCase()
+    {
+        super("/testdata/jsps/beanPropertyResolution.jsp.data", "/beanPropertyResolution.jsp", JSFVersion.V1_1,FACES_CONFIG_FILE_NAME_1_1);
+    }
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+
+        _otherJSP = loadJSP("/testdata/jsps/beanPropertyResolution.jsp.data", "/beanPropertyResolution2.jsp");
+        _otherModel = StructuredModelManager.getModelManager().getModelForRead(_otherJSP);
+        _memo = ELSemanticValidationCache.getInstance(_testJSP.getProject());
+        _memo.clear();
+    }
+
+    @Override
+    protected void tearDown() throws Exception
+    {
+        if (_otherModel != null)
+        {
+            _otherModel.releaseFromRead();
+        }
+        super.tearDown();
+    }
+
+    @Override
+    public void testSanity()
+    {
+        assertEquals("myBean.stringProperty", ELAssert.getELText(_structuredDocument,523));
+        assertEquals("myBeanSubClass.notAMember", ELAssert.getELText(_structuredDocument,3460));
+        assertEquals("myBeanSubClass.notAMember", ELAssert.getELText(_otherModel.getStructuredDocument(),3460));
+    }
+
+    @Override
+    public void testNoErrorExprs()
+    {
+        final ELExpressionValidator first = validate(_structuredDocument, _testJSP, 523, new MockELValidationReporter());
+        assertEquals(1, _memo.getMissCount());
+        assertEquals(0, _memo.getHitCount());
+        assertEquals(1, _memo.size());
+
+        final ELExpressionValidator second = validate(_otherModel.getStructuredDocument(), _otherJSP, 523, new MockELValidationReporter());
+        assertEquals(1, _memo.getHitCount());
+        assertEquals(1, _memo.size());
+        assertNotNull(first.getExpressionType());
+        assertSame(first.getExpressionType(), second.getExpressionType());
+    }
+
+    @Override
+    public void testWarningExprs()
+    {
+        final MockELValidationReporter reporter1 = new MockELValidationReporter();
+        validate(_structuredDocument, _testJSP, 3460, reporter1);
+        final MockELValidationReporter reporter2 = new MockELValidationReporter();
+        validate(_otherModel.getStructuredDocument(), _otherJSP, 3460, reporter2);
+        assertEquals(1, _memo.getHitCount());
+
+        // the memoized problems are reported at the same place
+        final List<ReportedProblem> problems1 = reporter1.getSemanticProblems();
+        final List<ReportedProblem> problems2 = reporter2.getSemanticProblems();
+        assertEquals(1, problems1.size());
+        ELAssert.assertContainsProblem(problems1, DiagnosticFactory.MEMBER_NOT_FOUND_ID);
+        assertEquals(problems1.size(), problems2.size());
+        for (int i = 0; i < problems1.size(); i++)
+        {
+            assertEquals(problems1.get(i).getErrorCode(), problems2.get(i).getErrorCode());
+            assertEquals(problems1.get(i).getOffset(), problems2.get(i).getOffset());
+            assertEquals(problems1.get(i).getLength(), problems2.get(i).getLength());
+        }
+    }
+
+    @Override
+    public void testErrorExprs()
+    {
+        // nothing in error
+    }
+
+    public void testJavaChangeInvalidates() throws Exception
+    {
+        validate(_structuredDocument, _testJSP, 523, new MockELValidationReporter());
+        assertEquals(1, _memo.size());
+
+        final TestFileResource resource = new TestFileResource();
+        resource.load(ELValidationTestPlugin.getDefault().getBundle(),
+                      "/testdata/classes/MyBean.java.data");
+        _jdtTestEnv.addSourceFile("src", "beans", "MyBean", resource.toString());
+
+        assertEquals(0, _memo.size());
+        validate(_otherModel.getStructuredDocument(), _otherJSP, 523, new MockELValidationReporter());
+        assertEquals(0, _memo.getHitCount());
+    }
+
+    public void testVariableKeys()
+    {
+        final IBeanInstanceSymbol symbol = createBeanSymbol("myBean", "Lbeans.MyBean;");
+        final String key = ELSemanticValidationCache.getVariableKey(symbol);
+        assertNotNull(key);
+
+        // symbols are compared by value, not identity
+        assertEquals(key, ELSemanticValidationCache.getVariableKey(EcoreUtil.copy(symbol)));
+        assertEquals(key, ELSemanticValidationCache.getVariableKey(createBeanSymbol("myBean", "Lbeans.MyBean;")));
+
+        // a change in place to the symbol changes its key
+        ((IJavaTypeDescriptor2) symbol.getTypeDescriptor()).setTypeSignatureDelegate("Lbeans.MyBeanSubClass;");
+        assertFalse(key.equals(ELSemanticValidationCache.getVariableKey(symbol)));
+
+        final IBeanInstanceSymbol otherSource = createBeanSymbol("myBean", "Lbeans.MyBean;");
+        otherSource.setRuntimeSource(ERuntimeSource.OTHER_LITERAL);
+        assertFalse(key.equals(ELSemanticValidationCache.getVariableKey(otherSource)));
+
+        // map members don't come from a Java type
+        final IInstanceSymbol mapSymbol = SymbolFactory.eINSTANCE.createIInstanceSymbol();
+        mapSymbol.setName("bundle");
+        mapSymbol.setTypeDescriptor(SymbolFactory.eINSTANCE.createIMapTypeDescriptor());
+        assertNull(ELSemanticValidationCache.getVariableKey(mapSymbol));
+    }
+
+    private static IBeanInstanceSymbol createBeanSymbol(final String name, final String signature)
+    {
+        final IBeanInstanceSymbol symbol = SymbolFactory.eINSTANCE.createIBeanInstanceSymbol();
+        symbol.setName(name);
+        symbol.setRuntimeSource(ERuntimeSource.MANAGED_BEAN_SYMBOL_LITERAL);
+        final IJavaTypeDescriptor2 typeDesc = SymbolFactory.eINSTANCE.createIJavaTypeDescriptor2();
+        typeDesc.setTypeSignatureDelegate(signature);
+        symbol.setTypeDescriptor(typeDesc);
+        return symbol;
+    }
+
+    private ELExpressionValidator validate(final IStructuredDocument document,
+            final IFile file, final int docPos, final MockELValidationReporter reporter)
+    {
+        final ELExpressionValidator validator =
+            ELAssert.createELValidator(document, docPos, file, reporter, _symbolResolverFactory);
+        validator.validateXMLNode();
+        assertEquals(0, reporter.getSyntaxProblems().size());
+        return validator;
+    }
+}